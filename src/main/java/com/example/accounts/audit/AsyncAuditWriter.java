@@ -0,0 +1,310 @@
+package com.example.accounts.audit;
+
+import com.example.accounts.reository.JdbcBatchRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * Background writer for audit_logs.
+ *
+ * Request threads publish AuditEvents into a lock-free ring buffer and return immediately.
+ * A single writer thread drains the ring and inserts multi-row JDBC batches, flushing when
+ * flush-batch-size events are pending or flush-interval-ms has passed since the last flush.
+ *
+ * Backpressure: when the ring is full a producer waits up to offer-timeout-ms for space. If it
+ * is still full, durability mode decides what happens:
+ * - SPILL: the event is appended to a local NDJSON spill file, so the request is never blocked on the DB
+ * - BLOCK: the producer keeps waiting until the writer catches up
+ * Batches that fail to insert are also spilled. The writer replays the spill file once the ring
+ * has drained, so audit rows are delayed rather than lost while the database is behind or down.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AsyncAuditWriter {
+
+    public enum DurabilityMode {
+        SPILL,
+        BLOCK
+    }
+
+    private final JdbcBatchRepository jdbcBatchRepository;
+    private final ObjectMapper objectMapper;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.audit.writer.ring-size:65536}")
+    private int ringSize;
+
+    @Value("${app.audit.writer.flush-batch-size:500}")
+    private int flushBatchSize;
+
+    @Value("${app.audit.writer.flush-interval-ms:200}")
+    private long flushIntervalMillis;
+
+    @Value("${app.audit.writer.offer-timeout-ms:50}")
+    private long offerTimeoutMillis;
+
+    @Value("${app.audit.writer.durability:SPILL}")
+    private DurabilityMode durabilityMode;
+
+    @Value("${app.audit.writer.spill-file:${java.io.tmpdir}/finbankx-audit-spill.ndjson}")
+    private String spillFile;
+
+    @Value("${app.audit.writer.replay-interval-ms:10000}")
+    private long replayIntervalMillis;
+
+    private AuditRingBuffer<AuditEvent> ring;
+    private Path spillPath;
+    private final Object spillLock = new Object();
+    private Thread writerThread;
+    private volatile boolean running;
+
+    private Timer flushTimer;
+    private Counter writtenCounter;
+    private Counter spilledCounter;
+    private Counter failedFlushCounter;
+
+    @PostConstruct
+    public void start() {
+        ring = new AuditRingBuffer<>(ringSize);
+        spillPath = Paths.get(spillFile);
+
+        Gauge.builder("audit.writer.queue.depth", ring, AuditRingBuffer::size)
+            .description("Audit events waiting to be written")
+            .register(meterRegistry);
+        flushTimer = Timer.builder("audit.writer.flush")
+            .description("Latency of audit_logs batch inserts")
+            .register(meterRegistry);
+        writtenCounter = meterRegistry.counter("audit.writer.written");
+        spilledCounter = meterRegistry.counter("audit.writer.spilled");
+        failedFlushCounter = meterRegistry.counter("audit.writer.flush.failures");
+
+        running = true;
+        writerThread = new Thread(this::runWriter, "audit-writer");
+        writerThread.setDaemon(true);
+        writerThread.start();
+        log.info("Async audit writer started. Ring size: {}, batch size: {}, durability: {}",
+            ring.capacity(), flushBatchSize, durabilityMode);
+    }
+
+    @PreDestroy
+    public void stop() {
+        running = false;
+        LockSupport.unpark(writerThread);
+        try {
+            writerThread.join(TimeUnit.SECONDS.toMillis(10));
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        log.info("Async audit writer stopped. {} events left in ring", ring.size());
+    }
+
+    /**
+     * Hand an event to the writer. Never touches the database on the calling thread.
+     */
+    public void submit(AuditEvent event) {
+        if (ring.offer(event)) {
+            return;
+        }
+
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(offerTimeoutMillis);
+        while (durabilityMode == DurabilityMode.BLOCK || System.nanoTime() < deadline) {
+            LockSupport.parkNanos(TimeUnit.MICROSECONDS.toNanos(100));
+            if (ring.offer(event)) {
+                return;
+            }
+            if (!running) {
+                break;
+            }
+        }
+
+        log.warn("Audit ring full, spilling event. Correlation ID: {}", event.correlationId());
+        spill(List.of(event));
+    }
+
+    // ========================================================
+    // Writer thread
+    // ========================================================
+
+    private void runWriter() {
+        List<AuditEvent> batch = new ArrayList<>(flushBatchSize);
+        long flushIntervalNanos = TimeUnit.MILLISECONDS.toNanos(flushIntervalMillis);
+        long lastFlush = System.nanoTime();
+        long lastReplay = 0L;
+
+        while (running || ring.size() > 0) {
+            try {
+                int drained = ring.drainTo(batch, flushBatchSize - batch.size());
+
+                long now = System.nanoTime();
+                if (batch.size() >= flushBatchSize || (!batch.isEmpty() && now - lastFlush >= flushIntervalNanos)) {
+                    flush(batch);
+                    batch.clear();
+                    lastFlush = now;
+                }
+
+                if (ring.size() == 0 && now - lastReplay >= TimeUnit.MILLISECONDS.toNanos(replayIntervalMillis)) {
+                    lastReplay = now;
+                    replaySpillFile();
+                }
+
+                if (drained == 0) {
+                    LockSupport.parkNanos(TimeUnit.MILLISECONDS.toNanos(1));
+                }
+            } catch (Exception e) {
+                log.error("Unexpected error in audit writer", e);
+            }
+        }
+
+        // Final flush on shutdown
+        if (!batch.isEmpty()) {
+            flush(batch);
+        }
+    }
+
+    private void flush(List<AuditEvent> batch) {
+        long start = System.nanoTime();
+        try {
+            jdbcBatchRepository.insertAuditLogs(batch.stream().map(AuditEvent::toEntity).toList());
+            writtenCounter.increment(batch.size());
+        } catch (Exception e) {
+            failedFlushCounter.increment();
+            log.warn("Audit batch of {} events failed, spilling to {}: {}", batch.size(), spillPath, e.getMessage());
+            spill(batch);
+        } finally {
+            flushTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        }
+    }
+
+    // ========================================================
+    // Spill file
+    // ========================================================
+
+    private void spill(List<AuditEvent> events) {
+        synchronized (spillLock) {
+            try (BufferedWriter writer = Files.newBufferedWriter(spillPath, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+                for (AuditEvent event : events) {
+                    writer.write(objectMapper.writeValueAsString(event));
+                    writer.newLine();
+                }
+                spilledCounter.increment(events.size());
+            } catch (IOException e) {
+                log.error("Failed to spill {} audit events to {}", events.size(), spillPath, e);
+            }
+        }
+    }
+
+    /**
+     * Re-insert spilled events. The spill file is moved aside first so new spills do not
+     * interleave; whatever still cannot be written is appended back to the spill file by flush.
+     *
+     * A replay file left by an earlier attempt (I/O error, crash) is finished before the spill
+     * file is touched again. The number of lines already handled is checkpointed after every
+     * batch, so a resumed replay does not insert them again; at most the batch in flight when
+     * the previous attempt stopped is written twice. Lines that cannot be parsed, such as one
+     * torn by a crash mid-write, are moved to the rejected file and skipped.
+     */
+    private void replaySpillFile() {
+        Path replayPath = spillPath.resolveSibling(spillPath.getFileName() + ".replay");
+        Path checkpointPath = spillPath.resolveSibling(spillPath.getFileName() + ".replay.offset");
+        synchronized (spillLock) {
+            if (!Files.exists(replayPath)) {
+                if (!Files.exists(spillPath)) {
+                    return;
+                }
+                try {
+                    Files.deleteIfExists(checkpointPath);
+                    Files.move(spillPath, replayPath);
+                } catch (IOException e) {
+                    log.error("Failed to move audit spill file {} for replay", spillPath, e);
+                    return;
+                }
+            }
+        }
+
+        long done = readCheckpoint(checkpointPath);
+        long lineNumber = 0;
+        int replayed = 0;
+        int rejected = 0;
+        List<AuditEvent> batch = new ArrayList<>(flushBatchSize);
+        try (BufferedReader reader = Files.newBufferedReader(replayPath, StandardCharsets.UTF_8)) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                lineNumber++;
+                if (lineNumber <= done || line.isBlank()) {
+                    continue;
+                }
+                try {
+                    batch.add(objectMapper.readValue(line, AuditEvent.class));
+                } catch (IOException e) {
+                    log.warn("Skipping unreadable audit spill line {} of {}: {}", lineNumber, replayPath, e.getMessage());
+                    reject(line);
+                    rejected++;
+                }
+                if (batch.size() >= flushBatchSize) {
+                    flush(batch);
+                    replayed += batch.size();
+                    batch.clear();
+                    writeCheckpoint(checkpointPath, lineNumber);
+                }
+            }
+            if (!batch.isEmpty()) {
+                flush(batch);
+                replayed += batch.size();
+            }
+            Files.delete(replayPath);
+            Files.deleteIfExists(checkpointPath);
+            log.info("Replayed {} spilled audit events, {} unreadable lines rejected", replayed, rejected);
+        } catch (IOException e) {
+            log.error("Failed to replay audit spill file {}, resuming after line {} on the next attempt",
+                replayPath, readCheckpoint(checkpointPath), e);
+        }
+    }
+
+    private void reject(String line) {
+        Path rejectedPath = spillPath.resolveSibling(spillPath.getFileName() + ".rejected");
+        try {
+            Files.writeString(rejectedPath, line + System.lineSeparator(), StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+        } catch (IOException e) {
+            log.error("Failed to keep rejected audit spill line in {}", rejectedPath, e);
+        }
+    }
+
+    private long readCheckpoint(Path checkpointPath) {
+        try {
+            return Files.exists(checkpointPath) ? Long.parseLong(Files.readString(checkpointPath).trim()) : 0L;
+        } catch (IOException | NumberFormatException e) {
+            log.warn("Ignoring unreadable audit replay checkpoint {}: {}", checkpointPath, e.getMessage());
+            return 0L;
+        }
+    }
+
+    private void writeCheckpoint(Path checkpointPath, long lineNumber) throws IOException {
+        Files.writeString(checkpointPath, Long.toString(lineNumber), StandardCharsets.UTF_8,
+            StandardOpenOption.CREATE, StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.SYNC);
+    }
+}
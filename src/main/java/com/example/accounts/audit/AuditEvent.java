@@ -0,0 +1,39 @@
+package com.example.accounts.audit;
+
+import com.example.accounts.entity.AuditLog;
+
+import java.time.LocalDateTime;
+
+/**
+ * Immutable audit record handed from request threads to the background writer.
+ * Captures everything, including createdAt/createdBy, on the producing thread since the
+ * writer thread has no security context.
+ */
+public record AuditEvent(
+    Long actorId,
+    AuditLog.AuditAction action,
+    String entityType,
+    Long entityId,
+    String correlationId,
+    String requestContext,
+    String redactedPayload,
+    AuditLog.AuditStatus status,
+    LocalDateTime createdAt,
+    String createdBy
+) {
+
+    public AuditLog toEntity() {
+        AuditLog auditLog = new AuditLog();
+        auditLog.setActorId(actorId);
+        auditLog.setAction(action);
+        auditLog.setEntityType(entityType);
+        auditLog.setEntityId(entityId);
+        auditLog.setCorrelationId(correlationId);
+        auditLog.setRequestContext(requestContext);
+        auditLog.setRedactedPayload(redactedPayload);
+        auditLog.setStatus(status);
+        auditLog.setCreatedAt(createdAt);
+        auditLog.setCreatedBy(createdBy);
+        return auditLog;
+    }
+}
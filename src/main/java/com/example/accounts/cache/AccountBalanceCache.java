@@ -0,0 +1,221 @@
+package com.example.accounts.cache;
+
+import com.example.accounts.reository.AccountRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * In-memory balance and held amount per account, kept current write-through.
+ *
+ * - Reads are a map lookup. A miss (or an entry past ttl-seconds) loads the account row once.
+ * - Writers update the cache after their transaction commits: the ledger posting path and
+ *   manual balance adjustments pass the values they computed under the account row lock; the hold, settlement and repair paths,
+ *   which change held_amount with a single UPDATE, have the rows re-read.
+ * - Every snapshot carries accounts.balance_version, bumped by each UPDATE of balance or
+ *   held_amount. A snapshot only replaces a cached one with a lower or equal version, so a slow
+ *   miss load or an after-commit callback that runs late cannot overwrite a newer value.
+ * - The cache holds at most max-size accounts. When it grows past that, expired entries go
+ *   first, then arbitrary ones until it is back to 90%.
+ * - The cache is per instance. Write-through only reaches the instance that made the change;
+ *   BalanceCacheInvalidator evicts accounts posted to on any instance from the ledger change
+ *   feed. Hold, settlement and repair changes are not on the feed, so another instance can
+ *   serve an outdated held amount until the entry expires: ttl-seconds bounds that, and
+ *   anything else that bypasses these paths.
+ *
+ * Funds checks on the posting path read the row instead: they must see uncommitted changes
+ * made earlier in their own transaction.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class AccountBalanceCache {
+
+    private final AccountRepository accountRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.accounts.balance-cache.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.accounts.balance-cache.max-size:100000}")
+    private int maxSize;
+
+    @Value("${app.accounts.balance-cache.ttl-seconds:5}")
+    private long ttlSeconds;
+
+    private final Map<Long, Entry> entries = new ConcurrentHashMap<>();
+    private final AtomicBoolean evicting = new AtomicBoolean();
+
+    private Counter hits;
+    private Counter misses;
+    private Counter staleWrites;
+    private Counter evictions;
+
+    /**
+     * An account's balance state as of balance_version
+     */
+    public record Snapshot(BigDecimal balance, BigDecimal heldAmount, long version) {
+
+        public BigDecimal availableBalance() {
+            return balance.subtract(heldAmount);
+        }
+    }
+
+    private record Entry(Snapshot snapshot, long expiresAtNanos) {
+    }
+
+    @PostConstruct
+    public void init() {
+        hits = meterRegistry.counter("account.balance.cache", "result", "hit");
+        misses = meterRegistry.counter("account.balance.cache", "result", "miss");
+        staleWrites = meterRegistry.counter("account.balance.cache.stale.writes");
+        evictions = meterRegistry.counter("account.balance.cache.evictions");
+        meterRegistry.gaugeMapSize("account.balance.cache.size", Tags.empty(), entries);
+    }
+
+    /**
+     * The account's balance state, from memory when cached
+     *
+     * @return null if the account does not exist
+     */
+    public Snapshot get(Long accountId) {
+        if (enabled) {
+            Entry entry = entries.get(accountId);
+            if (entry != null && entry.expiresAtNanos() - System.nanoTime() > 0) {
+                hits.increment();
+                return entry.snapshot();
+            }
+        }
+        misses.increment();
+
+        List<Object[]> rows = accountRepository.findBalanceSnapshots(List.of(accountId));
+        if (rows.isEmpty()) {
+            return null;
+        }
+        Snapshot snapshot = toSnapshot(rows.get(0));
+        put(accountId, snapshot);
+        return snapshot;
+    }
+
+    /**
+     * Cache the account's state once the current transaction commits.
+     * For callers that know the committed values, i.e. hold the account row lock.
+     */
+    public void updateAfterCommit(Long accountId, BigDecimal balance, BigDecimal heldAmount, long version) {
+        afterCommit(() -> put(accountId, new Snapshot(balance, heldAmount, version)), List.of(accountId));
+    }
+
+    /**
+     * Re-read the accounts once the current transaction commits, for callers that change
+     * balances or held amounts with an UPDATE and do not know the resulting values.
+     */
+    public void refreshAfterCommit(Collection<Long> accountIds) {
+        if (!enabled || accountIds.isEmpty()) {
+            return;
+        }
+        List<Long> ids = new ArrayList<>(accountIds);
+        afterCommit(() -> {
+            for (Object[] row : accountRepository.findBalanceSnapshots(ids)) {
+                put(((Number) row[0]).longValue(), toSnapshot(row));
+            }
+        }, ids);
+    }
+
+    /**
+     * Drop the accounts; the next read of each loads the row
+     */
+    public void evict(Collection<Long> accountIds) {
+        accountIds.forEach(entries::remove);
+    }
+
+    // Helper methods
+    private void put(Long accountId, Snapshot snapshot) {
+        if (!enabled) {
+            return;
+        }
+        long expiresAt = System.nanoTime() + TimeUnit.SECONDS.toNanos(ttlSeconds);
+        boolean[] added = {false};
+        entries.compute(accountId, (id, current) -> {
+            if (current == null) {
+                added[0] = true;
+            } else if (current.snapshot().version() > snapshot.version()) {
+                staleWrites.increment();
+                return current;
+            }
+            return new Entry(snapshot, expiresAt);
+        });
+        if (added[0] && entries.size() > maxSize) {
+            evict();
+        }
+    }
+
+    private void evict() {
+        if (!evicting.compareAndSet(false, true)) {
+            return;
+        }
+        try {
+            long now = System.nanoTime();
+            int target = (int) (maxSize * 0.9);
+            int removed = 0;
+            for (Iterator<Entry> it = entries.values().iterator(); it.hasNext(); ) {
+                if (it.next().expiresAtNanos() - now <= 0) {
+                    it.remove();
+                    removed++;
+                }
+            }
+            for (Iterator<Long> it = entries.keySet().iterator(); it.hasNext() && entries.size() > target; ) {
+                it.next();
+                it.remove();
+                removed++;
+            }
+            evictions.increment(removed);
+        } finally {
+            evicting.set(false);
+        }
+    }
+
+    /**
+     * Run action after commit; if it fails, drop the accounts so the next read loads them
+     */
+    private void afterCommit(Runnable action, Collection<Long> accountIds) {
+        if (!enabled) {
+            return;
+        }
+        if (!TransactionSynchronizationManager.isSynchronizationActive()) {
+            action.run();
+            return;
+        }
+        TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+            @Override
+            public void afterCommit() {
+                try {
+                    action.run();
+                } catch (RuntimeException e) {
+                    log.warn("Failed to update account balance cache after commit; evicting {}", accountIds, e);
+                    accountIds.forEach(entries::remove);
+                }
+            }
+        });
+    }
+
+    private Snapshot toSnapshot(Object[] row) {
+        return new Snapshot((BigDecimal) row[1], (BigDecimal) row[2], ((Number) row[3]).longValue());
+    }
+}
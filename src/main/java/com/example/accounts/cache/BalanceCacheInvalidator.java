@@ -0,0 +1,101 @@
+package com.example.accounts.cache;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.MissingNode;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Evicts accounts from this instance's AccountBalanceCache when any instance posts to them.
+ *
+ * Tails the ledger change feed (ledger_changes) from the newest change at startup and drops
+ * every account named in a leg. Postings made here are evicted too; the next read reloads them.
+ * A posting on another instance is visible here within relay-interval-ms plus
+ * invalidation-interval-ms of its commit. Balance changes that do not post (holds, settlement
+ * held amounts, repairs) are not on the feed; ttl-seconds bounds those.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class BalanceCacheInvalidator implements SmartInitializingSingleton {
+
+    private static final String SELECT_CHANGES =
+        "SELECT change_id, payload FROM ledger_changes WHERE change_id > ? ORDER BY change_id LIMIT ?";
+
+    private static final int PAGE_SIZE = 1000;
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final AccountBalanceCache balanceCache;
+
+    @Value("${app.accounts.balance-cache.enabled:true}")
+    private boolean enabled;
+
+    private volatile long cursor;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        // The cache starts empty: nothing posted before now can be in it
+        Long latest = jdbcTemplate.queryForObject("SELECT MAX(change_id) FROM ledger_changes", Long.class);
+        cursor = latest != null ? latest : 0L;
+    }
+
+    /**
+     * Evict accounts posted to since the last run.
+     * Runs every invalidation-interval-ms (200 ms by default).
+     */
+    @Scheduled(fixedDelayString = "${app.accounts.balance-cache.invalidation-interval-ms:200}")
+    public void evictPostedAccounts() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            int read;
+            do {
+                read = evictPage();
+            } while (read == PAGE_SIZE);
+        } catch (RuntimeException e) {
+            log.warn("Failed to read ledger changes for balance cache invalidation; retrying from change {}", cursor, e);
+        }
+    }
+
+    // Helper methods
+    /**
+     * @return number of changes read
+     */
+    private int evictPage() {
+        Set<Long> accountIds = new HashSet<>();
+        long[] last = {cursor};
+        int[] count = {0};
+        jdbcTemplate.query(SELECT_CHANGES, rs -> {
+            for (JsonNode leg : parse(rs.getLong(1), rs.getString(2)).path("legs")) {
+                accountIds.add(leg.path("accountId").asLong());
+            }
+            last[0] = rs.getLong(1);
+            count[0]++;
+        }, cursor, PAGE_SIZE);
+        balanceCache.evict(accountIds);
+        cursor = last[0];
+        return count[0];
+    }
+
+    private JsonNode parse(long changeId, String payload) {
+        try {
+            return objectMapper.readTree(payload);
+        } catch (JsonProcessingException e) {
+            // Skipped rather than retried: its accounts expire after ttl-seconds
+            log.error("Unreadable ledger change {}; its accounts are not evicted", changeId, e);
+            return MissingNode.getInstance();
+        }
+    }
+}
@@ -156,6 +156,26 @@ public class AccountController {
         return ResponseEntity.ok(response);
     }
 
+    @GetMapping("/{accountId}/available-balance")
+    @Operation(summary = "Get account balance less outstanding holds")
+    public ResponseEntity<ApiResponse> getAvailableBalance(@PathVariable Long accountId) {
+        String correlationId = GeneratorUtil.generateCorrelationId();
+
+        // ✅ Extract current user and enforce ACL
+        CurrentUserContext currentUser = SecurityContextUtil.getCurrentUserContext();
+        authorizationService.validateAccountViewAccess(accountId, currentUser, correlationId);
+
+        BigDecimal availableBalance = accountService.getAvailableBalance(accountId);
+        ApiResponse response = new ApiResponse(
+            true,
+            "Available balance retrieved successfully",
+            correlationId,
+            availableBalance,
+            null
+        );
+        return ResponseEntity.ok(response);
+    }
+
     @PutMapping("/{accountId}")
     @Operation(summary = "Update account")
     public ResponseEntity<ApiResponse> updateAccount(
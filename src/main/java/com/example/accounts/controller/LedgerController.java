@@ -0,0 +1,116 @@
+package com.example.accounts.controller;
+
+import com.example.accounts.dto.CurrentUserContext;
+import com.example.accounts.exception.AccessDeniedException;
+import com.example.accounts.ledger.LedgerChangeFeed;
+import com.example.accounts.ledger.LedgerExporter;
+import com.example.accounts.service.LedgerService;
+import com.example.accounts.util.GeneratorUtil;
+import com.example.accounts.util.SecurityContextUtil;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.async.DeferredResult;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+@RestController
+@RequestMapping("/api/ledger")
+@RequiredArgsConstructor
+@Tag(name = "Ledger", description = "APIs for reading the ledger")
+public class LedgerController {
+
+    private static final LocalDateTime BEGINNING = LocalDateTime.of(1970, 1, 1, 0, 0);
+    private static final MediaType NDJSON = MediaType.APPLICATION_NDJSON;
+    private static final String NEXT_CURSOR_HEADER = "X-Next-Cursor";
+    private static final int MAX_CHANGES_PAGE = 5000;
+    private static final int MAX_WAIT_SECONDS = 60;
+
+    private final LedgerService ledgerService;
+    private final LedgerChangeFeed changeFeed;
+
+    @GetMapping("/export")
+    @Operation(summary = "Stream ledger entries as NDJSON or CSV, for one account or all accounts")
+    public ResponseEntity<StreamingResponseBody> exportLedger(
+            @RequestParam(required = false) Long accountId,
+            @RequestParam(required = false) String from,
+            @RequestParam(required = false) String to,
+            @RequestParam(defaultValue = "NDJSON") LedgerExporter.Format format,
+            @RequestParam(defaultValue = "false") boolean gzip) {
+        String correlationId = GeneratorUtil.generateCorrelationId();
+
+        // Only OPS or ADMIN can export the ledger
+        CurrentUserContext currentUser = SecurityContextUtil.getCurrentUserContext();
+        if (!currentUser.isOps() && !currentUser.isAdmin()) {
+            throw new AccessDeniedException("Only OPS or ADMIN can export the ledger", correlationId);
+        }
+
+        DateTimeFormatter formatter = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+        LocalDateTime start = from != null ? LocalDateTime.parse(from, formatter) : BEGINNING;
+        LocalDateTime end = to != null ? LocalDateTime.parse(to, formatter) : LocalDateTime.now();
+
+        StreamingResponseBody body = ledgerService.exportEntries(accountId, start, end, format, gzip);
+
+        String filename = "ledger_" + (accountId != null ? accountId : "all") + "_"
+            + start.toLocalDate() + "_" + end.toLocalDate()
+            + (format == LedgerExporter.Format.CSV ? ".csv" : ".ndjson") + (gzip ? ".gz" : "");
+        MediaType contentType = gzip ? MediaType.parseMediaType("application/gzip")
+            : format == LedgerExporter.Format.CSV ? MediaType.parseMediaType("text/csv")
+            : NDJSON;
+
+        return ResponseEntity.ok()
+                .contentType(contentType)
+                .header(HttpHeaders.CONTENT_DISPOSITION, "attachment; filename=" + filename)
+                .body(body);
+    }
+
+    @GetMapping("/changes")
+    @Operation(summary = "Tail posted ledger transactions: an NDJSON page of changes after the cursor, long-polling when there are none yet")
+    public DeferredResult<ResponseEntity<String>> getChanges(
+            @RequestParam(defaultValue = "0") long after,
+            @RequestParam(defaultValue = "500") int limit,
+            @RequestParam(defaultValue = "25") int waitSeconds) {
+        String correlationId = GeneratorUtil.generateCorrelationId();
+
+        // Only OPS or ADMIN can read the change feed
+        CurrentUserContext currentUser = SecurityContextUtil.getCurrentUserContext();
+        if (!currentUser.isOps() && !currentUser.isAdmin()) {
+            throw new AccessDeniedException("Only OPS or ADMIN can read the ledger change feed", correlationId);
+        }
+
+        int pageSize = Math.max(1, Math.min(limit, MAX_CHANGES_PAGE));
+        long waitMillis = Math.max(0, Math.min(waitSeconds, MAX_WAIT_SECONDS)) * 1000L;
+
+        ResponseEntity<String> empty = toResponse(new LedgerChangeFeed.Page("", 0, after));
+        DeferredResult<ResponseEntity<String>> result = new DeferredResult<>(waitMillis > 0 ? waitMillis : null, empty);
+
+        LedgerChangeFeed.Page page = changeFeed.read(after, pageSize);
+        if (page.count() > 0 || waitMillis == 0) {
+            result.setResult(toResponse(page));
+            return result;
+        }
+
+        LedgerChangeFeed.Waiter waiter = changeFeed.await(after, pageSize, ready -> result.setResult(toResponse(ready)));
+        if (waiter == null) {
+            // Too many readers parked already; the client polls again
+            result.setResult(empty);
+            return result;
+        }
+        result.onCompletion(() -> changeFeed.cancel(waiter));
+        return result;
+    }
+
+    // Helper methods
+    private ResponseEntity<String> toResponse(LedgerChangeFeed.Page page) {
+        return ResponseEntity.ok()
+                .contentType(NDJSON)
+                .header(NEXT_CURSOR_HEADER, Long.toString(page.nextCursor()))
+                .body(page.body());
+    }
+}
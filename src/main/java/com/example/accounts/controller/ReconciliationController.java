@@ -0,0 +1,111 @@
+package com.example.accounts.controller;
+
+import com.example.accounts.dto.ApiResponse;
+import com.example.accounts.dto.CurrentUserContext;
+import com.example.accounts.dto.ReconciliationMismatchDto;
+import com.example.accounts.dto.ReconciliationRunDto;
+import com.example.accounts.exception.AccessDeniedException;
+import com.example.accounts.service.ReconciliationService;
+import com.example.accounts.util.GeneratorUtil;
+import com.example.accounts.util.SecurityContextUtil;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+/**
+ * Ledger-to-balance reconciliation runs. Only OPS or ADMIN can start or view them.
+ */
+@RestController
+@RequestMapping("/api/reconciliation")
+@RequiredArgsConstructor
+@Tag(name = "Reconciliation", description = "APIs for ledger-to-balance reconciliation")
+public class ReconciliationController {
+
+    private final ReconciliationService reconciliationService;
+
+    @PostMapping("/runs")
+    @Operation(summary = "Start a reconciliation run, or resume the last incomplete one")
+    public ResponseEntity<ApiResponse> startRun() {
+        String correlationId = GeneratorUtil.generateCorrelationId();
+        requireOpsOrAdmin(correlationId);
+
+        ReconciliationRunDto run = reconciliationService.startReconciliation(correlationId);
+        ApiResponse response = new ApiResponse(
+            true,
+            "Reconciliation run " + run.getReconciliationRunId() + " is " + run.getRunStatus(),
+            correlationId,
+            run,
+            null
+        );
+        return new ResponseEntity<>(response, HttpStatus.ACCEPTED);
+    }
+
+    @GetMapping("/runs")
+    @Operation(summary = "Get recent reconciliation runs")
+    public ResponseEntity<ApiResponse> getRuns(
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "10") int size) {
+        String correlationId = GeneratorUtil.generateCorrelationId();
+        requireOpsOrAdmin(correlationId);
+
+        Page<ReconciliationRunDto> runs = reconciliationService.getRuns(PageRequest.of(page, size));
+        ApiResponse response = new ApiResponse(
+            true,
+            "Reconciliation runs retrieved successfully",
+            correlationId,
+            runs,
+            null
+        );
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/runs/{runId}")
+    @Operation(summary = "Get a reconciliation run")
+    public ResponseEntity<ApiResponse> getRun(@PathVariable Long runId) {
+        String correlationId = GeneratorUtil.generateCorrelationId();
+        requireOpsOrAdmin(correlationId);
+
+        ReconciliationRunDto run = reconciliationService.getRun(runId);
+        ApiResponse response = new ApiResponse(
+            true,
+            "Reconciliation run retrieved successfully",
+            correlationId,
+            run,
+            null
+        );
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/runs/{runId}/mismatches")
+    @Operation(summary = "Get the accounts a reconciliation run found out of balance")
+    public ResponseEntity<ApiResponse> getMismatches(
+            @PathVariable Long runId,
+            @RequestParam(defaultValue = "0") int page,
+            @RequestParam(defaultValue = "50") int size) {
+        String correlationId = GeneratorUtil.generateCorrelationId();
+        requireOpsOrAdmin(correlationId);
+
+        Page<ReconciliationMismatchDto> mismatches = reconciliationService.getMismatches(runId, PageRequest.of(page, size));
+        ApiResponse response = new ApiResponse(
+            true,
+            "Reconciliation mismatches retrieved successfully",
+            correlationId,
+            mismatches,
+            null
+        );
+        return ResponseEntity.ok(response);
+    }
+
+    // Helper methods
+    private void requireOpsOrAdmin(String correlationId) {
+        CurrentUserContext currentUser = SecurityContextUtil.getCurrentUserContext();
+        if (!currentUser.isOps() && !currentUser.isAdmin()) {
+            throw new AccessDeniedException("Only OPS or ADMIN can access reconciliation runs", correlationId);
+        }
+    }
+}
@@ -0,0 +1,107 @@
+package com.example.accounts.controller;
+
+import com.example.accounts.dto.ApiResponse;
+import com.example.accounts.dto.CurrentUserContext;
+import com.example.accounts.dto.StandingOrderDto;
+import com.example.accounts.dto.StandingOrderRequestDto;
+import com.example.accounts.service.AuthorizationService;
+import com.example.accounts.service.StandingOrderService;
+import com.example.accounts.util.GeneratorUtil;
+import com.example.accounts.util.SecurityContextUtil;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.validation.Valid;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping("/api/standing-orders")
+@RequiredArgsConstructor
+@Tag(name = "Standing Orders", description = "APIs for recurring and future-dated transfers")
+public class StandingOrderController {
+
+    private final StandingOrderService standingOrderService;
+    private final AuthorizationService authorizationService;
+
+    @PostMapping
+    @Operation(summary = "Create a standing order")
+    public ResponseEntity<ApiResponse> createStandingOrder(@Valid @RequestBody StandingOrderRequestDto request) {
+        String correlationId = GeneratorUtil.generateCorrelationId();
+
+        // Same permission as initiating a transfer from the source account
+        CurrentUserContext currentUser = SecurityContextUtil.getCurrentUserContext();
+        authorizationService.validateTransferSourceAccess(request.getSourceAccountId(), currentUser, correlationId);
+
+        StandingOrderDto standingOrder = standingOrderService.createStandingOrder(request, correlationId);
+        ApiResponse response = new ApiResponse(
+            true,
+            "Standing order created successfully",
+            correlationId,
+            standingOrder,
+            null
+        );
+        return new ResponseEntity<>(response, HttpStatus.CREATED);
+    }
+
+    @GetMapping("/{standingOrderId}")
+    @Operation(summary = "Get standing order by ID")
+    public ResponseEntity<ApiResponse> getStandingOrder(@PathVariable Long standingOrderId) {
+        String correlationId = GeneratorUtil.generateCorrelationId();
+        StandingOrderDto standingOrder = standingOrderService.getStandingOrder(standingOrderId);
+
+        CurrentUserContext currentUser = SecurityContextUtil.getCurrentUserContext();
+        authorizationService.validateAccountViewAccess(standingOrder.getSourceAccountId(), currentUser, correlationId);
+
+        ApiResponse response = new ApiResponse(
+            true,
+            "Standing order retrieved successfully",
+            correlationId,
+            standingOrder,
+            null
+        );
+        return ResponseEntity.ok(response);
+    }
+
+    @GetMapping("/account/{accountId}")
+    @Operation(summary = "Get standing orders for an account")
+    public ResponseEntity<ApiResponse> getAccountStandingOrders(@PathVariable Long accountId) {
+        String correlationId = GeneratorUtil.generateCorrelationId();
+
+        CurrentUserContext currentUser = SecurityContextUtil.getCurrentUserContext();
+        authorizationService.validateAccountViewAccess(accountId, currentUser, correlationId);
+
+        List<StandingOrderDto> standingOrders = standingOrderService.getStandingOrdersByAccount(accountId);
+        ApiResponse response = new ApiResponse(
+            true,
+            "Standing orders retrieved successfully",
+            correlationId,
+            standingOrders,
+            null
+        );
+        return ResponseEntity.ok(response);
+    }
+
+    @PostMapping("/{standingOrderId}/cancel")
+    @Operation(summary = "Cancel a standing order")
+    public ResponseEntity<ApiResponse> cancelStandingOrder(@PathVariable Long standingOrderId) {
+        String correlationId = GeneratorUtil.generateCorrelationId();
+        StandingOrderDto standingOrder = standingOrderService.getStandingOrder(standingOrderId);
+
+        CurrentUserContext currentUser = SecurityContextUtil.getCurrentUserContext();
+        authorizationService.validateTransferSourceAccess(standingOrder.getSourceAccountId(), currentUser, correlationId);
+
+        StandingOrderDto cancelled = standingOrderService.cancelStandingOrder(standingOrderId, correlationId);
+        ApiResponse response = new ApiResponse(
+            true,
+            "Standing order cancelled successfully",
+            correlationId,
+            cancelled,
+            null
+        );
+        return ResponseEntity.ok(response);
+    }
+}
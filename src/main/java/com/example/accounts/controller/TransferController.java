@@ -1,11 +1,19 @@
 package com.example.accounts.controller;
 
+import com.example.accounts.dto.BatchTransferRequestDto;
+import com.example.accounts.dto.BatchTransferResponseDto;
+import com.example.accounts.dto.SettlementResultDto;
 import com.example.accounts.dto.TransferRequestDto;
 import com.example.accounts.dto.TransferResponseDto;
+import com.example.accounts.dto.TransferVersionDto;
 import com.example.accounts.dto.ApiResponse;
 import com.example.accounts.dto.CurrentUserContext;
+import com.example.accounts.dto.CursorPageDto;
+import com.example.accounts.dto.TransferEventDto;
 import com.example.accounts.entity.Transfer;
-import com.example.accounts.entity.TransferVersion;
+import com.example.accounts.events.TransferEventBus;
+import com.example.accounts.service.SettlementService;
+import com.example.accounts.service.TransferBatchService;
 import com.example.accounts.service.TransferService;
 import com.example.accounts.service.AuthorizationService;
 import com.example.accounts.util.GeneratorUtil;
@@ -13,13 +21,22 @@ import com.example.accounts.util.SecurityContextUtil;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.tags.Tag;
 import jakarta.validation.Valid;
+import jakarta.validation.constraints.Max;
+import jakarta.validation.constraints.Min;
 import lombok.RequiredArgsConstructor;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.LinkedHashSet;
+import java.util.Set;
 
 @RestController
 @RequestMapping("/api/transfers")
@@ -27,8 +44,13 @@ import org.springframework.web.bind.annotation.*;
 @Tag(name = "Transfer Management", description = "APIs for managing transfers")
 public class TransferController {
 
+    private static final int MAX_PAGE_SIZE = 500;
+
     private final TransferService transferService;
+    private final TransferBatchService transferBatchService;
     private final AuthorizationService authorizationService;
+    private final SettlementService settlementService;
+    private final TransferEventBus transferEventBus;
 
     @PostMapping
     @Operation(summary = "Initiate a transfer")
@@ -55,6 +77,85 @@ public class TransferController {
         return new ResponseEntity<>(response, HttpStatus.CREATED);
     }
 
+    /**
+     * Initiate a batch of transfers (payroll, bill-pay runs) in one request.
+     * ACL is checked once per distinct source account; each item gets its own result.
+     *
+     * @param request Batch of transfer requests
+     * @return Per-item results and batch totals
+     */
+    @PostMapping("/batch")
+    @Operation(summary = "Initiate a batch of transfers")
+    public ResponseEntity<ApiResponse> initiateTransferBatch(@Valid @RequestBody BatchTransferRequestDto request) {
+        String correlationId = GeneratorUtil.generateCorrelationId();
+
+        // ✅ Extract current user
+        CurrentUserContext currentUser = SecurityContextUtil.getCurrentUserContext();
+
+        // ✅ Enforce ACL once per distinct source account
+        Set<Long> sourceAccountIds = new LinkedHashSet<>();
+        for (TransferRequestDto transfer : request.getTransfers()) {
+            // Malformed items are reported per item by the service
+            if (transfer != null && transfer.getSourceAccountId() != null) {
+                sourceAccountIds.add(transfer.getSourceAccountId());
+            }
+        }
+        for (Long sourceAccountId : sourceAccountIds) {
+            authorizationService.validateTransferSourceAccess(sourceAccountId, currentUser, correlationId);
+        }
+
+        BatchTransferResponseDto result = transferBatchService.initiateTransferBatch(request.getTransfers(), correlationId);
+        ApiResponse response = new ApiResponse(
+            true,
+            "Batch processed: " + result.getSuccessCount() + " of " + result.getTotalCount() + " transfers initiated",
+            correlationId,
+            result,
+            null
+        );
+        return new ResponseEntity<>(response, HttpStatus.CREATED);
+    }
+
+    /**
+     * Run a multilateral netting settlement over AUTHORIZED transfers in a window.
+     * Only OPS or ADMIN can trigger a settlement.
+     *
+     * @param windowStart Window start, ISO date-time (inclusive)
+     * @param windowEnd Window end, ISO date-time (exclusive)
+     * @return Settlement summary
+     */
+    @PostMapping("/settlement")
+    @Operation(summary = "Run a netting settlement for authorized transfers")
+    public ResponseEntity<ApiResponse> runSettlement(
+            @RequestParam String windowStart,
+            @RequestParam String windowEnd) {
+        String correlationId = GeneratorUtil.generateCorrelationId();
+
+        // Extract current user
+        CurrentUserContext currentUser = SecurityContextUtil.getCurrentUserContext();
+
+        // Only OPS or ADMIN can run settlements
+        if (!currentUser.isOps() && !currentUser.isAdmin()) {
+            throw new com.example.accounts.exception.AccessDeniedException(
+                "Only OPS or ADMIN can run a settlement",
+                correlationId
+            );
+        }
+
+        DateTimeFormatter formatter = DateTimeFormatter.ISO_LOCAL_DATE_TIME;
+        LocalDateTime start = LocalDateTime.parse(windowStart, formatter);
+        LocalDateTime end = LocalDateTime.parse(windowEnd, formatter);
+
+        SettlementResultDto result = settlementService.runSettlement(start, end, correlationId);
+        ApiResponse response = new ApiResponse(
+            true,
+            "Settlement completed: " + result.getSettledCount() + " transfers posted",
+            correlationId,
+            result,
+            null
+        );
+        return ResponseEntity.ok(response);
+    }
+
     @PostMapping("/{transferId}/authorize")
     @Operation(summary = "Authorize a transfer")
     public ResponseEntity<ApiResponse> authorizeTransfer(@PathVariable Long transferId) {
@@ -119,15 +220,59 @@ public class TransferController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * Stream status changes of a transfer as Server-Sent Events.
+     * A new stream starts with the transfer's current state; a reconnecting client sending
+     * Last-Event-ID gets the events it missed instead.
+     */
+    @GetMapping(value = "/{transferId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream transfer status changes")
+    public SseEmitter streamTransferEvents(
+            @PathVariable Long transferId,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        // Fails with 404 before a stream is opened for an unknown transfer
+        transferService.getTransferStatus(transferId);
+        return transferEventBus.subscribeTransfer(transferId, lastEventId, () -> {
+            TransferResponseDto transfer = transferService.getTransferStatus(transferId);
+            return new TransferEventDto(null, transfer.getTransferId(), transfer.getSourceAccountId(),
+                transfer.getDestinationAccountId(), transfer.getTransferStatus(), transfer.getAmount(), LocalDateTime.now());
+        });
+    }
+
+    /**
+     * Stream status changes of every transfer into or out of an account as Server-Sent Events.
+     */
+    @GetMapping(value = "/account/{accountId}/events", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    @Operation(summary = "Stream transfer status changes for an account")
+    public SseEmitter streamAccountEvents(
+            @PathVariable Long accountId,
+            @RequestHeader(value = "Last-Event-ID", required = false) Long lastEventId) {
+        String correlationId = GeneratorUtil.generateCorrelationId();
+        CurrentUserContext currentUser = SecurityContextUtil.getCurrentUserContext();
+        authorizationService.validateAccountViewAccess(accountId, currentUser, correlationId);
+        return transferEventBus.subscribeAccount(accountId, lastEventId);
+    }
+
+    /**
+     * List an account's transfers, newest first.
+     * Uses keyset pagination: pass the returned nextCursor to get the next page. The legacy
+     * offset mode (with total counts) is still used when a page number is given.
+     */
     @GetMapping("/account/{accountId}")
     @Operation(summary = "Get transfers for an account")
     public ResponseEntity<ApiResponse> getAccountTransfers(
             @PathVariable Long accountId,
-            @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size) {
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) @Min(0) Integer page,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(MAX_PAGE_SIZE) int size) {
         String correlationId = GeneratorUtil.generateCorrelationId();
-        Pageable pageable = PageRequest.of(page, size);
-        Page<TransferResponseDto> transfers = transferService.getTransfersByAccount(accountId, pageable);
+        Object transfers;
+        if (page != null) {
+            Pageable pageable = PageRequest.of(page, size);
+            transfers = transferService.getTransfersByAccount(accountId, pageable);
+        } else {
+            transfers = transferService.getTransfersByAccount(accountId, cursor, size);
+        }
         ApiResponse response = new ApiResponse(
             true,
             "Transfers retrieved successfully",
@@ -138,16 +283,25 @@ public class TransferController {
         return ResponseEntity.ok(response);
     }
 
+    /**
+     * List transfers in a status, newest first. Keyset-paginated like the account listing.
+     */
     @GetMapping("/status/{status}")
     @Operation(summary = "Get transfers by status")
     public ResponseEntity<ApiResponse> getTransfersByStatus(
             @PathVariable String status,
-            @RequestParam(defaultValue = "0") int page,
-            @RequestParam(defaultValue = "20") int size) {
+            @RequestParam(required = false) String cursor,
+            @RequestParam(required = false) @Min(0) Integer page,
+            @RequestParam(defaultValue = "20") @Min(1) @Max(MAX_PAGE_SIZE) int size) {
         String correlationId = GeneratorUtil.generateCorrelationId();
-        Pageable pageable = PageRequest.of(page, size);
         Transfer.TransferStatus transferStatus = Transfer.TransferStatus.valueOf(status);
-        Page<TransferResponseDto> transfers = transferService.getTransfersWithStatus(transferStatus, pageable);
+        Object transfers;
+        if (page != null) {
+            Pageable pageable = PageRequest.of(page, size);
+            transfers = transferService.getTransfersWithStatus(transferStatus, pageable);
+        } else {
+            transfers = transferService.getTransfersWithStatus(transferStatus, cursor, size);
+        }
         ApiResponse response = new ApiResponse(
             true,
             "Transfers retrieved successfully",
@@ -181,7 +335,7 @@ public class TransferController {
         authorizationService.validateTransferSourceAccess(transferId, currentUser, correlationId);
 
         // Get version history
-        java.util.List<TransferVersion> versions = transferService.getTransferVersionHistory(transferId);
+        java.util.List<TransferVersionDto> versions = transferService.getTransferVersionHistory(transferId);
 
         ApiResponse response = new ApiResponse(
             true,
@@ -199,14 +353,14 @@ public class TransferController {
      * Creates a new version documenting the revert.
      *
      * @param transferId Transfer ID
-     * @param versionId Version to revert to
+     * @param versionNumber Version number to revert to
      * @return Updated transfer DTO
      */
-    @PostMapping("/{transferId}/revert/{versionId}")
+    @PostMapping("/{transferId}/revert/{versionNumber}")
     @Operation(summary = "Revert transfer to a previous version")
     public ResponseEntity<ApiResponse> revertTransferVersion(
             @PathVariable Long transferId,
-            @PathVariable Long versionId,
+            @PathVariable Long versionNumber,
             @RequestParam(required = false) String correlationId) {
 
         // Generate correlation ID if not provided
@@ -221,7 +375,7 @@ public class TransferController {
         authorizationService.validateTransferSourceAccess(transferId, currentUser, correlationId);
 
         // Revert to selected version
-        TransferResponseDto transfer = transferService.revertTransferVersion(transferId, versionId, correlationId);
+        TransferResponseDto transfer = transferService.revertTransferVersion(transferId, versionNumber, correlationId);
 
         ApiResponse response = new ApiResponse(
             true,
@@ -0,0 +1,107 @@
+package com.example.accounts.datasource;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.util.ArrayDeque;
+import java.util.Deque;
+
+/**
+ * Hands out replica connections to read-only transactions and primary connections to
+ * everything else.
+ *
+ * The route is pushed by RoutingJpaTransactionManager when a transaction begins and popped when
+ * it completes, so a REQUIRES_NEW write inside a read-only transaction still gets the primary.
+ * Connections taken outside any transaction go to the primary.
+ *
+ * A replica route falls back to the primary while ReplicaLagMonitor reports the replica as
+ * unusable (unreachable or behind by more than max-lag-ms), and when a replica connection
+ * cannot be opened.
+ */
+@Slf4j
+public class ReadWriteRoutingDataSource extends AbstractDataSource {
+
+    /**
+     * Transaction label that keeps a read-only transaction on the primary.
+     * For reads that decide what gets written (idempotency, limits, access checks).
+     */
+    public static final String PRIMARY = "primary";
+
+    public enum Route {
+        PRIMARY, REPLICA
+    }
+
+    private static final ThreadLocal<Deque<Route>> ROUTES = ThreadLocal.withInitial(ArrayDeque::new);
+
+    private final DataSource primary;
+    private final DataSource replica;
+    private final ReplicaLagMonitor lagMonitor;
+    private final Counter replicaConnections;
+    private final Counter primaryConnections;
+    private final Counter fallbacks;
+
+    public ReadWriteRoutingDataSource(DataSource primary, DataSource replica, ReplicaLagMonitor lagMonitor,
+                                      MeterRegistry meterRegistry) {
+        this.primary = primary;
+        this.replica = replica;
+        this.lagMonitor = lagMonitor;
+        this.replicaConnections = Counter.builder("datasource.routed.connections").tag("target", "replica")
+            .description("Connections handed out by the read/write routing DataSource")
+            .register(meterRegistry);
+        this.primaryConnections = Counter.builder("datasource.routed.connections").tag("target", "primary")
+            .description("Connections handed out by the read/write routing DataSource")
+            .register(meterRegistry);
+        this.fallbacks = Counter.builder("datasource.replica.fallbacks")
+            .description("Read-only transactions sent to the primary because the replica was unusable")
+            .register(meterRegistry);
+    }
+
+    static void push(Route route) {
+        ROUTES.get().push(route);
+    }
+
+    static void pop() {
+        Deque<Route> routes = ROUTES.get();
+        routes.poll();
+        if (routes.isEmpty()) {
+            ROUTES.remove();
+        }
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (ROUTES.get().peek() != Route.REPLICA) {
+            return primaryConnection();
+        }
+        if (!lagMonitor.isReplicaUsable()) {
+            fallbacks.increment();
+            return primaryConnection();
+        }
+        try {
+            Connection connection = replica.getConnection();
+            replicaConnections.increment();
+            return connection;
+        } catch (SQLException e) {
+            lagMonitor.markUnusable(e);
+            fallbacks.increment();
+            return primaryConnection();
+        }
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new UnsupportedOperationException("Routing DataSource uses the pools' configured credentials");
+    }
+
+    // Helper methods
+    private Connection primaryConnection() throws SQLException {
+        Connection connection = primary.getConnection();
+        primaryConnections.increment();
+        return connection;
+    }
+}
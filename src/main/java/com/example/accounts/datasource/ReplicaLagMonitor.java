@@ -0,0 +1,107 @@
+package com.example.accounts.datasource;
+
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+
+import javax.sql.DataSource;
+import java.sql.SQLException;
+import java.util.List;
+
+/**
+ * Decides whether read-only transactions may use the read replica.
+ *
+ * Every heartbeat-interval-ms the current time is written to replica_heartbeat on the primary
+ * and the last replicated value is read back from the replica; lag is the difference. Because
+ * the value read back is usually the previous beat, lag reads up to one interval high, so
+ * max-lag-ms should be well above heartbeat-interval-ms.
+ *
+ * The replica is unusable until its first good heartbeat, while lag is above max-lag-ms, and
+ * from a failed heartbeat or connection until the next good heartbeat. A max-lag-ms of 0 or less
+ * only checks that the replica answers, for setups where the heartbeat row is not replicated.
+ */
+@Slf4j
+public class ReplicaLagMonitor {
+
+    private static final String BEAT =
+        "INSERT INTO replica_heartbeat (heartbeat_id, beat_at_millis) VALUES (1, ?) " +
+        "ON DUPLICATE KEY UPDATE beat_at_millis = VALUES(beat_at_millis)";
+
+    private final JdbcTemplate primary;
+    private final JdbcTemplate replica;
+    private final long maxLagMillis;
+
+    private volatile boolean usable;
+    private volatile long lagMillis = -1;
+
+    public ReplicaLagMonitor(DataSource primary, DataSource replica, long maxLagMillis, MeterRegistry meterRegistry) {
+        this.primary = new JdbcTemplate(primary);
+        this.replica = new JdbcTemplate(replica);
+        this.maxLagMillis = maxLagMillis;
+
+        Gauge.builder("datasource.replica.lag", this, monitor -> monitor.lagMillis)
+            .description("Replica lag in milliseconds from the last heartbeat, -1 when unknown")
+            .baseUnit("milliseconds")
+            .register(meterRegistry);
+        Gauge.builder("datasource.replica.usable", this, monitor -> monitor.usable ? 1 : 0)
+            .description("1 while read-only transactions are routed to the replica")
+            .register(meterRegistry);
+    }
+
+    public boolean isReplicaUsable() {
+        return usable;
+    }
+
+    /**
+     * Called when a replica connection cannot be opened; read-only transactions go to the
+     * primary until the next good heartbeat.
+     */
+    public void markUnusable(SQLException cause) {
+        if (usable) {
+            log.warn("Read replica connection failed; routing reads to the primary", cause);
+        }
+        usable = false;
+    }
+
+    @Scheduled(fixedDelayString = "${app.datasource.replica.heartbeat-interval-ms:1000}",
+        initialDelayString = "${app.datasource.replica.heartbeat-interval-ms:1000}")
+    public void heartbeat() {
+        try {
+            if (maxLagMillis <= 0) {
+                replica.queryForObject("SELECT 1", Integer.class);
+                update(true, -1);
+                return;
+            }
+            primary.update(BEAT, System.currentTimeMillis());
+            List<Long> beats = replica.queryForList(
+                "SELECT beat_at_millis FROM replica_heartbeat WHERE heartbeat_id = 1", Long.class);
+            if (beats.isEmpty()) {
+                update(false, -1);
+                return;
+            }
+            long lag = Math.max(0, System.currentTimeMillis() - beats.get(0));
+            update(lag <= maxLagMillis, lag);
+        } catch (DataAccessException e) {
+            if (usable) {
+                log.warn("Read replica heartbeat failed; routing reads to the primary", e);
+            }
+            update(false, -1);
+        }
+    }
+
+    // Helper methods
+    private void update(boolean nowUsable, long lag) {
+        lagMillis = lag;
+        if (nowUsable != usable) {
+            if (nowUsable) {
+                log.info("Read replica is usable (lag {} ms); routing read-only transactions to it", lag);
+            } else if (lag >= 0) {
+                log.warn("Read replica is {} ms behind (max {} ms); routing reads to the primary", lag, maxLagMillis);
+            }
+        }
+        usable = nowUsable;
+    }
+}
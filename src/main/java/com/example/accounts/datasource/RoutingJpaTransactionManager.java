@@ -0,0 +1,131 @@
+package com.example.accounts.datasource;
+
+import jakarta.persistence.EntityManager;
+import org.hibernate.Session;
+import org.springframework.orm.jpa.JpaTransactionManager;
+import org.springframework.orm.jpa.vendor.HibernateJpaDialect;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.interceptor.TransactionAttribute;
+import org.springframework.transaction.support.DefaultTransactionDefinition;
+import org.springframework.transaction.support.DefaultTransactionStatus;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.sql.SQLException;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * JPA transaction manager that picks the route of each new transaction before its connection
+ * is taken.
+ *
+ * A new transaction reads from the replica when it is read-only, is not labelled
+ * ReadWriteRoutingDataSource.PRIMARY, and has not been made sticky by an earlier write:
+ * - in an HTTP request, once a read-write transaction has committed, the rest of the request's
+ *   reads stay on the primary
+ * - outside a request (schedulers, executors), reads on a thread stay on the primary for
+ *   sticky-after-write-ms after a read-write transaction committed on that thread
+ * This gives a caller its own writes back. Reads of rows written on another thread or by another
+ * request are labelled PRIMARY instead. Transactions that join an existing one keep its route.
+ *
+ * Hibernate releases connections after each transaction here (see ReadReplicaDataSourceConfig),
+ * and the stock HibernateJpaDialect refuses custom isolation levels in that mode, so
+ * IsolationJpaDialect sets them on the connection itself. The pool restores the default when
+ * the connection is returned.
+ */
+public class RoutingJpaTransactionManager extends JpaTransactionManager {
+
+    private static final String WROTE_ATTRIBUTE = RoutingJpaTransactionManager.class.getName() + ".WROTE";
+
+    // System.nanoTime() of the last read-write commit on this thread, outside requests
+    private static final ThreadLocal<Long> WROTE_AT = new ThreadLocal<>();
+
+    private final long stickyNanos;
+
+    public RoutingJpaTransactionManager(long stickyAfterWriteMillis) {
+        this.stickyNanos = TimeUnit.MILLISECONDS.toNanos(stickyAfterWriteMillis);
+    }
+
+    @Override
+    public void afterPropertiesSet() {
+        // afterPropertiesSet takes the EntityManagerFactory's dialect; replace it afterwards
+        super.afterPropertiesSet();
+        setJpaDialect(new IsolationJpaDialect());
+    }
+
+    @Override
+    protected void doBegin(Object transaction, TransactionDefinition definition) {
+        ReadWriteRoutingDataSource.push(route(definition));
+        try {
+            super.doBegin(transaction, definition);
+        } catch (RuntimeException | Error e) {
+            // No cleanup callback follows a failed begin
+            ReadWriteRoutingDataSource.pop();
+            throw e;
+        }
+    }
+
+    @Override
+    protected void doCommit(DefaultTransactionStatus status) {
+        super.doCommit(status);
+        if (!status.isReadOnly()) {
+            RequestAttributes request = RequestContextHolder.getRequestAttributes();
+            if (request != null) {
+                request.setAttribute(WROTE_ATTRIBUTE, Boolean.TRUE, RequestAttributes.SCOPE_REQUEST);
+            } else if (stickyNanos > 0) {
+                WROTE_AT.set(System.nanoTime());
+            }
+        }
+    }
+
+    @Override
+    protected void doCleanupAfterCompletion(Object transaction) {
+        try {
+            super.doCleanupAfterCompletion(transaction);
+        } finally {
+            ReadWriteRoutingDataSource.pop();
+        }
+    }
+
+    // Helper methods
+    private ReadWriteRoutingDataSource.Route route(TransactionDefinition definition) {
+        if (!definition.isReadOnly()) {
+            return ReadWriteRoutingDataSource.Route.PRIMARY;
+        }
+        if (definition instanceof TransactionAttribute attribute
+                && attribute.getLabels().contains(ReadWriteRoutingDataSource.PRIMARY)) {
+            return ReadWriteRoutingDataSource.Route.PRIMARY;
+        }
+        RequestAttributes request = RequestContextHolder.getRequestAttributes();
+        if (request != null) {
+            return request.getAttribute(WROTE_ATTRIBUTE, RequestAttributes.SCOPE_REQUEST) != null
+                ? ReadWriteRoutingDataSource.Route.PRIMARY
+                : ReadWriteRoutingDataSource.Route.REPLICA;
+        }
+        Long wroteAt = WROTE_AT.get();
+        if (wroteAt != null) {
+            if (System.nanoTime() - wroteAt < stickyNanos) {
+                return ReadWriteRoutingDataSource.Route.PRIMARY;
+            }
+            WROTE_AT.remove();
+        }
+        return ReadWriteRoutingDataSource.Route.REPLICA;
+    }
+
+    private static class IsolationJpaDialect extends HibernateJpaDialect {
+
+        @Override
+        public Object beginTransaction(EntityManager entityManager, TransactionDefinition definition)
+                throws SQLException {
+            int isolationLevel = definition.getIsolationLevel();
+            if (isolationLevel == TransactionDefinition.ISOLATION_DEFAULT) {
+                return super.beginTransaction(entityManager, definition);
+            }
+            DefaultTransactionDefinition withoutIsolation = new DefaultTransactionDefinition(definition);
+            withoutIsolation.setIsolationLevel(TransactionDefinition.ISOLATION_DEFAULT);
+            Object transactionData = super.beginTransaction(entityManager, withoutIsolation);
+            // begin took the connection and no statement has run on it yet
+            entityManager.unwrap(Session.class).doWork(connection -> connection.setTransactionIsolation(isolationLevel));
+            return transactionData;
+        }
+    }
+}
@@ -0,0 +1,26 @@
+package com.example.accounts.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(name = "BatchTransferItemResult", description = "Outcome of a single item in a batch transfer submission")
+public class BatchTransferItemResultDto {
+
+    /**
+     * Position of the item in the submitted batch (0-based)
+     */
+    private Integer index;
+
+    private Boolean success;
+
+    private TransferResponseDto transfer;
+
+    private String errorCode;
+
+    private String message;
+}
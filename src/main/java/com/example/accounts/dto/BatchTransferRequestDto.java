@@ -0,0 +1,21 @@
+package com.example.accounts.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.NotEmpty;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(name = "BatchTransferRequest", description = "Schema for submitting a batch of transfers (payroll, bill-pay runs)")
+public class BatchTransferRequestDto {
+
+    // No @Valid on the items: the service validates each one and reports it in that item's result
+    @NotEmpty(message = "Batch must contain at least one transfer")
+    @Schema(description = "Transfers to initiate, processed in the given order")
+    private List<TransferRequestDto> transfers;
+}
@@ -0,0 +1,25 @@
+package com.example.accounts.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(name = "BatchTransferResponse", description = "Schema for batch transfer submission response")
+public class BatchTransferResponseDto {
+
+    private Integer totalCount;
+
+    private Integer successCount;
+
+    private Integer failureCount;
+
+    private Long durationMillis;
+
+    private List<BatchTransferItemResultDto> results;
+}
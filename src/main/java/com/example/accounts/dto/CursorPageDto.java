@@ -0,0 +1,24 @@
+package com.example.accounts.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.util.List;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(name = "CursorPage", description = "Schema for a keyset-paginated result; pass nextCursor back to get the next page")
+public class CursorPageDto<T> {
+
+    private List<T> content;
+
+    private Integer size;
+
+    private Boolean hasMore;
+
+    @Schema(description = "Opaque token for the next page, null on the last page")
+    private String nextCursor;
+}
@@ -0,0 +1,29 @@
+package com.example.accounts.dto;
+
+import com.example.accounts.entity.LedgerEntry;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+
+/**
+ * One line of a journal: a single debit or credit against one account.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class JournalLegDto {
+
+    private Long accountId;
+
+    private LedgerEntry.EntryType entryType;
+
+    private BigDecimal amount;  // always positive, the side gives the sign
+
+    private String description;
+
+    private String referenceType;
+
+    private Long referenceId;
+}
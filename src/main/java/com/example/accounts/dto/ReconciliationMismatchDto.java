@@ -0,0 +1,26 @@
+package com.example.accounts.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(name = "ReconciliationMismatch", description = "Schema for an account whose balance does not match its ledger")
+public class ReconciliationMismatchDto {
+
+    private Long accountId;
+
+    private BigDecimal accountBalance;
+
+    private BigDecimal ledgerBalance;
+
+    private BigDecimal difference;
+
+    private LocalDateTime detectedAt;
+}
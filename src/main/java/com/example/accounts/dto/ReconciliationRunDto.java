@@ -0,0 +1,42 @@
+package com.example.accounts.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(name = "ReconciliationRun", description = "Schema for a ledger-to-balance reconciliation run")
+public class ReconciliationRunDto {
+
+    private Long reconciliationRunId;
+
+    private String runStatus;
+
+    private LocalDateTime cutoffAt;
+
+    private Long maxAccountId;
+
+    private Long checkpointAccountId;
+
+    private Long accountsChecked;
+
+    private Long mismatchCount;
+
+    private BigDecimal totalDebits;
+
+    private BigDecimal totalCredits;
+
+    private Boolean trialBalanced;
+
+    private LocalDateTime startedAt;
+
+    private LocalDateTime completedAt;
+
+    private String lastFailureReason;
+}
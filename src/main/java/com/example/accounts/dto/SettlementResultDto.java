@@ -0,0 +1,32 @@
+package com.example.accounts.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(name = "SettlementResult", description = "Schema for a netting settlement run result")
+public class SettlementResultDto {
+
+    private String settlementTxnId;
+
+    private LocalDateTime windowStart;
+
+    private LocalDateTime windowEnd;
+
+    private Integer settledCount;
+
+    private Integer skippedCount;
+
+    private Integer accountCount;
+
+    private BigDecimal grossAmount;
+
+    private Long durationMillis;
+}
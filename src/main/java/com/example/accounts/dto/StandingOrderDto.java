@@ -0,0 +1,47 @@
+package com.example.accounts.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(name = "StandingOrder", description = "Schema for standing order details")
+public class StandingOrderDto {
+
+    private Long standingOrderId;
+
+    private Long sourceAccountId;
+
+    private Long destinationAccountId;
+
+    private BigDecimal amount;
+
+    private String description;
+
+    private String frequency;
+
+    private LocalDate startDate;
+
+    private LocalDate endDate;
+
+    private String orderStatus;
+
+    private LocalDate nextRunDate;
+
+    private LocalDateTime nextExecutionAt;
+
+    private Long executionCount;
+
+    private Long lastTransferId;
+
+    private LocalDateTime lastExecutedAt;
+
+    private String lastFailureReason;
+}
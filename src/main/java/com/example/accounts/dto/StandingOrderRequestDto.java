@@ -0,0 +1,48 @@
+package com.example.accounts.dto;
+
+import com.example.accounts.entity.StandingOrder;
+import io.swagger.v3.oas.annotations.media.Schema;
+import jakarta.validation.constraints.DecimalMin;
+import jakarta.validation.constraints.FutureOrPresent;
+import jakarta.validation.constraints.NotNull;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(name = "StandingOrderRequest", description = "Schema for creating a standing order")
+public class StandingOrderRequestDto {
+
+    @NotNull(message = "Source account ID cannot be null")
+    @Schema(description = "Source account ID", example = "1")
+    private Long sourceAccountId;
+
+    @NotNull(message = "Destination account ID cannot be null")
+    @Schema(description = "Destination account ID", example = "2")
+    private Long destinationAccountId;
+
+    @NotNull(message = "Amount cannot be null")
+    @DecimalMin(value = "0.01", message = "Amount must be greater than 0")
+    @Schema(description = "Amount of each transfer", example = "1200.00")
+    private BigDecimal amount;
+
+    @Schema(description = "Description copied to each transfer", example = "Monthly rent")
+    private String description;
+
+    @NotNull(message = "Frequency cannot be null")
+    @Schema(description = "ONCE, DAILY, WEEKLY or MONTHLY", example = "MONTHLY")
+    private StandingOrder.Frequency frequency;
+
+    @NotNull(message = "Start date cannot be null")
+    @FutureOrPresent(message = "Start date cannot be in the past")
+    @Schema(description = "Date of the first transfer", example = "2026-11-01")
+    private LocalDate startDate;
+
+    @Schema(description = "Last date a transfer may run on (inclusive); open-ended if omitted", example = "2027-10-01")
+    private LocalDate endDate;
+}
@@ -0,0 +1,30 @@
+package com.example.accounts.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(name = "TransferEvent", description = "Schema for a transfer status change pushed over Server-Sent Events")
+public class TransferEventDto {
+
+    private Long eventId;
+
+    private Long transferId;
+
+    private Long sourceAccountId;
+
+    private Long destinationAccountId;
+
+    private String status;
+
+    private BigDecimal amount;
+
+    private LocalDateTime occurredAt;
+}
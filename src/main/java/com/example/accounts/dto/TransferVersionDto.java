@@ -0,0 +1,34 @@
+package com.example.accounts.dto;
+
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Schema(name = "TransferVersion", description = "Schema for a rebuilt transfer version snapshot")
+public class TransferVersionDto {
+
+    private Long transferId;
+
+    private Long versionNumber;
+
+    private Long sourceAccountId;
+
+    private Long destinationAccountId;
+
+    private BigDecimal amount;
+
+    private String description;
+
+    private Long changedBy;
+
+    private String changeSummary;
+
+    private LocalDateTime createdAt;
+}
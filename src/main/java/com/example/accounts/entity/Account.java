@@ -47,9 +47,39 @@ public class Account extends BaseEntity {
     @Enumerated(EnumType.STRING)
     private AccountStatus accountStatus = AccountStatus.ACTIVE;
 
-    @Column(name = "balance", nullable = false)
+    /**
+     * Written only on insert (opening balance); afterwards it moves only through relative
+     * UPDATEs (balance = balance + ?), so saving an Account read earlier, for a status or
+     * address change, cannot overwrite a balance change committed in between.
+     */
+    @Column(name = "balance", nullable = false, updatable = false)
     private BigDecimal balance = BigDecimal.ZERO;
 
+    /**
+     * Sum of unreleased transfer holds on this account.
+     * Maintained only by atomic UPDATEs in AccountRepository, never written through the entity,
+     * so a stale Account instance saved later in the same transaction cannot overwrite it.
+     */
+    @Column(name = "held_amount", nullable = false, insertable = false, updatable = false,
+        columnDefinition = "DECIMAL(19,2) NOT NULL DEFAULT 0")
+    private BigDecimal heldAmount = BigDecimal.ZERO;
+
+    /**
+     * Number of ledger entries written for this account; the last entry's account_sequence.
+     * Maintained only by the atomic balance UPDATEs, like held_amount.
+     */
+    @Column(name = "ledger_sequence", nullable = false, insertable = false, updatable = false,
+        columnDefinition = "BIGINT NOT NULL DEFAULT 0")
+    private Long ledgerSequence = 0L;
+
+    /**
+     * Incremented by every UPDATE that changes balance or held_amount, so a cached copy of the
+     * two (AccountBalanceCache) can tell which of two snapshots is newer
+     */
+    @Column(name = "balance_version", nullable = false, insertable = false, updatable = false,
+        columnDefinition = "BIGINT NOT NULL DEFAULT 0")
+    private Long balanceVersion = 0L;
+
     @Column(name = "currency", nullable = false)
     private String currency = "USD";
 
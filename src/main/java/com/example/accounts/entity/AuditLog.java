@@ -22,7 +22,8 @@ public class AuditLog extends BaseEntity {
     @Column(name = "actor_id", nullable = false)
     private Long actorId;
 
-    @Column(name = "action", nullable = false)
+    // VARCHAR, not a native ENUM: new actions need no column change (see EnumColumnMigration)
+    @Column(name = "action", nullable = false, columnDefinition = "VARCHAR(30)")
     @Enumerated(EnumType.STRING)
     private AuditAction action;
 
@@ -57,6 +58,7 @@ public class AuditLog extends BaseEntity {
         TRANSFER_AUTHORIZE,
         TRANSFER_POST,
         TRANSFER_CANCEL,
+        TRANSFER_EXPIRE,
         ACCOUNT_FREEZE,
         ACCOUNT_UNFREEZE,
         ACCOUNT_CLOSE
@@ -0,0 +1,37 @@
+package com.example.accounts.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+
+/**
+ * Rolling per-account, per-day outgoing transfer total used for daily limit checks.
+ * One row per (account, business date); updated atomically on initiate/cancel.
+ */
+@Entity
+@Table(name = "daily_transfer_aggregates", indexes = {
+    @Index(name = "idx_daily_agg_account_date", columnList = "account_id, business_date", unique = true),
+    @Index(name = "idx_daily_agg_business_date", columnList = "business_date")
+})
+@Getter @Setter @ToString @AllArgsConstructor @NoArgsConstructor
+public class DailyTransferAggregate extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "aggregate_id")
+    private Long aggregateId;
+
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+
+    @Column(name = "business_date", nullable = false)
+    private LocalDate businessDate;
+
+    @Column(name = "total_amount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalAmount = BigDecimal.ZERO;
+
+    @Column(name = "transfer_count", nullable = false)
+    private Long transferCount = 0L;
+}
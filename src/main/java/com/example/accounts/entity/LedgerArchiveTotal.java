@@ -0,0 +1,41 @@
+package com.example.accounts.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+
+/**
+ * Per-account totals of one archived ledger month, written by the archiver before it drops the
+ * month's partition, so aggregate checks do not need to read the segment files.
+ */
+@Entity
+@Table(name = "ledger_archive_totals",
+    uniqueConstraints = @UniqueConstraint(name = "uk_ledger_archive_month_account", columnNames = {"archive_month", "account_id"}),
+    indexes = @Index(name = "idx_ledger_archive_account", columnList = "account_id"))
+@Getter @Setter @ToString @AllArgsConstructor @NoArgsConstructor
+public class LedgerArchiveTotal {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "ledger_archive_total_id")
+    private Long ledgerArchiveTotalId;
+
+    @Column(name = "archive_month", nullable = false, length = 7)
+    private String archiveMonth;  // YYYY-MM
+
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+
+    @Column(name = "net_amount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal netAmount;  // credits minus debits
+
+    @Column(name = "debit_amount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal debitAmount;
+
+    @Column(name = "credit_amount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal creditAmount;
+
+    @Column(name = "entry_count")
+    private Long entryCount;  // null on rows archived before it was recorded (LedgerSequenceBackfill fills them)
+}
@@ -0,0 +1,36 @@
+package com.example.accounts.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * One entry of the ledger change feed. change_id is the consumers' cursor: rows are only
+ * appended, by one relay transaction at a time, so ids become visible in increasing order.
+ */
+@Entity
+@Table(name = "ledger_changes", indexes = {
+    @Index(name = "idx_ledger_change_relayed", columnList = "relayed_at")
+})
+@Getter @Setter @ToString @AllArgsConstructor @NoArgsConstructor
+public class LedgerChange {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "change_id")
+    private Long changeId;
+
+    @Column(name = "ledger_txn_id", nullable = false, length = 50)
+    private String ledgerTxnId;
+
+    @Column(name = "payload", nullable = false, columnDefinition = "MEDIUMTEXT")
+    @ToString.Exclude
+    private String payload;  // JSON LedgerPostingEvent
+
+    @Column(name = "posted_at", nullable = false)
+    private LocalDateTime postedAt;
+
+    @Column(name = "relayed_at", nullable = false)
+    private LocalDateTime relayedAt;
+}
@@ -9,7 +9,8 @@ import java.math.BigDecimal;
 @Table(name = "ledger_entries", indexes = {
     @Index(name = "idx_ledger_txn_id", columnList = "ledger_txn_id"),
     @Index(name = "idx_account_id", columnList = "account_id"),
-    @Index(name = "idx_created_at", columnList = "created_at")
+    @Index(name = "idx_created_at", columnList = "created_at"),
+    @Index(name = "idx_account_created_seq", columnList = "account_id, created_at, account_sequence")
 })
 @Getter @Setter @ToString @AllArgsConstructor @NoArgsConstructor
 public class LedgerEntry extends BaseEntity {
@@ -22,8 +23,10 @@ public class LedgerEntry extends BaseEntity {
     @Column(name = "ledger_txn_id", nullable = false, length = 50)
     private String ledgerTxnId;
 
+    // No foreign key: ledger_entries is partitioned by month (LedgerPartitionManager), and MySQL
+    // does not allow foreign keys on partitioned tables
     @ManyToOne(fetch = FetchType.LAZY)
-    @JoinColumn(name = "account_id", nullable = false)
+    @JoinColumn(name = "account_id", nullable = false, foreignKey = @ForeignKey(ConstraintMode.NO_CONSTRAINT))
     @ToString.Exclude
     private Account account;
 
@@ -43,6 +46,19 @@ public class LedgerEntry extends BaseEntity {
     @Column(name = "reference_id")
     private Long referenceId;
 
+    /**
+     * The account's balance after this entry, written under the account's row lock.
+     * Null on entries written before the column existed.
+     */
+    @Column(name = "running_balance", precision = 19, scale = 2)
+    private BigDecimal runningBalance;
+
+    /**
+     * Per-account position of this entry, taken from accounts.ledger_sequence under the same lock
+     */
+    @Column(name = "account_sequence")
+    private Long accountSequence;
+
     public enum EntryType {
         DEBIT,
         CREDIT
@@ -0,0 +1,31 @@
+package com.example.accounts.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.time.LocalDateTime;
+
+/**
+ * A ledger posting waiting to be relayed to the change feed (ledger_changes).
+ * Written in the same transaction as the posting's ledger entries and deleted once relayed.
+ */
+@Entity
+@Table(name = "ledger_outbox")
+@Getter @Setter @ToString @AllArgsConstructor @NoArgsConstructor
+public class LedgerOutboxEvent {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "outbox_id")
+    private Long outboxId;
+
+    @Column(name = "ledger_txn_id", nullable = false, length = 50)
+    private String ledgerTxnId;
+
+    @Column(name = "payload", nullable = false, columnDefinition = "MEDIUMTEXT")
+    @ToString.Exclude
+    private String payload;  // JSON LedgerPostingEvent
+
+    @Column(name = "created_at", nullable = false)
+    private LocalDateTime createdAt;
+}
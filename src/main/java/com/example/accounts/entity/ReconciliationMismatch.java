@@ -0,0 +1,41 @@
+package com.example.accounts.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * An account whose balance differs from the sum of its ledger entries, found by a reconciliation run
+ */
+@Entity
+@Table(name = "reconciliation_mismatches", indexes = {
+    @Index(name = "idx_reconciliation_mismatch_run", columnList = "reconciliation_run_id, account_id")
+})
+@Getter @Setter @ToString @AllArgsConstructor @NoArgsConstructor
+public class ReconciliationMismatch {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "mismatch_id")
+    private Long mismatchId;
+
+    @Column(name = "reconciliation_run_id", nullable = false)
+    private Long reconciliationRunId;
+
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+
+    @Column(name = "account_balance", nullable = false, precision = 19, scale = 2)
+    private BigDecimal accountBalance;
+
+    @Column(name = "ledger_balance", nullable = false, precision = 19, scale = 2)
+    private BigDecimal ledgerBalance;
+
+    @Column(name = "difference", nullable = false, precision = 19, scale = 2)
+    private BigDecimal difference;  // account balance minus ledger balance
+
+    @Column(name = "detected_at", nullable = false)
+    private LocalDateTime detectedAt;
+}
@@ -0,0 +1,77 @@
+package com.example.accounts.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One ledger-to-balance reconciliation pass over accounts [1, maxAccountId].
+ * checkpointAccountId is the first account not yet covered by a contiguous run of finished
+ * ranges; the totals and counts cover exactly the accounts below it, so an interrupted run
+ * resumes from there.
+ */
+@Entity
+@Table(name = "reconciliation_runs", indexes = {
+    @Index(name = "idx_reconciliation_run_status", columnList = "run_status")
+})
+@Getter @Setter @ToString @AllArgsConstructor @NoArgsConstructor
+public class ReconciliationRun extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "reconciliation_run_id")
+    private Long reconciliationRunId;
+
+    @Column(name = "run_status", nullable = false, length = 16)
+    @Enumerated(EnumType.STRING)
+    private RunStatus runStatus;
+
+    /**
+     * Entries created before this time count towards the trial balance. They belong to
+     * transactions committed long before the run reads them, so the totals do not depend on
+     * when each range was read.
+     */
+    @Column(name = "cutoff_at", nullable = false)
+    private LocalDateTime cutoffAt;
+
+    @Column(name = "max_account_id", nullable = false)
+    private Long maxAccountId;
+
+    @Column(name = "range_size", nullable = false)
+    private Integer rangeSize;
+
+    @Column(name = "checkpoint_account_id", nullable = false)
+    private Long checkpointAccountId;
+
+    @Column(name = "accounts_checked", nullable = false)
+    private Long accountsChecked = 0L;
+
+    @Column(name = "mismatch_count", nullable = false)
+    private Long mismatchCount = 0L;
+
+    @Column(name = "total_debits", nullable = false, precision = 23, scale = 2)
+    private BigDecimal totalDebits = BigDecimal.ZERO;
+
+    @Column(name = "total_credits", nullable = false, precision = 23, scale = 2)
+    private BigDecimal totalCredits = BigDecimal.ZERO;
+
+    @Column(name = "trial_balanced")
+    private Boolean trialBalanced;
+
+    @Column(name = "started_at", nullable = false)
+    private LocalDateTime startedAt;
+
+    @Column(name = "completed_at")
+    private LocalDateTime completedAt;
+
+    @Column(name = "last_failure_reason", length = 500)
+    private String lastFailureReason;
+
+    public enum RunStatus {
+        RUNNING,
+        COMPLETED,
+        FAILED
+    }
+}
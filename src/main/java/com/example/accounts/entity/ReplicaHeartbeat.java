@@ -0,0 +1,21 @@
+package com.example.accounts.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+/**
+ * Single-row table written on the primary and read on the read replica to measure how far the
+ * replica is behind (ReplicaLagMonitor).
+ */
+@Entity
+@Table(name = "replica_heartbeat")
+@Getter @Setter @ToString @AllArgsConstructor @NoArgsConstructor
+public class ReplicaHeartbeat {
+
+    @Id
+    @Column(name = "heartbeat_id")
+    private Integer heartbeatId;
+
+    @Column(name = "beat_at_millis", nullable = false)
+    private Long beatAtMillis;  // epoch millis, written by whichever instance beat last
+}
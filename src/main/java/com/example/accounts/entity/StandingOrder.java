@@ -0,0 +1,93 @@
+package com.example.accounts.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+/**
+ * Recurring (or one-off future-dated) transfer instruction.
+ * Occurrence n falls on startDate + n * frequency; nextRunDate is the business date of the
+ * next occurrence and nextExecutionAt the time within that day it is scheduled to run.
+ */
+@Entity
+@Table(name = "standing_orders", indexes = {
+    @Index(name = "idx_standing_order_status_next", columnList = "order_status, next_execution_at"),
+    @Index(name = "idx_standing_order_source", columnList = "source_account_id")
+})
+@Getter @Setter @ToString @AllArgsConstructor @NoArgsConstructor
+public class StandingOrder extends BaseEntity {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "standing_order_id")
+    private Long standingOrderId;
+
+    @Column(name = "source_account_id", nullable = false)
+    private Long sourceAccountId;
+
+    @Column(name = "destination_account_id", nullable = false)
+    private Long destinationAccountId;
+
+    @Column(name = "amount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal amount;
+
+    @Column(name = "description")
+    private String description;
+
+    @Column(name = "frequency", nullable = false, length = 16)
+    @Enumerated(EnumType.STRING)
+    private Frequency frequency;
+
+    @Column(name = "start_date", nullable = false)
+    private LocalDate startDate;
+
+    @Column(name = "end_date")
+    private LocalDate endDate;
+
+    @Column(name = "order_status", nullable = false, length = 16)
+    @Enumerated(EnumType.STRING)
+    private OrderStatus orderStatus = OrderStatus.ACTIVE;
+
+    @Column(name = "next_run_date")
+    private LocalDate nextRunDate;
+
+    @Column(name = "next_execution_at")
+    private LocalDateTime nextExecutionAt;
+
+    @Column(name = "execution_count", nullable = false)
+    private Long executionCount = 0L;  // occurrences processed so far, successful or not
+
+    @Column(name = "retry_count", nullable = false)
+    private Integer retryCount = 0;  // attempts of the current occurrence that ran out of funds
+
+    @Column(name = "owner_user_id", nullable = false)
+    private Long ownerUserId;  // transfers are initiated on behalf of this user
+
+    @Column(name = "owner_roles")
+    private String ownerRoles;  // the owner's authorities at creation, comma-separated; null on older orders
+
+    @Column(name = "last_transfer_id")
+    private Long lastTransferId;
+
+    @Column(name = "last_executed_at")
+    private LocalDateTime lastExecutedAt;
+
+    @Column(name = "last_failure_reason")
+    private String lastFailureReason;
+
+    public enum Frequency {
+        ONCE,
+        DAILY,
+        WEEKLY,
+        MONTHLY
+    }
+
+    public enum OrderStatus {
+        ACTIVE,
+        COMPLETED,
+        CANCELLED
+    }
+}
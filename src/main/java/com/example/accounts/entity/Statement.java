@@ -0,0 +1,86 @@
+package com.example.accounts.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A closed month's statement as generated once after month end. Account details are copied
+ * as they were at generation, so the statement reads the same after the account changes.
+ */
+@Entity
+@Table(name = "statements", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_statement_account_period", columnNames = {"account_id", "statement_year", "statement_month"})
+})
+@Getter @Setter @ToString @AllArgsConstructor @NoArgsConstructor
+public class Statement {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "statement_id")
+    private Long statementId;
+
+    @Column(name = "account_id", nullable = false)
+    private Long accountId;
+
+    @Column(name = "statement_year", nullable = false)
+    private Integer statementYear;
+
+    @Column(name = "statement_month", nullable = false)
+    private Integer statementMonth;
+
+    @Column(name = "account_number", nullable = false)
+    private String accountNumber;
+
+    @Column(name = "customer_name")
+    private String customerName;
+
+    @Column(name = "account_type", nullable = false)
+    private String accountType;
+
+    @Column(name = "account_status", nullable = false)
+    private String accountStatus;
+
+    @Column(name = "currency", nullable = false, length = 3)
+    private String currency;
+
+    @Column(name = "period_start", nullable = false)
+    private LocalDateTime periodStart;
+
+    @Column(name = "period_end", nullable = false)
+    private LocalDateTime periodEnd;
+
+    @Column(name = "opening_balance", nullable = false, precision = 19, scale = 2)
+    private BigDecimal openingBalance;
+
+    @Column(name = "closing_balance", nullable = false, precision = 19, scale = 2)
+    private BigDecimal closingBalance;
+
+    @Column(name = "total_credits", nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalCredits;
+
+    @Column(name = "total_debits", nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalDebits;
+
+    @Column(name = "total_interest", nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalInterest;
+
+    @Column(name = "total_fees", nullable = false, precision = 19, scale = 2)
+    private BigDecimal totalFees;
+
+    @Column(name = "transaction_count", nullable = false)
+    private Long transactionCount;
+
+    @Column(name = "generated_at", nullable = false)
+    private LocalDateTime generatedAt;
+
+    // Written in JDBC batches (JdbcBatchRepository), read with the statement
+    @OneToMany(mappedBy = "statement")
+    @OrderBy("lineNumber")
+    @ToString.Exclude
+    private List<StatementLineItem> lineItems = new ArrayList<>();
+}
@@ -0,0 +1,49 @@
+package com.example.accounts.entity;
+
+import jakarta.persistence.*;
+import lombok.*;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+
+/**
+ * One ledger entry of a stored statement, numbered in statement order
+ */
+@Entity
+@Table(name = "statement_line_items", uniqueConstraints = {
+    @UniqueConstraint(name = "uk_statement_line", columnNames = {"statement_id", "line_number"})
+})
+@Getter @Setter @ToString @AllArgsConstructor @NoArgsConstructor
+public class StatementLineItem {
+
+    @Id
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    @Column(name = "line_item_id")
+    private Long lineItemId;
+
+    @ManyToOne(fetch = FetchType.LAZY)
+    @JoinColumn(name = "statement_id", nullable = false)
+    @ToString.Exclude
+    private Statement statement;
+
+    @Column(name = "line_number", nullable = false)
+    private Integer lineNumber;
+
+    @Column(name = "transaction_date", nullable = false)
+    private LocalDateTime transactionDate;
+
+    @Column(name = "entry_type", nullable = false)
+    private String entryType;  // DEBIT or CREDIT
+
+    @Column(name = "amount", nullable = false, precision = 19, scale = 2)
+    private BigDecimal amount;
+
+    @Column(name = "description", columnDefinition = "TEXT")
+    private String description;
+
+    @Column(name = "reference_type")
+    private String referenceType;
+
+    @Column(name = "running_balance", nullable = false, precision = 19, scale = 2)
+    private BigDecimal runningBalance;
+}
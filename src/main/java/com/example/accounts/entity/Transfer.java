@@ -14,7 +14,10 @@ import java.util.List;
     @Index(name = "idx_source_account_id", columnList = "source_account_id"),
     @Index(name = "idx_destination_account_id", columnList = "destination_account_id"),
     @Index(name = "idx_transfer_status", columnList = "transfer_status"),
-    @Index(name = "idx_created_at", columnList = "created_at")
+    @Index(name = "idx_created_at", columnList = "created_at"),
+    @Index(name = "idx_source_created_id", columnList = "source_account_id, created_at, transfer_id"),
+    @Index(name = "idx_destination_created_id", columnList = "destination_account_id, created_at, transfer_id"),
+    @Index(name = "idx_status_created_id", columnList = "transfer_status, created_at, transfer_id")
 })
 @Getter @Setter @ToString @AllArgsConstructor @NoArgsConstructor
 public class Transfer extends BaseEntity {
@@ -43,7 +46,8 @@ public class Transfer extends BaseEntity {
     @Column(name = "description", columnDefinition = "TEXT")
     private String description;
 
-    @Column(name = "transfer_status", nullable = false)
+    // VARCHAR, not a native ENUM: new statuses need no column change (see EnumColumnMigration)
+    @Column(name = "transfer_status", nullable = false, columnDefinition = "VARCHAR(20)")
     @Enumerated(EnumType.STRING)
     private TransferStatus transferStatus = TransferStatus.REQUESTED;
 
@@ -68,10 +72,6 @@ public class Transfer extends BaseEntity {
     @Column(name = "version", nullable = true)
     private Long currentVersion = 1L;
 
-    @OneToMany(mappedBy = "transfer", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
-    @ToString.Exclude
-    private List<TransferVersion> versions = new ArrayList<>();
-
     @OneToMany(mappedBy = "transfer", cascade = CascadeType.ALL, orphanRemoval = true, fetch = FetchType.LAZY)
     @ToString.Exclude
     private List<TransferHold> holds = new ArrayList<>();
@@ -81,7 +81,8 @@ public class Transfer extends BaseEntity {
         AUTHORIZED,
         POSTED,
         CANCELLED,
-        REJECTED
+        REJECTED,
+        EXPIRED
     }
 }
 
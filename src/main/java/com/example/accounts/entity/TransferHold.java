@@ -8,7 +8,8 @@ import java.math.BigDecimal;
 @Entity
 @Table(name = "transfer_holds", indexes = {
     @Index(name = "idx_transfer_id", columnList = "transfer_id"),
-    @Index(name = "idx_account_id", columnList = "account_id")
+    @Index(name = "idx_account_id", columnList = "account_id"),
+    @Index(name = "idx_released_expires_at", columnList = "released, expires_at")
 })
 @Getter @Setter @ToString @AllArgsConstructor @NoArgsConstructor
 public class TransferHold extends BaseEntity {
@@ -36,5 +37,8 @@ public class TransferHold extends BaseEntity {
 
     @Column(name = "released_on")
     private Long releasedOn;
+
+    @Column(name = "expires_at")
+    private Long expiresAt;
 }
 
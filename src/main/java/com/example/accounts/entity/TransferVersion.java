@@ -3,16 +3,23 @@ package com.example.accounts.entity;
 import jakarta.persistence.*;
 import lombok.*;
 
-import java.math.BigDecimal;
-
+/**
+ * One slot of a transfer's fixed 10-slot version ring.
+ *
+ * Version N lives in slot N % 10, so writing a new version overwrites the oldest one with a
+ * single upsert. Slots store only a field-level delta: the values of the fields that changed,
+ * as they were in the previous version. Snapshots are rebuilt by walking back from the
+ * transfer's current state (see VersionDeltaUtil).
+ */
 @Entity
-@Table(name = "transfer_versions", indexes = {
-    @Index(name = "idx_transfer_id", columnList = "transfer_id"),
-    @Index(name = "idx_version_number", columnList = "version_number")
+@Table(name = "transfer_version_slots", indexes = {
+    @Index(name = "idx_transfer_slot", columnList = "transfer_id, slot", unique = true)
 })
 @Getter @Setter @ToString @AllArgsConstructor @NoArgsConstructor
 public class TransferVersion extends BaseEntity {
 
+    public static final int RING_SIZE = 10;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     @Column(name = "version_id")
@@ -23,25 +30,25 @@ public class TransferVersion extends BaseEntity {
     @ToString.Exclude
     private Transfer transfer;
 
+    @Column(name = "slot", nullable = false)
+    private Integer slot;
+
     @Column(name = "version_number", nullable = false)
     private Long versionNumber;
 
-    @Column(name = "source_account_id", nullable = false)
-    private Long sourceAccountId;
-
-    @Column(name = "destination_account_id", nullable = false)
-    private Long destinationAccountId;
-
-    @Column(name = "amount", nullable = false, precision = 19, scale = 2)
-    private BigDecimal amount;
-
-    @Column(name = "description", columnDefinition = "TEXT")
-    private String description;
+    /**
+     * Previous values of the fields changed by this version (compact JSON), null if none changed
+     */
+    @Column(name = "delta", length = 2000)
+    private String delta;
 
     @Column(name = "changed_by", nullable = false)
     private Long changedBy;
 
     @Column(name = "change_summary", columnDefinition = "TEXT")
     private String changeSummary;
-}
 
+    public static int slotFor(long versionNumber) {
+        return (int) (versionNumber % RING_SIZE);
+    }
+}
@@ -0,0 +1,263 @@
+package com.example.accounts.events;
+
+import com.example.accounts.dto.TransferEventDto;
+import com.example.accounts.entity.Transfer;
+import com.example.accounts.exception.RateLimitExceededException;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * In-process event bus for transfer status changes, delivered to clients over Server-Sent Events.
+ *
+ * - Publishers call publishAfterCommit; events are only emitted once the state change committed.
+ * - Event ids are monotonic (seeded from the clock at startup so they keep increasing across
+ *   restarts). The last replay-buffer-size events are kept, so a client reconnecting with
+ *   Last-Event-ID gets what it missed; if the gap is too old, transfer streams get a fresh snapshot.
+ * - Delivery runs on one dispatcher thread, never on the publishing request or posting thread.
+ * - Open streams are capped at max-connections; heartbeats are a single SSE comment line.
+ */
+@Component
+@Slf4j
+public class TransferEventBus {
+
+    private static final String EVENT_NAME = "transfer";
+
+    @Value("${app.events.max-connections:1000}")
+    private int maxConnections;
+
+    @Value("${app.events.replay-buffer-size:10000}")
+    private int replayBufferSize;
+
+    @Value("${app.events.emitter-timeout-ms:1800000}")
+    private long emitterTimeoutMillis;
+
+    private final AtomicLong sequence = new AtomicLong(System.currentTimeMillis() * 1000);
+    private final ArrayDeque<TransferEventDto> replayBuffer = new ArrayDeque<>();
+    private final Map<Long, Set<Subscription>> transferSubscriptions = new ConcurrentHashMap<>();
+    private final Map<Long, Set<Subscription>> accountSubscriptions = new ConcurrentHashMap<>();
+    private final Set<Subscription> subscriptions = ConcurrentHashMap.newKeySet();
+    private final AtomicInteger connections = new AtomicInteger();
+    private final ExecutorService dispatcher = new ThreadPoolExecutor(1, 1, 0L, TimeUnit.MILLISECONDS,
+        new LinkedBlockingQueue<>(10000), runnable -> {
+            Thread thread = new Thread(runnable, "transfer-event-dispatcher");
+            thread.setDaemon(true);
+            return thread;
+        }, (runnable, executor) -> log.warn("Transfer event dispatch queue full, event dropped from live streams"));
+
+    private final class Subscription {
+        private final SseEmitter emitter = new SseEmitter(emitterTimeoutMillis);
+        private final Map<Long, Set<Subscription>> index;
+        private final Long key;
+        private final AtomicBoolean closed = new AtomicBoolean();
+        private long lastSentId;
+
+        private Subscription(Map<Long, Set<Subscription>> index, Long key) {
+            this.index = index;
+            this.key = key;
+        }
+
+        private synchronized void send(TransferEventDto event) {
+            if (closed.get() || event.getEventId() <= lastSentId) {
+                return;
+            }
+            try {
+                emitter.send(SseEmitter.event().id(String.valueOf(event.getEventId())).name(EVENT_NAME).data(event));
+                lastSentId = event.getEventId();
+            } catch (IOException | IllegalStateException e) {
+                close();
+            }
+        }
+
+        private synchronized void heartbeat() {
+            if (closed.get()) {
+                return;
+            }
+            try {
+                emitter.send(SseEmitter.event().comment(""));
+            } catch (IOException | IllegalStateException e) {
+                close();
+            }
+        }
+
+        private void close() {
+            if (closed.compareAndSet(false, true)) {
+                Set<Subscription> keyed = index.get(key);
+                if (keyed != null) {
+                    keyed.remove(this);
+                }
+                subscriptions.remove(this);
+                connections.decrementAndGet();
+                emitter.complete();
+            }
+        }
+    }
+
+    // ========================================================
+    // Publishing
+    // ========================================================
+
+    /**
+     * Publish the transfer's current status once the surrounding transaction commits.
+     */
+    public void publishAfterCommit(Transfer transfer) {
+        publishAfterCommit(
+            transfer.getTransferId(),
+            transfer.getSourceAccount().getAccountId(),
+            transfer.getDestinationAccount().getAccountId(),
+            transfer.getTransferStatus().name(),
+            transfer.getAmount()
+        );
+    }
+
+    public void publishAfterCommit(Long transferId, Long sourceAccountId, Long destinationAccountId,
+                                   String status, BigDecimal amount) {
+        Runnable publish = () -> publish(transferId, sourceAccountId, destinationAccountId, status, amount);
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    publish.run();
+                }
+            });
+        } else {
+            publish.run();
+        }
+    }
+
+    private void publish(Long transferId, Long sourceAccountId, Long destinationAccountId, String status, BigDecimal amount) {
+        // Ids are assigned and events handed to the dispatcher under one lock, so the dispatch
+        // queue is in id order: a subscription drops anything at or below the last id it sent
+        synchronized (replayBuffer) {
+            TransferEventDto event = new TransferEventDto(sequence.incrementAndGet(), transferId, sourceAccountId,
+                destinationAccountId, status, amount, LocalDateTime.now());
+            replayBuffer.addLast(event);
+            if (replayBuffer.size() > replayBufferSize) {
+                replayBuffer.removeFirst();
+            }
+
+            if (subscriptions.isEmpty()) {
+                return;
+            }
+            dispatcher.execute(() -> {
+                deliver(transferSubscriptions.get(transferId), event);
+                deliver(accountSubscriptions.get(sourceAccountId), event);
+                if (!sourceAccountId.equals(destinationAccountId)) {
+                    deliver(accountSubscriptions.get(destinationAccountId), event);
+                }
+            });
+        }
+    }
+
+    private void deliver(Set<Subscription> targets, TransferEventDto event) {
+        if (targets != null) {
+            targets.forEach(subscription -> subscription.send(event));
+        }
+    }
+
+    // ========================================================
+    // Subscribing
+    // ========================================================
+
+    /**
+     * Stream events of one transfer.
+     *
+     * @param lastEventId Last-Event-ID sent by a reconnecting client, or null
+     * @param snapshot Current state of the transfer, sent when there is nothing to resume from
+     */
+    public SseEmitter subscribeTransfer(Long transferId, Long lastEventId, Supplier<TransferEventDto> snapshot) {
+        return subscribe(transferSubscriptions, transferId, lastEventId,
+            event -> event.getTransferId().equals(transferId), snapshot);
+    }
+
+    /**
+     * Stream events of every transfer into or out of an account.
+     */
+    public SseEmitter subscribeAccount(Long accountId, Long lastEventId) {
+        return subscribe(accountSubscriptions, accountId, lastEventId,
+            event -> event.getSourceAccountId().equals(accountId) || event.getDestinationAccountId().equals(accountId),
+            null);
+    }
+
+    /**
+     * Heartbeat every open stream so proxies keep idle connections open and dead ones are detected.
+     */
+    @Scheduled(fixedDelayString = "${app.events.heartbeat-ms:15000}")
+    public void sendHeartbeats() {
+        subscriptions.forEach(Subscription::heartbeat);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        subscriptions.forEach(Subscription::close);
+        dispatcher.shutdownNow();
+    }
+
+    private SseEmitter subscribe(Map<Long, Set<Subscription>> index, Long key, Long lastEventId,
+                                 Predicate<TransferEventDto> filter,
+                                 Supplier<TransferEventDto> snapshot) {
+        if (connections.incrementAndGet() > maxConnections) {
+            connections.decrementAndGet();
+            throw new RateLimitExceededException("Too many open event streams, please retry later", 5);
+        }
+
+        Subscription subscription = new Subscription(index, key);
+        subscription.emitter.onCompletion(subscription::close);
+        subscription.emitter.onTimeout(subscription::close);
+        subscription.emitter.onError(e -> subscription.close());
+
+        // Hold the subscription's lock while registering and replaying, so live events are
+        // queued behind the replay and anything already replayed is not sent twice
+        synchronized (subscription) {
+            subscriptions.add(subscription);
+            index.computeIfAbsent(key, k -> ConcurrentHashMap.newKeySet()).add(subscription);
+
+            List<TransferEventDto> missed = new ArrayList<>();
+            boolean resumable = false;
+            synchronized (replayBuffer) {
+                if (lastEventId != null) {
+                    TransferEventDto oldest = replayBuffer.peekFirst();
+                    resumable = oldest == null || oldest.getEventId() <= lastEventId + 1;
+                    for (TransferEventDto event : replayBuffer) {
+                        if (event.getEventId() > lastEventId && filter.test(event)) {
+                            missed.add(event);
+                        }
+                    }
+                }
+            }
+
+            if (resumable) {
+                missed.forEach(subscription::send);
+            } else if (snapshot != null) {
+                // Events up to this id are already reflected in the snapshot
+                long snapshotId = sequence.get();
+                TransferEventDto current = snapshot.get();
+                current.setEventId(snapshotId);
+                subscription.send(current);
+            } else {
+                missed.forEach(subscription::send);
+            }
+        }
+        return subscription.emitter;
+    }
+}
@@ -11,6 +11,7 @@ import org.springframework.web.bind.MethodArgumentNotValidException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.method.annotation.HandlerMethodValidationException;
 
 @ControllerAdvice
 @Slf4j
@@ -129,6 +130,20 @@ public class GlobalExceptionHandler {
         return entity;
     }
 
+    @ExceptionHandler(PostingRejectedException.class)
+    public ResponseEntity<ApiResponse> handlePostingRejected(PostingRejectedException ex, WebRequest request) {
+        String correlationId = GeneratorUtil.generateCorrelationId();
+        ApiResponse response = new ApiResponse(
+            false,
+            ex.getMessage(),
+            correlationId,
+            null,
+            "POSTING_REJECTED"
+        );
+        log.warn("Posting rejected. CorrelationId: {}", correlationId);
+        return new ResponseEntity<>(response, HttpStatus.SERVICE_UNAVAILABLE);
+    }
+
     @ExceptionHandler(MethodArgumentNotValidException.class)
     public ResponseEntity<ApiResponse> handleValidationException(MethodArgumentNotValidException ex, WebRequest request) {
         String correlationId = GeneratorUtil.generateCorrelationId();
@@ -148,6 +163,26 @@ public class GlobalExceptionHandler {
         return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
     }
 
+    @ExceptionHandler(HandlerMethodValidationException.class)
+    public ResponseEntity<ApiResponse> handleParameterValidationException(HandlerMethodValidationException ex, WebRequest request) {
+        String correlationId = GeneratorUtil.generateCorrelationId();
+        String message = ex.getAllValidationResults().stream()
+            .flatMap(result -> result.getResolvableErrors().stream()
+                .map(error -> result.getMethodParameter().getParameterName() + ": " + error.getDefaultMessage()))
+            .reduce((a, b) -> a + ", " + b)
+            .orElse("Validation failed");
+
+        ApiResponse response = new ApiResponse(
+            false,
+            message,
+            correlationId,
+            null,
+            "VALIDATION_ERROR"
+        );
+        log.warn("Validation error. CorrelationId: {}", correlationId);
+        return new ResponseEntity<>(response, HttpStatus.BAD_REQUEST);
+    }
+
     @ExceptionHandler(Exception.class)
     public ResponseEntity<ApiResponse> handleGenericException(Exception ex, WebRequest request) {
         String correlationId = GeneratorUtil.generateCorrelationId();
@@ -0,0 +1,7 @@
+package com.example.accounts.exception;
+
+public class PostingRejectedException extends RuntimeException {
+    public PostingRejectedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,178 @@
+package com.example.accounts.ledger;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+/**
+ * Reads the ledger change feed (ledger_changes) by cursor and parks long-poll readers.
+ *
+ * - A page is one primary-key range scan: change_id > cursor, in id order, limit rows.
+ *   Each row becomes one NDJSON line, its stored payload with the changeId added in front.
+ * - A reader that is already at the end waits. Waiters are woken when the local relay appends
+ *   changes, and every relay-interval-ms when the feed's newest id has moved past them, which
+ *   covers changes relayed by another instance. At most max-waiters wait at once.
+ * - Changes older than retention-days are purged; a consumer must read at least that often.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LedgerChangeFeed {
+
+    private static final String SELECT_PAGE =
+        "SELECT change_id, payload FROM ledger_changes WHERE change_id > ? ORDER BY change_id LIMIT ?";
+
+    private static final String PURGE =
+        "DELETE FROM ledger_changes WHERE relayed_at < ? LIMIT ?";
+
+    private static final int PURGE_CHUNK = 10000;
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.ledger.changes.max-waiters:1000}")
+    private int maxWaiters;
+
+    @Value("${app.ledger.changes.retention-days:30}")
+    private int retentionDays;
+
+    private final Queue<Waiter> waiters = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger waiterCount = new AtomicInteger();
+
+    /**
+     * A page of the feed. nextCursor is the last changeId in it, or the cursor read from if empty.
+     */
+    public record Page(String body, int count, long nextCursor) {
+    }
+
+    public final class Waiter {
+        private final long after;
+        private final int limit;
+        private final Consumer<Page> listener;
+        private final AtomicBoolean done = new AtomicBoolean();
+
+        private Waiter(long after, int limit, Consumer<Page> listener) {
+            this.after = after;
+            this.limit = limit;
+            this.listener = listener;
+        }
+    }
+
+    public Page read(long after, int limit) {
+        StringBuilder body = new StringBuilder();
+        long[] last = {after};
+        int[] count = {0};
+        jdbcTemplate.query(SELECT_PAGE, rs -> {
+            long changeId = rs.getLong(1);
+            String payload = rs.getString(2);
+            // payload is a JSON object: splice the id in after its opening brace
+            body.append("{\"changeId\":").append(changeId).append(',').append(payload, 1, payload.length()).append('\n');
+            last[0] = changeId;
+            count[0]++;
+        }, after, limit);
+        return new Page(body.toString(), count[0], last[0]);
+    }
+
+    /**
+     * Wait for changes after the cursor; listener gets the first non-empty page.
+     *
+     * @return the waiter, to cancel on timeout, or null if max-waiters are already waiting
+     */
+    public Waiter await(long after, int limit, Consumer<Page> listener) {
+        if (waiterCount.incrementAndGet() > maxWaiters) {
+            waiterCount.decrementAndGet();
+            return null;
+        }
+        Waiter waiter = new Waiter(after, limit, listener);
+        waiters.add(waiter);
+        // A change relayed between the caller's read and now would not wake this waiter
+        wake(waiter, latestChangeId());
+        return waiter;
+    }
+
+    public void cancel(Waiter waiter) {
+        if (waiter.done.compareAndSet(false, true)) {
+            waiters.remove(waiter);
+            waiterCount.decrementAndGet();
+        }
+    }
+
+    /**
+     * Wake waiters behind the newest change. Called by the relay after each chunk it commits.
+     */
+    public void signal() {
+        if (waiters.isEmpty()) {
+            return;
+        }
+        long latest = latestChangeId();
+        Map<String, Page> pages = new HashMap<>();
+        for (Waiter waiter : waiters) {
+            if (waiter.after < latest) {
+                // Waiters at the same cursor share one read
+                Page page = pages.computeIfAbsent(waiter.after + ":" + waiter.limit, key -> read(waiter.after, waiter.limit));
+                complete(waiter, page);
+            }
+        }
+    }
+
+    /**
+     * Pick up changes relayed by other instances.
+     * Runs every relay-interval-ms while anyone is waiting.
+     */
+    @Scheduled(fixedDelayString = "${app.ledger.outbox.relay-interval-ms:200}")
+    public void pollForChanges() {
+        try {
+            signal();
+        } catch (RuntimeException e) {
+            log.warn("Failed to check the ledger change feed for waiters", e);
+        }
+    }
+
+    /**
+     * Delete changes older than retention-days.
+     * Runs daily at 04:15 by default.
+     */
+    @Scheduled(cron = "${app.ledger.changes.purge-cron:0 15 4 * * ?}")
+    public void purgeExpiredChanges() {
+        Timestamp cutoff = Timestamp.valueOf(LocalDateTime.now().minusDays(retentionDays));
+        long purged = 0;
+        int deleted;
+        do {
+            deleted = jdbcTemplate.update(PURGE, cutoff, PURGE_CHUNK);
+            purged += deleted;
+        } while (deleted == PURGE_CHUNK);
+        log.info("Purged {} ledger changes relayed before {}", purged, cutoff);
+    }
+
+    // Helper methods
+    private void wake(Waiter waiter, long latest) {
+        if (waiter.after < latest) {
+            complete(waiter, read(waiter.after, waiter.limit));
+        }
+    }
+
+    private void complete(Waiter waiter, Page page) {
+        if (page.count() > 0 && waiter.done.compareAndSet(false, true)) {
+            waiters.remove(waiter);
+            waiterCount.decrementAndGet();
+            waiter.listener.accept(page);
+        }
+    }
+
+    private long latestChangeId() {
+        Long latest = jdbcTemplate.queryForObject("SELECT MAX(change_id) FROM ledger_changes", Long.class);
+        return latest != null ? latest : 0L;
+    }
+}
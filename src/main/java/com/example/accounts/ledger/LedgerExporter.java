@@ -0,0 +1,200 @@
+package com.example.accounts.ledger;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.opencsv.CSVWriter;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.io.Writer;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Streams ledger entries for an account, or for every account, over a date range.
+ *
+ * Rows go straight from the database to the output one at a time, so memory use does not
+ * depend on the size of the extract:
+ * - archived months are read from their segment files first (LedgerSegmentReader)
+ * - the rest come from a forward-only MySQL streaming result set (fetch size Integer.MIN_VALUE),
+ *   in (created_at, account_sequence) order for one account and (created_at, ledger_entry_id)
+ *   order for all accounts, both served by an index without a sort
+ * The export holds one pooled connection for as long as the client takes to read it.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LedgerExporter {
+
+    public enum Format { NDJSON, CSV }
+
+    private static final String SELECT_ACCOUNT =
+        "SELECT " + LedgerSegmentRecord.COLUMNS + " FROM ledger_entries " +
+        "WHERE account_id = ? AND created_at BETWEEN ? AND ? ORDER BY created_at, account_sequence, ledger_entry_id";
+
+    private static final String SELECT_ALL =
+        "SELECT " + LedgerSegmentRecord.COLUMNS + " FROM ledger_entries " +
+        "WHERE created_at BETWEEN ? AND ? ORDER BY created_at, ledger_entry_id";
+
+    private static final String[] CSV_HEADER = {
+        "ledger_entry_id", "ledger_txn_id", "account_id", "entry_side", "amount", "description",
+        "reference_type", "reference_id", "running_balance", "account_sequence", "created_at", "created_by"
+    };
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final LedgerSegmentReader segmentReader;
+
+    /**
+     * Write the entries created between from and to (inclusive) to out.
+     *
+     * @param accountId account to export, or null for every account
+     * @param gzip whether to gzip the output
+     * @return number of entries written
+     */
+    public long export(Long accountId, LocalDateTime from, LocalDateTime to, Format format, boolean gzip,
+                       OutputStream out) throws IOException {
+        long startedAt = System.currentTimeMillis();
+        GZIPOutputStream compressed = gzip ? new GZIPOutputStream(out, 65536) : null;
+        Writer writer = new BufferedWriter(new OutputStreamWriter(compressed != null ? compressed : out, StandardCharsets.UTF_8), 65536);
+        RowWriter rows = format == Format.CSV ? new CsvRowWriter(writer) : new NdjsonRowWriter(writer);
+
+        long[] written = {0};
+        try {
+            segmentReader.forEach(accountId, from, to, record -> {
+                rows.write(record);
+                written[0]++;
+            });
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+
+        // Months that are still archived but not yet dropped are only read from their segment
+        LocalDateTime liveFrom = segmentReader.lastArchivedMonth()
+            .map(month -> month.plusMonths(1).atDay(1).atStartOfDay())
+            .filter(start -> start.isAfter(from))
+            .orElse(from);
+        if (!liveFrom.isAfter(to)) {
+            written[0] += exportLive(accountId, liveFrom, to, rows);
+        }
+
+        writer.flush();
+        if (compressed != null) {
+            compressed.finish();
+        }
+        log.info("Exported {} ledger entries for {} between {} and {} as {} in {} ms",
+            written[0], accountId != null ? "account " + accountId : "all accounts", from, to, format,
+            System.currentTimeMillis() - startedAt);
+        return written[0];
+    }
+
+    // Helper methods
+    private long exportLive(Long accountId, LocalDateTime from, LocalDateTime to, RowWriter rows) throws IOException {
+        try {
+            Long count = jdbcTemplate.execute((ConnectionCallback<Long>) connection -> {
+                try (PreparedStatement ps = connection.prepareStatement(accountId != null ? SELECT_ACCOUNT : SELECT_ALL,
+                        ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY)) {
+                    // Stream rows instead of buffering the result (MySQL Connector/J); the driver also
+                    // raises net_write_timeout for the session so a slow client does not abort the query
+                    ps.setFetchSize(Integer.MIN_VALUE);
+                    int index = 1;
+                    if (accountId != null) {
+                        ps.setLong(index++, accountId);
+                    }
+                    ps.setTimestamp(index++, Timestamp.valueOf(from));
+                    ps.setTimestamp(index, Timestamp.valueOf(to));
+
+                    long written = 0;
+                    try (ResultSet rs = ps.executeQuery()) {
+                        while (rs.next()) {
+                            try {
+                                rows.write(LedgerSegmentRecord.from(rs));
+                            } catch (UncheckedIOException e) {
+                                // Client went away. Closing a streaming result set reads it to the end,
+                                // so stop the query first
+                                ps.cancel();
+                                throw e;
+                            }
+                            written++;
+                        }
+                    }
+                    return written;
+                }
+            });
+            return Objects.requireNonNullElse(count, 0L);
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    private interface RowWriter {
+        void write(LedgerSegmentRecord record);
+    }
+
+    private class NdjsonRowWriter implements RowWriter {
+        private final Writer writer;
+
+        NdjsonRowWriter(Writer writer) {
+            this.writer = writer;
+        }
+
+        @Override
+        public void write(LedgerSegmentRecord record) {
+            try {
+                writer.write(objectMapper.writeValueAsString(record));
+                writer.write('\n');
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+    }
+
+    private static class CsvRowWriter implements RowWriter {
+        private final CSVWriter csv;
+
+        CsvRowWriter(Writer writer) {
+            this.csv = new CSVWriter(writer);
+            csv.writeNext(CSV_HEADER, false);
+        }
+
+        @Override
+        public void write(LedgerSegmentRecord record) {
+            csv.writeNext(new String[]{
+                String.valueOf(record.ledgerEntryId()),
+                record.ledgerTxnId(),
+                String.valueOf(record.accountId()),
+                record.entryType(),
+                plain(record.amount()),
+                record.description(),
+                record.referenceType(),
+                record.referenceId() != null ? record.referenceId().toString() : null,
+                plain(record.runningBalance()),
+                record.accountSequence() != null ? record.accountSequence().toString() : null,
+                record.createdAt() != null ? record.createdAt().toString() : null,
+                record.createdBy()
+            }, false);
+            // Not checkError(): it flushes on every call
+            if (csv.getException() != null) {
+                throw new UncheckedIOException(csv.getException());
+            }
+        }
+
+        private static String plain(BigDecimal amount) {
+            return amount != null ? amount.toPlainString() : null;
+        }
+    }
+}
@@ -0,0 +1,84 @@
+package com.example.accounts.ledger;
+
+import com.example.accounts.entity.LedgerEntry;
+import com.example.accounts.entity.LedgerOutboxEvent;
+import com.example.accounts.reository.JdbcBatchRepository;
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Propagation;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Writes ledger postings to ledger_outbox in the transaction that writes their ledger entries,
+ * so the change feed gets exactly the postings that committed. LedgerOutboxRelay moves them on.
+ */
+@Component
+@RequiredArgsConstructor
+public class LedgerOutbox {
+
+    private final JdbcBatchRepository jdbcBatchRepository;
+    private final ObjectMapper objectMapper;
+
+    @Value("${app.ledger.outbox.legs-per-event:500}")
+    private int legsPerEvent;
+
+    /**
+     * Queue the entries just inserted, one event per ledger transaction (or per legs-per-event
+     * legs of it), in entry order
+     */
+    @Transactional(propagation = Propagation.MANDATORY)
+    public void record(List<LedgerEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        Map<String, List<LedgerEntry>> byTxn = new LinkedHashMap<>();
+        for (LedgerEntry entry : entries) {
+            byTxn.computeIfAbsent(entry.getLedgerTxnId(), txnId -> new ArrayList<>()).add(entry);
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<LedgerOutboxEvent> events = new ArrayList<>();
+        for (Map.Entry<String, List<LedgerEntry>> txn : byTxn.entrySet()) {
+            List<LedgerEntry> legs = txn.getValue();
+            int parts = (legs.size() + legsPerEvent - 1) / legsPerEvent;
+            for (int part = 0; part < parts; part++) {
+                List<LedgerEntry> slice = legs.subList(part * legsPerEvent, Math.min(legs.size(), (part + 1) * legsPerEvent));
+                LedgerPostingEvent event = new LedgerPostingEvent(txn.getKey(), slice.get(0).getCreatedAt(),
+                    part + 1, parts, slice.stream().map(this::toLeg).toList());
+                events.add(new LedgerOutboxEvent(null, txn.getKey(), serialize(event), now));
+            }
+        }
+        jdbcBatchRepository.insertLedgerOutboxEvents(events);
+    }
+
+    // Helper methods
+    private LedgerPostingEvent.Leg toLeg(LedgerEntry entry) {
+        return new LedgerPostingEvent.Leg(
+            entry.getAccount().getAccountId(),
+            entry.getEntryType().name(),
+            entry.getAmount(),
+            entry.getReferenceType(),
+            entry.getReferenceId(),
+            entry.getAccountSequence(),
+            entry.getRunningBalance()
+        );
+    }
+
+    private String serialize(LedgerPostingEvent event) {
+        try {
+            return objectMapper.writeValueAsString(event);
+        } catch (JsonProcessingException e) {
+            throw new IllegalStateException("Failed to serialize ledger posting " + event.ledgerTxnId(), e);
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.example.accounts.ledger;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Moves committed postings from ledger_outbox to the ledger_changes feed, in outbox order.
+ *
+ * Each chunk is one READ COMMITTED transaction: lock the oldest chunk-size outbox rows with
+ * SELECT ... FOR UPDATE, append them to ledger_changes, delete them from the outbox.
+ * - The locking read starts at the oldest row, so a second relay (another instance) blocks on
+ *   that row until the first commits. Feed rows are therefore appended by one transaction at a
+ *   time, and a consumer that has seen change_id N can never later find a smaller id appear.
+ * - A posting still in flight holds its outbox row, so the relay waits for it rather than
+ *   skipping past it.
+ * - READ COMMITTED takes no gap locks, so postings can keep inserting while a chunk is relayed.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LedgerOutboxRelay {
+
+    private static final String LOCK_CHUNK =
+        "SELECT outbox_id FROM ledger_outbox ORDER BY outbox_id LIMIT ? FOR UPDATE";
+
+    private static final String APPEND_CHANGES =
+        "INSERT INTO ledger_changes (ledger_txn_id, payload, posted_at, relayed_at) " +
+        "SELECT ledger_txn_id, payload, created_at, ? FROM ledger_outbox WHERE outbox_id IN (%s) ORDER BY outbox_id";
+
+    private static final String DELETE_CHUNK =
+        "DELETE FROM ledger_outbox WHERE outbox_id IN (%s)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final LedgerChangeFeed changeFeed;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.ledger.outbox.relay-chunk-size:500}")
+    private int chunkSize;
+
+    private TransactionTemplate relayTemplate;
+
+    @PostConstruct
+    public void init() {
+        relayTemplate = new TransactionTemplate(transactionManager);
+        relayTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_READ_COMMITTED);
+    }
+
+    /**
+     * Relay everything currently in the outbox.
+     * Runs every relay-interval-ms (200 ms by default).
+     */
+    @Scheduled(fixedDelayString = "${app.ledger.outbox.relay-interval-ms:200}")
+    public void relay() {
+        try {
+            int relayed;
+            do {
+                relayed = Objects.requireNonNullElse(relayTemplate.execute(status -> relayChunk()), 0);
+                if (relayed > 0) {
+                    meterRegistry.counter("ledger.outbox.relayed").increment(relayed);
+                    changeFeed.signal();
+                }
+            } while (relayed == chunkSize);
+        } catch (RuntimeException e) {
+            log.error("Failed to relay ledger outbox", e);
+        }
+    }
+
+    // Helper methods
+    private int relayChunk() {
+        List<Long> ids = jdbcTemplate.queryForList(LOCK_CHUNK, Long.class, chunkSize);
+        if (ids.isEmpty()) {
+            return 0;
+        }
+        // Exactly the locked rows: one committed into the id range after the scan waits for the next chunk
+        String placeholders = String.join(", ", Collections.nCopies(ids.size(), "?"));
+        Object[] params = new Object[ids.size() + 1];
+        params[0] = Timestamp.valueOf(LocalDateTime.now());
+        for (int i = 0; i < ids.size(); i++) {
+            params[i + 1] = ids.get(i);
+        }
+        jdbcTemplate.update(String.format(APPEND_CHANGES, placeholders), params);
+        jdbcTemplate.update(String.format(DELETE_CHUNK, placeholders), ids.toArray());
+        log.debug("Relayed {} ledger outbox events ({}..{})", ids.size(), ids.get(0), ids.get(ids.size() - 1));
+        return ids.size();
+    }
+}
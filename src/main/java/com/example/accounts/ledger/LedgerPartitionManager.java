@@ -0,0 +1,180 @@
+package com.example.accounts.ledger;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.sql.Timestamp;
+import java.time.YearMonth;
+import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Keeps ledger_entries range-partitioned by month on created_at (MySQL RANGE COLUMNS).
+ *
+ * Partitions are named pYYYYMM and hold that month's entries; a trailing pmax partition
+ * (LESS THAN MAXVALUE) catches anything beyond the last month created. Range queries on
+ * created_at are pruned to the months they touch, so their cost follows the range, not the
+ * table's age, and closed months can be archived by dropping a partition (LedgerSegmentArchiver).
+ *
+ * - Startup: verifies the layout. An unpartitioned table (as created by Hibernate) is converted:
+ *   its foreign keys are dropped (MySQL does not allow them on partitioned tables), the primary
+ *   key is widened to (ledger_entry_id, created_at) and the table is rebuilt with one partition
+ *   per month from its oldest entry. On a large table this is a long, blocking rebuild.
+ * - Maintenance: partitions are split off pmax up to months-ahead months in advance, at startup
+ *   and on maintenance-cron, so pmax stays empty and each split is a metadata change.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LedgerPartitionManager {
+
+    static final String TABLE = "ledger_entries";
+    private static final String MAX_PARTITION = "pmax";
+    private static final DateTimeFormatter PARTITION_NAME = DateTimeFormatter.ofPattern("'p'yyyyMM");
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.ledger.partitioning.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.ledger.partitioning.months-ahead:3}")
+    private int monthsAhead;
+
+    private volatile boolean verified;
+
+    /**
+     * Verify or create the partition layout once the schema is in place.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void verifyOnStartup() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            if (monthlyPartitions().isEmpty()) {
+                partitionTable();
+            }
+            ensurePartitionsAhead();
+            verified = true;
+            log.info("ledger_entries partitioned by month: {}", monthlyPartitions().keySet());
+        } catch (RuntimeException e) {
+            log.error("ledger_entries partition layout could not be verified; archival is disabled", e);
+        }
+    }
+
+    /**
+     * Create next months' partitions ahead of time.
+     * Runs daily at 02:30 by default.
+     */
+    @Scheduled(cron = "${app.ledger.partitioning.maintenance-cron:0 30 2 * * ?}")
+    public void maintainPartitions() {
+        if (!enabled || !verified) {
+            return;
+        }
+        try {
+            ensurePartitionsAhead();
+        } catch (RuntimeException e) {
+            log.error("Failed to create ledger_entries partitions ahead", e);
+        }
+    }
+
+    /**
+     * Whether the table was found or made partitioned at startup
+     */
+    public boolean isPartitioned() {
+        return verified;
+    }
+
+    /**
+     * Monthly partitions by month, oldest first; empty when the table is not partitioned.
+     */
+    public NavigableMap<YearMonth, String> monthlyPartitions() {
+        NavigableMap<YearMonth, String> partitions = new TreeMap<>();
+        List<String> names = jdbcTemplate.queryForList(
+            "SELECT PARTITION_NAME FROM information_schema.PARTITIONS " +
+            "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND PARTITION_NAME IS NOT NULL " +
+            "ORDER BY PARTITION_ORDINAL_POSITION",
+            String.class, TABLE);
+        for (String name : names) {
+            if (!MAX_PARTITION.equals(name)) {
+                partitions.put(YearMonth.parse(name, PARTITION_NAME), name);
+            }
+        }
+        if (partitions.isEmpty() && names.contains(MAX_PARTITION)) {
+            throw new IllegalStateException("ledger_entries has only the " + MAX_PARTITION + " partition");
+        }
+        return partitions;
+    }
+
+    public String partitionName(YearMonth month) {
+        return month.format(PARTITION_NAME);
+    }
+
+    public void dropPartition(YearMonth month) {
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " DROP PARTITION " + partitionName(month));
+        log.info("Dropped ledger_entries partition {}", partitionName(month));
+    }
+
+    // Helper methods
+    private void partitionTable() {
+        List<String> referencing = jdbcTemplate.queryForList(
+            "SELECT DISTINCT TABLE_NAME FROM information_schema.KEY_COLUMN_USAGE " +
+            "WHERE TABLE_SCHEMA = DATABASE() AND REFERENCED_TABLE_NAME = ?",
+            String.class, TABLE);
+        if (!referencing.isEmpty()) {
+            throw new IllegalStateException("Cannot partition ledger_entries, it is referenced by foreign keys from " + referencing);
+        }
+
+        Timestamp oldest = jdbcTemplate.queryForObject("SELECT MIN(created_at) FROM " + TABLE, Timestamp.class);
+        YearMonth first = oldest != null ? YearMonth.from(oldest.toLocalDateTime()) : YearMonth.now();
+        log.warn("ledger_entries is not partitioned; rebuilding it with monthly partitions from {}", first);
+
+        List<String> foreignKeys = jdbcTemplate.queryForList(
+            "SELECT CONSTRAINT_NAME FROM information_schema.TABLE_CONSTRAINTS " +
+            "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND CONSTRAINT_TYPE = 'FOREIGN KEY'",
+            String.class, TABLE);
+        for (String foreignKey : foreignKeys) {
+            jdbcTemplate.execute("ALTER TABLE " + TABLE + " DROP FOREIGN KEY " + foreignKey);
+        }
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " DROP PRIMARY KEY, ADD PRIMARY KEY (ledger_entry_id, created_at)");
+
+        List<String> definitions = new ArrayList<>();
+        for (YearMonth month = first; !month.isAfter(YearMonth.now()); month = month.plusMonths(1)) {
+            definitions.add(partitionDefinition(month));
+        }
+        definitions.add("PARTITION " + MAX_PARTITION + " VALUES LESS THAN (MAXVALUE)");
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " PARTITION BY RANGE COLUMNS(created_at) (" +
+            String.join(", ", definitions) + ")");
+    }
+
+    private void ensurePartitionsAhead() {
+        NavigableMap<YearMonth, String> partitions = monthlyPartitions();
+        YearMonth last = partitions.isEmpty() ? YearMonth.now().minusMonths(1) : partitions.lastKey();
+        YearMonth target = YearMonth.now().plusMonths(monthsAhead);
+
+        List<String> definitions = new ArrayList<>();
+        for (YearMonth month = last.plusMonths(1); !month.isAfter(target); month = month.plusMonths(1)) {
+            definitions.add(partitionDefinition(month));
+        }
+        if (definitions.isEmpty()) {
+            return;
+        }
+        definitions.add("PARTITION " + MAX_PARTITION + " VALUES LESS THAN (MAXVALUE)");
+        jdbcTemplate.execute("ALTER TABLE " + TABLE + " REORGANIZE PARTITION " + MAX_PARTITION + " INTO (" +
+            String.join(", ", definitions) + ")");
+        log.info("Created {} ledger_entries partitions through {}", definitions.size() - 1, target);
+    }
+
+    private String partitionDefinition(YearMonth month) {
+        return "PARTITION " + partitionName(month) + " VALUES LESS THAN ('" + month.plusMonths(1).atDay(1) + " 00:00:00')";
+    }
+}
@@ -0,0 +1,30 @@
+package com.example.accounts.ledger;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * A posted ledger transaction as published on the change feed. Large transactions (settlement
+ * runs, interest journals) are split across several events with the same ledgerTxnId; part
+ * and parts say which piece this is.
+ */
+public record LedgerPostingEvent(
+    String ledgerTxnId,
+    LocalDateTime postedAt,
+    int part,
+    int parts,
+    List<Leg> legs
+) {
+
+    public record Leg(
+        Long accountId,
+        String entryType,
+        BigDecimal amount,
+        String referenceType,
+        Long referenceId,
+        Long accountSequence,
+        BigDecimal runningBalance
+    ) {
+    }
+}
@@ -0,0 +1,232 @@
+package com.example.accounts.ledger;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedWriter;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Moves closed months of ledger_entries out of MySQL into compressed segment files.
+ *
+ * A month is archived once it is older than hot-months. For each such partition:
+ * 1. its rows are streamed, sorted by account, into a gzip NDJSON segment written to a temp file,
+ *    synced and renamed into place
+ * 2. the number of rows written is checked against the partition's row count
+ * 3. the month's per-account totals and entry counts are written to ledger_archive_totals
+ *    (replacing any from an earlier attempt), which makes LedgerSegmentReader on every instance read the month from its
+ *    segment, then the partition is dropped
+ * A crash between any two steps leaves the partition in place and the month is redone on the
+ * next run. A MySQL named lock keeps two instances from archiving at the same time, and keeps
+ * archival and ledger reconciliation from running together.
+ *
+ * Off by default. Once a partition is dropped its segment is the only copy, so archival also
+ * requires app.ledger.archive.dir to be set, to exist already (a missing mount is not replaced by
+ * a fresh local directory), to be declared shared by every instance (app.ledger.archive.shared),
+ * and to hold the segments of every month archived so far.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LedgerSegmentArchiver {
+
+    /**
+     * MySQL named lock held while archiving, and by ledger reconciliation while it reads
+     */
+    public static final String MAINTENANCE_LOCK = "finbankx.ledger.maintenance";
+
+    private static final String SELECT_PARTITION =
+        "SELECT " + LedgerSegmentRecord.COLUMNS + " " +
+        "FROM ledger_entries PARTITION (%s) ORDER BY account_id, created_at, account_sequence, ledger_entry_id";
+
+    private static final String UPSERT_ARCHIVE_TOTALS =
+        "INSERT INTO ledger_archive_totals (archive_month, account_id, net_amount, debit_amount, credit_amount, entry_count) " +
+        "SELECT ?, account_id, SUM(CASE WHEN entry_side = 'CREDIT' THEN amount ELSE -amount END), " +
+        "SUM(CASE WHEN entry_side = 'DEBIT' THEN amount ELSE 0 END), " +
+        "SUM(CASE WHEN entry_side = 'CREDIT' THEN amount ELSE 0 END), COUNT(*) " +
+        "FROM ledger_entries PARTITION (%s) GROUP BY account_id " +
+        "ON DUPLICATE KEY UPDATE net_amount = VALUES(net_amount), debit_amount = VALUES(debit_amount), " +
+        "credit_amount = VALUES(credit_amount), entry_count = VALUES(entry_count)";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final ObjectMapper objectMapper;
+    private final LedgerPartitionManager partitionManager;
+    private final LedgerSegmentReader segmentReader;
+
+    @Value("${app.ledger.archive.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.ledger.archive.shared:false}")
+    private boolean shared;
+
+    @Value("${app.ledger.archive.hot-months:24}")
+    private int hotMonths;
+
+    /**
+     * Archive every month older than hot-months.
+     * Runs daily at 03:30 by default.
+     *
+     * @return number of months archived
+     */
+    @Scheduled(cron = "${app.ledger.archive.cron:0 30 3 * * ?}")
+    public int archiveClosedPartitions() {
+        if (!enabled || !partitionManager.isPartitioned() || !archiveLocationUsable()) {
+            return 0;
+        }
+        // Never archive the current month, whatever hot-months says
+        YearMonth cutoff = YearMonth.now().minusMonths(Math.max(hotMonths, 1));
+
+        Integer archived = jdbcTemplate.execute((ConnectionCallback<Integer>) connection -> {
+            if (!acquireLock(connection)) {
+                log.info("Ledger archival is running on another instance");
+                return 0;
+            }
+            int count = 0;
+            try {
+                // Listed under the lock: another instance may have just archived some months
+                List<YearMonth> closed = new ArrayList<>(partitionManager.monthlyPartitions().headMap(cutoff, false).keySet());
+                for (YearMonth month : closed) {
+                    archive(connection, month);
+                    count++;
+                }
+            } finally {
+                releaseLock(connection);
+            }
+            return count;
+        });
+        return archived != null ? archived : 0;
+    }
+
+    // Helper methods
+    private boolean archiveLocationUsable() {
+        if (!segmentReader.isConfigured() || !shared) {
+            log.error("Ledger archival needs app.ledger.archive.dir on storage shared by every instance, " +
+                "with app.ledger.archive.shared=true; not archiving");
+            return false;
+        }
+        Path directory = segmentReader.archiveDirectory();
+        if (!Files.isDirectory(directory) || !Files.isWritable(directory)) {
+            log.error("Ledger archive directory {} does not exist or is not writable; not archiving",
+                directory.toAbsolutePath());
+            return false;
+        }
+        List<YearMonth> missing = segmentReader.missingSegments();
+        if (!missing.isEmpty()) {
+            log.error("Ledger archive directory {} lacks the segments of archived months {}; it is not the " +
+                "shared archive, not archiving", directory.toAbsolutePath(), missing);
+            return false;
+        }
+        return true;
+    }
+
+    private void archive(Connection connection, YearMonth month) throws SQLException {
+        String partition = partitionManager.partitionName(month);
+        Path segment = segmentReader.segmentPath(month);
+        Path temp = segment.resolveSibling(segment.getFileName() + ".tmp");
+
+        long written;
+        try {
+            written = export(connection, partition, temp);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to write ledger segment " + temp, e);
+        }
+
+        long expected;
+        try (Statement statement = connection.createStatement();
+             ResultSet rs = statement.executeQuery("SELECT COUNT(*) FROM ledger_entries PARTITION (" + partition + ")")) {
+            rs.next();
+            expected = rs.getLong(1);
+        }
+        if (written != expected) {
+            // Rows were added to a closed month; leave it for the next run
+            log.error("Ledger segment {} has {} rows but partition {} has {}; not dropping it",
+                segment, written, partition, expected);
+            deleteQuietly(temp);
+            return;
+        }
+
+        try {
+            Files.move(temp, segment, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to move ledger segment into place " + segment, e);
+        }
+        // Totals first: they mark the month archived for every instance's reader
+        try (PreparedStatement ps = connection.prepareStatement(String.format(UPSERT_ARCHIVE_TOTALS, partition))) {
+            ps.setString(1, month.toString());
+            ps.executeUpdate();
+        }
+        partitionManager.dropPartition(month);
+        log.info("Archived ledger month {}: {} entries to {}", month, written, segment);
+    }
+
+    private long export(Connection connection, String partition, Path temp) throws SQLException, IOException {
+        long written = 0;
+        try (PreparedStatement ps = connection.prepareStatement(String.format(SELECT_PARTITION, partition),
+                ResultSet.TYPE_FORWARD_ONLY, ResultSet.CONCUR_READ_ONLY);
+             FileOutputStream file = new FileOutputStream(temp.toFile())) {
+            // Stream rows instead of buffering the whole month (MySQL Connector/J)
+            ps.setFetchSize(Integer.MIN_VALUE);
+
+            GZIPOutputStream gzip = new GZIPOutputStream(file, 65536);
+            BufferedWriter writer = new BufferedWriter(new OutputStreamWriter(gzip, StandardCharsets.UTF_8));
+            try (ResultSet rs = ps.executeQuery()) {
+                while (rs.next()) {
+                    LedgerSegmentRecord record = LedgerSegmentRecord.from(rs);
+                    writer.write(objectMapper.writeValueAsString(record));
+                    writer.newLine();
+                    written++;
+                }
+            }
+            writer.flush();
+            gzip.finish();
+            file.getFD().sync();
+        }
+        return written;
+    }
+
+    private void deleteQuietly(Path file) {
+        try {
+            Files.deleteIfExists(file);
+        } catch (IOException e) {
+            log.warn("Failed to delete {}", file, e);
+        }
+    }
+
+    private boolean acquireLock(Connection connection) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement("SELECT GET_LOCK(?, 0)")) {
+            ps.setString(1, MAINTENANCE_LOCK);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() && rs.getInt(1) == 1;
+            }
+        }
+    }
+
+    private void releaseLock(Connection connection) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+            ps.setString(1, MAINTENANCE_LOCK);
+            ps.execute();
+        }
+    }
+}
@@ -0,0 +1,245 @@
+package com.example.accounts.ledger;
+
+import com.example.accounts.entity.LedgerEntry;
+import com.example.accounts.reository.AccountRepository;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.Optional;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.zip.GZIPInputStream;
+
+/**
+ * Reads ledger entries of archived months from their segment files.
+ *
+ * A segment is ledger_entries-YYYY-MM.ndjson.gz in the archive directory, holding one month's
+ * rows sorted by account_id, so a scan for one account stops as soon as it has passed it.
+ * These are cold reads: each one decompresses the segment up to the account.
+ *
+ * Which months are archived comes from ledger_archive_totals, which the archiver fills before it
+ * drops a partition, not from a listing of the local directory: every instance sees a month as
+ * soon as any instance has archived it. The directory must be storage all instances share; a
+ * month that is archived but has no readable segment here fails the read instead of reading as
+ * empty.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LedgerSegmentReader {
+
+    private static final String PREFIX = LedgerPartitionManager.TABLE + "-";
+    private static final String SUFFIX = ".ndjson.gz";
+
+    private static final String SELECT_ARCHIVED_MONTHS =
+        "SELECT DISTINCT archive_month FROM ledger_archive_totals";
+
+    private final ObjectMapper objectMapper;
+    private final AccountRepository accountRepository;
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.ledger.archive.dir:}")
+    private String archiveDir;
+
+    /**
+     * Report archived months this instance cannot read, so a missing mount shows up at startup
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void checkOnStartup() {
+        try {
+            List<YearMonth> missing = missingSegments();
+            if (!missing.isEmpty()) {
+                log.error("Archived ledger months {} have no segment in '{}'; reads of them will fail until " +
+                    "app.ledger.archive.dir points at the shared archive", missing, archiveDir);
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not check the ledger archive at startup", e);
+        }
+    }
+
+    /**
+     * Whether app.ledger.archive.dir is set; there is no default location
+     */
+    public boolean isConfigured() {
+        return archiveDir != null && !archiveDir.isBlank();
+    }
+
+    public Path archiveDirectory() {
+        if (!isConfigured()) {
+            throw new IllegalStateException("app.ledger.archive.dir is not set");
+        }
+        return Paths.get(archiveDir);
+    }
+
+    public Path segmentPath(YearMonth month) {
+        return archiveDirectory().resolve(PREFIX + month + SUFFIX);
+    }
+
+    /**
+     * Months whose partitions have been archived, by any instance, oldest first
+     */
+    public NavigableSet<YearMonth> archivedMonths() {
+        NavigableSet<YearMonth> months = new TreeSet<>();
+        for (String month : jdbcTemplate.queryForList(SELECT_ARCHIVED_MONTHS, String.class)) {
+            months.add(YearMonth.parse(month));
+        }
+        return months;
+    }
+
+    /**
+     * Archived months with no readable segment in the configured directory
+     */
+    public List<YearMonth> missingSegments() {
+        NavigableSet<YearMonth> archived = archivedMonths();
+        if (!isConfigured()) {
+            return new ArrayList<>(archived);
+        }
+        return archived.stream().filter(month -> !Files.isReadable(segmentPath(month))).toList();
+    }
+
+    public boolean hasSegments() {
+        return !archivedMonths().isEmpty();
+    }
+
+    /**
+     * The newest archived month; entries after it are still in ledger_entries
+     */
+    public Optional<YearMonth> lastArchivedMonth() {
+        NavigableSet<YearMonth> archived = archivedMonths();
+        return archived.isEmpty() ? Optional.empty() : Optional.of(archived.last());
+    }
+
+    /**
+     * The account's archived entries created in [from, to), oldest first
+     */
+    public List<LedgerEntry> findEntries(Long accountId, LocalDateTime from, LocalDateTime to) {
+        List<LedgerEntry> entries = new ArrayList<>();
+        // to is usually the next month's start; that month's segment holds nothing in range
+        for (YearMonth month : archivedMonths().subSet(YearMonth.from(from), true, YearMonth.from(to.minusNanos(1)), true)) {
+            for (LedgerSegmentRecord record : read(month, accountId)) {
+                if (!record.createdAt().isBefore(from) && record.createdAt().isBefore(to)) {
+                    entries.add(toEntry(record));
+                }
+            }
+        }
+        return entries;
+    }
+
+    /**
+     * The account's last archived entry created before the given time, searching newest segments first
+     */
+    public Optional<LedgerEntry> findLatestEntryBefore(Long accountId, LocalDateTime before) {
+        for (YearMonth month : archivedMonths().headSet(YearMonth.from(before), true).descendingSet()) {
+            LedgerSegmentRecord latest = null;
+            for (LedgerSegmentRecord record : read(month, accountId)) {
+                if (record.createdAt().isBefore(before)) {
+                    latest = record;
+                }
+            }
+            if (latest != null) {
+                return Optional.of(toEntry(latest));
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Signed sum of the account's archived entries created before the given time, for entries
+     * written before running balances were recorded.
+     */
+    public BigDecimal sumBefore(Long accountId, LocalDateTime before) {
+        BigDecimal balance = BigDecimal.ZERO;
+        for (YearMonth month : archivedMonths().headSet(YearMonth.from(before), true)) {
+            for (LedgerSegmentRecord record : read(month, accountId)) {
+                if (record.createdAt().isBefore(before)) {
+                    balance = LedgerEntry.EntryType.CREDIT.name().equals(record.entryType())
+                        ? balance.add(record.amount())
+                        : balance.subtract(record.amount());
+                }
+            }
+        }
+        return balance;
+    }
+
+    /**
+     * Pass archived records created between from and to (inclusive) to the consumer one at a time,
+     * month by month and in file order within a month. A null accountId streams every account.
+     */
+    public void forEach(Long accountId, LocalDateTime from, LocalDateTime to, Consumer<LedgerSegmentRecord> consumer) {
+        for (YearMonth month : archivedMonths().subSet(YearMonth.from(from), true, YearMonth.from(to), true)) {
+            scan(month, accountId, record -> {
+                if (!record.createdAt().isBefore(from) && !record.createdAt().isAfter(to)) {
+                    consumer.accept(record);
+                }
+            });
+        }
+    }
+
+    // Helper methods
+    /**
+     * The account's records in one segment, in file order (created_at, account_sequence)
+     */
+    private List<LedgerSegmentRecord> read(YearMonth month, Long accountId) {
+        List<LedgerSegmentRecord> records = new ArrayList<>();
+        scan(month, accountId, records::add);
+        return records;
+    }
+
+    private void scan(YearMonth month, Long accountId, Consumer<LedgerSegmentRecord> consumer) {
+        if (!isConfigured()) {
+            throw new IllegalStateException("Ledger month " + month + " is archived but app.ledger.archive.dir is not set");
+        }
+        Path segment = segmentPath(month);
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new GZIPInputStream(Files.newInputStream(segment), 65536), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                LedgerSegmentRecord record = objectMapper.readValue(line, LedgerSegmentRecord.class);
+                if (accountId == null || record.accountId().equals(accountId)) {
+                    consumer.accept(record);
+                } else if (record.accountId() > accountId) {
+                    break;  // sorted by account_id
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to read ledger segment " + segment, e);
+        }
+    }
+
+    private LedgerEntry toEntry(LedgerSegmentRecord record) {
+        LedgerEntry entry = new LedgerEntry();
+        entry.setLedgerEntryId(record.ledgerEntryId());
+        entry.setLedgerTxnId(record.ledgerTxnId());
+        entry.setAccount(accountRepository.getReferenceById(record.accountId()));
+        entry.setEntryType(LedgerEntry.EntryType.valueOf(record.entryType()));
+        entry.setAmount(record.amount());
+        entry.setDescription(record.description());
+        entry.setReferenceType(record.referenceType());
+        entry.setReferenceId(record.referenceId());
+        entry.setRunningBalance(record.runningBalance());
+        entry.setAccountSequence(record.accountSequence());
+        entry.setCreatedAt(record.createdAt());
+        entry.setCreatedBy(record.createdBy());
+        return entry;
+    }
+}
@@ -0,0 +1,52 @@
+package com.example.accounts.ledger;
+
+import java.math.BigDecimal;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+
+/**
+ * One ledger_entries row as stored in an archived segment file (one JSON object per line)
+ * and as written by ledger exports
+ */
+public record LedgerSegmentRecord(
+    Long ledgerEntryId,
+    String ledgerTxnId,
+    Long accountId,
+    String entryType,
+    BigDecimal amount,
+    String description,
+    String referenceType,
+    Long referenceId,
+    BigDecimal runningBalance,
+    Long accountSequence,
+    LocalDateTime createdAt,
+    String createdBy
+) {
+
+    /**
+     * The ledger_entries columns read by {@link #from(ResultSet)}
+     */
+    static final String COLUMNS =
+        "ledger_entry_id, ledger_txn_id, account_id, entry_side, amount, description, reference_type, " +
+        "reference_id, running_balance, account_sequence, created_at, created_by";
+
+    static LedgerSegmentRecord from(ResultSet rs) throws SQLException {
+        Timestamp createdAt = rs.getTimestamp("created_at");
+        return new LedgerSegmentRecord(
+            rs.getLong("ledger_entry_id"),
+            rs.getString("ledger_txn_id"),
+            rs.getLong("account_id"),
+            rs.getString("entry_side"),
+            rs.getBigDecimal("amount"),
+            rs.getString("description"),
+            rs.getString("reference_type"),
+            rs.getObject("reference_id", Long.class),
+            rs.getBigDecimal("running_balance"),
+            rs.getObject("account_sequence", Long.class),
+            createdAt != null ? createdAt.toLocalDateTime() : null,
+            rs.getString("created_by")
+        );
+    }
+}
@@ -0,0 +1,209 @@
+package com.example.accounts.money;
+
+import com.fasterxml.jackson.databind.annotation.JsonDeserialize;
+import com.fasterxml.jackson.databind.annotation.JsonSerialize;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+
+/**
+ * An exact amount of money held as a long count of minor units (cents for a scale of 2).
+ *
+ * Immutable. Arithmetic is exact and throws ArithmeticException on overflow instead of wrapping.
+ * Amounts of different scales never mix. Every amount column in the schema is DECIMAL(19,2),
+ * so DEFAULT_SCALE is what the converter and Jackson use.
+ *
+ * Hot loops that sum many amounts should not build a Money per step: they convert each amount
+ * once with toMinorUnits, add primitive longs with Math.addExact and convert the total back
+ * with toBigDecimal.
+ */
+@JsonSerialize(using = MoneyJson.Serializer.class)
+@JsonDeserialize(using = MoneyJson.Deserializer.class)
+public final class Money implements Comparable<Money> {
+
+    public static final int DEFAULT_SCALE = 2;
+
+    private static final long[] POWERS_OF_TEN = {
+        1L, 10L, 100L, 1_000L, 10_000L, 100_000L, 1_000_000L, 10_000_000L, 100_000_000L, 1_000_000_000L,
+        10_000_000_000L, 100_000_000_000L, 1_000_000_000_000L, 10_000_000_000_000L, 100_000_000_000_000L,
+        1_000_000_000_000_000L, 10_000_000_000_000_000L, 100_000_000_000_000_000L, 1_000_000_000_000_000_000L
+    };
+
+    private final long minorUnits;
+    private final int scale;
+
+    private Money(long minorUnits, int scale) {
+        this.minorUnits = minorUnits;
+        this.scale = scale;
+    }
+
+    public static Money ofMinor(long minorUnits, int scale) {
+        checkScale(scale);
+        return new Money(minorUnits, scale);
+    }
+
+    public static Money ofMinor(long minorUnits) {
+        return new Money(minorUnits, DEFAULT_SCALE);
+    }
+
+    /**
+     * @throws ArithmeticException if amount has more fraction digits than scale or does not fit
+     */
+    public static Money of(BigDecimal amount, int scale) {
+        return new Money(toMinorUnits(amount, scale), scale);
+    }
+
+    public static Money of(BigDecimal amount) {
+        return of(amount, DEFAULT_SCALE);
+    }
+
+    public static Money zero(int scale) {
+        return ofMinor(0L, scale);
+    }
+
+    /**
+     * Exact minor units of amount at scale, e.g. 12.30 at scale 2 is 1230
+     *
+     * @throws ArithmeticException if amount has more fraction digits than scale or does not fit
+     */
+    public static long toMinorUnits(BigDecimal amount, int scale) {
+        checkScale(scale);
+        return amount.movePointRight(scale).longValueExact();
+    }
+
+    public static long toMinorUnits(BigDecimal amount) {
+        return toMinorUnits(amount, DEFAULT_SCALE);
+    }
+
+    public static BigDecimal toBigDecimal(long minorUnits, int scale) {
+        return BigDecimal.valueOf(minorUnits, scale);
+    }
+
+    public static BigDecimal toBigDecimal(long minorUnits) {
+        return BigDecimal.valueOf(minorUnits, DEFAULT_SCALE);
+    }
+
+    /**
+     * value * multiplier / divisor, rounded half up (away from zero on a tie), without losing
+     * precision in the intermediate product. Used for rates: interest on a balance in minor units
+     * with the rate given as an integer over divisor.
+     *
+     * @throws ArithmeticException if divisor is zero or the result does not fit in a long
+     */
+    public static long multiplyDivideHalfUp(long value, long multiplier, long divisor) {
+        if (divisor == 0) {
+            throw new ArithmeticException("Division by zero");
+        }
+        long high = Math.multiplyHigh(value, multiplier);
+        long low = value * multiplier;
+        if (high != (low >> 63)) {
+            // Product needs more than 64 bits; rare enough to take the slow path
+            return BigDecimal.valueOf(value).multiply(BigDecimal.valueOf(multiplier))
+                .divide(BigDecimal.valueOf(divisor), 0, RoundingMode.HALF_UP)
+                .longValueExact();
+        }
+        long quotient = low / divisor;
+        long remainder = low % divisor;
+        // |remainder| * 2 >= |divisor|, written so neither side can overflow
+        if (Math.abs(remainder) >= Math.abs(divisor) - Math.abs(remainder)) {
+            quotient += (low < 0) == (divisor < 0) ? 1 : -1;
+        }
+        return quotient;
+    }
+
+    public Money plus(Money other) {
+        checkSameScale(other);
+        return new Money(Math.addExact(minorUnits, other.minorUnits), scale);
+    }
+
+    public Money minus(Money other) {
+        checkSameScale(other);
+        return new Money(Math.subtractExact(minorUnits, other.minorUnits), scale);
+    }
+
+    public Money negate() {
+        return new Money(Math.negateExact(minorUnits), scale);
+    }
+
+    public Money times(long factor) {
+        return new Money(Math.multiplyExact(minorUnits, factor), scale);
+    }
+
+    public long getMinorUnits() {
+        return minorUnits;
+    }
+
+    public int getScale() {
+        return scale;
+    }
+
+    public int signum() {
+        return Long.signum(minorUnits);
+    }
+
+    public boolean isZero() {
+        return minorUnits == 0L;
+    }
+
+    public BigDecimal toBigDecimal() {
+        return BigDecimal.valueOf(minorUnits, scale);
+    }
+
+    @Override
+    public int compareTo(Money other) {
+        checkSameScale(other);
+        return Long.compare(minorUnits, other.minorUnits);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Money other)) {
+            return false;
+        }
+        return minorUnits == other.minorUnits && scale == other.scale;
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Long.hashCode(minorUnits) + scale;
+    }
+
+    /**
+     * Plain decimal form with exactly scale fraction digits, e.g. "-12.30"
+     */
+    @Override
+    public String toString() {
+        if (scale == 0) {
+            return Long.toString(minorUnits);
+        }
+        long unit = POWERS_OF_TEN[scale];
+        long whole = minorUnits / unit;
+        long fraction = Math.abs(minorUnits % unit);
+        StringBuilder text = new StringBuilder(24);
+        if (minorUnits < 0 && whole == 0) {
+            text.append('-');
+        }
+        text.append(whole).append('.');
+        String digits = Long.toString(fraction);
+        for (int i = digits.length(); i < scale; i++) {
+            text.append('0');
+        }
+        return text.append(digits).toString();
+    }
+
+    // Helper methods
+    private static void checkScale(int scale) {
+        if (scale < 0 || scale >= POWERS_OF_TEN.length) {
+            throw new IllegalArgumentException("Unsupported scale: " + scale);
+        }
+    }
+
+    private void checkSameScale(Money other) {
+        if (scale != other.scale) {
+            throw new IllegalArgumentException("Cannot combine amounts of scale " + scale + " and " + other.scale);
+        }
+    }
+}
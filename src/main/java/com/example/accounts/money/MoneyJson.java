@@ -0,0 +1,51 @@
+package com.example.accounts.money;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.databind.DeserializationContext;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.deser.std.StdDeserializer;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+
+/**
+ * Jackson mapping for Money: a JSON number in major units with DEFAULT_SCALE fraction digits
+ * (12.30), the same shape BigDecimal amounts have in the API
+ */
+public final class MoneyJson {
+
+    private MoneyJson() {
+    }
+
+    public static class Serializer extends StdSerializer<Money> {
+
+        public Serializer() {
+            super(Money.class);
+        }
+
+        @Override
+        public void serialize(Money value, JsonGenerator gen, SerializerProvider provider) throws IOException {
+            gen.writeNumber(value.toString());
+        }
+    }
+
+    public static class Deserializer extends StdDeserializer<Money> {
+
+        public Deserializer() {
+            super(Money.class);
+        }
+
+        @Override
+        public Money deserialize(JsonParser parser, DeserializationContext ctxt) throws IOException {
+            BigDecimal amount = parser.getDecimalValue();
+            try {
+                return Money.of(amount);
+            } catch (ArithmeticException e) {
+                throw ctxt.weirdNumberException(amount, Money.class,
+                    "amount must have at most " + Money.DEFAULT_SCALE + " decimal places and fit in a long");
+            }
+        }
+    }
+}
@@ -0,0 +1,390 @@
+package com.example.accounts.posting;
+
+import com.example.accounts.exception.PostingRejectedException;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.PessimisticLockingFailureException;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
+
+/**
+ * In-process sharded single-writer posting engine.
+ *
+ * Account IDs are hashed to N shards. Each shard is one thread that owns all balance
+ * mutations for its accounts and applies queued posting commands in arrival order, so
+ * postings to the same account never contend on row locks inside this instance.
+ *
+ * - Same-shard commands: consecutive commands are drained from the queue and executed in a
+ *   single transaction (group commit). If the group fails, it is rolled back and every
+ *   command is replayed in its own transaction so one bad posting cannot fail its neighbours.
+ * - Cross-shard commands: routed to the lower-numbered shard, which parks the higher-numbered
+ *   shard with a barrier before executing. A shard only ever waits on a higher-numbered shard,
+ *   so the protocol cannot deadlock.
+ *
+ * Callers block until their command has committed (or failed) and get the result back. A
+ * caller that times out withdraws its command if the shard has not started it yet, and gets a
+ * retryable PostingRejectedException; once started, the caller waits for the outcome instead.
+ *
+ * Row locks can still be contended by writers outside the engine (other instances, settlement
+ * runs with the engine disabled), so a transaction that loses a deadlock or times out waiting
+ * for a lock is rolled back and re-run, up to max-attempts, after a jittered backoff.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class PostingEngine {
+
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.posting.engine.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.posting.engine.shards:0}")
+    private int configuredShards;
+
+    @Value("${app.posting.engine.queue-capacity:10000}")
+    private int queueCapacity;
+
+    @Value("${app.posting.engine.max-batch-size:32}")
+    private int maxBatchSize;
+
+    @Value("${app.posting.engine.timeout-ms:30000}")
+    private long timeoutMillis;
+
+    @Value("${app.posting.retry.max-attempts:3}")
+    private int maxAttempts;
+
+    @Value("${app.posting.retry.backoff-ms:20}")
+    private long backoffMillis;
+
+    private TransactionTemplate transactionTemplate;
+    private Shard[] shards;
+
+    @PostConstruct
+    public void start() {
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        // Postings never join a caller's transaction, on a shard thread or on the calling thread
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        if (!enabled) {
+            log.info("Posting engine disabled, postings run on the caller thread");
+            return;
+        }
+
+        int shardCount = configuredShards > 0 ? configuredShards : Runtime.getRuntime().availableProcessors();
+        shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard(i);
+            shards[i].start();
+        }
+        log.info("Posting engine started with {} shards", shardCount);
+    }
+
+    @PreDestroy
+    public void stop() {
+        if (shards == null) {
+            return;
+        }
+        for (Shard shard : shards) {
+            shard.interrupt();
+        }
+        log.info("Posting engine stopped");
+    }
+
+    /**
+     * Execute a posting that mutates the balances of the two given accounts.
+     * The command runs inside a transaction on the shard thread(s) owning those accounts.
+     *
+     * @param firstAccountId one account mutated by the command
+     * @param secondAccountId the other account (may equal the first)
+     * @param command the posting logic; runs with the caller's SecurityContext
+     * @return the command's result
+     */
+    public <T> T execute(Long firstAccountId, Long secondAccountId, Supplier<T> command) {
+        if (!enabled) {
+            return executeWithRetry(command);
+        }
+
+        int firstShard = shardFor(firstAccountId);
+        int secondShard = shardFor(secondAccountId);
+        int owner = Math.min(firstShard, secondShard);
+        int peer = Math.max(firstShard, secondShard);
+
+        PostingCommand<T> posting = new PostingCommand<>(command, SecurityContextHolder.getContext(),
+            owner == peer ? null : shards[peer]);
+
+        try {
+            if (!shards[owner].queue.offer(posting, timeoutMillis, TimeUnit.MILLISECONDS)) {
+                throw new PostingRejectedException("Posting queue is full, please retry");
+            }
+            return posting.result.get(timeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (ExecutionException e) {
+            throw unwrap(e.getCause());
+        } catch (TimeoutException e) {
+            if (posting.cancel()) {
+                throw new PostingRejectedException("Posting did not start within " + timeoutMillis + "ms and was not applied, please retry");
+            }
+            log.warn("Posting still running after {}ms on {}, waiting for its outcome", timeoutMillis, shards[owner].getName());
+            return awaitOutcome(posting);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            if (posting.cancel()) {
+                throw new PostingRejectedException("Interrupted while waiting for posting, it was not applied");
+            }
+            return awaitOutcome(posting);
+        }
+    }
+
+    /**
+     * Execute a command while every shard is parked, for bulk postings that touch accounts
+     * across all shards (settlement). Shards are parked in ascending order, so this follows the
+     * same lower-waits-on-higher rule as cross-shard postings and cannot deadlock with them.
+     * The command runs in its own transaction on the calling thread.
+     */
+    public <T> T executeExclusive(Supplier<T> command) {
+        if (!enabled) {
+            return executeWithRetry(command);
+        }
+
+        List<Barrier> barriers = new ArrayList<>(shards.length);
+        try {
+            for (Shard shard : shards) {
+                Barrier barrier = new Barrier();
+                barriers.add(barrier);
+                if (!shard.queue.offer(barrier, timeoutMillis, TimeUnit.MILLISECONDS)
+                    || !barrier.parked.await(timeoutMillis, TimeUnit.MILLISECONDS)) {
+                    throw new PostingRejectedException("Could not pause " + shard.getName() + " within " + timeoutMillis + "ms");
+                }
+            }
+            return executeWithRetry(command);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new PostingRejectedException("Interrupted while pausing posting shards");
+        } finally {
+            barriers.forEach(barrier -> barrier.released.countDown());
+        }
+    }
+
+    /**
+     * Run the command in its own transaction, re-running it when the transaction was rolled
+     * back by a deadlock or lock wait timeout. Backoff is full jitter: a random delay up to
+     * backoff-ms * 2^attempt, so colliding transactions do not retry in lockstep.
+     * Each attempt is a new transaction even when the caller has one open: joining it would
+     * re-run the command in a transaction already marked rollback-only by the lock failure.
+     */
+    private <T> T executeWithRetry(Supplier<T> command) {
+        for (int attempt = 1; ; attempt++) {
+            try {
+                return transactionTemplate.execute(status -> command.get());
+            } catch (PessimisticLockingFailureException e) {
+                if (attempt >= maxAttempts) {
+                    throw e;
+                }
+                long backoff = ThreadLocalRandom.current().nextLong(backoffMillis << attempt) + 1;
+                log.debug("Posting lost a lock conflict (attempt {}), retrying in {}ms: {}", attempt, backoff, e.getMessage());
+                try {
+                    Thread.sleep(backoff);
+                } catch (InterruptedException interrupted) {
+                    Thread.currentThread().interrupt();
+                    throw e;
+                }
+            }
+        }
+    }
+
+    /**
+     * Wait for a posting that has already started: it will commit or fail regardless of the
+     * caller, so reporting a retryable rejection would invite a duplicate.
+     */
+    private static <T> T awaitOutcome(PostingCommand<T> posting) {
+        try {
+            return posting.result.join();
+        } catch (CompletionException e) {
+            throw unwrap(e.getCause());
+        }
+    }
+
+    private static RuntimeException unwrap(Throwable cause) {
+        if (cause instanceof RuntimeException runtimeException) {
+            return runtimeException;
+        }
+        return new IllegalStateException("Posting failed", cause);
+    }
+
+    int shardFor(Long accountId) {
+        // Fibonacci hashing spreads sequential IDs evenly across shards
+        long mixed = accountId * 0x9E3779B97F4A7C15L;
+        return Math.floorMod(Long.hashCode(mixed), shards.length);
+    }
+
+    // ========================================================
+    // Shard internals
+    // ========================================================
+
+    private interface Task {
+    }
+
+    private static final class PostingCommand<T> implements Task {
+        private enum State {
+            QUEUED,
+            STARTED,
+            CANCELLED
+        }
+
+        private final Supplier<T> body;
+        private final SecurityContext securityContext;
+        private final Shard peer;  // null for same-shard postings
+        private final CompletableFuture<T> result = new CompletableFuture<>();
+        private final AtomicReference<State> state = new AtomicReference<>(State.QUEUED);
+
+        private PostingCommand(Supplier<T> body, SecurityContext securityContext, Shard peer) {
+            this.body = body;
+            this.securityContext = securityContext;
+            this.peer = peer;
+        }
+
+        /**
+         * Claimed by the shard before it runs the command; false when the caller gave up first.
+         */
+        private boolean start() {
+            return state.compareAndSet(State.QUEUED, State.STARTED);
+        }
+
+        /**
+         * Withdrawn by a caller that timed out; false when the shard has already started it.
+         */
+        private boolean cancel() {
+            return state.compareAndSet(State.QUEUED, State.CANCELLED);
+        }
+
+        private T run() {
+            SecurityContext previous = SecurityContextHolder.getContext();
+            SecurityContextHolder.setContext(securityContext);
+            try {
+                return body.get();
+            } finally {
+                SecurityContextHolder.setContext(previous);
+            }
+        }
+    }
+
+    /**
+     * Parks a shard so that a lower-numbered shard can mutate accounts owned by it.
+     */
+    private static final class Barrier implements Task {
+        private final CountDownLatch parked = new CountDownLatch(1);
+        private final CountDownLatch released = new CountDownLatch(1);
+    }
+
+    private final class Shard extends Thread {
+        private final BlockingQueue<Task> queue = new LinkedBlockingQueue<>(queueCapacity);
+
+        private Shard(int index) {
+            super("posting-shard-" + index);
+            setDaemon(true);
+        }
+
+        @Override
+        public void run() {
+            while (!isInterrupted()) {
+                try {
+                    Task task = queue.take();
+
+                    if (task instanceof Barrier barrier) {
+                        barrier.parked.countDown();
+                        barrier.released.await();
+                        continue;
+                    }
+
+                    PostingCommand<?> command = (PostingCommand<?>) task;
+                    if (!command.start()) {
+                        continue;  // cancelled by a caller that timed out
+                    }
+                    if (command.peer != null) {
+                        executeCrossShard(command);
+                        continue;
+                    }
+
+                    // Group commit: drain consecutive same-shard commands
+                    List<PostingCommand<?>> batch = new ArrayList<>();
+                    batch.add(command);
+                    while (batch.size() < maxBatchSize
+                        && queue.peek() instanceof PostingCommand<?> next
+                        && next.peer == null) {
+                        queue.poll();
+                        if (next.start()) {
+                            batch.add(next);
+                        }
+                    }
+                    executeBatch(batch);
+                } catch (InterruptedException e) {
+                    interrupt();
+                } catch (Exception e) {
+                    log.error("Unexpected error in {}", getName(), e);
+                }
+            }
+        }
+
+        private void executeCrossShard(PostingCommand<?> command) throws InterruptedException {
+            Barrier barrier = new Barrier();
+            command.peer.queue.put(barrier);
+            barrier.parked.await();
+            try {
+                executeSingle(command);
+            } finally {
+                barrier.released.countDown();
+            }
+        }
+
+        private void executeBatch(List<PostingCommand<?>> batch) {
+            if (batch.size() == 1) {
+                executeSingle(batch.get(0));
+                return;
+            }
+
+            List<Object> results = new ArrayList<>(batch.size());
+            try {
+                transactionTemplate.executeWithoutResult(status -> {
+                    for (PostingCommand<?> command : batch) {
+                        results.add(command.run());
+                    }
+                });
+            } catch (RuntimeException e) {
+                log.debug("Group commit of {} postings failed on {}, replaying individually: {}",
+                    batch.size(), getName(), e.getMessage());
+                batch.forEach(this::executeSingle);
+                return;
+            }
+
+            for (int i = 0; i < batch.size(); i++) {
+                complete(batch.get(i), results.get(i));
+            }
+        }
+
+        private void executeSingle(PostingCommand<?> command) {
+            try {
+                Object result = executeWithRetry(command::run);
+                complete(command, result);
+            } catch (RuntimeException e) {
+                command.result.completeExceptionally(e);
+            }
+        }
+
+        @SuppressWarnings("unchecked")
+        private <T> void complete(PostingCommand<T> command, Object result) {
+            command.result.complete((T) result);
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.accounts.posting;
+
+import com.example.accounts.entity.Account;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.math.BigDecimal;
+import java.util.Set;
+
+/**
+ * Decides which transfers skip the REQUESTED -> AUTHORIZED -> POSTED round trips and are
+ * posted straight-through in the same transaction that creates them.
+ *
+ * A transfer qualifies when straight-through processing is enabled and any of these hold:
+ * - the amount is at or below max-amount
+ * - both accounts belong to the same customer (own-account transfers)
+ * - the destination is one of the configured trusted accounts (fee, treasury, loan repayment)
+ */
+@Component
+@Slf4j
+public class StraightThroughPolicy {
+
+    @Value("${app.transfers.straight-through.enabled:false}")
+    private boolean enabled;
+
+    @Value("${app.transfers.straight-through.max-amount:1000.00}")
+    private BigDecimal maxAmount;
+
+    @Value("${app.transfers.straight-through.same-customer:true}")
+    private boolean sameCustomer;
+
+    @Value("${app.transfers.straight-through.trusted-destination-accounts:}")
+    private Set<Long> trustedDestinationAccounts;
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public boolean isEligible(Account sourceAccount, Account destinationAccount, BigDecimal amount) {
+        if (!enabled) {
+            return false;
+        }
+
+        if (amount.compareTo(maxAmount) <= 0) {
+            return true;
+        }
+
+        if (sameCustomer
+            && sourceAccount.getCustomer() != null
+            && destinationAccount.getCustomer() != null
+            && sourceAccount.getCustomer().getCustomerId().equals(destinationAccount.getCustomer().getCustomerId())) {
+            return true;
+        }
+
+        return trustedDestinationAccounts.contains(destinationAccount.getAccountId());
+    }
+}
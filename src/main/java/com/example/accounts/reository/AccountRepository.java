@@ -10,7 +10,9 @@ import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.math.BigDecimal;
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -27,6 +29,9 @@ public interface AccountRepository extends JpaRepository<Account, Long> {
 
     List<Account> findByAccountType(Account.AccountType accountType);
 
+    @Query("SELECT a.accountId FROM Account a ORDER BY a.accountId")
+    List<Long> findAllAccountIds();
+
     @Query("SELECT a FROM Account a WHERE a.customer.customerId = :customerId AND a.accountStatus = 'ACTIVE'")
     List<Account> findActiveAccountsByCustomer(@Param("customerId") Long customerId);
 
@@ -51,6 +56,76 @@ public interface AccountRepository extends JpaRepository<Account, Long> {
      */
     long countByAssignedBankerBankerId(Long bankerId);
 
+    /**
+     * Add to the account's held amount when a hold is placed
+     */
+    @Modifying
+    @Query(value = "UPDATE accounts SET held_amount = held_amount + :amount, balance_version = balance_version + 1 " +
+           "WHERE account_id = :accountId", nativeQuery = true)
+    int incrementHeldAmount(@Param("accountId") Long accountId, @Param("amount") BigDecimal amount);
+
+    /**
+     * Subtract from the account's held amount when a hold is released
+     */
+    @Modifying
+    @Query(value = "UPDATE accounts SET held_amount = held_amount - :amount, balance_version = balance_version + 1 " +
+           "WHERE account_id = :accountId", nativeQuery = true)
+    int decrementHeldAmount(@Param("accountId") Long accountId, @Param("amount") BigDecimal amount);
+
+    /**
+     * Move the balance by a relative amount, for adjustments outside the ledger posting path
+     */
+    @Modifying
+    @Query(value = "UPDATE accounts SET balance = balance + :delta, balance_version = balance_version + 1 " +
+           "WHERE account_id = :accountId", nativeQuery = true)
+    int adjustBalance(@Param("accountId") Long accountId, @Param("delta") BigDecimal delta);
+
+    /**
+     * Balance minus held amount, read straight from the row (not from a possibly stale entity)
+     */
+    @Query(value = "SELECT balance - held_amount FROM accounts WHERE account_id = :accountId", nativeQuery = true)
+    Optional<BigDecimal> findAvailableBalance(@Param("accountId") Long accountId);
+
+    /**
+     * Current balance state of accounts. Each row is [account_id, balance, held_amount, balance_version].
+     */
+    @Query(value = "SELECT account_id, balance, held_amount, balance_version FROM accounts WHERE account_id IN (:accountIds)",
+           nativeQuery = true)
+    List<Object[]> findBalanceSnapshots(@Param("accountIds") Collection<Long> accountIds);
+
+    /**
+     * Accounts whose held_amount differs from the sum of their unreleased hold rows.
+     * Each row is [account_id, held_amount, sum of unreleased holds, balance_version], all from one snapshot.
+     */
+    @Query(value = "SELECT a.account_id, a.held_amount, COALESCE(SUM(h.hold_amount), 0) AS hold_total, a.balance_version " +
+           "FROM accounts a LEFT JOIN transfer_holds h ON h.account_id = a.account_id AND h.released = false " +
+           "GROUP BY a.account_id, a.held_amount, a.balance_version " +
+           "HAVING a.held_amount <> hold_total",
+           nativeQuery = true)
+    List<Object[]> findHeldAmountMismatches();
+
+    /**
+     * Correct held_amount only if the account is unchanged since the reconciliation read it.
+     * Guarded on balance_version, which every hold placed or released moves, rather than on the
+     * held amount, which a hold placed and another released could bring back to the same value.
+     */
+    @Modifying
+    @Query(value = "UPDATE accounts SET held_amount = :expected, balance_version = balance_version + 1 " +
+           "WHERE account_id = :accountId AND balance_version = :observedVersion",
+           nativeQuery = true)
+    int repairHeldAmount(@Param("accountId") Long accountId,
+                         @Param("observedVersion") long observedVersion,
+                         @Param("expected") BigDecimal expected);
+
+    /**
+     * Lock accounts in primary-key order.
+     * Each row is [account_id, balance, held_amount, ledger_sequence, balance_version].
+     */
+    @Query(value = "SELECT account_id, balance, held_amount, ledger_sequence, balance_version FROM accounts WHERE account_id IN (:accountIds) " +
+           "ORDER BY account_id FOR UPDATE",
+           nativeQuery = true)
+    List<Object[]> lockBalances(@Param("accountIds") Collection<Long> accountIds);
+
     /**
      * Find accounts needing re-encryption (older than 10 days or with lower encryption version)
      */
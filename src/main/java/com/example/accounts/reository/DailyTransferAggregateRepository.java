@@ -0,0 +1,67 @@
+package com.example.accounts.reository;
+
+import com.example.accounts.entity.DailyTransferAggregate;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
+
+@Repository
+public interface DailyTransferAggregateRepository extends JpaRepository<DailyTransferAggregate, Long> {
+
+    List<DailyTransferAggregate> findByAccountIdInAndBusinessDate(Collection<Long> accountIds, LocalDate businessDate);
+
+    /**
+     * Create today's counter row if it does not exist yet.
+     * The row is seeded from transfers already created today so the first check of the day
+     * (or the first after deployment) starts from the correct total. Cancelled and expired
+     * transfers are left out, as their amounts are released from the counter.
+     */
+    @Modifying
+    @Query(value = "INSERT IGNORE INTO daily_transfer_aggregates " +
+           "(account_id, business_date, total_amount, transfer_count, created_at, created_by) " +
+           "SELECT :accountId, :businessDate, COALESCE(SUM(t.amount), 0), COUNT(t.transfer_id), NOW(), 'SYSTEM' " +
+           "FROM transfers t WHERE t.source_account_id = :accountId AND t.created_at >= :startOfDay " +
+           "AND t.transfer_status NOT IN ('CANCELLED', 'EXPIRED')",
+           nativeQuery = true)
+    int initializeIfAbsent(@Param("accountId") Long accountId,
+                           @Param("businessDate") LocalDate businessDate,
+                           @Param("startOfDay") LocalDateTime startOfDay);
+
+    /**
+     * Atomically add to the day's total only if the result stays within the limit.
+     *
+     * @return 1 if reserved, 0 if the limit would be exceeded (or the row does not exist)
+     */
+    @Modifying
+    @Query(value = "UPDATE daily_transfer_aggregates " +
+           "SET total_amount = total_amount + :amount, transfer_count = transfer_count + :count, updated_at = NOW() " +
+           "WHERE account_id = :accountId AND business_date = :businessDate AND total_amount + :amount <= :limit",
+           nativeQuery = true)
+    int tryReserve(@Param("accountId") Long accountId,
+                   @Param("businessDate") LocalDate businessDate,
+                   @Param("amount") BigDecimal amount,
+                   @Param("count") long count,
+                   @Param("limit") BigDecimal limit);
+
+    @Modifying
+    @Query(value = "UPDATE daily_transfer_aggregates " +
+           "SET total_amount = GREATEST(total_amount - :amount, 0), transfer_count = GREATEST(transfer_count - 1, 0), " +
+           "updated_at = NOW() " +
+           "WHERE account_id = :accountId AND business_date = :businessDate",
+           nativeQuery = true)
+    int release(@Param("accountId") Long accountId,
+                @Param("businessDate") LocalDate businessDate,
+                @Param("amount") BigDecimal amount);
+
+    @Modifying
+    @Query("DELETE FROM DailyTransferAggregate a WHERE a.businessDate < :cutoff")
+    int deleteOlderThan(@Param("cutoff") LocalDate cutoff);
+}
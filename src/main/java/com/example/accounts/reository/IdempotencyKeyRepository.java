@@ -4,11 +4,15 @@ import com.example.accounts.entity.IdempotencyKey;
 import org.springframework.data.jpa.repository.JpaRepository;
 import org.springframework.stereotype.Repository;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
 
 @Repository
 public interface IdempotencyKeyRepository extends JpaRepository<IdempotencyKey, Long> {
 
     Optional<IdempotencyKey> findByIdempotencyKey(String idempotencyKey);
+
+    List<IdempotencyKey> findByIdempotencyKeyIn(Collection<String> idempotencyKeys);
 }
 
@@ -0,0 +1,350 @@
+package com.example.accounts.reository;
+
+import com.example.accounts.entity.AuditLog;
+import com.example.accounts.entity.IdempotencyKey;
+import com.example.accounts.entity.LedgerEntry;
+import com.example.accounts.entity.LedgerOutboxEvent;
+import com.example.accounts.entity.StatementLineItem;
+import com.example.accounts.entity.Transfer;
+import com.example.accounts.entity.TransferVersion;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeSet;
+
+/**
+ * Plain JDBC batch inserts for high-volume write paths.
+ *
+ * Hibernate cannot batch inserts for IDENTITY-generated entities, so bulk paths
+ * (batch transfer submission) write through here instead of the JPA repositories.
+ * Statements run on the connection bound to the current Spring transaction.
+ * With rewriteBatchedStatements=true on the MySQL URL each chunk becomes a single multi-row INSERT.
+ */
+@Repository
+@RequiredArgsConstructor
+@Slf4j
+public class JdbcBatchRepository {
+
+    private static final String INSERT_TRANSFER =
+        "INSERT INTO transfers (source_account_id, destination_account_id, amount, currency, description, " +
+        "transfer_status, initiated_by, idempotency_key, version, created_at, created_by) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_TRANSFER_VERSION =
+        "INSERT INTO transfer_version_slots (transfer_id, slot, version_number, delta, changed_by, change_summary, " +
+        "created_at, created_by) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?) " +
+        "ON DUPLICATE KEY UPDATE version_number = VALUES(version_number), delta = VALUES(delta), " +
+        "changed_by = VALUES(changed_by), change_summary = VALUES(change_summary), " +
+        "created_at = VALUES(created_at), created_by = VALUES(created_by)";
+
+    private static final String INSERT_LEDGER_ENTRY =
+        "INSERT INTO ledger_entries (ledger_txn_id, account_id, entry_side, amount, description, reference_type, " +
+        "reference_id, running_balance, account_sequence, created_at, created_by) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_LEDGER_OUTBOX =
+        "INSERT INTO ledger_outbox (ledger_txn_id, payload, created_at) VALUES (?, ?, ?)";
+
+    private static final String INSERT_STATEMENT_LINE_ITEM =
+        "INSERT INTO statement_line_items (statement_id, line_number, transaction_date, entry_type, amount, " +
+        "description, reference_type, running_balance) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String APPLY_NET_POSITION =
+        "UPDATE accounts SET balance = balance + ?, held_amount = held_amount - ?, ledger_sequence = ledger_sequence + ?, " +
+        "balance_version = balance_version + 1, updated_at = ?, updated_by = ? WHERE account_id = ?";
+
+    private static final String DECREMENT_HELD_AMOUNT =
+        "UPDATE accounts SET held_amount = held_amount - ?, balance_version = balance_version + 1 WHERE account_id = ?";
+
+    private static final String INSERT_AUDIT_LOG =
+        "INSERT INTO audit_logs (actor_id, action, entity_type, entity_id, correlation_id, request_context, " +
+        "redacted_payload, status, ip_address, created_at, created_by) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String INSERT_IDEMPOTENCY_KEY =
+        "INSERT INTO idempotency_keys (idempotency_key, request_hash, response_status, response_body, user_id, " +
+        "expires_at, created_at, created_by) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private final JdbcTemplate jdbcTemplate;
+
+    @Value("${app.transfers.batch.jdbc-batch-size:500}")
+    private int jdbcBatchSize;
+
+    /**
+     * Insert transfers in JDBC batches and populate the generated transferId on each entity.
+     * The caller is expected to have set createdAt/createdBy, since JPA auditing does not run here.
+     */
+    public void insertTransfers(List<Transfer> transfers) {
+        if (transfers.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            try (PreparedStatement ps = connection.prepareStatement(INSERT_TRANSFER, Statement.RETURN_GENERATED_KEYS)) {
+                for (int start = 0; start < transfers.size(); start += jdbcBatchSize) {
+                    List<Transfer> chunk = transfers.subList(start, Math.min(start + jdbcBatchSize, transfers.size()));
+
+                    for (Transfer transfer : chunk) {
+                        ps.setLong(1, transfer.getSourceAccount().getAccountId());
+                        ps.setLong(2, transfer.getDestinationAccount().getAccountId());
+                        ps.setBigDecimal(3, transfer.getAmount());
+                        ps.setString(4, transfer.getCurrency());
+                        ps.setString(5, transfer.getDescription());
+                        ps.setString(6, transfer.getTransferStatus().name());
+                        setNullableLong(ps, 7, transfer.getInitiatedBy());
+                        ps.setString(8, transfer.getIdempotencyKey());
+                        setNullableLong(ps, 9, transfer.getCurrentVersion());
+                        ps.setTimestamp(10, toTimestamp(transfer.getCreatedAt()));
+                        ps.setString(11, transfer.getCreatedBy());
+                        ps.addBatch();
+                    }
+                    ps.executeBatch();
+
+                    // Generated keys come back in insertion order
+                    try (ResultSet keys = ps.getGeneratedKeys()) {
+                        int i = 0;
+                        while (keys.next() && i < chunk.size()) {
+                            chunk.get(i++).setTransferId(keys.getLong(1));
+                        }
+                    }
+                }
+            }
+            return null;
+        });
+
+        log.debug("Batch inserted {} transfers", transfers.size());
+    }
+
+    /**
+     * Write transfer versions into their ring slots, overwriting whatever version the slot held.
+     */
+    public void insertTransferVersions(List<TransferVersion> versions) {
+        if (versions.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_TRANSFER_VERSION, versions, jdbcBatchSize, (ps, version) -> {
+            ps.setLong(1, version.getTransfer().getTransferId());
+            ps.setInt(2, version.getSlot());
+            ps.setLong(3, version.getVersionNumber());
+            ps.setString(4, version.getDelta());
+            setNullableLong(ps, 5, version.getChangedBy());
+            ps.setString(6, version.getChangeSummary());
+            ps.setTimestamp(7, toTimestamp(version.getCreatedAt()));
+            ps.setString(8, version.getCreatedBy());
+        });
+
+        log.debug("Batch inserted {} transfer versions", versions.size());
+    }
+
+    public void insertLedgerEntries(List<LedgerEntry> entries) {
+        if (entries.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_LEDGER_ENTRY, entries, jdbcBatchSize, (ps, entry) -> {
+            ps.setString(1, entry.getLedgerTxnId());
+            ps.setLong(2, entry.getAccount().getAccountId());
+            ps.setString(3, entry.getEntryType().name());
+            ps.setBigDecimal(4, entry.getAmount());
+            ps.setString(5, entry.getDescription());
+            ps.setString(6, entry.getReferenceType());
+            setNullableLong(ps, 7, entry.getReferenceId());
+            ps.setBigDecimal(8, entry.getRunningBalance());
+            setNullableLong(ps, 9, entry.getAccountSequence());
+            ps.setTimestamp(10, toTimestamp(entry.getCreatedAt()));
+            ps.setString(11, entry.getCreatedBy());
+        });
+
+        log.debug("Batch inserted {} ledger entries", entries.size());
+    }
+
+    public void insertLedgerOutboxEvents(List<LedgerOutboxEvent> events) {
+        if (events.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_LEDGER_OUTBOX, events, jdbcBatchSize, (ps, event) -> {
+            ps.setString(1, event.getLedgerTxnId());
+            ps.setString(2, event.getPayload());
+            ps.setTimestamp(3, toTimestamp(event.getCreatedAt()));
+        });
+
+        log.debug("Batch inserted {} ledger outbox events", events.size());
+    }
+
+    public void insertStatementLineItems(List<StatementLineItem> lineItems) {
+        if (lineItems.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_STATEMENT_LINE_ITEM, lineItems, jdbcBatchSize, (ps, item) -> {
+            ps.setLong(1, item.getStatement().getStatementId());
+            ps.setInt(2, item.getLineNumber());
+            ps.setTimestamp(3, toTimestamp(item.getTransactionDate()));
+            ps.setString(4, item.getEntryType());
+            ps.setBigDecimal(5, item.getAmount());
+            ps.setString(6, item.getDescription());
+            ps.setString(7, item.getReferenceType());
+            ps.setBigDecimal(8, item.getRunningBalance());
+        });
+
+        log.debug("Batch inserted {} statement line items", lineItems.size());
+    }
+
+    /**
+     * Apply one net balance change per account and release its settled holds in the same statement.
+     *
+     * @param netAmounts accountId -> signed net amount (credits minus debits)
+     * @param releasedHolds accountId -> hold amount to subtract from held_amount
+     * @param entryCounts accountId -> ledger entries written, added to ledger_sequence
+     */
+    public void applyNetPositions(Map<Long, BigDecimal> netAmounts, Map<Long, BigDecimal> releasedHolds,
+                                  Map<Long, Integer> entryCounts, String updatedBy) {
+        Set<Long> accountIds = new TreeSet<>(netAmounts.keySet());
+        accountIds.addAll(releasedHolds.keySet());
+        accountIds.addAll(entryCounts.keySet());
+        if (accountIds.isEmpty()) {
+            return;
+        }
+
+        Timestamp now = toTimestamp(LocalDateTime.now());
+        jdbcTemplate.batchUpdate(APPLY_NET_POSITION, new ArrayList<>(accountIds), jdbcBatchSize, (ps, accountId) -> {
+            ps.setBigDecimal(1, netAmounts.getOrDefault(accountId, BigDecimal.ZERO));
+            ps.setBigDecimal(2, releasedHolds.getOrDefault(accountId, BigDecimal.ZERO));
+            ps.setInt(3, entryCounts.getOrDefault(accountId, 0));
+            ps.setTimestamp(4, now);
+            ps.setString(5, updatedBy);
+            ps.setLong(6, accountId);
+        });
+
+        log.debug("Applied net positions to {} accounts", accountIds.size());
+    }
+
+    /**
+     * Apply signed balance changes and ledger sequence increments to many accounts with one
+     * UPDATE ... CASE statement per chunk of accounts, rather than one statement per account.
+     * The caller must already hold the accounts' row locks.
+     *
+     * @param deltas accountId -> signed balance change
+     * @param entryCounts accountId -> ledger entries written, added to ledger_sequence
+     */
+    public void applyBalanceDeltas(Map<Long, BigDecimal> deltas, Map<Long, Integer> entryCounts, String updatedBy) {
+        List<Long> accountIds = new ArrayList<>(new TreeSet<>(deltas.keySet()));
+        Timestamp now = toTimestamp(LocalDateTime.now());
+
+        for (int from = 0; from < accountIds.size(); from += jdbcBatchSize) {
+            List<Long> chunk = accountIds.subList(from, Math.min(from + jdbcBatchSize, accountIds.size()));
+            String cases = " WHEN ? THEN ?".repeat(chunk.size());
+            String sql = "UPDATE accounts SET balance = balance + CASE account_id" + cases + " END, " +
+                "ledger_sequence = ledger_sequence + CASE account_id" + cases + " END, " +
+                "balance_version = balance_version + 1, updated_at = ?, updated_by = ? WHERE account_id IN (" + String.join(", ", Collections.nCopies(chunk.size(), "?")) + ")";
+
+            List<Object> args = new ArrayList<>(chunk.size() * 5 + 2);
+            for (Long accountId : chunk) {
+                args.add(accountId);
+                args.add(deltas.get(accountId));
+            }
+            for (Long accountId : chunk) {
+                args.add(accountId);
+                args.add(entryCounts.getOrDefault(accountId, 0));
+            }
+            args.add(now);
+            args.add(updatedBy);
+            args.addAll(chunk);
+            jdbcTemplate.update(sql, args.toArray());
+        }
+
+        log.debug("Applied balance deltas to {} accounts", accountIds.size());
+    }
+
+    /**
+     * Subtract released hold amounts from accounts.held_amount, one statement per account.
+     */
+    public void decrementHeldAmounts(Map<Long, BigDecimal> amountsByAccount) {
+        if (amountsByAccount.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(DECREMENT_HELD_AMOUNT, new ArrayList<>(amountsByAccount.entrySet()), jdbcBatchSize, (ps, entry) -> {
+            ps.setBigDecimal(1, entry.getValue());
+            ps.setLong(2, entry.getKey());
+        });
+
+        log.debug("Decremented held amount on {} accounts", amountsByAccount.size());
+    }
+
+    public void insertAuditLogs(List<AuditLog> auditLogs) {
+        if (auditLogs.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_AUDIT_LOG, auditLogs, jdbcBatchSize, (ps, auditLog) -> {
+            setNullableLong(ps, 1, auditLog.getActorId());
+            ps.setString(2, auditLog.getAction().name());
+            ps.setString(3, auditLog.getEntityType());
+            setNullableLong(ps, 4, auditLog.getEntityId());
+            ps.setString(5, auditLog.getCorrelationId());
+            ps.setString(6, auditLog.getRequestContext());
+            ps.setString(7, auditLog.getRedactedPayload());
+            ps.setString(8, auditLog.getStatus() != null ? auditLog.getStatus().name() : null);
+            ps.setString(9, auditLog.getIpAddress());
+            ps.setTimestamp(10, toTimestamp(auditLog.getCreatedAt()));
+            ps.setString(11, auditLog.getCreatedBy());
+        });
+
+        log.debug("Batch inserted {} audit logs", auditLogs.size());
+    }
+
+    public void insertIdempotencyKeys(List<IdempotencyKey> idempotencyKeys) {
+        if (idempotencyKeys.isEmpty()) {
+            return;
+        }
+
+        jdbcTemplate.batchUpdate(INSERT_IDEMPOTENCY_KEY, idempotencyKeys, jdbcBatchSize, (ps, key) -> {
+            ps.setString(1, key.getIdempotencyKey());
+            ps.setString(2, key.getRequestHash());
+            ps.setInt(3, key.getResponseStatus());
+            ps.setString(4, key.getResponseBody());
+            setNullableLong(ps, 5, key.getUserId());
+            ps.setLong(6, key.getExpiresAt());
+            ps.setTimestamp(7, toTimestamp(key.getCreatedAt()));
+            ps.setString(8, key.getCreatedBy());
+        });
+
+        log.debug("Batch inserted {} idempotency keys", idempotencyKeys.size());
+    }
+
+    // Helper methods
+    private static void setNullableLong(PreparedStatement ps, int index, Long value) throws SQLException {
+        if (value == null) {
+            ps.setNull(index, Types.BIGINT);
+        } else {
+            ps.setLong(index, value);
+        }
+    }
+
+    private static Timestamp toTimestamp(LocalDateTime dateTime) {
+        return Timestamp.valueOf(dateTime != null ? dateTime : LocalDateTime.now());
+    }
+}
@@ -11,6 +11,7 @@ import org.springframework.stereotype.Repository;
 import java.math.BigDecimal;
 import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 @Repository
 public interface LedgerRepository extends JpaRepository<LedgerEntry, Long> {
@@ -21,12 +22,36 @@ public interface LedgerRepository extends JpaRepository<LedgerEntry, Long> {
     @Query("SELECT l FROM LedgerEntry l WHERE l.ledgerTxnId = :ledgerTxnId")
     List<LedgerEntry> findByLedgerTxnId(@Param("ledgerTxnId") String ledgerTxnId);
 
-    @Query("SELECT l FROM LedgerEntry l WHERE l.account.accountId = :accountId AND l.createdAt >= :startDate AND l.createdAt <= :endDate")
+    /**
+     * The account's entries created in [startDate, endDate), oldest first
+     */
+    @Query("SELECT l FROM LedgerEntry l WHERE l.account.accountId = :accountId AND l.createdAt >= :startDate AND l.createdAt < :endDate " +
+           "ORDER BY l.createdAt, l.accountSequence")
     List<LedgerEntry> findLedgerByAccountAndDateRange(@Param("accountId") Long accountId,
                                                       @Param("startDate") LocalDateTime startDate,
                                                       @Param("endDate") LocalDateTime endDate);
 
     @Query("SELECT COALESCE(SUM(CASE WHEN l.entryType = 'CREDIT' THEN l.amount ELSE -l.amount END), 0) FROM LedgerEntry l WHERE l.account.accountId = :accountId")
     BigDecimal calculateAccountBalance(@Param("accountId") Long accountId);
+
+    @Query("SELECT COALESCE(SUM(CASE WHEN l.entryType = 'CREDIT' THEN l.amount ELSE -l.amount END), 0) FROM LedgerEntry l " +
+           "WHERE l.account.accountId = :accountId AND l.createdAt < :before")
+    BigDecimal calculateAccountBalanceBefore(@Param("accountId") Long accountId, @Param("before") LocalDateTime before);
+
+    /**
+     * The account's most recent entry; one descending probe of idx_account_created_seq.
+     */
+    @Query(value = "SELECT * FROM ledger_entries WHERE account_id = :accountId " +
+           "ORDER BY created_at DESC, account_sequence DESC LIMIT 1",
+           nativeQuery = true)
+    Optional<LedgerEntry> findLatestEntry(@Param("accountId") Long accountId);
+
+    /**
+     * The account's last entry created before the given time; one descending probe of idx_account_created_seq.
+     */
+    @Query(value = "SELECT * FROM ledger_entries WHERE account_id = :accountId AND created_at < :before " +
+           "ORDER BY created_at DESC, account_sequence DESC LIMIT 1",
+           nativeQuery = true)
+    Optional<LedgerEntry> findLatestEntryBefore(@Param("accountId") Long accountId, @Param("before") LocalDateTime before);
 }
 
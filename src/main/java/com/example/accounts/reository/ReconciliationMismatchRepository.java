@@ -0,0 +1,24 @@
+package com.example.accounts.reository;
+
+import com.example.accounts.entity.ReconciliationMismatch;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface ReconciliationMismatchRepository extends JpaRepository<ReconciliationMismatch, Long> {
+
+    @Query("SELECT m FROM ReconciliationMismatch m WHERE m.reconciliationRunId = :runId ORDER BY m.accountId")
+    Page<ReconciliationMismatch> findByRun(@Param("runId") Long runId, Pageable pageable);
+
+    /**
+     * Drop mismatches recorded past a run's checkpoint; those ranges are checked again on resume
+     */
+    @Modifying
+    @Query("DELETE FROM ReconciliationMismatch m WHERE m.reconciliationRunId = :runId AND m.accountId >= :fromAccountId")
+    int deleteFromCheckpoint(@Param("runId") Long runId, @Param("fromAccountId") Long fromAccountId);
+}
@@ -0,0 +1,37 @@
+package com.example.accounts.reository;
+
+import com.example.accounts.datasource.ReadWriteRoutingDataSource;
+import com.example.accounts.entity.ReconciliationRun;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.Optional;
+
+@Repository
+public interface ReconciliationRunRepository extends JpaRepository<ReconciliationRun, Long> {
+
+    /**
+     * findById on the primary, for a run the reconciliation runner has just created
+     */
+    @Transactional(readOnly = true, label = ReadWriteRoutingDataSource.PRIMARY)
+    @Query("SELECT r FROM ReconciliationRun r WHERE r.reconciliationRunId = :runId")
+    Optional<ReconciliationRun> findByIdOnPrimary(@Param("runId") Long runId);
+
+    /**
+     * The most recent run that did not complete, to resume from its checkpoint.
+     * Read from the primary: the run may have been started moments ago by another instance.
+     */
+    @Transactional(readOnly = true, label = ReadWriteRoutingDataSource.PRIMARY)
+    @Query(value = "SELECT * FROM reconciliation_runs WHERE run_status <> 'COMPLETED' " +
+           "ORDER BY reconciliation_run_id DESC LIMIT 1",
+           nativeQuery = true)
+    Optional<ReconciliationRun> findLatestIncomplete();
+
+    @Query("SELECT r FROM ReconciliationRun r ORDER BY r.reconciliationRunId DESC")
+    Page<ReconciliationRun> findRecent(Pageable pageable);
+}
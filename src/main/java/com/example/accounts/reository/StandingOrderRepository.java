@@ -0,0 +1,34 @@
+package com.example.accounts.reository;
+
+import com.example.accounts.entity.StandingOrder;
+import jakarta.persistence.LockModeType;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Optional;
+
+@Repository
+public interface StandingOrderRepository extends JpaRepository<StandingOrder, Long> {
+
+    @Query("SELECT s FROM StandingOrder s WHERE s.sourceAccountId = :accountId OR s.destinationAccountId = :accountId " +
+           "ORDER BY s.standingOrderId DESC")
+    List<StandingOrder> findByAccount(@Param("accountId") Long accountId);
+
+    /**
+     * Active orders due before the given time, for loading the scheduler.
+     * Each row is [standing_order_id, next_execution_at].
+     */
+    @Query("SELECT s.standingOrderId, s.nextExecutionAt FROM StandingOrder s " +
+           "WHERE s.orderStatus = 'ACTIVE' " +
+           "AND s.nextExecutionAt < :until")
+    List<Object[]> findActiveDueBefore(@Param("until") LocalDateTime until);
+
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT s FROM StandingOrder s WHERE s.standingOrderId = :standingOrderId")
+    Optional<StandingOrder> lockById(@Param("standingOrderId") Long standingOrderId);
+}
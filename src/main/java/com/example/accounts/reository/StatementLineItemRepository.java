@@ -0,0 +1,13 @@
+package com.example.accounts.reository;
+
+import com.example.accounts.entity.StatementLineItem;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.stereotype.Repository;
+
+/**
+ * Line items are inserted through JdbcBatchRepository and read with their statement
+ * (StatementRepository.findWithLineItems).
+ */
+@Repository
+public interface StatementLineItemRepository extends JpaRepository<StatementLineItem, Long> {
+}
@@ -0,0 +1,34 @@
+package com.example.accounts.reository;
+
+import com.example.accounts.entity.Statement;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.math.BigDecimal;
+import java.util.Optional;
+
+@Repository
+public interface StatementRepository extends JpaRepository<Statement, Long> {
+
+    /**
+     * A stored statement and its line items in one query
+     */
+    @Query("SELECT s FROM Statement s LEFT JOIN FETCH s.lineItems " +
+           "WHERE s.accountId = :accountId AND s.statementYear = :year AND s.statementMonth = :month")
+    Optional<Statement> findWithLineItems(@Param("accountId") Long accountId,
+                                          @Param("year") Integer year,
+                                          @Param("month") Integer month);
+
+    /**
+     * Closing balance of a stored statement, the opening balance of the month after it
+     */
+    @Query("SELECT s.closingBalance FROM Statement s " +
+           "WHERE s.accountId = :accountId AND s.statementYear = :year AND s.statementMonth = :month")
+    Optional<BigDecimal> findClosingBalance(@Param("accountId") Long accountId,
+                                            @Param("year") Integer year,
+                                            @Param("month") Integer month);
+
+    boolean existsByAccountIdAndStatementYearAndStatementMonth(Long accountId, Integer statementYear, Integer statementMonth);
+}
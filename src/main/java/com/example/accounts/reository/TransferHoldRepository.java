@@ -2,11 +2,12 @@ package com.example.accounts.reository;
 
 import com.example.accounts.entity.TransferHold;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
-import java.math.BigDecimal;
+import java.util.Collection;
 import java.util.List;
 
 @Repository
@@ -16,7 +17,48 @@ public interface TransferHoldRepository extends JpaRepository<TransferHold, Long
 
     List<TransferHold> findByTransferTransferId(Long transferId);
 
-    @Query("SELECT COALESCE(SUM(th.holdAmount), 0) FROM TransferHold th WHERE th.account.accountId = :accountId AND th.released = false")
-    BigDecimal calculateTotalHolds(@Param("accountId") Long accountId);
+    /**
+     * Release a single hold if it is still open. Returns 0 if someone else already released it.
+     */
+    @Modifying
+    @Query("UPDATE TransferHold th SET th.released = true, th.releasedOn = :releasedOn WHERE th.holdId = :holdId AND th.released = false")
+    int markReleased(@Param("holdId") Long holdId, @Param("releasedOn") Long releasedOn);
+
+    /**
+     * Open holds with an expiry, for rebuilding the expiry wheel. Each row is [transfer_id, expires_at].
+     */
+    @Query(value = "SELECT transfer_id, expires_at FROM transfer_holds WHERE released = false AND expires_at IS NOT NULL",
+           nativeQuery = true)
+    List<Object[]> findOpenHoldExpiries();
+
+    /**
+     * Give open holds created before hold expiry existed an expiry relative to their creation time
+     */
+    @Modifying
+    @Query(value = "UPDATE transfer_holds SET expires_at = (UNIX_TIMESTAMP(created_at) + :ttlSeconds) * 1000 " +
+           "WHERE released = false AND expires_at IS NULL",
+           nativeQuery = true)
+    int assignMissingExpiry(@Param("ttlSeconds") long ttlSeconds);
+
+    /**
+     * Lock the open, expired holds of the given transfers. Each row is [hold_id, transfer_id, account_id, hold_amount].
+     */
+    @Query(value = "SELECT hold_id, transfer_id, account_id, hold_amount FROM transfer_holds " +
+           "WHERE transfer_id IN (:transferIds) AND released = false AND expires_at <= :now FOR UPDATE",
+           nativeQuery = true)
+    List<Object[]> lockExpiredHolds(@Param("transferIds") Collection<Long> transferIds, @Param("now") long now);
+
+    /**
+     * Lock the open holds of the given transfers. Each row is [hold_id, transfer_id, account_id, hold_amount].
+     */
+    @Query(value = "SELECT hold_id, transfer_id, account_id, hold_amount FROM transfer_holds " +
+           "WHERE transfer_id IN (:transferIds) AND released = false FOR UPDATE",
+           nativeQuery = true)
+    List<Object[]> lockOpenHolds(@Param("transferIds") Collection<Long> transferIds);
+
+    @Modifying
+    @Query(value = "UPDATE transfer_holds SET released = true, released_on = :releasedOn WHERE hold_id IN (:holdIds)",
+           nativeQuery = true)
+    int releaseAll(@Param("holdIds") Collection<Long> holdIds, @Param("releasedOn") long releasedOn);
 }
 
@@ -1,14 +1,21 @@
 package com.example.accounts.reository;
 
+import com.example.accounts.datasource.ReadWriteRoutingDataSource;
+import com.example.accounts.dto.TransferResponseDto;
 import com.example.accounts.entity.Transfer;
+import jakarta.persistence.LockModeType;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Lock;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
+import org.springframework.transaction.annotation.Transactional;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.List;
 import java.util.Optional;
 
@@ -17,8 +24,21 @@ public interface TransferRepository extends JpaRepository<Transfer, Long> {
 
     Optional<Transfer> findByIdempotencyKey(String idempotencyKey);
 
-    @Query("SELECT t FROM Transfer t WHERE t.sourceAccount.accountId = :accountId OR t.destinationAccount.accountId = :accountId")
-    Page<Transfer> findTransfersByAccount(@Param("accountId") Long accountId, Pageable pageable);
+    /**
+     * findById with the row locked, for state changes that must not interleave
+     * (authorize, cancel, revert)
+     */
+    @Lock(LockModeType.PESSIMISTIC_WRITE)
+    @Query("SELECT t FROM Transfer t WHERE t.transferId = :transferId")
+    Optional<Transfer> lockById(@Param("transferId") Long transferId);
+
+    /**
+     * findById on the primary, for a transfer that may have been written by another request or
+     * thread moments ago (the replica may not have it yet)
+     */
+    @Transactional(readOnly = true, label = ReadWriteRoutingDataSource.PRIMARY)
+    @Query("SELECT t FROM Transfer t WHERE t.transferId = :transferId")
+    Optional<Transfer> findByIdOnPrimary(@Param("transferId") Long transferId);
 
     @Query("SELECT t FROM Transfer t WHERE t.sourceAccount.accountId = :accountId")
     Page<Transfer> findOutgoingTransfers(@Param("accountId") Long accountId, Pageable pageable);
@@ -26,15 +46,89 @@ public interface TransferRepository extends JpaRepository<Transfer, Long> {
     @Query("SELECT t FROM Transfer t WHERE t.destinationAccount.accountId = :accountId")
     Page<Transfer> findIncomingTransfers(@Param("accountId") Long accountId, Pageable pageable);
 
-    @Query("SELECT t FROM Transfer t WHERE t.transferStatus = :status")
-    Page<Transfer> findByTransferStatus(@Param("status") Transfer.TransferStatus status, Pageable pageable);
+    // Read path: build TransferResponseDto straight from the transfers row. The account IDs come
+    // from the foreign-key columns, so no account is joined, proxied or hydrated and no Transfer
+    // entity enters the persistence context.
+
+    String RESPONSE_VIEW = "SELECT new com.example.accounts.dto.TransferResponseDto(" +
+           "t.transferId, t.sourceAccount.accountId, t.destinationAccount.accountId, t.amount, t.currency, " +
+           "CAST(t.transferStatus AS String), t.description, t.createdAt, t.authorizedAt, t.postedAt, " +
+           "t.idempotencyKey, '') FROM Transfer t ";
+
+    // Keyset pagination: rows after the (createdAt, transferId) cursor, newest first, no COUNT query.
+    // Each one is a range scan on its (column, created_at, transfer_id) index.
+    String SEEK_AFTER = "AND (t.createdAt < :createdAt OR (t.createdAt = :createdAt AND t.transferId < :transferId)) " +
+           "ORDER BY t.createdAt DESC, t.transferId DESC";
+
+    @Query(RESPONSE_VIEW + "WHERE t.transferId = :transferId")
+    Optional<TransferResponseDto> findViewById(@Param("transferId") Long transferId);
+
+    @Query(value = RESPONSE_VIEW + "WHERE t.sourceAccount.accountId = :accountId OR t.destinationAccount.accountId = :accountId",
+           countQuery = "SELECT COUNT(t) FROM Transfer t " +
+           "WHERE t.sourceAccount.accountId = :accountId OR t.destinationAccount.accountId = :accountId")
+    Page<TransferResponseDto> findViewsByAccount(@Param("accountId") Long accountId, Pageable pageable);
+
+    @Query(value = RESPONSE_VIEW + "WHERE t.transferStatus = :status",
+           countQuery = "SELECT COUNT(t) FROM Transfer t WHERE t.transferStatus = :status")
+    Page<TransferResponseDto> findViewsByStatus(@Param("status") Transfer.TransferStatus status, Pageable pageable);
+
+    @Query(RESPONSE_VIEW + "WHERE t.sourceAccount.accountId = :accountId " + SEEK_AFTER)
+    List<TransferResponseDto> findOutgoingViewsAfter(@Param("accountId") Long accountId,
+                                                     @Param("createdAt") LocalDateTime createdAt,
+                                                     @Param("transferId") Long transferId,
+                                                     Pageable pageable);
+
+    @Query(RESPONSE_VIEW + "WHERE t.destinationAccount.accountId = :accountId " + SEEK_AFTER)
+    List<TransferResponseDto> findIncomingViewsAfter(@Param("accountId") Long accountId,
+                                                     @Param("createdAt") LocalDateTime createdAt,
+                                                     @Param("transferId") Long transferId,
+                                                     Pageable pageable);
+
+    @Query(RESPONSE_VIEW + "WHERE t.transferStatus = :status " + SEEK_AFTER)
+    List<TransferResponseDto> findViewsByStatusAfter(@Param("status") Transfer.TransferStatus status,
+                                                     @Param("createdAt") LocalDateTime createdAt,
+                                                     @Param("transferId") Long transferId,
+                                                     Pageable pageable);
 
     @Query("SELECT t FROM Transfer t WHERE t.createdAt >= :startDate AND t.createdAt <= :endDate")
     Page<Transfer> findTransfersByDateRange(@Param("startDate") LocalDateTime startDate,
                                            @Param("endDate") LocalDateTime endDate,
                                            Pageable pageable);
 
-    @Query("SELECT t FROM Transfer t WHERE t.sourceAccount.accountId = :accountId AND t.createdAt >= :date")
-    List<Transfer> findTransfersForDailyLimit(@Param("accountId") Long accountId, @Param("date") LocalDateTime date);
-}
+    /**
+     * Lock the given transfers that are still AUTHORIZED, for hold expiry.
+     * Each row is [transfer_id, source_account_id, amount, created_at, version, destination_account_id].
+     */
+    @Query(value = "SELECT transfer_id, source_account_id, amount, created_at, version, destination_account_id FROM transfers " +
+           "WHERE transfer_id IN (:transferIds) AND transfer_status = 'AUTHORIZED' FOR UPDATE",
+           nativeQuery = true)
+    List<Object[]> lockAuthorizedTransfers(@Param("transferIds") Collection<Long> transferIds);
+
+    @Modifying
+    @Query(value = "UPDATE transfers SET transfer_status = 'EXPIRED', version = version + 1, " +
+           "updated_at = NOW(), updated_by = 'SYSTEM' WHERE transfer_id IN (:transferIds)",
+           nativeQuery = true)
+    int markExpired(@Param("transferIds") Collection<Long> transferIds);
 
+    /**
+     * Lock AUTHORIZED transfers authorized within [start, end), oldest first, for settlement.
+     * Each row is [transfer_id, source_account_id, destination_account_id, amount, description, version].
+     */
+    @Query(value = "SELECT transfer_id, source_account_id, destination_account_id, amount, description, version " +
+           "FROM transfers WHERE transfer_status = 'AUTHORIZED' AND authorized_at >= :start AND authorized_at < :end " +
+           "ORDER BY transfer_id LIMIT :limit FOR UPDATE",
+           nativeQuery = true)
+    List<Object[]> lockAuthorizedForSettlement(@Param("start") LocalDateTime start,
+                                               @Param("end") LocalDateTime end,
+                                               @Param("limit") int limit);
+
+    @Modifying
+    @Query(value = "UPDATE transfers SET transfer_status = 'POSTED', posted_at = :postedAt, ledger_txn_id = :ledgerTxnId, " +
+           "version = version + 1, updated_at = NOW(), updated_by = :updatedBy WHERE transfer_id IN (:transferIds)",
+           nativeQuery = true)
+    int markPosted(@Param("transferIds") Collection<Long> transferIds,
+                   @Param("ledgerTxnId") String ledgerTxnId,
+                   @Param("postedAt") LocalDateTime postedAt,
+                   @Param("updatedBy") String updatedBy);
+
+}
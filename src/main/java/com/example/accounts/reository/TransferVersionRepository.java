@@ -1,9 +1,8 @@
 package com.example.accounts.reository;
 
 import com.example.accounts.entity.TransferVersion;
-import org.springframework.data.domain.Page;
-import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
@@ -13,24 +12,28 @@ import java.util.List;
 @Repository
 public interface TransferVersionRepository extends JpaRepository<TransferVersion, Long> {
 
-    @Query("SELECT tv FROM TransferVersion tv WHERE tv.transfer.transferId = :transferId ORDER BY tv.versionNumber DESC")
-    List<TransferVersion> findByTransferId(@Param("transferId") Long transferId);
-
     /**
-     * Find all versions for a transfer sorted by version number (most recent first)
+     * Find all ring slots for a transfer sorted by version number (most recent first)
      */
     @Query("SELECT tv FROM TransferVersion tv WHERE tv.transfer.transferId = :transferId ORDER BY tv.versionNumber DESC")
-    List<TransferVersion> findByTransfer_TransferId(@Param("transferId") Long transferId);
-
-    @Query("SELECT tv FROM TransferVersion tv WHERE tv.transfer.transferId = :transferId ORDER BY tv.versionNumber DESC")
-    Page<TransferVersion> findByTransferIdPaginated(@Param("transferId") Long transferId, Pageable pageable);
-
-    TransferVersion findByTransferTransferIdAndVersionNumber(Long transferId, Long versionNumber);
+    List<TransferVersion> findByTransferId(@Param("transferId") Long transferId);
 
     /**
-     * Get the maximum version number for a transfer
+     * Write a version into its ring slot, overwriting whatever version occupied it.
      */
-    @Query("SELECT MAX(tv.versionNumber) FROM TransferVersion tv WHERE tv.transfer.transferId = :transferId")
-    Long getMaxVersionNumber(@Param("transferId") Long transferId);
+    @Modifying
+    @Query(value = "INSERT INTO transfer_version_slots " +
+           "(transfer_id, slot, version_number, delta, changed_by, change_summary, created_at, created_by) " +
+           "VALUES (:transferId, :slot, :versionNumber, :delta, :changedBy, :changeSummary, NOW(), :createdBy) " +
+           "ON DUPLICATE KEY UPDATE version_number = VALUES(version_number), delta = VALUES(delta), " +
+           "changed_by = VALUES(changed_by), change_summary = VALUES(change_summary), " +
+           "created_at = VALUES(created_at), created_by = VALUES(created_by)",
+           nativeQuery = true)
+    int upsertSlot(@Param("transferId") Long transferId,
+                   @Param("slot") int slot,
+                   @Param("versionNumber") Long versionNumber,
+                   @Param("delta") String delta,
+                   @Param("changedBy") Long changedBy,
+                   @Param("changeSummary") String changeSummary,
+                   @Param("createdBy") String createdBy);
 }
-
@@ -28,6 +28,8 @@ public interface AccountService {
 
     BigDecimal getAccountBalance(Long accountId);
 
+    BigDecimal getAvailableBalance(Long accountId);
+
     List<AccountsDto> getActiveAccountsByCustomer(Long customerId);
 }
 
@@ -0,0 +1,49 @@
+package com.example.accounts.service;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.Map;
+
+public interface DailyLimitService {
+
+    /**
+     * Enforce the per-transaction and daily limits for the current user's role
+     * and reserve the amount against today's counter for the source account.
+     * Cost is a single-row update, independent of how many transfers the account made today.
+     *
+     * @param accountId Source account ID
+     * @param amount Transfer amount
+     * @throws com.example.accounts.exception.TransferLimitExceededException if a limit is exceeded
+     */
+    void checkAndReserve(Long accountId, BigDecimal amount);
+
+    /**
+     * Reserve an already-validated total for several transfers at once (batch submission).
+     *
+     * @return true if reserved, false if it would exceed the daily limit
+     */
+    boolean tryReserve(Long accountId, BigDecimal amount, long transferCount);
+
+    /**
+     * Give back a previously reserved amount (transfer cancelled).
+     *
+     * @param businessDate Day the transfer was counted against
+     */
+    void release(Long accountId, BigDecimal amount, LocalDate businessDate);
+
+    /**
+     * Today's reserved totals for several accounts in one query.
+     */
+    Map<Long, BigDecimal> getTodaysTotals(Collection<Long> accountIds);
+
+    /**
+     * Per-transaction limit for the current user's role (customer or banker).
+     */
+    BigDecimal getPerTransactionLimit();
+
+    /**
+     * Daily aggregate limit for the current user's role (customer or banker).
+     */
+    BigDecimal getDailyLimit();
+}
@@ -0,0 +1,24 @@
+package com.example.accounts.service;
+
+public interface HoldExpiryService {
+
+    /**
+     * Expiry timestamp (epoch millis) for a hold placed now.
+     */
+    long nextExpiry();
+
+    /**
+     * Track a transfer's hold expiry once the current transaction commits.
+     *
+     * @param transferId Transfer owning the hold
+     * @param expiresAt Hold expiry in epoch millis
+     */
+    void scheduleAfterCommit(Long transferId, Long expiresAt);
+
+    /**
+     * Release all holds that are due and move their transfers to EXPIRED.
+     *
+     * @return number of transfers expired
+     */
+    int sweepExpiredHolds();
+}
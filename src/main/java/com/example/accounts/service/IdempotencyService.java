@@ -1,6 +1,10 @@
 package com.example.accounts.service;
 
 import com.example.accounts.dto.TransferRequestDto;
+import com.example.accounts.entity.IdempotencyKey;
+
+import java.util.Collection;
+import java.util.Map;
 
 public interface IdempotencyService {
     boolean checkIdempotency(String idempotencyKey, String requestHash, Long userId);
@@ -42,5 +46,36 @@ public interface IdempotencyService {
      * @throws RuntimeException if serialization or storage fails
      */
     void serializeAndStoreResponse(String idempotencyKey, TransferRequestDto request, Object response, Integer statusCode, Long userId);
-}
 
+    /**
+     * Look up several idempotency keys in a single query.
+     * Expired keys are left out of the result.
+     *
+     * @param idempotencyKeys keys to look up
+     * @return active keys, indexed by key value
+     */
+    Map<String, IdempotencyKey> findActiveKeys(Collection<String> idempotencyKeys);
+
+    /**
+     * Deserialize a cached response body that was already loaded (e.g. via findActiveKeys).
+     *
+     * @param idempotencyKey the loaded idempotency record
+     * @param responseType the response type
+     * @param <T> the response type
+     * @return the deserialized response object, or null if the record has no body
+     */
+    <T> T deserializeResponse(IdempotencyKey idempotencyKey, Class<T> responseType);
+
+    /**
+     * Build (but do not save) an idempotency record for a request/response pair.
+     * Used by bulk paths that persist the records in a JDBC batch.
+     *
+     * @param idempotencyKey the unique idempotency key from request
+     * @param request the original transfer request (used to generate hash)
+     * @param response the response object to serialize and cache
+     * @param statusCode HTTP status code (e.g., 201 for Created)
+     * @param userId the user ID who made the request
+     * @return unsaved idempotency record
+     */
+    IdempotencyKey buildIdempotencyRecord(String idempotencyKey, TransferRequestDto request, Object response, Integer statusCode, Long userId);
+}
@@ -1,19 +1,39 @@
 package com.example.accounts.service;
 
+import com.example.accounts.dto.JournalLegDto;
 import com.example.accounts.dto.LedgerEntryDto;
+import com.example.accounts.entity.LedgerEntry;
+import com.example.accounts.ledger.LedgerExporter;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
 import java.util.List;
 
 public interface LedgerService {
+    void createJournal(String ledgerTxnId, List<JournalLegDto> legs);
+
     void createLedgerEntries(String ledgerTxnId, Long sourceAccountId, Long destinationAccountId, BigDecimal amount, String description, String referenceType, Long referenceId);
 
     Page<LedgerEntryDto> getAccountLedger(Long accountId, Pageable pageable);
 
     BigDecimal calculateAccountBalance(Long accountId);
 
+    BigDecimal getBalanceBefore(Long accountId, LocalDateTime before);
+
+    /**
+     * The account's entries created in [from, to), oldest first
+     */
+    List<LedgerEntry> findEntries(Long accountId, LocalDateTime from, LocalDateTime to);
+
     List<LedgerEntryDto> getLedgerByTransactionId(String ledgerTxnId);
+
+    /**
+     * Stream the entries created between from and to, for one account or all of them (accountId null)
+     */
+    StreamingResponseBody exportEntries(Long accountId, LocalDateTime from, LocalDateTime to,
+                                        LedgerExporter.Format format, boolean gzip);
 }
 
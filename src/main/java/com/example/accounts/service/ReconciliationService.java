@@ -0,0 +1,24 @@
+package com.example.accounts.service;
+
+import com.example.accounts.dto.ReconciliationMismatchDto;
+import com.example.accounts.dto.ReconciliationRunDto;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+
+public interface ReconciliationService {
+
+    /**
+     * Start a reconciliation run in the background, resuming the latest incomplete run from its
+     * checkpoint if there is one. If a run is already in progress, that run is returned instead.
+     *
+     * @param correlationId Correlation ID for logging
+     * @return The run being executed
+     */
+    ReconciliationRunDto startReconciliation(String correlationId);
+
+    ReconciliationRunDto getRun(Long reconciliationRunId);
+
+    Page<ReconciliationRunDto> getRuns(Pageable pageable);
+
+    Page<ReconciliationMismatchDto> getMismatches(Long reconciliationRunId, Pageable pageable);
+}
@@ -0,0 +1,21 @@
+package com.example.accounts.service;
+
+import com.example.accounts.dto.SettlementResultDto;
+
+import java.time.LocalDateTime;
+
+public interface SettlementService {
+
+    /**
+     * Post all AUTHORIZED transfers authorized within [windowStart, windowEnd) as one
+     * multilateral netting settlement: full per-transfer ledger entries under a single
+     * settlement ledgerTxnId, but only one balance update per account.
+     * Transfers of accounts whose net position they cannot fund are left AUTHORIZED.
+     *
+     * @param windowStart Window start (inclusive)
+     * @param windowEnd Window end (exclusive)
+     * @param correlationId Correlation ID for audit
+     * @return Settlement summary
+     */
+    SettlementResultDto runSettlement(LocalDateTime windowStart, LocalDateTime windowEnd, String correlationId);
+}
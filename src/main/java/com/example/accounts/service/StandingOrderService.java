@@ -0,0 +1,31 @@
+package com.example.accounts.service;
+
+import com.example.accounts.dto.StandingOrderDto;
+import com.example.accounts.dto.StandingOrderRequestDto;
+
+import java.util.List;
+
+public interface StandingOrderService {
+
+    /**
+     * Create a standing order owned by the current user. Its transfers are initiated,
+     * authorized and posted on the owner's behalf by the standing order scheduler.
+     *
+     * @param request Standing order details
+     * @param correlationId Correlation ID for audit
+     * @return Created standing order, with its first execution time
+     */
+    StandingOrderDto createStandingOrder(StandingOrderRequestDto request, String correlationId);
+
+    StandingOrderDto getStandingOrder(Long standingOrderId);
+
+    /**
+     * Standing orders paying from or into the account, newest first.
+     */
+    List<StandingOrderDto> getStandingOrdersByAccount(Long accountId);
+
+    /**
+     * Stop an active standing order. Transfers already created are not affected.
+     */
+    StandingOrderDto cancelStandingOrder(Long standingOrderId, String correlationId);
+}
@@ -14,10 +14,19 @@ public interface StatementService {
     StatementDto generateStatement(Long accountId, YearMonth yearMonth);
 
     /**
-     * Get statement for an account for a specific month
+     * Get statement for an account for a specific month.
+     * Closed months are served from storage; the open month is generated.
      */
     StatementDto getStatement(Long accountId, YearMonth yearMonth);
 
+    /**
+     * Generate and store the statement of a closed month, unless it is already stored or the
+     * account was opened after the month
+     *
+     * @return true if a statement was stored
+     */
+    boolean materializeStatement(Long accountId, YearMonth yearMonth);
+
     /**
      * Get all statements for an account
      */
@@ -0,0 +1,20 @@
+package com.example.accounts.service;
+
+import com.example.accounts.dto.BatchTransferResponseDto;
+import com.example.accounts.dto.TransferRequestDto;
+
+import java.util.List;
+
+public interface TransferBatchService {
+
+    /**
+     * Initiate a batch of transfers (payroll, bill-pay runs) in a single transaction.
+     * Every item is validated individually; invalid items are reported in the result
+     * and do not prevent the rest of the batch from being created.
+     *
+     * @param requests Transfers to initiate, in submission order
+     * @param correlationId Correlation ID shared by the whole batch
+     * @return Per-item results plus batch totals
+     */
+    BatchTransferResponseDto initiateTransferBatch(List<TransferRequestDto> requests, String correlationId);
+}
@@ -1,9 +1,10 @@
 package com.example.accounts.service;
 
+import com.example.accounts.dto.CursorPageDto;
 import com.example.accounts.entity.Transfer;
 import com.example.accounts.dto.TransferRequestDto;
 import com.example.accounts.dto.TransferResponseDto;
-import com.example.accounts.entity.TransferVersion;
+import com.example.accounts.dto.TransferVersionDto;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 
@@ -24,6 +25,26 @@ public interface TransferService {
 
     Page<TransferResponseDto> getTransfersWithStatus(Transfer.TransferStatus status, Pageable pageable);
 
+    /**
+     * Keyset-paginated transfers of an account (either side), newest first.
+     *
+     * @param accountId Account ID
+     * @param cursor Continuation token from the previous page, null for the first page
+     * @param size Page size
+     * @return Page of transfers with the next cursor
+     */
+    CursorPageDto<TransferResponseDto> getTransfersByAccount(Long accountId, String cursor, int size);
+
+    /**
+     * Keyset-paginated transfers in a status, newest first.
+     *
+     * @param status Transfer status
+     * @param cursor Continuation token from the previous page, null for the first page
+     * @param size Page size
+     * @return Page of transfers with the next cursor
+     */
+    CursorPageDto<TransferResponseDto> getTransfersWithStatus(Transfer.TransferStatus status, String cursor, int size);
+
     // ========================================================
     // Version Management APIs
     // ========================================================
@@ -31,11 +52,12 @@ public interface TransferService {
     /**
      * Get version history for a transfer.
      * Returns up to the last 10 versions with actor, timestamp, and change summary.
+     * Snapshots are rebuilt from the delta-encoded version ring.
      *
      * @param transferId Transfer ID
      * @return List of transfer versions (most recent first)
      */
-    List<TransferVersion> getTransferVersionHistory(Long transferId);
+    List<TransferVersionDto> getTransferVersionHistory(Long transferId);
 
     /**
      * Revert transfer to a previous version.
@@ -43,11 +65,11 @@ public interface TransferService {
      * Creates a new version copied from the selected prior version.
      *
      * @param transferId Transfer ID
-     * @param versionId Version to revert to
+     * @param versionNumber Version number to revert to (must be one of the last 10)
      * @param correlationId Correlation ID for audit
      * @return Updated transfer DTO
      */
-    TransferResponseDto revertTransferVersion(Long transferId, Long versionId, String correlationId);
+    TransferResponseDto revertTransferVersion(Long transferId, Long versionNumber, String correlationId);
 }
 
 
@@ -1,5 +1,6 @@
 package com.example.accounts.service.impl;
 
+import com.example.accounts.datasource.ReadWriteRoutingDataSource;
 import com.example.accounts.entity.AccessControlList;
 import com.example.accounts.entity.Account;
 import com.example.accounts.entity.Customer;
@@ -50,7 +51,7 @@ public class AccessControlServiceImpl implements AccessControlService {
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, label = ReadWriteRoutingDataSource.PRIMARY)
     public boolean hasPermission(Long accountId, Long userId, AccessControlList.Permission permission) {
         if (!aclRepository.existsByAccountAccountIdAndUserId(accountId, userId)) {
             return false;
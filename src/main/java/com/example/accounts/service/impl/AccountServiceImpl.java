@@ -1,11 +1,11 @@
 package com.example.accounts.service.impl;
 
+import com.example.accounts.cache.AccountBalanceCache;
 import com.example.accounts.dto.AccountsDto;
 import com.example.accounts.entity.Account;
 import com.example.accounts.exception.ResourceNotFoundException;
 import com.example.accounts.reository.AccountRepository;
 import com.example.accounts.reository.CustomerRepository;
-import com.example.accounts.reository.LedgerRepository;
 import com.example.accounts.service.AccountService;
 import com.example.accounts.util.GeneratorUtil;
 import com.example.accounts.util.MaskingUtil;
@@ -28,7 +28,7 @@ public class AccountServiceImpl implements AccountService {
 
     private final AccountRepository accountRepository;
     private final CustomerRepository customerRepository;
-    private final LedgerRepository ledgerRepository;
+    private final AccountBalanceCache balanceCache;
 
     @Override
     @Transactional
@@ -94,11 +94,20 @@ public class AccountServiceImpl implements AccountService {
             account.setBranchAddress(accountsDto.getBranchAddress());
         }
 
+        Account updated = accountRepository.save(account);
+
+        // balance is not updatable through the entity: lock the row, then move it by the difference
         if (accountsDto.getBalance() != null) {
-            account.setBalance(accountsDto.getBalance());
+            Object[] row = accountRepository.lockBalances(List.of(accountId)).get(0);
+            BigDecimal delta = accountsDto.getBalance().subtract((BigDecimal) row[1]);
+            if (delta.signum() != 0) {
+                accountRepository.adjustBalance(accountId, delta);
+                // adjustBalance bumped balance_version once
+                balanceCache.updateAfterCommit(accountId, accountsDto.getBalance(), (BigDecimal) row[2],
+                    ((Number) row[4]).longValue() + 1);
+            }
+            updated.setBalance(accountsDto.getBalance());
         }
-
-        Account updated = accountRepository.save(account);
         return convertToDto(updated);
     }
 
@@ -141,15 +150,17 @@ public class AccountServiceImpl implements AccountService {
         log.info("Account closed: {}", accountId);
     }
 
+    /**
+     * Not transactional: a cache hit should not check out a connection
+     */
     @Override
-    @Transactional(readOnly = true)
     public BigDecimal getAccountBalance(Long accountId) {
-        Account account = accountRepository.findById(accountId)
-            .orElseThrow(() -> new ResourceNotFoundException("Account not found"));
+        return balanceSnapshot(accountId).balance();
+    }
 
-        // Calculate from ledger for correctness
-        BigDecimal balanceFromLedger = ledgerRepository.calculateAccountBalance(accountId);
-        return balanceFromLedger != null ? balanceFromLedger : BigDecimal.ZERO;
+    @Override
+    public BigDecimal getAvailableBalance(Long accountId) {
+        return balanceSnapshot(accountId).availableBalance();
     }
 
     @Override
@@ -160,6 +171,15 @@ public class AccountServiceImpl implements AccountService {
             .collect(Collectors.toList());
     }
 
+    private AccountBalanceCache.Snapshot balanceSnapshot(Long accountId) {
+        // accounts.balance, which every ledger posting moves together with its entries
+        AccountBalanceCache.Snapshot snapshot = balanceCache.get(accountId);
+        if (snapshot == null) {
+            throw new ResourceNotFoundException("Account not found");
+        }
+        return snapshot;
+    }
+
     private AccountsDto convertToDto(Account account) {
         AccountsDto dto = new AccountsDto();
         dto.setAccountId(account.getAccountId());
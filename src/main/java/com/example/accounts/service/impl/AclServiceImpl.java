@@ -1,5 +1,6 @@
 package com.example.accounts.service.impl;
 
+import com.example.accounts.datasource.ReadWriteRoutingDataSource;
 import com.example.accounts.dto.AclRequestDto;
 import com.example.accounts.dto.AclResponseDto;
 import com.example.accounts.entity.AccessControlList;
@@ -144,7 +145,7 @@ public class AclServiceImpl implements AclService {
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, label = ReadWriteRoutingDataSource.PRIMARY)
     public boolean hasPermission(Long userId, Long accountId, AccessControlList.Permission permission) {
         return aclRepository.findByAccountAccountIdAndUserId(accountId, userId)
             .map(acl -> acl.getPermission() == permission)
@@ -1,47 +1,78 @@
 package com.example.accounts.service.impl;
 
+import com.example.accounts.audit.AsyncAuditWriter;
+import com.example.accounts.audit.AuditEvent;
 import com.example.accounts.dto.AuditLogDto;
 import com.example.accounts.entity.AuditLog;
 import com.example.accounts.reository.AuditLogRepository;
 import com.example.accounts.service.AuditService;
+import com.example.accounts.util.SecurityUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
 
+/**
+ * Audit log service.
+ *
+ * Writes go through AsyncAuditWriter: the event is captured on the calling thread and handed
+ * to the background writer once the surrounding transaction commits, so an audited request no
+ * longer pays for its own audit_logs insert and a rolled-back change still leaves no audit row.
+ * Setting app.audit.writer.enabled=false restores the synchronous in-transaction insert.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class AuditServiceImpl implements AuditService {
 
     private final AuditLogRepository auditLogRepository;
+    private final AsyncAuditWriter asyncAuditWriter;
+
+    @Value("${app.audit.writer.enabled:true}")
+    private boolean asyncWriterEnabled;
 
     @Override
-    @Transactional
     public void logAction(Long actorId, String action, String entityType, Long entityId, String correlationId, String status) {
         logActionWithContext(actorId, action, entityType, entityId, correlationId, null, null, status);
     }
 
     @Override
-    @Transactional
     public void logActionWithContext(Long actorId, String action, String entityType, Long entityId, String correlationId,
                                      String requestContext, String redactedPayload, String status) {
-        AuditLog auditLog = new AuditLog();
-        auditLog.setActorId(actorId);
-        auditLog.setAction(AuditLog.AuditAction.valueOf(action));
-        auditLog.setEntityType(entityType);
-        auditLog.setEntityId(entityId);
-        auditLog.setCorrelationId(correlationId);
-        auditLog.setRequestContext(requestContext);
-        auditLog.setRedactedPayload(redactedPayload);
-        auditLog.setStatus(AuditLog.AuditStatus.valueOf(status));
+        String createdBy = SecurityUtil.getCurrentUsername();
+        AuditEvent event = new AuditEvent(
+            actorId,
+            AuditLog.AuditAction.valueOf(action),
+            entityType,
+            entityId,
+            correlationId,
+            requestContext,
+            redactedPayload,
+            AuditLog.AuditStatus.valueOf(status),
+            LocalDateTime.now(),
+            createdBy != null ? createdBy : "SYSTEM"
+        );
 
-        auditLogRepository.save(auditLog);
-        log.debug("Audit log created. Action: {}, Entity: {}, Correlation ID: {}", action, entityType, correlationId);
+        if (!asyncWriterEnabled) {
+            auditLogRepository.save(event.toEntity());
+        } else if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    asyncAuditWriter.submit(event);
+                }
+            });
+        } else {
+            asyncAuditWriter.submit(event);
+        }
+        log.debug("Audit log queued. Action: {}, Entity: {}, Correlation ID: {}", action, entityType, correlationId);
     }
 
     @Override
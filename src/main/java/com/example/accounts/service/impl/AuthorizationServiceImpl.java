@@ -1,5 +1,6 @@
 package com.example.accounts.service.impl;
 
+import com.example.accounts.datasource.ReadWriteRoutingDataSource;
 import com.example.accounts.dto.CurrentUserContext;
 import com.example.accounts.entity.AccessControlList;
 import com.example.accounts.entity.Account;
@@ -37,7 +38,7 @@ public class AuthorizationServiceImpl implements AuthorizationService {
     private final BankerRepository bankerRepository;
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, label = ReadWriteRoutingDataSource.PRIMARY)
     public void validateAccountViewAccess(Long accountId, CurrentUserContext currentUser, String correlationId) {
         Account account = accountRepository.findById(accountId)
             .orElseThrow(() -> new ResourceNotFoundException("Account not found"));
@@ -120,7 +121,7 @@ public class AuthorizationServiceImpl implements AuthorizationService {
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, label = ReadWriteRoutingDataSource.PRIMARY)
     public void validateAccountUpdateAccess(Long accountId, CurrentUserContext currentUser, String correlationId) {
         Account account = accountRepository.findById(accountId)
             .orElseThrow(() -> new ResourceNotFoundException("Account not found"));
@@ -209,7 +210,7 @@ public class AuthorizationServiceImpl implements AuthorizationService {
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, label = ReadWriteRoutingDataSource.PRIMARY)
     public void validateAccountDeleteAccess(Long accountId, CurrentUserContext currentUser, String correlationId) {
         Account account = accountRepository.findById(accountId)
             .orElseThrow(() -> new ResourceNotFoundException("Account not found"));
@@ -282,7 +283,7 @@ public class AuthorizationServiceImpl implements AuthorizationService {
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, label = ReadWriteRoutingDataSource.PRIMARY)
     public void validateTransferSourceAccess(Long sourceAccountId, CurrentUserContext currentUser, String correlationId) {
         Account sourceAccount = accountRepository.findById(sourceAccountId)
             .orElseThrow(() -> new ResourceNotFoundException("Source account not found"));
@@ -355,7 +356,7 @@ public class AuthorizationServiceImpl implements AuthorizationService {
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, label = ReadWriteRoutingDataSource.PRIMARY)
     public void validateTransferDestinationAccess(Long destinationAccountId, CurrentUserContext currentUser, String correlationId) {
         Account destinationAccount = accountRepository.findById(destinationAccountId)
             .orElseThrow(() -> new ResourceNotFoundException("Destination account not found"));
@@ -391,7 +392,7 @@ public class AuthorizationServiceImpl implements AuthorizationService {
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, label = ReadWriteRoutingDataSource.PRIMARY)
     public void validateCustomerAccess(Long customerId, CurrentUserContext currentUser, String correlationId) {
         Customer customer = customerRepository.findById(customerId)
             .orElseThrow(() -> new ResourceNotFoundException("Customer not found"));
@@ -453,7 +454,7 @@ public class AuthorizationServiceImpl implements AuthorizationService {
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, label = ReadWriteRoutingDataSource.PRIMARY)
     public boolean hasAccountPermission(Long accountId, Long userId, AccessControlList.Permission permission) {
         return aclRepository.findByAccountAccountIdAndUserId(accountId, userId)
             .map(acl -> acl.getPermission() == permission)
@@ -462,7 +463,7 @@ public class AuthorizationServiceImpl implements AuthorizationService {
 
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, label = ReadWriteRoutingDataSource.PRIMARY)
     public boolean isBankerAssignedToAccount(Long userId, Long accountId) {
         try {
             // Step 1: Find banker by userId
@@ -544,7 +545,7 @@ public class AuthorizationServiceImpl implements AuthorizationService {
      * @param customerId The customer ID to check
      * @return true if the banker is assigned to this customer, false otherwise
      */
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, label = ReadWriteRoutingDataSource.PRIMARY)
     public boolean isBankerAssignedToCustomer(Long userId, Long customerId) {
         try {
             // Step 1: Find banker by userId
@@ -582,7 +583,7 @@ public class AuthorizationServiceImpl implements AuthorizationService {
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, label = ReadWriteRoutingDataSource.PRIMARY)
     public void validateAdminAccess(CurrentUserContext currentUser, String correlationId) {
         // Check if user has ADMIN role
         if (!currentUser.isAdmin()) {
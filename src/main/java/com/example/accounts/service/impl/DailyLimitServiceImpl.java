@@ -0,0 +1,162 @@
+package com.example.accounts.service.impl;
+
+import com.example.accounts.datasource.ReadWriteRoutingDataSource;
+import com.example.accounts.entity.DailyTransferAggregate;
+import com.example.accounts.exception.TransferLimitExceededException;
+import com.example.accounts.reository.DailyTransferAggregateRepository;
+import com.example.accounts.service.DailyLimitService;
+import com.example.accounts.util.SecurityContextUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Daily transfer limits backed by the daily_transfer_aggregates counter table.
+ *
+ * The table is authoritative: every reservation is a conditional single-row UPDATE that only
+ * succeeds while the day's total stays within the limit, so concurrent initiations cannot
+ * overshoot it. An in-memory front cache remembers which counters already exist for today,
+ * so the hot path is that one UPDATE and the seeding INSERT runs once per account per day.
+ * The cache is only filled after commit, so a rolled-back seed never leaks into it.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class DailyLimitServiceImpl implements DailyLimitService {
+
+    private final DailyTransferAggregateRepository aggregateRepository;
+
+    @Value("${app.limits.customer.per-transaction:100000.00}")
+    private BigDecimal customerPerTxLimit;
+
+    @Value("${app.limits.customer.daily-aggregate:500000.00}")
+    private BigDecimal customerDailyLimit;
+
+    @Value("${app.limits.banker.per-transaction:1000000.00}")
+    private BigDecimal bankerPerTxLimit;
+
+    @Value("${app.limits.banker.daily-aggregate:5000000.00}")
+    private BigDecimal bankerDailyLimit;
+
+    @Value("${app.limits.daily-counter.retention-days:7}")
+    private int retentionDays;
+
+    // accountId -> business date of the counter row known to exist
+    private final Map<Long, LocalDate> frontCache = new ConcurrentHashMap<>();
+
+    @Override
+    @Transactional
+    public void checkAndReserve(Long accountId, BigDecimal amount) {
+        BigDecimal perTxLimit = getPerTransactionLimit();
+        if (amount.compareTo(perTxLimit) > 0) {
+            throw new TransferLimitExceededException(
+                "Per transaction limit exceeded: " + perTxLimit,
+                "LIMIT_PER_TX_EXCEEDED"
+            );
+        }
+
+        BigDecimal dailyLimit = getDailyLimit();
+        if (!tryReserve(accountId, amount, 1, dailyLimit)) {
+            throw new TransferLimitExceededException(
+                "Daily limit exceeded: " + dailyLimit,
+                "LIMIT_DAILY_EXCEEDED"
+            );
+        }
+    }
+
+    @Override
+    @Transactional
+    public boolean tryReserve(Long accountId, BigDecimal amount, long transferCount) {
+        return tryReserve(accountId, amount, transferCount, getDailyLimit());
+    }
+
+    @Override
+    @Transactional
+    public void release(Long accountId, BigDecimal amount, LocalDate businessDate) {
+        aggregateRepository.release(accountId, businessDate, amount);
+        log.debug("Released {} from daily counter of account {} for {}", amount, accountId, businessDate);
+    }
+
+    @Override
+    @Transactional(readOnly = true, label = ReadWriteRoutingDataSource.PRIMARY)
+    public Map<Long, BigDecimal> getTodaysTotals(Collection<Long> accountIds) {
+        LocalDate today = LocalDate.now();
+        Map<Long, BigDecimal> totals = new HashMap<>();
+        for (DailyTransferAggregate aggregate : aggregateRepository.findByAccountIdInAndBusinessDate(accountIds, today)) {
+            totals.put(aggregate.getAccountId(), aggregate.getTotalAmount());
+        }
+        return totals;
+    }
+
+    @Override
+    public BigDecimal getPerTransactionLimit() {
+        return isBanker() ? bankerPerTxLimit : customerPerTxLimit;
+    }
+
+    @Override
+    public BigDecimal getDailyLimit() {
+        return isBanker() ? bankerDailyLimit : customerDailyLimit;
+    }
+
+    /**
+     * Day rollover: drop yesterday's cache entries and purge old counter rows.
+     * Runs every day at 00:05 AM. New counters are created lazily on first use.
+     */
+    @Scheduled(cron = "0 5 0 * * ?")
+    @Transactional
+    public void rollOverDailyCounters() {
+        LocalDate today = LocalDate.now();
+        frontCache.values().removeIf(businessDate -> !businessDate.equals(today));
+
+        int purged = aggregateRepository.deleteOlderThan(today.minusDays(retentionDays));
+        log.info("Daily limit counters rolled over. Purged {} rows older than {} days", purged, retentionDays);
+    }
+
+    // Helper methods
+    private boolean tryReserve(Long accountId, BigDecimal amount, long transferCount, BigDecimal dailyLimit) {
+        LocalDate today = LocalDate.now();
+        if (!today.equals(frontCache.get(accountId))) {
+            aggregateRepository.initializeIfAbsent(accountId, today, today.atStartOfDay());
+            afterCommit(() -> frontCache.put(accountId, today));
+        }
+
+        if (aggregateRepository.tryReserve(accountId, today, amount, transferCount, dailyLimit) == 0) {
+            log.debug("Daily limit {} would be exceeded for account {}", dailyLimit, accountId);
+            return false;
+        }
+        return true;
+    }
+
+    private void afterCommit(Runnable action) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    action.run();
+                }
+            });
+        } else {
+            action.run();
+        }
+    }
+
+    private boolean isBanker() {
+        try {
+            return SecurityContextUtil.getCurrentUserContext().isBanker();
+        } catch (Exception e) {
+            return false;
+        }
+    }
+}
@@ -0,0 +1,58 @@
+package com.example.accounts.service.impl;
+
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Turns status columns that Hibernate created as MySQL ENUMs into VARCHARs.
+ *
+ * Hibernate 6 maps @Enumerated(EnumType.STRING) to a native ENUM listing the values known when
+ * the table was created, and ddl-auto=update never widens it, so a value added later (EXPIRED,
+ * TRANSFER_EXPIRE) cannot be written. The entities now declare these columns as VARCHAR; this
+ * converts databases created before that.
+ *
+ * Runs once all singletons exist (the schema update has run) and before schedulers and the web
+ * server start. Idempotent: a column that is no longer an ENUM is left alone. A conversion that
+ * fails stops the application, since expiry and its audit rows would fail on every write.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class EnumColumnMigration implements SmartInitializingSingleton {
+
+    private static final String COLUMN_TYPE =
+        "SELECT DATA_TYPE FROM information_schema.COLUMNS " +
+        "WHERE TABLE_SCHEMA = DATABASE() AND TABLE_NAME = ? AND COLUMN_NAME = ?";
+
+    private static final List<EnumColumn> COLUMNS = List.of(
+        new EnumColumn("transfers", "transfer_status", "VARCHAR(20) NOT NULL"),
+        new EnumColumn("audit_logs", "action", "VARCHAR(30) NOT NULL")
+    );
+
+    private final JdbcTemplate jdbcTemplate;
+
+    private record EnumColumn(String table, String column, String definition) {
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        for (EnumColumn column : COLUMNS) {
+            List<String> types = jdbcTemplate.queryForList(COLUMN_TYPE, String.class, column.table(), column.column());
+            if (types.isEmpty() || !"enum".equalsIgnoreCase(types.get(0))) {
+                continue;
+            }
+            try {
+                jdbcTemplate.execute("ALTER TABLE " + column.table() + " MODIFY " + column.column() + " " + column.definition());
+                log.info("Converted {}.{} from ENUM to {}", column.table(), column.column(), column.definition());
+            } catch (RuntimeException e) {
+                throw new IllegalStateException("Could not convert " + column.table() + "." + column.column() +
+                    " from ENUM; alter it to " + column.definition() + " before starting", e);
+            }
+        }
+    }
+}
@@ -0,0 +1,238 @@
+package com.example.accounts.service.impl;
+
+import com.example.accounts.cache.AccountBalanceCache;
+import com.example.accounts.entity.Transfer;
+import com.example.accounts.entity.TransferVersion;
+import com.example.accounts.events.TransferEventBus;
+import com.example.accounts.reository.JdbcBatchRepository;
+import com.example.accounts.reository.TransferHoldRepository;
+import com.example.accounts.reository.TransferRepository;
+import com.example.accounts.service.AuditService;
+import com.example.accounts.service.DailyLimitService;
+import com.example.accounts.service.HoldExpiryService;
+import com.example.accounts.util.GeneratorUtil;
+import com.example.accounts.util.HierarchicalTimingWheel;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Hold expiry backed by an in-memory hierarchical timing wheel.
+ *
+ * Every open hold's expiry is tracked in the wheel, so finding due holds costs nothing per
+ * sweep and never scans transfer_holds. The wheel is rebuilt from the open holds at startup.
+ * Due transfers are re-checked under row locks before anything is changed, so a transfer that
+ * was posted or cancelled in the meantime is simply skipped.
+ *
+ * For each chunk of due transfers the sweeper runs one transaction with set-based statements:
+ * release the holds, decrement held_amount per account, mark the transfers EXPIRED and write
+ * their versions in one JDBC batch. Audit events go through the async audit writer.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class HoldExpiryServiceImpl implements HoldExpiryService {
+
+    private static final Long SYSTEM_ACTOR_ID = 0L;
+
+    private final TransferRepository transferRepository;
+    private final TransferHoldRepository holdRepository;
+    private final JdbcBatchRepository jdbcBatchRepository;
+    private final DailyLimitService dailyLimitService;
+    private final AuditService auditService;
+    private final TransactionTemplate transactionTemplate;
+    private final TransferEventBus transferEventBus;
+    private final AccountBalanceCache balanceCache;
+
+    @Value("${app.holds.expiry.ttl-minutes:1440}")
+    private long ttlMinutes;
+
+    @Value("${app.holds.expiry.tick-ms:1000}")
+    private long tickMillis;
+
+    @Value("${app.holds.expiry.wheel-size:64}")
+    private int wheelSize;
+
+    @Value("${app.holds.expiry.sweep-batch-size:500}")
+    private int sweepBatchSize;
+
+    private HierarchicalTimingWheel<Long> wheel;
+
+    @PostConstruct
+    public void init() {
+        wheel = new HierarchicalTimingWheel<>(tickMillis, wheelSize, System.currentTimeMillis());
+    }
+
+    /**
+     * Rebuild the wheel from open holds. Holds created before expiry existed get one now,
+     * counted from their creation time.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void rebuildWheel() {
+        try {
+            List<Object[]> expiries = transactionTemplate.execute(status -> {
+                int assigned = holdRepository.assignMissingExpiry(TimeUnit.MINUTES.toSeconds(ttlMinutes));
+                if (assigned > 0) {
+                    log.info("Assigned expiry to {} open holds without one", assigned);
+                }
+                return holdRepository.findOpenHoldExpiries();
+            });
+
+            for (Object[] row : expiries) {
+                schedule(((Number) row[0]).longValue(), ((Number) row[1]).longValue());
+            }
+            log.info("Hold expiry wheel rebuilt with {} open holds", wheel.size());
+        } catch (Exception e) {
+            log.error("Failed to rebuild hold expiry wheel", e);
+        }
+    }
+
+    @Override
+    public long nextExpiry() {
+        return System.currentTimeMillis() + TimeUnit.MINUTES.toMillis(ttlMinutes);
+    }
+
+    @Override
+    public void scheduleAfterCommit(Long transferId, Long expiresAt) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    schedule(transferId, expiresAt);
+                }
+            });
+        } else {
+            schedule(transferId, expiresAt);
+        }
+    }
+
+    /**
+     * Sweep due holds.
+     * Runs every sweep-interval-ms (default 5 seconds).
+     */
+    @Override
+    @Scheduled(fixedDelayString = "${app.holds.expiry.sweep-interval-ms:5000}")
+    public int sweepExpiredHolds() {
+        long now = System.currentTimeMillis();
+        List<Long> due = wheel.advance(now);
+        if (due.isEmpty()) {
+            return 0;
+        }
+
+        String correlationId = GeneratorUtil.generateCorrelationId();
+        int expired = 0;
+        for (int start = 0; start < due.size(); start += sweepBatchSize) {
+            List<Long> chunk = due.subList(start, Math.min(start + sweepBatchSize, due.size()));
+            try {
+                Integer count = transactionTemplate.execute(status -> expireChunk(chunk, now, correlationId));
+                expired += count != null ? count : 0;
+            } catch (Exception e) {
+                log.error("Failed to expire {} holds, retrying on next sweep", chunk.size(), e);
+                chunk.forEach(transferId -> schedule(transferId, now));
+            }
+        }
+
+        log.info("Hold expiry sweep: {} due, {} transfers expired. CorrelationId: {}", due.size(), expired, correlationId);
+        return expired;
+    }
+
+    // Helper methods
+    private int expireChunk(List<Long> transferIds, long now, String correlationId) {
+        // Lock the still-AUTHORIZED transfers first, then their expired holds
+        Map<Long, Object[]> transfers = new LinkedHashMap<>();
+        for (Object[] row : transferRepository.lockAuthorizedTransfers(transferIds)) {
+            transfers.put(((Number) row[0]).longValue(), row);
+        }
+        if (transfers.isEmpty()) {
+            return 0;
+        }
+
+        List<Long> holdIds = new ArrayList<>();
+        Set<Long> expiredTransferIds = new LinkedHashSet<>();
+        Map<Long, BigDecimal> heldByAccount = new HashMap<>();
+        for (Object[] row : holdRepository.lockExpiredHolds(transfers.keySet(), now)) {
+            holdIds.add(((Number) row[0]).longValue());
+            expiredTransferIds.add(((Number) row[1]).longValue());
+            heldByAccount.merge(((Number) row[2]).longValue(), (BigDecimal) row[3], BigDecimal::add);
+        }
+        if (expiredTransferIds.isEmpty()) {
+            return 0;
+        }
+
+        holdRepository.releaseAll(holdIds, now);
+        jdbcBatchRepository.decrementHeldAmounts(heldByAccount);
+        balanceCache.refreshAfterCommit(heldByAccount.keySet());
+        transferRepository.markExpired(expiredTransferIds);
+
+        LocalDateTime createdAt = LocalDateTime.now();
+        List<TransferVersion> versions = new ArrayList<>(expiredTransferIds.size());
+        for (Long transferId : expiredTransferIds) {
+            Object[] row = transfers.get(transferId);
+            Long sourceAccountId = ((Number) row[1]).longValue();
+            BigDecimal amount = (BigDecimal) row[2];
+            long currentVersion = row[4] != null ? ((Number) row[4]).longValue() : 0L;
+
+            versions.add(buildExpiryVersion(transferId, currentVersion + 1L, createdAt));
+
+            // Give the amount back to the daily limit counter, same as a cancellation
+            dailyLimitService.release(sourceAccountId, amount, toLocalDate(row[3]));
+        }
+        jdbcBatchRepository.insertTransferVersions(versions);
+
+        for (Long transferId : expiredTransferIds) {
+            auditService.logAction(SYSTEM_ACTOR_ID, "TRANSFER_EXPIRE", "TRANSFER", transferId, correlationId, "SUCCESS");
+
+            Object[] row = transfers.get(transferId);
+            transferEventBus.publishAfterCommit(transferId, ((Number) row[1]).longValue(), ((Number) row[5]).longValue(),
+                Transfer.TransferStatus.EXPIRED.name(), (BigDecimal) row[2]);
+        }
+        return expiredTransferIds.size();
+    }
+
+    private TransferVersion buildExpiryVersion(Long transferId, long versionNumber, LocalDateTime createdAt) {
+        Transfer transfer = new Transfer();
+        transfer.setTransferId(transferId);
+
+        TransferVersion version = new TransferVersion();
+        version.setTransfer(transfer);
+        version.setSlot(TransferVersion.slotFor(versionNumber));
+        version.setVersionNumber(versionNumber);
+        version.setChangedBy(SYSTEM_ACTOR_ID);
+        version.setChangeSummary("Hold expired");
+        version.setCreatedAt(createdAt);
+        version.setCreatedBy("SYSTEM");
+        return version;
+    }
+
+    private void schedule(Long transferId, long expiresAt) {
+        if (!wheel.add(transferId, expiresAt)) {
+            // Already due: pick it up on the next sweep
+            wheel.add(transferId, System.currentTimeMillis() + tickMillis);
+        }
+    }
+
+    private static LocalDate toLocalDate(Object value) {
+        if (value instanceof Timestamp timestamp) {
+            return timestamp.toLocalDateTime().toLocalDate();
+        }
+        if (value instanceof LocalDateTime dateTime) {
+            return dateTime.toLocalDate();
+        }
+        return LocalDate.now();
+    }
+}
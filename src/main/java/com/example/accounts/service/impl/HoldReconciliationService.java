@@ -0,0 +1,93 @@
+package com.example.accounts.service.impl;
+
+import com.example.accounts.cache.AccountBalanceCache;
+import com.example.accounts.reository.AccountRepository;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Checks accounts.held_amount against the unreleased rows in transfer_holds.
+ * The column is the source of truth for available balance, so any drift is logged and,
+ * with repair enabled, corrected. A repair is skipped if the account changed since it was
+ * read (its balance_version moved); the next run picks it up again.
+ *
+ * At startup, before schedulers and the web server start, every mismatch is repaired
+ * regardless of the repair flag. This backfills held_amount on accounts that had open holds
+ * before the column existed, which would otherwise show an overstated available balance
+ * until the first hourly run.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class HoldReconciliationService implements SmartInitializingSingleton {
+
+    private final AccountRepository accountRepository;
+    private final AccountBalanceCache balanceCache;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.holds.reconciliation.repair:true}")
+    private boolean repair;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        int repaired = Objects.requireNonNullElse(transactionTemplate.execute(status -> reconcile(true, false)), 0);
+        if (repaired > 0) {
+            log.info("Backfilled held_amount from open holds on {} accounts", repaired);
+        }
+    }
+
+    /**
+     * Scheduled task to reconcile held amounts
+     * Runs every hour at minute 15
+     */
+    @Scheduled(cron = "0 15 * * * ?")
+    @Transactional
+    public void reconcileHeldAmounts() {
+        log.info("Starting held amount reconciliation task");
+
+        try {
+            reconcile(repair, true);
+        } catch (Exception e) {
+            log.error("Error during held amount reconciliation", e);
+        }
+    }
+
+    // Helper methods
+    /**
+     * @return number of accounts repaired
+     */
+    private int reconcile(boolean repairMismatches, boolean warn) {
+        List<Object[]> mismatches = accountRepository.findHeldAmountMismatches();
+        int repaired = 0;
+
+        for (Object[] row : mismatches) {
+            Long accountId = ((Number) row[0]).longValue();
+            BigDecimal heldAmount = (BigDecimal) row[1];
+            BigDecimal holdTotal = (BigDecimal) row[2];
+            long balanceVersion = ((Number) row[3]).longValue();
+
+            if (warn) {
+                log.warn("Held amount mismatch on account {}: column {}, unreleased holds {}", accountId, heldAmount, holdTotal);
+            }
+            if (repairMismatches && accountRepository.repairHeldAmount(accountId, balanceVersion, holdTotal) > 0) {
+                balanceCache.refreshAfterCommit(List.of(accountId));
+                repaired++;
+            }
+        }
+
+        if (warn) {
+            log.info("Held amount reconciliation completed. Mismatches: {}, repaired: {}", mismatches.size(), repaired);
+        }
+        return repaired;
+    }
+}
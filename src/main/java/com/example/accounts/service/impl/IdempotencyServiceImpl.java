@@ -1,11 +1,13 @@
 package com.example.accounts.service.impl;
 
+import com.example.accounts.datasource.ReadWriteRoutingDataSource;
 import com.example.accounts.dto.TransferRequestDto;
 import com.example.accounts.entity.IdempotencyKey;
 import com.example.accounts.exception.IdempotencyConflictException;
 import com.example.accounts.reository.IdempotencyKeyRepository;
 import com.example.accounts.service.IdempotencyService;
 import com.example.accounts.util.GeneratorUtil;
+import com.example.accounts.util.SecurityUtil;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
 import lombok.RequiredArgsConstructor;
@@ -13,7 +15,12 @@ import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.Map;
 import java.util.Optional;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 @Service
 @RequiredArgsConstructor
@@ -24,7 +31,7 @@ public class IdempotencyServiceImpl implements IdempotencyService {
     private static final long TTL_24_HOURS = 24 * 60 * 60 * 1000; // 24 hours in milliseconds
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, label = ReadWriteRoutingDataSource.PRIMARY)
     public boolean checkIdempotency(String idempotencyKey, String requestHash, Long userId) {
         Optional<IdempotencyKey> existing = idempotencyKeyRepository.findByIdempotencyKey(idempotencyKey);
 
@@ -48,7 +55,7 @@ public class IdempotencyServiceImpl implements IdempotencyService {
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, label = ReadWriteRoutingDataSource.PRIMARY)
     public String getIdempotentResponse(String idempotencyKey) {
         Optional<IdempotencyKey> idemKey = idempotencyKeyRepository.findByIdempotencyKey(idempotencyKey);
         return idemKey.map(IdempotencyKey::getResponseBody).orElse(null);
@@ -136,5 +143,59 @@ public class IdempotencyServiceImpl implements IdempotencyService {
             throw new RuntimeException("Failed to serialize and store idempotency response", e);
         }
     }
-}
 
+    @Override
+    @Transactional(readOnly = true, label = ReadWriteRoutingDataSource.PRIMARY)
+    public Map<String, IdempotencyKey> findActiveKeys(Collection<String> idempotencyKeys) {
+        if (idempotencyKeys.isEmpty()) {
+            return Map.of();
+        }
+
+        long now = System.currentTimeMillis();
+        return idempotencyKeyRepository.findByIdempotencyKeyIn(idempotencyKeys).stream()
+            .filter(key -> now <= key.getExpiresAt())
+            .collect(Collectors.toMap(IdempotencyKey::getIdempotencyKey, Function.identity(), (a, b) -> a));
+    }
+
+    @Override
+    public <T> T deserializeResponse(IdempotencyKey idempotencyKey, Class<T> responseType) {
+        String responseBody = idempotencyKey.getResponseBody();
+        if (responseBody == null || responseBody.isEmpty()) {
+            return null;
+        }
+
+        try {
+            ObjectMapper mapper = new ObjectMapper();
+            mapper.registerModule(new JavaTimeModule());
+            return mapper.readValue(responseBody, responseType);
+        } catch (Exception e) {
+            log.error("Failed to deserialize cached response for idempotency key: {}: {}", idempotencyKey.getIdempotencyKey(), e.getMessage(), e);
+            throw new RuntimeException("Failed to deserialize cached response", e);
+        }
+    }
+
+    @Override
+    public IdempotencyKey buildIdempotencyRecord(String idempotencyKey, TransferRequestDto request, Object response, Integer statusCode, Long userId) {
+        try {
+            ObjectMapper mapper = new ObjectMapper();
+            mapper.registerModule(new JavaTimeModule());
+
+            IdempotencyKey idemKey = new IdempotencyKey();
+            idemKey.setIdempotencyKey(idempotencyKey);
+            idemKey.setRequestHash(generateRequestHash(request));
+            idemKey.setResponseStatus(statusCode);
+            idemKey.setResponseBody(mapper.writeValueAsString(response));
+            idemKey.setUserId(userId);
+            idemKey.setExpiresAt(System.currentTimeMillis() + TTL_24_HOURS);
+
+            // JPA auditing does not run for JDBC batch inserts
+            String username = SecurityUtil.getCurrentUsername();
+            idemKey.setCreatedAt(LocalDateTime.now());
+            idemKey.setCreatedBy(username != null ? username : "SYSTEM");
+            return idemKey;
+        } catch (Exception e) {
+            log.error("Failed to build idempotency record for key: {}: {}", idempotencyKey, e.getMessage(), e);
+            throw new RuntimeException("Failed to build idempotency record", e);
+        }
+    }
+}
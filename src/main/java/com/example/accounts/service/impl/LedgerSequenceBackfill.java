@@ -0,0 +1,97 @@
+package com.example.accounts.service.impl;
+
+import com.example.accounts.ledger.LedgerSegmentReader;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Sets accounts.ledger_sequence on accounts that had ledger entries before the column existed.
+ *
+ * The column was added at 0 everywhere, so the first posting to such an account would be
+ * numbered 1 again. Each account still at 0 that has entries gets the number it already has:
+ * its hot rows in ledger_entries plus the entry_count of its archived months.
+ * - Archived months recorded before entry_count existed are counted from their segment first.
+ * - Runs once all singletons exist and before schedulers and the web server start, so before
+ *   the first posting. Idempotent: an account that has posted is no longer at 0.
+ * - A failure stops the application rather than letting postings reuse sequence numbers.
+ */
+@Component
+@RequiredArgsConstructor
+@Slf4j
+public class LedgerSequenceBackfill implements SmartInitializingSingleton {
+
+    private static final String SELECT_UNCOUNTED_MONTHS =
+        "SELECT DISTINCT archive_month FROM ledger_archive_totals WHERE entry_count IS NULL";
+
+    private static final String UPDATE_ARCHIVE_COUNT =
+        "UPDATE ledger_archive_totals SET entry_count = ? WHERE archive_month = ? AND account_id = ?";
+
+    private static final String SELECT_UNNUMBERED_ACCOUNTS =
+        "SELECT account_id FROM accounts WHERE account_id > ? AND ledger_sequence = 0 ORDER BY account_id LIMIT ?";
+
+    private static final String BACKFILL_SEQUENCES =
+        "UPDATE accounts a SET ledger_sequence = " +
+        "(SELECT COUNT(*) FROM ledger_entries e WHERE e.account_id = a.account_id) + " +
+        "COALESCE((SELECT SUM(t.entry_count) FROM ledger_archive_totals t WHERE t.account_id = a.account_id), 0) " +
+        "WHERE a.account_id BETWEEN ? AND ? AND a.ledger_sequence = 0 " +
+        "AND (EXISTS (SELECT 1 FROM ledger_entries e WHERE e.account_id = a.account_id) " +
+        "OR EXISTS (SELECT 1 FROM ledger_archive_totals t WHERE t.account_id = a.account_id))";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+    private final LedgerSegmentReader segmentReader;
+
+    @Value("${app.ledger.sequence-backfill-batch-size:1000}")
+    private int batchSize;
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        try {
+            for (String month : jdbcTemplate.queryForList(SELECT_UNCOUNTED_MONTHS, String.class)) {
+                countArchivedMonth(YearMonth.parse(month));
+            }
+
+            long backfilled = 0;
+            long after = 0;
+            List<Long> accountIds;
+            while (!(accountIds = jdbcTemplate.queryForList(SELECT_UNNUMBERED_ACCOUNTS, Long.class, after, batchSize)).isEmpty()) {
+                long first = accountIds.get(0);
+                long last = accountIds.get(accountIds.size() - 1);
+                backfilled += Objects.requireNonNullElse(
+                    transactionTemplate.execute(status -> jdbcTemplate.update(BACKFILL_SEQUENCES, first, last)), 0);
+                after = last;
+            }
+            if (backfilled > 0) {
+                log.info("Backfilled ledger_sequence on {} accounts with existing entries", backfilled);
+            }
+        } catch (RuntimeException e) {
+            throw new IllegalStateException("Could not backfill accounts.ledger_sequence; postings would reuse " +
+                "sequence numbers", e);
+        }
+    }
+
+    // Helper methods
+    private void countArchivedMonth(YearMonth month) {
+        Map<Long, Long> counts = new HashMap<>();
+        segmentReader.forEach(null, month.atDay(1).atStartOfDay(), month.atEndOfMonth().atTime(LocalTime.MAX),
+            record -> counts.merge(record.accountId(), 1L, Long::sum));
+
+        List<Object[]> updates = new ArrayList<>(counts.size());
+        counts.forEach((accountId, count) -> updates.add(new Object[] {count, month.toString(), accountId}));
+        transactionTemplate.executeWithoutResult(status -> jdbcTemplate.batchUpdate(UPDATE_ARCHIVE_COUNT, updates));
+        log.info("Counted {} accounts' entries in archived month {}", counts.size(), month);
+    }
+}
@@ -1,20 +1,37 @@
 package com.example.accounts.service.impl;
 
+import com.example.accounts.cache.AccountBalanceCache;
+import com.example.accounts.dto.JournalLegDto;
 import com.example.accounts.dto.LedgerEntryDto;
-import com.example.accounts.entity.Account;
 import com.example.accounts.entity.LedgerEntry;
+import com.example.accounts.exception.InvalidTransferException;
+import com.example.accounts.ledger.LedgerExporter;
+import com.example.accounts.ledger.LedgerOutbox;
+import com.example.accounts.ledger.LedgerSegmentReader;
+import com.example.accounts.exception.ResourceNotFoundException;
 import com.example.accounts.reository.AccountRepository;
+import com.example.accounts.reository.JdbcBatchRepository;
 import com.example.accounts.reository.LedgerRepository;
 import com.example.accounts.service.LedgerService;
+import com.example.accounts.util.SecurityUtil;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
 import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.TreeMap;
 import java.util.stream.Collectors;
 
 @Service
@@ -24,46 +41,115 @@ public class LedgerServiceImpl implements LedgerService {
 
     private final LedgerRepository ledgerRepository;
     private final AccountRepository accountRepository;
+    private final JdbcBatchRepository jdbcBatchRepository;
+    private final LedgerSegmentReader segmentReader;
+    private final LedgerExporter ledgerExporter;
+    private final LedgerOutbox ledgerOutbox;
+    private final AccountBalanceCache balanceCache;
+    private final MeterRegistry meterRegistry;
+
+    /**
+     * Post a balanced set of legs as one ledger transaction:
+     * - the account rows are locked with one SELECT ... FOR UPDATE in ascending accountId order,
+     *   so two journals touching the same accounts queue instead of deadlocking. The time spent
+     *   there, almost all row-lock wait under contention, is recorded as ledger.balance.lock.wait
+     * - each entry records the balance it leaves its account at and its per-account sequence
+     *   number, worked out from the locked rows in leg order
+     * - balances move with one set-based UPDATE, and the entries go in as one JDBC batch
+     * - the posting is queued in ledger_outbox for the change feed, in the same transaction
+     * - the new balances go to AccountBalanceCache once the transaction commits
+     */
+    @Override
+    @Transactional
+    public void createJournal(String ledgerTxnId, List<JournalLegDto> legs) {
+        if (legs == null || legs.isEmpty()) {
+            throw new InvalidTransferException("Journal has no legs");
+        }
+
+        BigDecimal totalDebits = BigDecimal.ZERO;
+        BigDecimal totalCredits = BigDecimal.ZERO;
+        Map<Long, BigDecimal> deltas = new TreeMap<>();
+        Map<Long, Integer> entryCounts = new HashMap<>();
+        for (JournalLegDto leg : legs) {
+            if (leg.getAccountId() == null || leg.getEntryType() == null
+                || leg.getAmount() == null || leg.getAmount().signum() <= 0) {
+                throw new InvalidTransferException("Journal legs need an account, a side and a positive amount");
+            }
+            if (leg.getEntryType() == LedgerEntry.EntryType.DEBIT) {
+                totalDebits = totalDebits.add(leg.getAmount());
+            } else {
+                totalCredits = totalCredits.add(leg.getAmount());
+            }
+            deltas.merge(leg.getAccountId(), signedAmount(leg), BigDecimal::add);
+            entryCounts.merge(leg.getAccountId(), 1, Integer::sum);
+        }
+        if (totalDebits.compareTo(totalCredits) != 0) {
+            throw new InvalidTransferException("Journal is unbalanced: debits " + totalDebits + ", credits " + totalCredits);
+        }
+
+        Map<Long, BigDecimal> runningBalances = new HashMap<>();
+        Map<Long, Long> sequences = new HashMap<>();
+        Map<Long, Object[]> lockedRows = new HashMap<>();
+        Timer.Sample sample = Timer.start(meterRegistry);
+        try {
+            for (Object[] row : accountRepository.lockBalances(deltas.keySet())) {
+                Long accountId = ((Number) row[0]).longValue();
+                runningBalances.put(accountId, (BigDecimal) row[1]);
+                sequences.put(accountId, ((Number) row[3]).longValue());
+                lockedRows.put(accountId, row);
+            }
+        } finally {
+            sample.stop(meterRegistry.timer("ledger.balance.lock.wait"));
+        }
+        for (Long accountId : deltas.keySet()) {
+            if (!runningBalances.containsKey(accountId)) {
+                throw new ResourceNotFoundException("Account not found: " + accountId);
+            }
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        String username = SecurityUtil.getCurrentUsername();
+        String actor = username != null ? username : "SYSTEM";
+        List<LedgerEntry> entries = new ArrayList<>(legs.size());
+        for (JournalLegDto leg : legs) {
+            LedgerEntry entry = new LedgerEntry();
+            entry.setLedgerTxnId(ledgerTxnId);
+            entry.setAccount(accountRepository.getReferenceById(leg.getAccountId()));
+            entry.setEntryType(leg.getEntryType());
+            entry.setAmount(leg.getAmount());
+            entry.setDescription(leg.getDescription());
+            entry.setReferenceType(leg.getReferenceType());
+            entry.setReferenceId(leg.getReferenceId());
+            entry.setRunningBalance(runningBalances.merge(leg.getAccountId(), signedAmount(leg), BigDecimal::add));
+            entry.setAccountSequence(sequences.merge(leg.getAccountId(), 1L, Long::sum));
+            entry.setCreatedAt(now);
+            entry.setCreatedBy(actor);
+            entries.add(entry);
+        }
+
+        jdbcBatchRepository.applyBalanceDeltas(deltas, entryCounts, actor);
+        jdbcBatchRepository.insertLedgerEntries(entries);
+        ledgerOutbox.record(entries);
+
+        // applyBalanceDeltas bumped each account's balance_version once
+        for (Map.Entry<Long, Object[]> locked : lockedRows.entrySet()) {
+            Object[] row = locked.getValue();
+            balanceCache.updateAfterCommit(locked.getKey(), runningBalances.get(locked.getKey()),
+                (BigDecimal) row[2], ((Number) row[4]).longValue() + 1);
+        }
+
+        log.info("Journal posted. TxnId: {}, Legs: {}, Accounts: {}, Amount: {}",
+            ledgerTxnId, legs.size(), deltas.size(), totalDebits);
+    }
 
     @Override
     @Transactional
     public void createLedgerEntries(String ledgerTxnId, Long sourceAccountId, Long destinationAccountId,
                                     BigDecimal amount, String description, String referenceType, Long referenceId) {
-
-        Account sourceAccount = accountRepository.findById(sourceAccountId)
-            .orElseThrow(() -> new RuntimeException("Source account not found"));
-        Account destinationAccount = accountRepository.findById(destinationAccountId)
-            .orElseThrow(() -> new RuntimeException("Destination account not found"));
-
-        // Create DEBIT entry for source account
-        LedgerEntry debitEntry = new LedgerEntry();
-        debitEntry.setLedgerTxnId(ledgerTxnId);
-        debitEntry.setAccount(sourceAccount);
-        debitEntry.setEntryType(LedgerEntry.EntryType.DEBIT);
-        debitEntry.setAmount(amount);
-        debitEntry.setDescription(description);
-        debitEntry.setReferenceType(referenceType);
-        debitEntry.setReferenceId(referenceId);
-        ledgerRepository.save(debitEntry);
-
-        // Create CREDIT entry for destination account
-        LedgerEntry creditEntry = new LedgerEntry();
-        creditEntry.setLedgerTxnId(ledgerTxnId);
-        creditEntry.setAccount(destinationAccount);
-        creditEntry.setEntryType(LedgerEntry.EntryType.CREDIT);
-        creditEntry.setAmount(amount);
-        creditEntry.setDescription(description);
-        creditEntry.setReferenceType(referenceType);
-        creditEntry.setReferenceId(referenceId);
-        ledgerRepository.save(creditEntry);
-
-        // Update account balances
-        sourceAccount.setBalance(sourceAccount.getBalance().subtract(amount));
-        destinationAccount.setBalance(destinationAccount.getBalance().add(amount));
-        accountRepository.save(sourceAccount);
-        accountRepository.save(destinationAccount);
-
-        log.info("Ledger entries created. TxnId: {}, Amount: {}", ledgerTxnId, amount);
+        createJournal(ledgerTxnId, List.of(
+            new JournalLegDto(sourceAccountId, LedgerEntry.EntryType.DEBIT, amount, description, referenceType, referenceId),
+            new JournalLegDto(destinationAccountId, LedgerEntry.EntryType.CREDIT, amount, description, referenceType, referenceId)
+        ));
     }
 
     @Override
@@ -76,7 +162,48 @@ public class LedgerServiceImpl implements LedgerService {
     @Override
     @Transactional(readOnly = true)
     public BigDecimal calculateAccountBalance(Long accountId) {
-        return ledgerRepository.calculateAccountBalance(accountId);
+        Optional<LedgerEntry> latest = ledgerRepository.findLatestEntry(accountId);
+        if (latest.isEmpty() && segmentReader.hasSegments()) {
+            latest = segmentReader.findLatestEntryBefore(accountId, LocalDateTime.now());
+        }
+        return latest.map(entry -> entry.getRunningBalance() != null
+                ? entry.getRunningBalance()
+                : ledgerRepository.calculateAccountBalance(accountId).add(segmentReader.sumBefore(accountId, LocalDateTime.now())))
+            .orElse(BigDecimal.ZERO);
+    }
+
+    /**
+     * Balance after the last entry created before the given time, looked up in the archived
+     * segments when the month is no longer in ledger_entries. Entries written before running
+     * balances were recorded fall back to summing the history.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public BigDecimal getBalanceBefore(Long accountId, LocalDateTime before) {
+        Optional<LedgerEntry> latest = ledgerRepository.findLatestEntryBefore(accountId, before);
+        if (latest.isEmpty() && segmentReader.hasSegments()) {
+            latest = segmentReader.findLatestEntryBefore(accountId, before);
+        }
+        return latest.map(entry -> entry.getRunningBalance() != null
+                ? entry.getRunningBalance()
+                : ledgerRepository.calculateAccountBalanceBefore(accountId, before).add(segmentReader.sumBefore(accountId, before)))
+            .orElse(BigDecimal.ZERO);
+    }
+
+    /**
+     * The account's entries created in [from, to), oldest first, including months already moved
+     * to archived segments.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public List<LedgerEntry> findEntries(Long accountId, LocalDateTime from, LocalDateTime to) {
+        List<LedgerEntry> hot = ledgerRepository.findLedgerByAccountAndDateRange(accountId, from, to);
+        if (!segmentReader.hasSegments()) {
+            return hot;
+        }
+        List<LedgerEntry> entries = new ArrayList<>(segmentReader.findEntries(accountId, from, to));
+        entries.addAll(hot);
+        return entries;
     }
 
     @Override
@@ -87,6 +214,24 @@ public class LedgerServiceImpl implements LedgerService {
             .collect(Collectors.toList());
     }
 
+    /**
+     * Not transactional: the body runs after this returns, on the MVC async executor, and reads
+     * through its own connection (LedgerExporter)
+     */
+    @Override
+    public StreamingResponseBody exportEntries(Long accountId, LocalDateTime from, LocalDateTime to,
+                                               LedgerExporter.Format format, boolean gzip) {
+        // Checked before anything is written, while an error can still be a normal response
+        if (accountId != null && !accountRepository.existsById(accountId)) {
+            throw new ResourceNotFoundException("Account not found: " + accountId);
+        }
+        return out -> ledgerExporter.export(accountId, from, to, format, gzip, out);
+    }
+
+    private BigDecimal signedAmount(JournalLegDto leg) {
+        return leg.getEntryType() == LedgerEntry.EntryType.CREDIT ? leg.getAmount() : leg.getAmount().negate();
+    }
+
     private LedgerEntryDto convertToDto(LedgerEntry ledgerEntry) {
         return new LedgerEntryDto(
             ledgerEntry.getLedgerEntryId(),
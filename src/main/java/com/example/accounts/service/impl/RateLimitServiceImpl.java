@@ -1,5 +1,6 @@
 package com.example.accounts.service.impl;
 
+import com.example.accounts.datasource.ReadWriteRoutingDataSource;
 import com.example.accounts.entity.RateLimitEntry;
 import com.example.accounts.exception.RateLimitExceededException;
 import com.example.accounts.reository.RateLimitRepository;
@@ -76,7 +77,7 @@ public class RateLimitServiceImpl implements RateLimitService {
     }
 
     @Override
-    @Transactional(readOnly = true)
+    @Transactional(readOnly = true, label = ReadWriteRoutingDataSource.PRIMARY)
     public long getRetryAfterSeconds(Long userId, String endpoint) {
         long now = System.currentTimeMillis();
         long windowStart = now - (now % WINDOW_SIZE);
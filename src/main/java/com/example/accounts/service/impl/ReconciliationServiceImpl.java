@@ -0,0 +1,512 @@
+package com.example.accounts.service.impl;
+
+import com.example.accounts.dto.ReconciliationMismatchDto;
+import com.example.accounts.dto.ReconciliationRunDto;
+import com.example.accounts.entity.ReconciliationMismatch;
+import com.example.accounts.entity.ReconciliationRun;
+import com.example.accounts.exception.ResourceNotFoundException;
+import com.example.accounts.ledger.LedgerSegmentArchiver;
+import com.example.accounts.reository.ReconciliationMismatchRepository;
+import com.example.accounts.reository.ReconciliationRunRepository;
+import com.example.accounts.service.ReconciliationService;
+import com.example.accounts.util.GeneratorUtil;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.math.BigDecimal;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+
+/**
+ * Checks every account's balance against the sum of its ledger entries, and the ledger as a
+ * whole against a trial balance (total debits equal total credits).
+ *
+ * - Ranges: the account ID space [min, max] is cut into range-size ID ranges, processed on a
+ *   ForkJoinPool of parallelism workers. Each range is three grouped index-range queries
+ *   (ledger sums, archived month totals, balances) read in one REPEATABLE READ snapshot, so
+ *   postings that commit meanwhile cannot show up on one side only.
+ * - Mismatches are written to reconciliation_mismatches as they are found and counted in the
+ *   ledger.reconciliation.mismatches metric. Ledger entries of an account that no longer exists
+ *   count as a mismatch against a zero balance.
+ * - Trial balance: only entries created before the run's cutoff (start minus settle-seconds)
+ *   are totalled. Their transactions have long committed, so the totals do not depend on when
+ *   each range happens to be read.
+ * - Checkpoint: every checkpoint-ranges finished ranges, the first account not yet covered by
+ *   a contiguous run of finished ranges is saved with the totals up to it. A failed or
+ *   interrupted run is resumed from there by the next start.
+ * A MySQL named lock, shared with ledger archival, keeps one run at a time across instances
+ * and keeps partitions from being archived while a run reads them.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class ReconciliationServiceImpl implements ReconciliationService {
+
+    private static final String LEDGER_SUMS =
+        "SELECT account_id, " +
+        "SUM(CASE WHEN entry_side = 'CREDIT' THEN amount ELSE -amount END), " +
+        "SUM(CASE WHEN entry_side = 'DEBIT' AND created_at < ? THEN amount ELSE 0 END), " +
+        "SUM(CASE WHEN entry_side = 'CREDIT' AND created_at < ? THEN amount ELSE 0 END) " +
+        "FROM ledger_entries WHERE account_id >= ? AND account_id < ? GROUP BY account_id";
+
+    private static final String ARCHIVED_SUMS =
+        "SELECT account_id, SUM(net_amount), SUM(debit_amount), SUM(credit_amount) " +
+        "FROM ledger_archive_totals WHERE account_id >= ? AND account_id < ? GROUP BY account_id";
+
+    private static final String ACCOUNT_BALANCES =
+        "SELECT account_id, balance FROM accounts WHERE account_id >= ? AND account_id < ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final PlatformTransactionManager transactionManager;
+    private final TransactionTemplate transactionTemplate;
+    private final ReconciliationRunRepository runRepository;
+    private final ReconciliationMismatchRepository mismatchRepository;
+    private final MeterRegistry meterRegistry;
+
+    @Value("${app.reconciliation.parallelism:8}")
+    private int parallelism;
+
+    @Value("${app.reconciliation.range-size:10000}")
+    private int rangeSize;
+
+    @Value("${app.reconciliation.checkpoint-ranges:50}")
+    private int checkpointRanges;
+
+    @Value("${app.reconciliation.settle-seconds:300}")
+    private long settleSeconds;
+
+    private TransactionTemplate snapshotTemplate;
+    private ExecutorService runner;
+    private final AtomicBoolean running = new AtomicBoolean();
+    private volatile Long activeRunId;
+    private final AtomicReference<Double> lastMismatches = new AtomicReference<>(0.0);
+    private final AtomicReference<Double> lastTrialDifference = new AtomicReference<>(0.0);
+
+    /**
+     * Per-range outcome, folded into the run in range order
+     */
+    private record RangeResult(long accounts, long mismatches, BigDecimal debits, BigDecimal credits) {
+    }
+
+    @PostConstruct
+    public void init() {
+        snapshotTemplate = new TransactionTemplate(transactionManager);
+        snapshotTemplate.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        snapshotTemplate.setReadOnly(true);
+
+        runner = Executors.newSingleThreadExecutor(r -> {
+            Thread thread = new Thread(r, "ledger-reconciliation");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        Gauge.builder("ledger.reconciliation.last.mismatches", lastMismatches, AtomicReference::get)
+            .description("Mismatched accounts found by the last completed reconciliation run")
+            .register(meterRegistry);
+        Gauge.builder("ledger.reconciliation.trial.balance.difference", lastTrialDifference, AtomicReference::get)
+            .description("Total debits minus total credits in the last completed reconciliation run")
+            .register(meterRegistry);
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        runner.shutdownNow();
+    }
+
+    /**
+     * Scheduled task to reconcile balances against the ledger
+     * Runs every day at 4:00 AM by default
+     */
+    @Scheduled(cron = "${app.reconciliation.cron:0 0 4 * * ?}")
+    public void scheduledReconciliation() {
+        try {
+            startReconciliation(GeneratorUtil.generateCorrelationId());
+        } catch (Exception e) {
+            log.error("Failed to start scheduled reconciliation", e);
+        }
+    }
+
+    @Override
+    public ReconciliationRunDto startReconciliation(String correlationId) {
+        if (!running.compareAndSet(false, true)) {
+            Long runId = activeRunId;
+            if (runId != null) {
+                return getRunFromPrimary(runId);
+            }
+            throw new IllegalStateException("A reconciliation run is being started");
+        }
+
+        CompletableFuture<Long> started = new CompletableFuture<>();
+        try {
+            runner.execute(() -> {
+                try {
+                    runUnderLock(started, correlationId);
+                } catch (RuntimeException e) {
+                    started.completeExceptionally(e);
+                    log.error("Reconciliation failed. CorrelationId: {}", correlationId, e);
+                } finally {
+                    activeRunId = null;
+                    running.set(false);
+                    started.complete(null);
+                }
+            });
+        } catch (RuntimeException e) {
+            running.set(false);
+            throw e;
+        }
+
+        Long runId;
+        try {
+            runId = started.get(30, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while starting reconciliation", e);
+        } catch (ExecutionException | TimeoutException e) {
+            throw new IllegalStateException("Reconciliation did not start", e);
+        }
+        if (runId == null) {
+            // Another instance holds the lock
+            return runRepository.findLatestIncomplete()
+                .map(this::convertToDto)
+                .orElseThrow(() -> new IllegalStateException("Ledger maintenance is running on another instance"));
+        }
+        return getRunFromPrimary(runId);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public ReconciliationRunDto getRun(Long reconciliationRunId) {
+        return runRepository.findById(reconciliationRunId)
+            .map(this::convertToDto)
+            .orElseThrow(() -> new ResourceNotFoundException("Reconciliation run not found"));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<ReconciliationRunDto> getRuns(Pageable pageable) {
+        return runRepository.findRecent(pageable).map(this::convertToDto);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public Page<ReconciliationMismatchDto> getMismatches(Long reconciliationRunId, Pageable pageable) {
+        if (!runRepository.existsById(reconciliationRunId)) {
+            throw new ResourceNotFoundException("Reconciliation run not found");
+        }
+        return mismatchRepository.findByRun(reconciliationRunId, pageable).map(this::convertToDto);
+    }
+
+    // Helper methods
+    private ReconciliationRunDto getRunFromPrimary(Long runId) {
+        // the runner thread has only just inserted the run; the replica may not have it yet
+        return runRepository.findByIdOnPrimary(runId)
+            .map(this::convertToDto)
+            .orElseThrow(() -> new ResourceNotFoundException("Reconciliation run not found"));
+    }
+
+    private void runUnderLock(CompletableFuture<Long> started, String correlationId) {
+        jdbcTemplate.execute((ConnectionCallback<Void>) connection -> {
+            if (!acquireLock(connection)) {
+                log.info("Ledger maintenance is running on another instance, reconciliation skipped. CorrelationId: {}",
+                    correlationId);
+                return null;
+            }
+            try {
+                ReconciliationRun run = transactionTemplate.execute(status -> prepareRun());
+                activeRunId = run.getReconciliationRunId();
+                started.complete(run.getReconciliationRunId());
+                execute(run, correlationId);
+            } finally {
+                releaseLock(connection);
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Resume the latest incomplete run from its checkpoint, or start a new one.
+     */
+    private ReconciliationRun prepareRun() {
+        ReconciliationRun incomplete = runRepository.findLatestIncomplete().orElse(null);
+        if (incomplete != null) {
+            int discarded = mismatchRepository.deleteFromCheckpoint(
+                incomplete.getReconciliationRunId(), incomplete.getCheckpointAccountId());
+            incomplete.setRunStatus(ReconciliationRun.RunStatus.RUNNING);
+            incomplete.setLastFailureReason(null);
+            log.info("Resuming reconciliation run {} from account {} ({} mismatches past the checkpoint discarded)",
+                incomplete.getReconciliationRunId(), incomplete.getCheckpointAccountId(), discarded);
+            return runRepository.save(incomplete);
+        }
+
+        Long minAccountId = jdbcTemplate.queryForObject("SELECT MIN(account_id) FROM accounts", Long.class);
+        Long maxAccountId = jdbcTemplate.queryForObject("SELECT MAX(account_id) FROM accounts", Long.class);
+        LocalDateTime now = LocalDateTime.now();
+
+        ReconciliationRun run = new ReconciliationRun();
+        run.setRunStatus(ReconciliationRun.RunStatus.RUNNING);
+        run.setCutoffAt(now.minusSeconds(settleSeconds));
+        run.setMaxAccountId(maxAccountId != null ? maxAccountId : 0L);
+        run.setRangeSize(rangeSize);
+        run.setCheckpointAccountId(minAccountId != null ? minAccountId : 1L);
+        run.setStartedAt(now);
+        return runRepository.save(run);
+    }
+
+    private void execute(ReconciliationRun run, String correlationId) {
+        long from = run.getCheckpointAccountId();
+        long to = run.getMaxAccountId() + 1;
+        int ranges = to > from ? (int) ((to - from + run.getRangeSize() - 1) / run.getRangeSize()) : 0;
+        Checkpoint checkpoint = new Checkpoint(run, from, to);
+
+        log.info("Reconciliation run {}: accounts {} to {} in {} ranges, {} workers. CorrelationId: {}",
+            run.getReconciliationRunId(), from, run.getMaxAccountId(), ranges, parallelism, correlationId);
+        long startNanos = System.nanoTime();
+
+        ForkJoinPool pool = new ForkJoinPool(Math.max(parallelism, 1));
+        try {
+            pool.invoke(new RangeTask(checkpoint, 0, ranges));
+            checkpoint.finish();
+        } catch (RuntimeException e) {
+            checkpoint.fail(e);
+            throw e;
+        } finally {
+            pool.shutdownNow();
+        }
+
+        log.info("Reconciliation run {} completed in {} ms: {} accounts, {} mismatches, debits {}, credits {}, trial balance {}. CorrelationId: {}",
+            run.getReconciliationRunId(), TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos),
+            run.getAccountsChecked(), run.getMismatchCount(), run.getTotalDebits(), run.getTotalCredits(),
+            Boolean.TRUE.equals(run.getTrialBalanced()) ? "balanced" : "NOT BALANCED", correlationId);
+    }
+
+    /**
+     * Splits range indexes [lo, hi) in halves until one range is left
+     */
+    private final class RangeTask extends RecursiveAction {
+
+        private final Checkpoint checkpoint;
+        private final int lo;
+        private final int hi;
+
+        private RangeTask(Checkpoint checkpoint, int lo, int hi) {
+            this.checkpoint = checkpoint;
+            this.lo = lo;
+            this.hi = hi;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo <= 1) {
+                if (hi > lo) {
+                    checkpoint.complete(lo, reconcileRange(checkpoint.run, checkpoint.rangeStart(lo), checkpoint.rangeEnd(lo)));
+                }
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new RangeTask(checkpoint, lo, mid), new RangeTask(checkpoint, mid, hi));
+        }
+    }
+
+    private RangeResult reconcileRange(ReconciliationRun run, long fromAccountId, long toAccountId) {
+        Timer.Sample sample = Timer.start(meterRegistry);
+        Timestamp cutoff = Timestamp.valueOf(run.getCutoffAt());
+        Map<Long, BigDecimal> ledgerBalances = new HashMap<>();
+        Map<Long, BigDecimal> accountBalances = new HashMap<>();
+        BigDecimal[] totals = {BigDecimal.ZERO, BigDecimal.ZERO};
+
+        snapshotTemplate.executeWithoutResult(status -> {
+            jdbcTemplate.query(LEDGER_SUMS, rs -> {
+                ledgerBalances.merge(rs.getLong(1), rs.getBigDecimal(2), BigDecimal::add);
+                totals[0] = totals[0].add(rs.getBigDecimal(3));
+                totals[1] = totals[1].add(rs.getBigDecimal(4));
+            }, cutoff, cutoff, fromAccountId, toAccountId);
+            jdbcTemplate.query(ARCHIVED_SUMS, rs -> {
+                ledgerBalances.merge(rs.getLong(1), rs.getBigDecimal(2), BigDecimal::add);
+                totals[0] = totals[0].add(rs.getBigDecimal(3));
+                totals[1] = totals[1].add(rs.getBigDecimal(4));
+            }, fromAccountId, toAccountId);
+            jdbcTemplate.query(ACCOUNT_BALANCES, rs -> {
+                accountBalances.put(rs.getLong(1), rs.getBigDecimal(2));
+            }, fromAccountId, toAccountId);
+        });
+
+        LocalDateTime now = LocalDateTime.now();
+        List<ReconciliationMismatch> mismatches = new ArrayList<>();
+        TreeSet<Long> accountIds = new TreeSet<>(accountBalances.keySet());
+        accountIds.addAll(ledgerBalances.keySet());
+        for (Long accountId : accountIds) {
+            BigDecimal balance = accountBalances.getOrDefault(accountId, BigDecimal.ZERO);
+            BigDecimal ledgerBalance = ledgerBalances.getOrDefault(accountId, BigDecimal.ZERO);
+            if (balance.compareTo(ledgerBalance) != 0) {
+                ReconciliationMismatch mismatch = new ReconciliationMismatch();
+                mismatch.setReconciliationRunId(run.getReconciliationRunId());
+                mismatch.setAccountId(accountId);
+                mismatch.setAccountBalance(balance);
+                mismatch.setLedgerBalance(ledgerBalance);
+                mismatch.setDifference(balance.subtract(ledgerBalance));
+                mismatch.setDetectedAt(now);
+                mismatches.add(mismatch);
+            }
+        }
+
+        if (!mismatches.isEmpty()) {
+            transactionTemplate.executeWithoutResult(status -> mismatchRepository.saveAll(mismatches));
+            meterRegistry.counter("ledger.reconciliation.mismatches").increment(mismatches.size());
+            log.warn("Reconciliation run {}: {} mismatched accounts in [{}, {}), first {}",
+                run.getReconciliationRunId(), mismatches.size(), fromAccountId, toAccountId, mismatches.get(0).getAccountId());
+        }
+        sample.stop(meterRegistry.timer("ledger.reconciliation.range"));
+
+        return new RangeResult(accountBalances.size(), mismatches.size(), totals[0], totals[1]);
+    }
+
+    /**
+     * Folds finished ranges into the run in range order and saves it every checkpoint-ranges ranges.
+     */
+    private final class Checkpoint {
+
+        private final ReconciliationRun run;
+        private final long from;
+        private final long to;
+        private final Map<Integer, RangeResult> pending = new HashMap<>();
+        private int next;
+        private int unsaved;
+
+        private Checkpoint(ReconciliationRun run, long from, long to) {
+            this.run = run;
+            this.from = from;
+            this.to = to;
+        }
+
+        private long rangeStart(int index) {
+            return from + (long) index * run.getRangeSize();
+        }
+
+        private long rangeEnd(int index) {
+            return Math.min(rangeStart(index) + run.getRangeSize(), to);
+        }
+
+        private synchronized void complete(int index, RangeResult result) {
+            pending.put(index, result);
+            RangeResult ready;
+            while ((ready = pending.remove(next)) != null) {
+                run.setAccountsChecked(run.getAccountsChecked() + ready.accounts());
+                run.setMismatchCount(run.getMismatchCount() + ready.mismatches());
+                run.setTotalDebits(run.getTotalDebits().add(ready.debits()));
+                run.setTotalCredits(run.getTotalCredits().add(ready.credits()));
+                run.setCheckpointAccountId(rangeEnd(next));
+                next++;
+                unsaved++;
+            }
+            if (unsaved >= checkpointRanges) {
+                save();
+            }
+        }
+
+        private synchronized void finish() {
+            run.setCheckpointAccountId(to);
+            run.setTrialBalanced(run.getTotalDebits().compareTo(run.getTotalCredits()) == 0);
+            run.setRunStatus(ReconciliationRun.RunStatus.COMPLETED);
+            run.setCompletedAt(LocalDateTime.now());
+            save();
+
+            lastMismatches.set(run.getMismatchCount().doubleValue());
+            lastTrialDifference.set(run.getTotalDebits().subtract(run.getTotalCredits()).doubleValue());
+            if (!run.getTrialBalanced()) {
+                log.error("Trial balance failed in reconciliation run {}: debits {}, credits {}",
+                    run.getReconciliationRunId(), run.getTotalDebits(), run.getTotalCredits());
+            }
+        }
+
+        private synchronized void fail(Exception e) {
+            run.setRunStatus(ReconciliationRun.RunStatus.FAILED);
+            String reason = String.valueOf(e.getMessage());
+            run.setLastFailureReason(reason.length() > 500 ? reason.substring(0, 500) : reason);
+            save();
+        }
+
+        private void save() {
+            transactionTemplate.executeWithoutResult(status -> runRepository.save(run));
+            unsaved = 0;
+        }
+    }
+
+    private boolean acquireLock(Connection connection) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement("SELECT GET_LOCK(?, 0)")) {
+            ps.setString(1, LedgerSegmentArchiver.MAINTENANCE_LOCK);
+            try (ResultSet rs = ps.executeQuery()) {
+                return rs.next() && rs.getInt(1) == 1;
+            }
+        }
+    }
+
+    private void releaseLock(Connection connection) throws SQLException {
+        try (PreparedStatement ps = connection.prepareStatement("SELECT RELEASE_LOCK(?)")) {
+            ps.setString(1, LedgerSegmentArchiver.MAINTENANCE_LOCK);
+            ps.execute();
+        }
+    }
+
+    private ReconciliationRunDto convertToDto(ReconciliationRun run) {
+        return new ReconciliationRunDto(
+            run.getReconciliationRunId(),
+            run.getRunStatus().toString(),
+            run.getCutoffAt(),
+            run.getMaxAccountId(),
+            run.getCheckpointAccountId(),
+            run.getAccountsChecked(),
+            run.getMismatchCount(),
+            run.getTotalDebits(),
+            run.getTotalCredits(),
+            run.getTrialBalanced(),
+            run.getStartedAt(),
+            run.getCompletedAt(),
+            run.getLastFailureReason()
+        );
+    }
+
+    private ReconciliationMismatchDto convertToDto(ReconciliationMismatch mismatch) {
+        return new ReconciliationMismatchDto(
+            mismatch.getAccountId(),
+            mismatch.getAccountBalance(),
+            mismatch.getLedgerBalance(),
+            mismatch.getDifference(),
+            mismatch.getDetectedAt()
+        );
+    }
+}
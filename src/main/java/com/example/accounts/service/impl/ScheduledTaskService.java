@@ -1,10 +1,12 @@
 package com.example.accounts.service.impl;
 
+import com.example.accounts.dto.JournalLegDto;
 import com.example.accounts.entity.Account;
 import com.example.accounts.entity.LedgerEntry;
+import com.example.accounts.money.Money;
 import com.example.accounts.reository.AccountRepository;
-import com.example.accounts.reository.LedgerRepository;
 import com.example.accounts.service.LedgerService;
+import com.example.accounts.service.StatementService;
 import com.example.accounts.util.GeneratorUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
@@ -15,7 +17,8 @@ import org.springframework.transaction.annotation.Transactional;
 
 import java.math.BigDecimal;
 import java.math.RoundingMode;
-import java.time.LocalDateTime;
+import java.time.YearMonth;
+import java.util.ArrayList;
 import java.util.List;
 
 @Service
@@ -23,9 +26,12 @@ import java.util.List;
 @Slf4j
 public class ScheduledTaskService {
 
+    private static final int RATE_SCALE = 4;
+    private static final long DAILY_RATE_DIVISOR = 365L * 100L * 10_000L;  // days * percent * 10^RATE_SCALE
+
     private final AccountRepository accountRepository;
     private final LedgerService ledgerService;
-    private final LedgerRepository ledgerRepository;
+    private final StatementService statementService;
 
     @Value("${app.interest.default-annual-rate:3.5}")
     private BigDecimal annualInterestRate;
@@ -33,6 +39,9 @@ public class ScheduledTaskService {
     @Value("${app.interest.calculation-frequency:DAILY}")
     private String calculationFrequency;
 
+    @Value("${app.interest.journal-size:1000}")
+    private int journalSize;
+
     /**
      * Scheduled task to calculate and accrue daily interest
      * Runs every day at 11:59 PM (23:59:00)
@@ -45,11 +54,21 @@ public class ScheduledTaskService {
         try {
             List<Account> savingsAccounts = accountRepository.findByAccountType(Account.AccountType.SAVINGS);
 
+            // Annual percentage rate as an integer count of 1/10^RATE_SCALE percent, e.g. 3.5 -> 35000
+            long annualRate = annualInterestRate.setScale(RATE_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+
+            // One journal per journal-size accounts instead of one ledger call per account
+            List<JournalLegDto> legs = new ArrayList<>();
             for (Account account : savingsAccounts) {
                 if (account.getAccountStatus() == Account.AccountStatus.ACTIVE) {
-                    accrueInterestForAccount(account);
+                    legs.addAll(interestLegs(account, annualRate));
+                }
+                if (legs.size() >= journalSize * 2) {
+                    postInterestJournal(legs);
+                    legs = new ArrayList<>();
                 }
             }
+            postInterestJournal(legs);
 
             log.info("Daily interest accrual completed for {} accounts", savingsAccounts.size());
         } catch (Exception e) {
@@ -58,22 +77,30 @@ public class ScheduledTaskService {
     }
 
     /**
-     * Scheduled task to generate monthly statements
-     * Runs on the last day of each month at 11:45 PM (23:45:00)
+     * Scheduled task to store last month's statements, one transaction per account
+     * Runs on the 1st of each month at 12:30 AM (00:30:00), once the month has settled
      */
-    @Scheduled(cron = "0 45 23 L * ?")
-    @Transactional
+    @Scheduled(cron = "${app.statements.cron:0 30 0 1 * ?}")
     public void generateMonthlyStatements() {
-        log.info("Starting monthly statement generation task");
+        YearMonth month = YearMonth.now().minusMonths(1);
+        log.info("Starting monthly statement generation task for {}", month);
 
         try {
-            List<Account> accounts = accountRepository.findAll();
-
-            for (Account account : accounts) {
-                generateStatementForAccount(account);
+            List<Long> accountIds = accountRepository.findAllAccountIds();
+
+            int stored = 0;
+            for (Long accountId : accountIds) {
+                try {
+                    if (statementService.materializeStatement(accountId, month)) {
+                        stored++;
+                    }
+                } catch (Exception e) {
+                    log.error("Error generating statement for account {}", accountId, e);
+                }
             }
 
-            log.info("Monthly statement generation completed for {} accounts", accounts.size());
+            log.info("Monthly statement generation completed: {} statements stored for {} accounts",
+                    stored, accountIds.size());
         } catch (Exception e) {
             log.error("Error during monthly statement generation", e);
         }
@@ -96,96 +123,39 @@ public class ScheduledTaskService {
         }
     }
 
-    private void accrueInterestForAccount(Account account) {
-        if (account.getBalance().compareTo(BigDecimal.ZERO) <= 0) {
-            return; // No interest on zero or negative balance
+    private List<JournalLegDto> interestLegs(Account account, long annualRate) {
+        long balance = Money.toMinorUnits(account.getBalance());
+        if (balance <= 0) {
+            return List.of(); // No interest on zero or negative balance
         }
 
-        // Calculate daily interest: (balance * annual_rate) / 365
-        BigDecimal dailyRate = annualInterestRate.divide(new BigDecimal("365"), 10, RoundingMode.HALF_UP);
-        BigDecimal interestAmount = account.getBalance()
-            .multiply(dailyRate)
-            .divide(new BigDecimal("100"), 2, RoundingMode.HALF_UP);
-
-        // Create ledger entries for interest
-        String ledgerTxnId = GeneratorUtil.generateLedgerTransactionId();
-
-        try {
-            ledgerService.createLedgerEntries(
-                ledgerTxnId,
-                account.getAccountId(),  // SYSTEM account (in production)
-                account.getAccountId(),
-                interestAmount,
-                "Daily interest accrual",
-                "INTEREST",
-                account.getAccountId()
-            );
-
-            log.debug("Interest accrued for account {}: {}", account.getAccountId(), interestAmount);
-        } catch (Exception e) {
-            log.error("Error accruing interest for account {}", account.getAccountId(), e);
+        // Daily interest: balance * annual_rate / 100 / 365, rounded half up to minor units once
+        long interest = Money.multiplyDivideHalfUp(balance, annualRate, DAILY_RATE_DIVISOR);
+        if (interest == 0) {
+            return List.of();
         }
+        BigDecimal interestAmount = Money.toBigDecimal(interest);
+
+        log.debug("Interest accrued for account {}: {}", account.getAccountId(), interestAmount);
+        return List.of(
+            // SYSTEM account (in production)
+            new JournalLegDto(account.getAccountId(), LedgerEntry.EntryType.DEBIT, interestAmount,
+                "Daily interest accrual", "INTEREST", account.getAccountId()),
+            new JournalLegDto(account.getAccountId(), LedgerEntry.EntryType.CREDIT, interestAmount,
+                "Daily interest accrual", "INTEREST", account.getAccountId())
+        );
     }
 
-    private void generateStatementForAccount(Account account) {
-        LocalDateTime monthStart = LocalDateTime.now().withDayOfMonth(1).withHour(0).withMinute(0).withSecond(0);
-        LocalDateTime monthEnd = LocalDateTime.now().withDayOfMonth(LocalDateTime.now().toLocalDate().lengthOfMonth()).withHour(23).withMinute(59).withSecond(59);
+    private void postInterestJournal(List<JournalLegDto> legs) {
+        if (legs.isEmpty()) {
+            return;
+        }
 
+        String ledgerTxnId = GeneratorUtil.generateLedgerTransactionId();
         try {
-            // Get ledger entries for the period
-            List<LedgerEntry> ledgerEntries = ledgerRepository.findLedgerByAccountAndDateRange(
-                    account.getAccountId(), monthStart, monthEnd);
-
-            // Calculate opening balance (balance before period start)
-            LocalDateTime beforePeriodStart = monthStart.minusSeconds(1);
-            BigDecimal openingBalance = calculateBalanceBeforeDate(account.getAccountId(), beforePeriodStart);
-
-            // Calculate totals from ledger entries
-            BigDecimal totalCredits = BigDecimal.ZERO;
-            BigDecimal totalDebits = BigDecimal.ZERO;
-            BigDecimal totalInterest = BigDecimal.ZERO;
-            BigDecimal totalFees = BigDecimal.ZERO;
-
-            for (LedgerEntry entry : ledgerEntries) {
-                if (entry.getEntryType() == LedgerEntry.EntryType.CREDIT) {
-                    totalCredits = totalCredits.add(entry.getAmount());
-                } else {
-                    totalDebits = totalDebits.add(entry.getAmount());
-                }
-
-                if ("INTEREST".equalsIgnoreCase(entry.getReferenceType())) {
-                    totalInterest = totalInterest.add(entry.getAmount());
-                } else if ("FEE".equalsIgnoreCase(entry.getReferenceType())) {
-                    totalFees = totalFees.add(entry.getAmount());
-                }
-            }
-
-            // Calculate closing balance
-            BigDecimal closingBalance = openingBalance.add(totalCredits).subtract(totalDebits);
-
-            log.debug("Monthly statement generated for account {}, Period: {} to {}, " +
-                    "Opening Balance: {}, Closing Balance: {}, Transactions: {}",
-                    account.getAccountId(), monthStart, monthEnd,
-                    openingBalance, closingBalance, ledgerEntries.size());
-
+            ledgerService.createJournal(ledgerTxnId, legs);
         } catch (Exception e) {
-            log.error("Error generating statement for account {}", account.getAccountId(), e);
+            log.error("Error posting interest journal {} with {} legs", ledgerTxnId, legs.size(), e);
         }
     }
-
-    private BigDecimal calculateBalanceBeforeDate(Long accountId, LocalDateTime beforeDate) {
-        List<LedgerEntry> entriesBeforeDate = ledgerRepository.findLedgerByAccountAndDateRange(
-                accountId, LocalDateTime.of(2000, 1, 1, 0, 0, 0), beforeDate);
-
-        BigDecimal balance = BigDecimal.ZERO;
-        for (LedgerEntry entry : entriesBeforeDate) {
-            if (entry.getEntryType() == LedgerEntry.EntryType.CREDIT) {
-                balance = balance.add(entry.getAmount());
-            } else {
-                balance = balance.subtract(entry.getAmount());
-            }
-        }
-        return balance;
-    }
 }
-
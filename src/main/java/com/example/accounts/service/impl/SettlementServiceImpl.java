@@ -0,0 +1,269 @@
+package com.example.accounts.service.impl;
+
+import com.example.accounts.cache.AccountBalanceCache;
+import com.example.accounts.dto.SettlementResultDto;
+import com.example.accounts.entity.LedgerEntry;
+import com.example.accounts.entity.Transfer;
+import com.example.accounts.entity.TransferVersion;
+import com.example.accounts.events.TransferEventBus;
+import com.example.accounts.ledger.LedgerOutbox;
+import com.example.accounts.posting.PostingEngine;
+import com.example.accounts.reository.AccountRepository;
+import com.example.accounts.reository.JdbcBatchRepository;
+import com.example.accounts.reository.TransferHoldRepository;
+import com.example.accounts.reository.TransferRepository;
+import com.example.accounts.service.AuditService;
+import com.example.accounts.service.SettlementService;
+import com.example.accounts.util.GeneratorUtil;
+import com.example.accounts.util.SecurityUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.*;
+
+/**
+ * Multilateral netting settlement.
+ *
+ * Posting N transfers between a handful of hub accounts one by one costs 2N ledger rows and
+ * 2N balance updates, all contending on the same few account rows. A settlement run instead
+ * posts a whole window of AUTHORIZED transfers at once:
+ * - every transfer still gets its DEBIT and CREDIT ledger entries, batch-inserted under one
+ *   settlement ledgerTxnId (referenceId points back to the transfer)
+ * - each account gets exactly one UPDATE applying its net position and releasing its holds
+ * - transfers, holds and versions are updated with set-based statements
+ *
+ * The run executes while the posting engine is paused, so no single posting can interleave
+ * with it. Accounts that cannot fund their net outflow have their outgoing transfers left
+ * AUTHORIZED; the net positions are recomputed without them until every account is funded.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class SettlementServiceImpl implements SettlementService {
+
+    private static final Long SYSTEM_ACTOR_ID = 0L;
+    private static final int IN_CLAUSE_CHUNK = 1000;
+
+    private final TransferRepository transferRepository;
+    private final AccountRepository accountRepository;
+    private final TransferHoldRepository holdRepository;
+    private final JdbcBatchRepository jdbcBatchRepository;
+    private final LedgerOutbox ledgerOutbox;
+    private final AccountBalanceCache balanceCache;
+    private final AuditService auditService;
+    private final PostingEngine postingEngine;
+    private final TransferEventBus transferEventBus;
+
+    @Value("${app.settlement.max-transfers:50000}")
+    private int maxTransfers;
+
+    @Value("${app.settlement.lookback-hours:24}")
+    private long lookbackHours;
+
+    private record Item(Long transferId, Long sourceAccountId, Long destinationAccountId,
+                        BigDecimal amount, String description, long currentVersion) {
+    }
+
+    private record Hold(Long holdId, Long accountId, BigDecimal amount) {
+    }
+
+    @Override
+    public SettlementResultDto runSettlement(LocalDateTime windowStart, LocalDateTime windowEnd, String correlationId) {
+        long startTime = System.currentTimeMillis();
+        SettlementResultDto result = postingEngine.executeExclusive(() -> settle(windowStart, windowEnd, correlationId));
+        result.setDurationMillis(System.currentTimeMillis() - startTime);
+
+        log.info("Settlement {} completed. Settled: {}, Skipped: {}, Accounts: {}, Gross: {}, Duration: {}ms, CorrelationId: {}",
+            result.getSettlementTxnId(), result.getSettledCount(), result.getSkippedCount(), result.getAccountCount(),
+            result.getGrossAmount(), result.getDurationMillis(), correlationId);
+        return result;
+    }
+
+    /**
+     * Scheduled end-of-day settlement over the last lookback-hours.
+     * Disabled unless app.settlement.cron is set.
+     */
+    @Scheduled(cron = "${app.settlement.cron:-}")
+    public void runScheduledSettlement() {
+        LocalDateTime now = LocalDateTime.now();
+        try {
+            runSettlement(now.minusHours(lookbackHours), now, GeneratorUtil.generateCorrelationId());
+        } catch (Exception e) {
+            log.error("Error during scheduled settlement", e);
+        }
+    }
+
+    // Helper methods
+    private SettlementResultDto settle(LocalDateTime windowStart, LocalDateTime windowEnd, String correlationId) {
+        List<Item> items = new ArrayList<>();
+        for (Object[] row : transferRepository.lockAuthorizedForSettlement(windowStart, windowEnd, maxTransfers)) {
+            items.add(new Item(
+                ((Number) row[0]).longValue(),
+                ((Number) row[1]).longValue(),
+                ((Number) row[2]).longValue(),
+                (BigDecimal) row[3],
+                (String) row[4],
+                row[5] != null ? ((Number) row[5]).longValue() : 0L
+            ));
+        }
+        if (items.isEmpty()) {
+            return new SettlementResultDto(null, windowStart, windowEnd, 0, 0, 0, BigDecimal.ZERO, 0L);
+        }
+
+        // Lock accounts in primary-key order, then the holds of the window's transfers
+        Set<Long> accountIds = new TreeSet<>();
+        items.forEach(item -> {
+            accountIds.add(item.sourceAccountId());
+            accountIds.add(item.destinationAccountId());
+        });
+        Map<Long, BigDecimal> availableBalances = new HashMap<>();
+        Map<Long, BigDecimal> runningBalances = new HashMap<>();
+        Map<Long, Long> sequences = new HashMap<>();
+        for (Object[] row : accountRepository.lockBalances(accountIds)) {
+            Long accountId = ((Number) row[0]).longValue();
+            availableBalances.put(accountId, ((BigDecimal) row[1]).subtract((BigDecimal) row[2]));
+            runningBalances.put(accountId, (BigDecimal) row[1]);
+            sequences.put(accountId, ((Number) row[3]).longValue());
+        }
+
+        Map<Long, List<Hold>> holdsByTransfer = new HashMap<>();
+        for (List<Long> chunk : chunk(items.stream().map(Item::transferId).toList())) {
+            for (Object[] row : holdRepository.lockOpenHolds(chunk)) {
+                holdsByTransfer.computeIfAbsent(((Number) row[1]).longValue(), id -> new ArrayList<>())
+                    .add(new Hold(((Number) row[0]).longValue(), ((Number) row[2]).longValue(), (BigDecimal) row[3]));
+            }
+        }
+
+        // Net positions, dropping outgoing transfers of accounts that cannot fund their position
+        List<Item> settled = new ArrayList<>(items);
+        Map<Long, BigDecimal> netAmounts;
+        Map<Long, BigDecimal> releasedHolds;
+        while (true) {
+            netAmounts = new HashMap<>();
+            releasedHolds = new HashMap<>();
+            for (Item item : settled) {
+                netAmounts.merge(item.sourceAccountId(), item.amount().negate(), BigDecimal::add);
+                netAmounts.merge(item.destinationAccountId(), item.amount(), BigDecimal::add);
+                for (Hold hold : holdsByTransfer.getOrDefault(item.transferId(), List.of())) {
+                    releasedHolds.merge(hold.accountId(), hold.amount(), BigDecimal::add);
+                }
+            }
+
+            Set<Long> unfunded = new HashSet<>();
+            for (Map.Entry<Long, BigDecimal> position : netAmounts.entrySet()) {
+                BigDecimal available = availableBalances.getOrDefault(position.getKey(), BigDecimal.ZERO)
+                    .add(releasedHolds.getOrDefault(position.getKey(), BigDecimal.ZERO));
+                if (position.getValue().signum() < 0 && available.add(position.getValue()).signum() < 0) {
+                    unfunded.add(position.getKey());
+                }
+            }
+            if (unfunded.isEmpty()) {
+                break;
+            }
+            log.warn("Settlement leaves outgoing transfers of {} unfunded accounts AUTHORIZED: {}", unfunded.size(), unfunded);
+            settled.removeIf(item -> unfunded.contains(item.sourceAccountId()));
+        }
+
+        int skipped = items.size() - settled.size();
+        if (settled.isEmpty()) {
+            return new SettlementResultDto(null, windowStart, windowEnd, 0, skipped, 0, BigDecimal.ZERO, 0L);
+        }
+
+        String settlementTxnId = GeneratorUtil.generateLedgerTransactionId();
+        LocalDateTime now = LocalDateTime.now();
+        String username = SecurityUtil.getCurrentUsername();
+        String actor = username != null ? username : "SYSTEM";
+        Long actorId = SecurityUtil.getCurrentUserId() != null ? SecurityUtil.getCurrentUserId() : SYSTEM_ACTOR_ID;
+
+        // Full per-transfer ledger entries, numbered and balanced from the locked account rows
+        List<LedgerEntry> entries = new ArrayList<>(settled.size() * 2);
+        Map<Long, Integer> entryCounts = new HashMap<>();
+        BigDecimal grossAmount = BigDecimal.ZERO;
+        for (Item item : settled) {
+            entries.add(buildLedgerEntry(settlementTxnId, item, item.sourceAccountId(), LedgerEntry.EntryType.DEBIT, now, actor));
+            entries.add(buildLedgerEntry(settlementTxnId, item, item.destinationAccountId(), LedgerEntry.EntryType.CREDIT, now, actor));
+            grossAmount = grossAmount.add(item.amount());
+        }
+        for (LedgerEntry entry : entries) {
+            Long accountId = entry.getAccount().getAccountId();
+            BigDecimal signedAmount = entry.getEntryType() == LedgerEntry.EntryType.CREDIT
+                ? entry.getAmount() : entry.getAmount().negate();
+            entry.setRunningBalance(runningBalances.merge(accountId, signedAmount, BigDecimal::add));
+            entry.setAccountSequence(sequences.merge(accountId, 1L, Long::sum));
+            entryCounts.merge(accountId, 1, Integer::sum);
+        }
+        jdbcBatchRepository.insertLedgerEntries(entries);
+        ledgerOutbox.record(entries);
+
+        // One balance update per account
+        netAmounts.values().removeIf(amount -> amount.signum() == 0);
+        jdbcBatchRepository.applyNetPositions(netAmounts, releasedHolds, entryCounts, actor);
+        balanceCache.refreshAfterCommit(entryCounts.keySet());
+
+        List<Long> holdIds = new ArrayList<>();
+        for (Item item : settled) {
+            holdsByTransfer.getOrDefault(item.transferId(), List.of()).forEach(hold -> holdIds.add(hold.holdId()));
+        }
+        long releasedOn = System.currentTimeMillis();
+        for (List<Long> chunk : chunk(holdIds)) {
+            holdRepository.releaseAll(chunk, releasedOn);
+        }
+
+        List<Long> settledIds = settled.stream().map(Item::transferId).toList();
+        for (List<Long> chunk : chunk(settledIds)) {
+            transferRepository.markPosted(chunk, settlementTxnId, now, actor);
+        }
+
+        List<TransferVersion> versions = new ArrayList<>(settled.size());
+        for (Item item : settled) {
+            long versionNumber = item.currentVersion() + 1L;
+            TransferVersion version = new TransferVersion();
+            version.setTransfer(transferRepository.getReferenceById(item.transferId()));
+            version.setSlot(TransferVersion.slotFor(versionNumber));
+            version.setVersionNumber(versionNumber);
+            version.setChangedBy(actorId);
+            version.setChangeSummary("Transfer posted in settlement " + settlementTxnId);
+            version.setCreatedAt(now);
+            version.setCreatedBy(actor);
+            versions.add(version);
+        }
+        jdbcBatchRepository.insertTransferVersions(versions);
+
+        for (Item item : settled) {
+            auditService.logAction(actorId, "TRANSFER_POST", "TRANSFER", item.transferId(), correlationId, "SUCCESS");
+            transferEventBus.publishAfterCommit(item.transferId(), item.sourceAccountId(), item.destinationAccountId(),
+                Transfer.TransferStatus.POSTED.name(), item.amount());
+        }
+
+        return new SettlementResultDto(settlementTxnId, windowStart, windowEnd, settled.size(), skipped,
+            netAmounts.size(), grossAmount, 0L);
+    }
+
+    private LedgerEntry buildLedgerEntry(String settlementTxnId, Item item, Long accountId, LedgerEntry.EntryType entryType,
+                                         LocalDateTime createdAt, String createdBy) {
+        LedgerEntry entry = new LedgerEntry();
+        entry.setLedgerTxnId(settlementTxnId);
+        entry.setAccount(accountRepository.getReferenceById(accountId));
+        entry.setEntryType(entryType);
+        entry.setAmount(item.amount());
+        entry.setDescription(item.description());
+        entry.setReferenceType("TRANSFER");
+        entry.setReferenceId(item.transferId());
+        entry.setCreatedAt(createdAt);
+        entry.setCreatedBy(createdBy);
+        return entry;
+    }
+
+    private static List<List<Long>> chunk(List<Long> ids) {
+        List<List<Long>> chunks = new ArrayList<>();
+        for (int start = 0; start < ids.size(); start += IN_CLAUSE_CHUNK) {
+            chunks.add(ids.subList(start, Math.min(start + IN_CLAUSE_CHUNK, ids.size())));
+        }
+        return chunks;
+    }
+}
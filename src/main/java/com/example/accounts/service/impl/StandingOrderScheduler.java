@@ -0,0 +1,401 @@
+package com.example.accounts.service.impl;
+
+import com.example.accounts.dto.TransferRequestDto;
+import com.example.accounts.dto.TransferResponseDto;
+import com.example.accounts.entity.StandingOrder;
+import com.example.accounts.entity.Transfer;
+import com.example.accounts.exception.AccessDeniedException;
+import com.example.accounts.exception.InsufficientFundsException;
+import com.example.accounts.exception.PostingRejectedException;
+import com.example.accounts.exception.TransferLimitExceededException;
+import com.example.accounts.reository.StandingOrderRepository;
+import com.example.accounts.service.AuditService;
+import com.example.accounts.service.AuthorizationService;
+import com.example.accounts.service.TransferService;
+import com.example.accounts.util.GeneratorUtil;
+import com.example.accounts.util.HierarchicalTimingWheel;
+import com.example.accounts.util.SecurityContextUtil;
+import jakarta.annotation.PostConstruct;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.RecoverableDataAccessException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.CannotCreateTransactionException;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * Runs standing orders inside the service instead of an external midnight cron.
+ *
+ * - Spreading: each order runs at a fixed offset within a daily window (window-start-hour,
+ *   spread-minutes), derived from its id, so a month's rent orders do not all fire at 00:00.
+ * - Queueing: orders due within load-horizon-minutes are kept in a timing wheel, refilled
+ *   from standing_orders every load-interval-ms; newly created or rescheduled orders are added
+ *   after commit. Each sweep runs at most max-per-sweep orders, the rest wait for the next one.
+ * - Execution: an occurrence goes through the regular TransferService path (initiate,
+ *   authorize, post) on behalf of the order's owner, with idempotency key SO-{id}-{date}, so
+ *   a crash or a second instance cannot create the occurrence's transfer twice.
+ * - Access: before each occurrence the owner's transfer access to the source account is
+ *   checked again, with the roles recorded when the order was created (CUSTOMER for orders
+ *   created before roles were recorded). If it has been revoked the order is cancelled and
+ *   audited, without retrying.
+ * - Insufficient funds, daily limit or a transient failure (posting queue full, lock timeout,
+ *   lost connection): the occurrence is retried every retry-interval-minutes up to max-retries
+ *   times, then skipped. An authorized transfer left behind is released by hold expiry.
+ * - Catch-up: after downtime, missed occurrences are due immediately and run one by one,
+ *   each with its own idempotency key, at the same bounded rate.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StandingOrderScheduler {
+
+    // Roles assumed for orders created before owner_roles was recorded: the least that can transfer
+    private static final String LEGACY_OWNER_ROLES = "ROLE_CUSTOMER";
+
+    private final StandingOrderRepository standingOrderRepository;
+    private final TransferService transferService;
+    private final TransactionTemplate transactionTemplate;
+    private final AuthorizationService authorizationService;
+    private final AuditService auditService;
+
+    @Value("${app.standing-orders.enabled:true}")
+    private boolean enabled;
+
+    @Value("${app.standing-orders.tick-ms:1000}")
+    private long tickMillis;
+
+    @Value("${app.standing-orders.max-per-sweep:100}")
+    private int maxPerSweep;
+
+    @Value("${app.standing-orders.load-horizon-minutes:120}")
+    private long loadHorizonMinutes;
+
+    @Value("${app.standing-orders.window-start-hour:1}")
+    private int windowStartHour;
+
+    @Value("${app.standing-orders.spread-minutes:360}")
+    private int spreadMinutes;
+
+    @Value("${app.standing-orders.retry-interval-minutes:60}")
+    private long retryIntervalMinutes;
+
+    @Value("${app.standing-orders.max-retries:6}")
+    private int maxRetries;
+
+    private HierarchicalTimingWheel<Long> wheel;
+    private final Set<Long> queued = ConcurrentHashMap.newKeySet();
+    private final Deque<Long> ready = new ArrayDeque<>();  // only touched by the sweep
+
+    private enum Result {
+        POSTED,
+        RETRY,
+        FAILED,
+        DENIED
+    }
+
+    private record Claim(Long standingOrderId, Long ownerUserId, String ownerRoles, LocalDate runDate,
+                         int retryCount, TransferRequestDto request) {
+    }
+
+    private record Outcome(Result result, Long transferId, String reason) {
+    }
+
+    @PostConstruct
+    public void init() {
+        wheel = new HierarchicalTimingWheel<>(tickMillis, 64, System.currentTimeMillis());
+    }
+
+    /**
+     * Set up the first occurrence of a new order. The order must already have its id.
+     */
+    public void prepareFirstOccurrence(StandingOrder order) {
+        order.setExecutionCount(0L);
+        order.setRetryCount(0);
+        order.setNextRunDate(order.getStartDate());
+        order.setNextExecutionAt(executionTime(order.getStandingOrderId(), order.getStartDate()));
+    }
+
+    /**
+     * Queue the order once the current transaction commits, if it is due within the horizon.
+     * Later orders are picked up by the periodic load.
+     */
+    public void scheduleAfterCommit(Long standingOrderId, LocalDateTime executeAt) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    queueIfWithinHorizon(standingOrderId, executeAt);
+                }
+            });
+        } else {
+            queueIfWithinHorizon(standingOrderId, executeAt);
+        }
+    }
+
+    /**
+     * Load active orders due within the horizon, including any missed while the service was down.
+     * Runs every load-interval-ms (default 10 minutes), starting at startup.
+     */
+    @Scheduled(fixedDelayString = "${app.standing-orders.load-interval-ms:600000}")
+    public void loadDueOrders() {
+        if (!enabled) {
+            return;
+        }
+        try {
+            LocalDateTime until = LocalDateTime.now().plusMinutes(loadHorizonMinutes);
+            List<Object[]> due = transactionTemplate.execute(status -> standingOrderRepository.findActiveDueBefore(until));
+            int added = 0;
+            for (Object[] row : due) {
+                if (queue(((Number) row[0]).longValue(), (LocalDateTime) row[1])) {
+                    added++;
+                }
+            }
+            log.debug("Standing order load: {} due before {}, {} newly queued", due.size(), until, added);
+        } catch (Exception e) {
+            log.error("Failed to load due standing orders", e);
+        }
+    }
+
+    /**
+     * Run due standing orders, at most max-per-sweep per call.
+     * Runs every tick-ms (default 1 second).
+     *
+     * @return number of occurrences whose transfer was posted
+     */
+    @Scheduled(fixedDelayString = "${app.standing-orders.tick-ms:1000}")
+    public int runDueOrders() {
+        if (!enabled) {
+            return 0;
+        }
+        ready.addAll(wheel.advance(System.currentTimeMillis()));
+        if (ready.isEmpty()) {
+            return 0;
+        }
+
+        String correlationId = GeneratorUtil.generateCorrelationId();
+        int processed = 0;
+        int posted = 0;
+        while (processed < maxPerSweep && !ready.isEmpty()) {
+            Long standingOrderId = ready.pollFirst();
+            queued.remove(standingOrderId);
+            processed++;
+            try {
+                if (execute(standingOrderId, correlationId) == Result.POSTED) {
+                    posted++;
+                }
+            } catch (Exception e) {
+                log.error("Standing order {} failed unexpectedly, retrying on a later sweep", standingOrderId, e);
+                queue(standingOrderId, LocalDateTime.now().plusMinutes(retryIntervalMinutes));
+            }
+        }
+
+        log.info("Standing order sweep: {} run, {} posted, {} still ready. CorrelationId: {}",
+            processed, posted, ready.size(), correlationId);
+        return posted;
+    }
+
+    // Helper methods
+    private Result execute(Long standingOrderId, String correlationId) {
+        Claim claim = transactionTemplate.execute(status -> claim(standingOrderId));
+        if (claim == null) {
+            return null;
+        }
+
+        Outcome outcome = runAsOwner(claim, () -> runOccurrence(claim, correlationId));
+        transactionTemplate.executeWithoutResult(status -> record(claim, outcome, correlationId));
+
+        log.info("Standing order {} occurrence {}: {} (transfer {}{}). CorrelationId: {}",
+            standingOrderId, claim.runDate(), outcome.result(), outcome.transferId(),
+            outcome.reason() != null ? ", " + outcome.reason() : "", correlationId);
+        return outcome.result();
+    }
+
+    /**
+     * Re-check the order under its row lock; null when it is no longer due (cancelled, or
+     * already run by another instance).
+     */
+    private Claim claim(Long standingOrderId) {
+        StandingOrder order = standingOrderRepository.lockById(standingOrderId).orElse(null);
+        if (order == null || order.getOrderStatus() != StandingOrder.OrderStatus.ACTIVE
+            || order.getNextExecutionAt() == null) {
+            return null;
+        }
+        if (order.getNextExecutionAt().isAfter(LocalDateTime.now())) {
+            queue(standingOrderId, order.getNextExecutionAt());
+            return null;
+        }
+
+        TransferRequestDto request = new TransferRequestDto(
+            order.getSourceAccountId(),
+            order.getDestinationAccountId(),
+            order.getAmount(),
+            order.getDescription(),
+            "SO-" + standingOrderId + "-" + order.getNextRunDate()
+        );
+        String ownerRoles = order.getOwnerRoles() != null ? order.getOwnerRoles() : LEGACY_OWNER_ROLES;
+        return new Claim(standingOrderId, order.getOwnerUserId(), ownerRoles, order.getNextRunDate(),
+            order.getRetryCount(), request);
+    }
+
+    /**
+     * Drive the occurrence's transfer to POSTED through the regular transfer path. Every step
+     * starts from the transfer's current status, so a retried occurrence picks up where the
+     * previous attempt stopped.
+     */
+    private Outcome runOccurrence(Claim claim, String correlationId) {
+        try {
+            authorizationService.validateTransferSourceAccess(
+                claim.request().getSourceAccountId(), SecurityContextUtil.getCurrentUserContext(), correlationId);
+        } catch (AccessDeniedException e) {
+            return new Outcome(Result.DENIED, null, e.getMessage());
+        }
+
+        Long transferId = null;
+        try {
+            TransferResponseDto transfer = transferService.initiateTransfer(claim.request(), correlationId);
+            transferId = transfer.getTransferId();
+
+            String status = transferService.getTransferStatus(transferId).getTransferStatus();
+            if (Transfer.TransferStatus.REQUESTED.name().equals(status)) {
+                status = transferService.authorizeTransfer(transferId, correlationId).getTransferStatus();
+            }
+            if (Transfer.TransferStatus.AUTHORIZED.name().equals(status)) {
+                status = transferService.postTransfer(transferId, correlationId).getTransferStatus();
+            }
+            if (Transfer.TransferStatus.POSTED.name().equals(status)) {
+                return new Outcome(Result.POSTED, transferId, null);
+            }
+            return new Outcome(Result.FAILED, transferId, "Transfer is " + status);
+        } catch (InsufficientFundsException | TransferLimitExceededException | PostingRejectedException
+                 | TransientDataAccessException | RecoverableDataAccessException
+                 | DataAccessResourceFailureException | CannotCreateTransactionException e) {
+            if (claim.retryCount() + 1 >= maxRetries) {
+                return new Outcome(Result.FAILED, transferId, e.getMessage() + " after " + maxRetries + " attempts");
+            }
+            return new Outcome(Result.RETRY, transferId, e.getMessage());
+        } catch (RuntimeException e) {
+            return new Outcome(Result.FAILED, transferId, e.getMessage());
+        }
+    }
+
+    private void record(Claim claim, Outcome outcome, String correlationId) {
+        StandingOrder order = standingOrderRepository.lockById(claim.standingOrderId()).orElse(null);
+        if (order == null || !claim.runDate().equals(order.getNextRunDate())) {
+            return;
+        }
+
+        order.setLastTransferId(outcome.transferId());
+        order.setLastExecutedAt(LocalDateTime.now());
+        order.setLastFailureReason(outcome.reason());
+
+        if (outcome.result() == Result.DENIED) {
+            order.setOrderStatus(StandingOrder.OrderStatus.CANCELLED);
+            order.setNextRunDate(null);
+            order.setNextExecutionAt(null);
+            auditService.logAction(claim.ownerUserId(), "UPDATE", "STANDING_ORDER", claim.standingOrderId(),
+                correlationId, "ACCESS_DENIED");
+        } else if (outcome.result() == Result.RETRY) {
+            order.setRetryCount(order.getRetryCount() + 1);
+            order.setNextExecutionAt(LocalDateTime.now().plusMinutes(retryIntervalMinutes));
+        } else {
+            advance(order);
+        }
+        standingOrderRepository.save(order);
+
+        if (order.getOrderStatus() == StandingOrder.OrderStatus.ACTIVE) {
+            scheduleAfterCommit(order.getStandingOrderId(), order.getNextExecutionAt());
+        }
+    }
+
+    /**
+     * Move to the next occurrence, computed from the start date so monthly orders keep their
+     * day of month (Jan 31 -> Feb 28 -> Mar 31).
+     */
+    private void advance(StandingOrder order) {
+        long executionCount = order.getExecutionCount() + 1;
+        order.setExecutionCount(executionCount);
+        order.setRetryCount(0);
+
+        LocalDate next = switch (order.getFrequency()) {
+            case ONCE -> null;
+            case DAILY -> order.getStartDate().plusDays(executionCount);
+            case WEEKLY -> order.getStartDate().plusWeeks(executionCount);
+            case MONTHLY -> order.getStartDate().plusMonths(executionCount);
+        };
+
+        if (next == null || (order.getEndDate() != null && next.isAfter(order.getEndDate()))) {
+            order.setOrderStatus(StandingOrder.OrderStatus.COMPLETED);
+            order.setNextRunDate(null);
+            order.setNextExecutionAt(null);
+        } else {
+            order.setNextRunDate(next);
+            order.setNextExecutionAt(executionTime(order.getStandingOrderId(), next));
+        }
+    }
+
+    private LocalDateTime executionTime(Long standingOrderId, LocalDate runDate) {
+        // Fibonacci hashing spreads sequential IDs evenly across the window
+        long mixed = standingOrderId * 0x9E3779B97F4A7C15L;
+        int offsetMinutes = Math.floorMod(Long.hashCode(mixed), Math.max(spreadMinutes, 1));
+        return runDate.atTime(windowStartHour, 0).plusMinutes(offsetMinutes);
+    }
+
+    /**
+     * Run the access check and transfer calls as the order's owner: both take the user, its
+     * roles and the audit actor from the SecurityContext.
+     */
+    private Outcome runAsOwner(Claim claim, Supplier<Outcome> body) {
+        UsernamePasswordAuthenticationToken owner = new UsernamePasswordAuthenticationToken(
+            "standing-order-" + claim.standingOrderId(), null,
+            AuthorityUtils.commaSeparatedStringToAuthorityList(claim.ownerRoles()));
+        owner.setDetails(claim.ownerUserId().toString());
+
+        SecurityContext previous = SecurityContextHolder.getContext();
+        SecurityContext context = SecurityContextHolder.createEmptyContext();
+        context.setAuthentication(owner);
+        SecurityContextHolder.setContext(context);
+        try {
+            return body.get();
+        } finally {
+            SecurityContextHolder.setContext(previous);
+        }
+    }
+
+    private void queueIfWithinHorizon(Long standingOrderId, LocalDateTime executeAt) {
+        if (executeAt != null && executeAt.isBefore(LocalDateTime.now().plusMinutes(loadHorizonMinutes))) {
+            queue(standingOrderId, executeAt);
+        }
+    }
+
+    private boolean queue(Long standingOrderId, LocalDateTime executeAt) {
+        if (!queued.add(standingOrderId)) {
+            return false;
+        }
+        long deadline = executeAt.atZone(ZoneId.systemDefault()).toInstant().toEpochMilli();
+        if (!wheel.add(standingOrderId, deadline)) {
+            // Already due: pick it up on the next sweep
+            wheel.add(standingOrderId, System.currentTimeMillis() + tickMillis);
+        }
+        return true;
+    }
+}
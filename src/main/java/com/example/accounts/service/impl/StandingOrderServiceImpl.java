@@ -0,0 +1,141 @@
+package com.example.accounts.service.impl;
+
+import com.example.accounts.dto.CurrentUserContext;
+import com.example.accounts.dto.StandingOrderDto;
+import com.example.accounts.dto.StandingOrderRequestDto;
+import com.example.accounts.entity.Account;
+import com.example.accounts.entity.StandingOrder;
+import com.example.accounts.exception.InvalidTransferException;
+import com.example.accounts.exception.ResourceNotFoundException;
+import com.example.accounts.reository.AccountRepository;
+import com.example.accounts.reository.StandingOrderRepository;
+import com.example.accounts.service.AuditService;
+import com.example.accounts.service.StandingOrderService;
+import com.example.accounts.util.SecurityContextUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.util.List;
+
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class StandingOrderServiceImpl implements StandingOrderService {
+
+    private final StandingOrderRepository standingOrderRepository;
+    private final AccountRepository accountRepository;
+    private final AuditService auditService;
+    private final StandingOrderScheduler standingOrderScheduler;
+
+    @Override
+    @Transactional
+    public StandingOrderDto createStandingOrder(StandingOrderRequestDto request, String correlationId) {
+        if (request.getSourceAccountId().equals(request.getDestinationAccountId())) {
+            throw new InvalidTransferException("Source and destination accounts must differ");
+        }
+        if (request.getEndDate() != null && request.getEndDate().isBefore(request.getStartDate())) {
+            throw new InvalidTransferException("End date cannot be before start date");
+        }
+
+        Account sourceAccount = accountRepository.findById(request.getSourceAccountId())
+            .orElseThrow(() -> new InvalidTransferException("Source account not found"));
+        Account destinationAccount = accountRepository.findById(request.getDestinationAccountId())
+            .orElseThrow(() -> new InvalidTransferException("Destination account not found"));
+        if (sourceAccount.getAccountStatus() != Account.AccountStatus.ACTIVE) {
+            throw new InvalidTransferException("Source account is not active");
+        }
+        if (destinationAccount.getAccountStatus() != Account.AccountStatus.ACTIVE) {
+            throw new InvalidTransferException("Destination account is not active");
+        }
+
+        CurrentUserContext currentUser = SecurityContextUtil.getCurrentUserContext();
+        Long currentUserId = currentUser.getUserId();
+        if (currentUserId == null) {
+            throw new InvalidTransferException("Standing orders can only be created by an identified user");
+        }
+
+        StandingOrder order = new StandingOrder();
+        order.setSourceAccountId(request.getSourceAccountId());
+        order.setDestinationAccountId(request.getDestinationAccountId());
+        order.setAmount(request.getAmount());
+        order.setDescription(request.getDescription());
+        order.setFrequency(request.getFrequency());
+        order.setStartDate(request.getStartDate());
+        order.setEndDate(request.getEndDate());
+        order.setOrderStatus(StandingOrder.OrderStatus.ACTIVE);
+        order.setOwnerUserId(currentUserId);
+        order.setOwnerRoles(String.join(",", currentUser.getRoles()));
+        StandingOrder saved = standingOrderRepository.save(order);
+
+        // The execution time within the day is derived from the id
+        standingOrderScheduler.prepareFirstOccurrence(saved);
+        saved = standingOrderRepository.save(saved);
+        standingOrderScheduler.scheduleAfterCommit(saved.getStandingOrderId(), saved.getNextExecutionAt());
+
+        log.info("Standing order created. ID: {}, Frequency: {}, First run: {}, CorrelationId: {}",
+            saved.getStandingOrderId(), saved.getFrequency(), saved.getNextExecutionAt(), correlationId);
+        auditService.logAction(currentUserId, "CREATE", "STANDING_ORDER", saved.getStandingOrderId(), correlationId, "SUCCESS");
+
+        return convertToDto(saved);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public StandingOrderDto getStandingOrder(Long standingOrderId) {
+        return standingOrderRepository.findById(standingOrderId)
+            .map(this::convertToDto)
+            .orElseThrow(() -> new ResourceNotFoundException("Standing order not found"));
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public List<StandingOrderDto> getStandingOrdersByAccount(Long accountId) {
+        return standingOrderRepository.findByAccount(accountId).stream()
+            .map(this::convertToDto)
+            .toList();
+    }
+
+    @Override
+    @Transactional
+    public StandingOrderDto cancelStandingOrder(Long standingOrderId, String correlationId) {
+        StandingOrder order = standingOrderRepository.lockById(standingOrderId)
+            .orElseThrow(() -> new ResourceNotFoundException("Standing order not found"));
+        if (order.getOrderStatus() != StandingOrder.OrderStatus.ACTIVE) {
+            throw new InvalidTransferException("Standing order is not active");
+        }
+
+        order.setOrderStatus(StandingOrder.OrderStatus.CANCELLED);
+        order.setNextRunDate(null);
+        order.setNextExecutionAt(null);
+        StandingOrder saved = standingOrderRepository.save(order);
+
+        log.info("Standing order {} cancelled. CorrelationId: {}", standingOrderId, correlationId);
+        auditService.logAction(SecurityContextUtil.getCurrentUserContext().getUserId(), "UPDATE", "STANDING_ORDER",
+            standingOrderId, correlationId, "SUCCESS");
+
+        return convertToDto(saved);
+    }
+
+    // Helper methods
+    private StandingOrderDto convertToDto(StandingOrder order) {
+        return new StandingOrderDto(
+            order.getStandingOrderId(),
+            order.getSourceAccountId(),
+            order.getDestinationAccountId(),
+            order.getAmount(),
+            order.getDescription(),
+            order.getFrequency().toString(),
+            order.getStartDate(),
+            order.getEndDate(),
+            order.getOrderStatus().toString(),
+            order.getNextRunDate(),
+            order.getNextExecutionAt(),
+            order.getExecutionCount(),
+            order.getLastTransferId(),
+            order.getLastExecutedAt(),
+            order.getLastFailureReason()
+        );
+    }
+}
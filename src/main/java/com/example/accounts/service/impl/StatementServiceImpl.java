@@ -4,19 +4,30 @@ import com.example.accounts.dto.StatementDto;
 import com.example.accounts.dto.StatementLineItemDto;
 import com.example.accounts.entity.Account;
 import com.example.accounts.entity.LedgerEntry;
+import com.example.accounts.entity.Statement;
+import com.example.accounts.entity.StatementLineItem;
+import com.example.accounts.money.Money;
 import com.example.accounts.reository.AccountRepository;
-import com.example.accounts.reository.LedgerRepository;
+import com.example.accounts.reository.JdbcBatchRepository;
+import com.example.accounts.reository.StatementRepository;
+import com.example.accounts.service.LedgerService;
 import com.example.accounts.service.StatementService;
 import com.opencsv.CSVWriter;
+import jakarta.annotation.PostConstruct;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.apache.poi.ss.usermodel.*;
 import org.apache.poi.xssf.usermodel.XSSFWorkbook;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataIntegrityViolationException;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.io.*;
 import java.math.BigDecimal;
@@ -26,13 +37,38 @@ import java.time.YearMonth;
 import java.time.format.DateTimeFormatter;
 import java.util.*;
 
+/**
+ * Monthly statements.
+ *
+ * A month is closed settle-seconds after it ends (postings stamped just before midnight may
+ * commit just after). Closed months are generated once, by the month-end job or on first view,
+ * and stored with their line items; views and exports of a closed month then read the stored
+ * statement. The open month, which changes with every posting, is generated from the ledger on
+ * each call. A generated month opens with the previous month's stored closing balance when there
+ * is one, instead of the balance as of the month start.
+ */
 @Service
 @RequiredArgsConstructor
 @Slf4j
 public class StatementServiceImpl implements StatementService {
 
     private final AccountRepository accountRepository;
-    private final LedgerRepository ledgerRepository;
+    private final LedgerService ledgerService;
+    private final StatementRepository statementRepository;
+    private final JdbcBatchRepository jdbcBatchRepository;
+    private final PlatformTransactionManager transactionManager;
+
+    @Value("${app.statements.settle-seconds:300}")
+    private long settleSeconds;
+
+    private TransactionTemplate storeTemplate;
+
+    @PostConstruct
+    public void init() {
+        // Statements first viewed inside a read-only transaction are stored in their own
+        storeTemplate = new TransactionTemplate(transactionManager);
+        storeTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
 
     @Override
     @Transactional(readOnly = true)
@@ -42,43 +78,50 @@ public class StatementServiceImpl implements StatementService {
         Account account = accountRepository.findById(accountId)
                 .orElseThrow(() -> new RuntimeException("Account not found"));
 
-        // Calculate period dates
+        // The period is [periodStart, nextPeriodStart): an entry stamped in the month's last
+        // second, fraction included, belongs to this month and to no other
         LocalDateTime periodStart = yearMonth.atDay(1).atStartOfDay();
+        LocalDateTime nextPeriodStart = yearMonth.plusMonths(1).atDay(1).atStartOfDay();
+        // Shown on the statement only
         LocalDateTime periodEnd = yearMonth.atEndOfMonth().atTime(23, 59, 59);
 
         // Get ledger entries for the period
-        List<LedgerEntry> ledgerEntries = ledgerRepository.findLedgerByAccountAndDateRange(
-                accountId, periodStart, periodEnd);
+        List<LedgerEntry> ledgerEntries = ledgerService.findEntries(
+                accountId, periodStart, nextPeriodStart);
 
-        // Calculate opening balance (balance before period start)
-        LocalDateTime beforePeriodStart = periodStart.minusSeconds(1);
-        BigDecimal openingBalance = calculateBalanceBeforeDate(accountId, beforePeriodStart);
+        // Opening balance: last month's stored closing balance, else the balance before period start
+        YearMonth previousMonth = yearMonth.minusMonths(1);
+        BigDecimal openingBalance = statementRepository
+                .findClosingBalance(accountId, previousMonth.getYear(), previousMonth.getMonthValue())
+                .orElseGet(() -> ledgerService.getBalanceBefore(accountId, periodStart));
 
-        // Calculate totals from ledger entries
-        BigDecimal totalCredits = BigDecimal.ZERO;
-        BigDecimal totalDebits = BigDecimal.ZERO;
-        BigDecimal totalInterest = BigDecimal.ZERO;
-        BigDecimal totalFees = BigDecimal.ZERO;
+        // Calculate totals from ledger entries, in minor units
+        long totalCredits = 0L;
+        long totalDebits = 0L;
+        long totalInterest = 0L;
+        long totalFees = 0L;
 
         for (LedgerEntry entry : ledgerEntries) {
+            long amount = Money.toMinorUnits(entry.getAmount());
             if (entry.getEntryType() == LedgerEntry.EntryType.CREDIT) {
-                totalCredits = totalCredits.add(entry.getAmount());
+                totalCredits = Math.addExact(totalCredits, amount);
             } else {
-                totalDebits = totalDebits.add(entry.getAmount());
+                totalDebits = Math.addExact(totalDebits, amount);
             }
 
             if ("INTEREST".equalsIgnoreCase(entry.getReferenceType())) {
-                totalInterest = totalInterest.add(entry.getAmount());
+                totalInterest = Math.addExact(totalInterest, amount);
             } else if ("FEE".equalsIgnoreCase(entry.getReferenceType())) {
-                totalFees = totalFees.add(entry.getAmount());
+                totalFees = Math.addExact(totalFees, amount);
             }
         }
 
         // Calculate closing balance
-        BigDecimal closingBalance = openingBalance.add(totalCredits).subtract(totalDebits);
+        long opening = Money.toMinorUnits(openingBalance.setScale(Money.DEFAULT_SCALE, RoundingMode.HALF_UP));
+        long closingBalance = Math.subtractExact(Math.addExact(opening, totalCredits), totalDebits);
 
         // Create line items with running balance
-        List<StatementLineItemDto> lineItems = createLineItems(ledgerEntries, openingBalance);
+        List<StatementLineItemDto> lineItems = createLineItems(ledgerEntries, opening);
 
         // Create and populate DTO
         StatementDto statement = new StatementDto();
@@ -95,13 +138,13 @@ public class StatementServiceImpl implements StatementService {
         statement.setPeriodStart(periodStart);
         statement.setPeriodEnd(periodEnd);
 
-        statement.setOpeningBalance(openingBalance.setScale(2, RoundingMode.HALF_UP));
-        statement.setClosingBalance(closingBalance.setScale(2, RoundingMode.HALF_UP));
+        statement.setOpeningBalance(Money.toBigDecimal(opening));
+        statement.setClosingBalance(Money.toBigDecimal(closingBalance));
 
-        statement.setTotalCredits(totalCredits.setScale(2, RoundingMode.HALF_UP));
-        statement.setTotalDebits(totalDebits.setScale(2, RoundingMode.HALF_UP));
-        statement.setTotalInterest(totalInterest.setScale(2, RoundingMode.HALF_UP));
-        statement.setTotalFees(totalFees.setScale(2, RoundingMode.HALF_UP));
+        statement.setTotalCredits(Money.toBigDecimal(totalCredits));
+        statement.setTotalDebits(Money.toBigDecimal(totalDebits));
+        statement.setTotalInterest(Money.toBigDecimal(totalInterest));
+        statement.setTotalFees(Money.toBigDecimal(totalFees));
 
         statement.setTransactionCount((long) ledgerEntries.size());
         statement.setGeneratedAt(LocalDateTime.now());
@@ -115,8 +158,46 @@ public class StatementServiceImpl implements StatementService {
     @Override
     @Transactional(readOnly = true)
     public StatementDto getStatement(Long accountId, YearMonth yearMonth) {
-        // In this implementation, we generate on-demand
-        return generateStatement(accountId, yearMonth);
+        if (!isClosed(yearMonth)) {
+            return generateStatement(accountId, yearMonth);
+        }
+
+        Optional<Statement> stored = statementRepository.findWithLineItems(
+                accountId, yearMonth.getYear(), yearMonth.getMonthValue());
+        if (stored.isPresent()) {
+            return convertToDto(stored.get());
+        }
+
+        // Not reached by the month-end job yet, or closed before statements were stored
+        StatementDto statement = generateStatement(accountId, yearMonth);
+        try {
+            storeTemplate.executeWithoutResult(status -> store(statement));
+        } catch (DataIntegrityViolationException e) {
+            // Stored concurrently from the same closed month
+            log.debug("Statement for account {} for period {} already stored", accountId, yearMonth);
+        }
+        return statement;
+    }
+
+    @Override
+    @Transactional
+    public boolean materializeStatement(Long accountId, YearMonth yearMonth) {
+        if (!isClosed(yearMonth)) {
+            throw new IllegalStateException("Statement period " + yearMonth + " is not closed yet");
+        }
+        if (statementRepository.existsByAccountIdAndStatementYearAndStatementMonth(
+                accountId, yearMonth.getYear(), yearMonth.getMonthValue())) {
+            return false;
+        }
+
+        Account account = accountRepository.findById(accountId)
+                .orElseThrow(() -> new RuntimeException("Account not found"));
+        if (account.getCreatedAt() != null && !account.getCreatedAt().isBefore(yearMonth.plusMonths(1).atDay(1).atStartOfDay())) {
+            return false;  // opened after the period
+        }
+
+        store(generateStatement(accountId, yearMonth));
+        return true;
     }
 
     @Override
@@ -132,7 +213,7 @@ public class StatementServiceImpl implements StatementService {
 
         for (int i = 0; i < 12; i++) {
             try {
-                StatementDto stmt = generateStatement(accountId, currentMonth);
+                StatementDto stmt = getStatement(accountId, currentMonth);
                 statements.add(stmt);
                 currentMonth = currentMonth.minusMonths(1);
             } catch (Exception e) {
@@ -148,7 +229,7 @@ public class StatementServiceImpl implements StatementService {
     public String exportToCsv(Long accountId, YearMonth yearMonth) {
         log.info("Exporting statement to CSV for account {} for period {}", accountId, yearMonth);
 
-        StatementDto statement = generateStatement(accountId, yearMonth);
+        StatementDto statement = getStatement(accountId, yearMonth);
 
         try (StringWriter stringWriter = new StringWriter();
              CSVWriter csvWriter = new CSVWriter(stringWriter)) {
@@ -206,7 +287,7 @@ public class StatementServiceImpl implements StatementService {
     public byte[] exportToXlsx(Long accountId, YearMonth yearMonth) {
         log.info("Exporting statement to XLSX for account {} for period {}", accountId, yearMonth);
 
-        StatementDto statement = generateStatement(accountId, yearMonth);
+        StatementDto statement = getStatement(accountId, yearMonth);
 
         try (Workbook workbook = new XSSFWorkbook()) {
             Sheet sheet = workbook.createSheet("Statement");
@@ -304,25 +385,87 @@ public class StatementServiceImpl implements StatementService {
     }
 
     // Helper methods
-    private BigDecimal calculateBalanceBeforeDate(Long accountId, LocalDateTime beforeDate) {
-        // Get all ledger entries before the date and calculate balance
-        List<LedgerEntry> entriesBeforeDate = ledgerRepository.findLedgerByAccountAndDateRange(
-                accountId, LocalDateTime.of(2000, 1, 1, 0, 0, 0), beforeDate);
+    private boolean isClosed(YearMonth yearMonth) {
+        LocalDateTime closesAt = yearMonth.plusMonths(1).atDay(1).atStartOfDay().plusSeconds(settleSeconds);
+        return !LocalDateTime.now().isBefore(closesAt);
+    }
 
-        BigDecimal balance = BigDecimal.ZERO;
-        for (LedgerEntry entry : entriesBeforeDate) {
-            if (entry.getEntryType() == LedgerEntry.EntryType.CREDIT) {
-                balance = balance.add(entry.getAmount());
-            } else {
-                balance = balance.subtract(entry.getAmount());
-            }
+    private void store(StatementDto dto) {
+        Statement statement = new Statement();
+        statement.setAccountId(dto.getAccountId());
+        statement.setStatementYear(dto.getYear());
+        statement.setStatementMonth(dto.getMonth());
+        statement.setAccountNumber(dto.getAccountNumber());
+        statement.setCustomerName(dto.getCustomerName());
+        statement.setAccountType(dto.getAccountType());
+        statement.setAccountStatus(dto.getAccountStatus());
+        statement.setCurrency(dto.getCurrency());
+        statement.setPeriodStart(dto.getPeriodStart());
+        statement.setPeriodEnd(dto.getPeriodEnd());
+        statement.setOpeningBalance(dto.getOpeningBalance());
+        statement.setClosingBalance(dto.getClosingBalance());
+        statement.setTotalCredits(dto.getTotalCredits());
+        statement.setTotalDebits(dto.getTotalDebits());
+        statement.setTotalInterest(dto.getTotalInterest());
+        statement.setTotalFees(dto.getTotalFees());
+        statement.setTransactionCount(dto.getTransactionCount());
+        statement.setGeneratedAt(dto.getGeneratedAt());
+        // Flushed now: the unique period key rejects a duplicate before any line item is written
+        statementRepository.saveAndFlush(statement);
+
+        List<StatementLineItem> lineItems = new ArrayList<>(dto.getLineItems().size());
+        int lineNumber = 0;
+        for (StatementLineItemDto itemDto : dto.getLineItems()) {
+            StatementLineItem item = new StatementLineItem();
+            item.setStatement(statement);
+            item.setLineNumber(++lineNumber);
+            item.setTransactionDate(itemDto.getTransactionDate());
+            item.setEntryType(itemDto.getEntryType());
+            item.setAmount(itemDto.getAmount());
+            item.setDescription(itemDto.getDescription());
+            item.setReferenceType(itemDto.getReferenceType());
+            item.setRunningBalance(itemDto.getRunningBalance());
+            lineItems.add(item);
+        }
+        jdbcBatchRepository.insertStatementLineItems(lineItems);
+
+        log.info("Stored statement for account {} for period {}-{} with {} line items",
+                dto.getAccountId(), dto.getYear(), dto.getMonth(), lineItems.size());
+    }
+
+    private StatementDto convertToDto(Statement statement) {
+        StatementDto dto = new StatementDto();
+        dto.setAccountId(statement.getAccountId());
+        dto.setAccountNumber(statement.getAccountNumber());
+        dto.setCustomerName(statement.getCustomerName());
+        dto.setAccountType(statement.getAccountType());
+        dto.setAccountStatus(statement.getAccountStatus());
+        dto.setCurrency(statement.getCurrency());
+        dto.setMonth(statement.getStatementMonth());
+        dto.setYear(statement.getStatementYear());
+        dto.setPeriodStart(statement.getPeriodStart());
+        dto.setPeriodEnd(statement.getPeriodEnd());
+        dto.setOpeningBalance(statement.getOpeningBalance());
+        dto.setClosingBalance(statement.getClosingBalance());
+        dto.setTotalCredits(statement.getTotalCredits());
+        dto.setTotalDebits(statement.getTotalDebits());
+        dto.setTotalInterest(statement.getTotalInterest());
+        dto.setTotalFees(statement.getTotalFees());
+        dto.setTransactionCount(statement.getTransactionCount());
+        dto.setGeneratedAt(statement.getGeneratedAt());
+
+        List<StatementLineItemDto> lineItems = new ArrayList<>(statement.getLineItems().size());
+        for (StatementLineItem item : statement.getLineItems()) {
+            lineItems.add(new StatementLineItemDto(item.getTransactionDate(), item.getEntryType(), item.getAmount(),
+                    item.getDescription(), item.getReferenceType(), item.getRunningBalance()));
         }
-        return balance;
+        dto.setLineItems(lineItems);
+        return dto;
     }
 
-    private List<StatementLineItemDto> createLineItems(List<LedgerEntry> ledgerEntries, BigDecimal openingBalance) {
-        List<StatementLineItemDto> lineItems = new ArrayList<>();
-        BigDecimal runningBalance = openingBalance;
+    private List<StatementLineItemDto> createLineItems(List<LedgerEntry> ledgerEntries, long openingBalance) {
+        List<StatementLineItemDto> lineItems = new ArrayList<>(ledgerEntries.size());
+        long runningBalance = openingBalance;
 
         for (LedgerEntry entry : ledgerEntries) {
             StatementLineItemDto lineItem = new StatementLineItemDto();
@@ -332,13 +475,12 @@ public class StatementServiceImpl implements StatementService {
             lineItem.setDescription(entry.getDescription());
             lineItem.setReferenceType(entry.getReferenceType());
 
-            // Calculate running balance
-            if (entry.getEntryType() == LedgerEntry.EntryType.CREDIT) {
-                runningBalance = runningBalance.add(entry.getAmount());
-            } else {
-                runningBalance = runningBalance.subtract(entry.getAmount());
-            }
-            lineItem.setRunningBalance(runningBalance.setScale(2, RoundingMode.HALF_UP));
+            // Calculate running balance in minor units
+            long amount = Money.toMinorUnits(entry.getAmount());
+            runningBalance = entry.getEntryType() == LedgerEntry.EntryType.CREDIT
+                ? Math.addExact(runningBalance, amount)
+                : Math.subtractExact(runningBalance, amount);
+            lineItem.setRunningBalance(Money.toBigDecimal(runningBalance));
 
             lineItems.add(lineItem);
         }
@@ -0,0 +1,349 @@
+package com.example.accounts.service.impl;
+
+import com.example.accounts.dto.BatchTransferItemResultDto;
+import com.example.accounts.dto.BatchTransferResponseDto;
+import com.example.accounts.dto.TransferRequestDto;
+import com.example.accounts.dto.TransferResponseDto;
+import com.example.accounts.entity.*;
+import com.example.accounts.events.TransferEventBus;
+import com.example.accounts.exception.InvalidTransferException;
+import com.example.accounts.reository.AccountRepository;
+import com.example.accounts.reository.JdbcBatchRepository;
+import com.example.accounts.service.DailyLimitService;
+import com.example.accounts.service.IdempotencyService;
+import com.example.accounts.service.TransferBatchService;
+import com.example.accounts.util.SecurityContextUtil;
+import com.example.accounts.util.SecurityUtil;
+import jakarta.validation.ConstraintViolation;
+import jakarta.validation.Validator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+
+import java.math.BigDecimal;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+
+/**
+ * Bulk transfer submission.
+ *
+ * Produces the same rows as TransferServiceImpl.initiateTransfer (transfer, version #1,
+ * TRANSFER_REQUEST audit, optional idempotency record) but for a whole file at once.
+ * Every item gets its own result: a malformed item (bean validation runs here, per item, not on
+ * the request body) or a rejected one does not fail the rest of the batch.
+ * - one query for all involved accounts
+ * - one query for today's daily-limit counters of all source accounts, and one
+ *   counter reservation per source account
+ * - one bulk idempotency lookup
+ * - JDBC batch inserts for transfers, versions, audit logs and idempotency records
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TransferBatchServiceImpl implements TransferBatchService {
+
+    private final AccountRepository accountRepository;
+    private final JdbcBatchRepository jdbcBatchRepository;
+    private final IdempotencyService idempotencyService;
+    private final DailyLimitService dailyLimitService;
+    private final TransferEventBus transferEventBus;
+    private final Validator validator;
+
+    @Value("${app.transfers.batch.max-size:10000}")
+    private int maxBatchSize;
+
+    @Override
+    @Transactional
+    public BatchTransferResponseDto initiateTransferBatch(List<TransferRequestDto> requests, String correlationId) {
+        long startTime = System.currentTimeMillis();
+
+        if (requests == null || requests.isEmpty()) {
+            throw new InvalidTransferException("Batch must contain at least one transfer");
+        }
+        if (requests.size() > maxBatchSize) {
+            throw new InvalidTransferException("Batch size " + requests.size() + " exceeds maximum of " + maxBatchSize);
+        }
+
+        Long currentUserId = getCurrentUserId();
+        String createdBy = getCurrentUsername();
+        LocalDateTime now = LocalDateTime.now();
+
+        BatchTransferItemResultDto[] results = new BatchTransferItemResultDto[requests.size()];
+        List<TransferRequestDto> validRequests = new ArrayList<>(requests.size());
+        for (int i = 0; i < requests.size(); i++) {
+            String violations = violations(requests.get(i));
+            if (violations != null) {
+                results[i] = failure(i, "INVALID_REQUEST", violations);
+            } else {
+                validRequests.add(requests.get(i));
+            }
+        }
+
+        // Load every account referenced by the batch in one query
+        Set<Long> accountIds = new HashSet<>();
+        for (TransferRequestDto request : validRequests) {
+            accountIds.add(request.getSourceAccountId());
+            accountIds.add(request.getDestinationAccountId());
+        }
+        Map<Long, Account> accounts = accountRepository.findAllById(accountIds).stream()
+            .collect(Collectors.toMap(Account::getAccountId, Function.identity()));
+
+        // Resolve idempotency keys in one query
+        Set<String> idempotencyKeys = validRequests.stream()
+            .map(TransferRequestDto::getIdempotencyKey)
+            .filter(Objects::nonNull)
+            .collect(Collectors.toSet());
+        Map<String, IdempotencyKey> existingKeys = idempotencyService.findActiveKeys(idempotencyKeys);
+        Set<String> keysSeenInBatch = new HashSet<>();
+
+        // Today's totals per source account, read once for the whole batch
+        Set<Long> sourceAccountIds = validRequests.stream()
+            .map(TransferRequestDto::getSourceAccountId)
+            .collect(Collectors.toSet());
+        Map<Long, BigDecimal> dailyTotals = dailyLimitService.getTodaysTotals(sourceAccountIds);
+        BigDecimal perTxLimit = dailyLimitService.getPerTransactionLimit();
+        BigDecimal dailyLimit = dailyLimitService.getDailyLimit();
+
+        List<Transfer> transfers = new ArrayList<>();
+        List<Integer> transferIndexes = new ArrayList<>();
+
+        for (int i = 0; i < requests.size(); i++) {
+            if (results[i] != null) {
+                continue;
+            }
+            TransferRequestDto request = requests.get(i);
+            String idempotencyKey = request.getIdempotencyKey();
+
+            // Idempotency: replay cached responses, reject reused keys
+            if (idempotencyKey != null) {
+                IdempotencyKey existing = existingKeys.get(idempotencyKey);
+                if (existing != null) {
+                    if (!existing.getRequestHash().equals(idempotencyService.generateRequestHash(request))) {
+                        results[i] = failure(i, "IDEMPOTENCY_CONFLICT", "Idempotency key used with different request");
+                        continue;
+                    }
+                    TransferResponseDto cached = idempotencyService.deserializeResponse(existing, TransferResponseDto.class);
+                    if (cached == null) {
+                        // The key's first request has not stored a response yet: never create a second transfer for it
+                        results[i] = failure(i, "IDEMPOTENCY_IN_PROGRESS", "A request with this idempotency key is still in progress");
+                        continue;
+                    }
+                    cached.setCorrelationId(correlationId);
+                    results[i] = new BatchTransferItemResultDto(i, true, cached, null, "Returning cached response for idempotency key");
+                    continue;
+                }
+                if (!keysSeenInBatch.add(idempotencyKey)) {
+                    results[i] = failure(i, "IDEMPOTENCY_CONFLICT", "Duplicate idempotency key within batch");
+                    continue;
+                }
+            }
+
+            String error = validate(request, accounts);
+            if (error != null) {
+                results[i] = failure(i, "INVALID_TRANSFER", error);
+                continue;
+            }
+
+            if (request.getAmount().compareTo(perTxLimit) > 0) {
+                results[i] = failure(i, "LIMIT_PER_TX_EXCEEDED", "Per transaction limit exceeded: " + perTxLimit);
+                continue;
+            }
+
+            // Accepted items count towards the daily total of later items in the same batch
+            BigDecimal todaysTotal = dailyTotals.getOrDefault(request.getSourceAccountId(), BigDecimal.ZERO);
+            BigDecimal newTotal = todaysTotal.add(request.getAmount());
+            if (newTotal.compareTo(dailyLimit) > 0) {
+                results[i] = failure(i, "LIMIT_DAILY_EXCEEDED", "Daily limit exceeded: " + dailyLimit);
+                continue;
+            }
+            dailyTotals.put(request.getSourceAccountId(), newTotal);
+
+            Account sourceAccount = accounts.get(request.getSourceAccountId());
+            Transfer transfer = new Transfer();
+            transfer.setSourceAccount(sourceAccount);
+            transfer.setDestinationAccount(accounts.get(request.getDestinationAccountId()));
+            transfer.setAmount(request.getAmount());
+            transfer.setCurrency(sourceAccount.getCurrency());
+            transfer.setDescription(request.getDescription());
+            transfer.setTransferStatus(Transfer.TransferStatus.REQUESTED);
+            transfer.setInitiatedBy(currentUserId);
+            transfer.setIdempotencyKey(idempotencyKey);
+            transfer.setCurrentVersion(1L);
+            transfer.setCreatedAt(now);
+            transfer.setCreatedBy(createdBy);
+
+            transfers.add(transfer);
+            transferIndexes.add(i);
+        }
+
+        // Reserve the accepted amounts on each source account's daily counter in one update.
+        // A concurrent initiation may have used up the limit since the read above.
+        reserveDailyTotals(transfers, transferIndexes, results, dailyLimit);
+
+        // Persist accepted transfers, then their version and audit rows, in JDBC batches
+        jdbcBatchRepository.insertTransfers(transfers);
+
+        List<TransferVersion> versions = new ArrayList<>(transfers.size());
+        List<AuditLog> auditLogs = new ArrayList<>(transfers.size());
+        List<IdempotencyKey> newKeys = new ArrayList<>();
+
+        for (int t = 0; t < transfers.size(); t++) {
+            Transfer transfer = transfers.get(t);
+            int index = transferIndexes.get(t);
+
+            versions.add(buildInitialVersion(transfer, currentUserId, now, createdBy));
+            auditLogs.add(buildAuditLog(transfer, currentUserId, correlationId, now, createdBy));
+            transferEventBus.publishAfterCommit(transfer);
+
+            TransferResponseDto responseDto = convertToDto(transfer, correlationId);
+            if (transfer.getIdempotencyKey() != null) {
+                newKeys.add(idempotencyService.buildIdempotencyRecord(
+                    transfer.getIdempotencyKey(), requests.get(index), responseDto, 201, currentUserId));
+            }
+            results[index] = new BatchTransferItemResultDto(index, true, responseDto, null, "Transfer initiated successfully");
+        }
+
+        jdbcBatchRepository.insertTransferVersions(versions);
+        jdbcBatchRepository.insertAuditLogs(auditLogs);
+        jdbcBatchRepository.insertIdempotencyKeys(newKeys);
+
+        List<BatchTransferItemResultDto> resultList = Arrays.asList(results);
+        int successCount = (int) resultList.stream().filter(BatchTransferItemResultDto::getSuccess).count();
+        long duration = System.currentTimeMillis() - startTime;
+
+        log.info("Batch transfer completed. Total: {}, Created: {}, Failed: {}, Duration: {}ms, CorrelationId: {}",
+            requests.size(), transfers.size(), requests.size() - successCount, duration, correlationId);
+
+        return new BatchTransferResponseDto(requests.size(), successCount, requests.size() - successCount, duration, resultList);
+    }
+
+    // Helper methods
+    private void reserveDailyTotals(List<Transfer> transfers, List<Integer> transferIndexes,
+                                    BatchTransferItemResultDto[] results, BigDecimal dailyLimit) {
+        Map<Long, BigDecimal> amountBySource = new HashMap<>();
+        Map<Long, Long> countBySource = new HashMap<>();
+        for (Transfer transfer : transfers) {
+            Long sourceAccountId = transfer.getSourceAccount().getAccountId();
+            amountBySource.merge(sourceAccountId, transfer.getAmount(), BigDecimal::add);
+            countBySource.merge(sourceAccountId, 1L, Long::sum);
+        }
+
+        Set<Long> rejectedSources = new HashSet<>();
+        for (Map.Entry<Long, BigDecimal> entry : amountBySource.entrySet()) {
+            if (!dailyLimitService.tryReserve(entry.getKey(), entry.getValue(), countBySource.get(entry.getKey()))) {
+                rejectedSources.add(entry.getKey());
+            }
+        }
+        if (rejectedSources.isEmpty()) {
+            return;
+        }
+
+        for (int t = transfers.size() - 1; t >= 0; t--) {
+            if (rejectedSources.contains(transfers.get(t).getSourceAccount().getAccountId())) {
+                int index = transferIndexes.get(t);
+                results[index] = failure(index, "LIMIT_DAILY_EXCEEDED", "Daily limit exceeded: " + dailyLimit);
+                transfers.remove(t);
+                transferIndexes.remove(t);
+            }
+        }
+    }
+
+    /**
+     * @return the item's bean validation messages, or null if it is valid
+     */
+    private String violations(TransferRequestDto request) {
+        if (request == null) {
+            return "Transfer cannot be null";
+        }
+        Set<ConstraintViolation<TransferRequestDto>> violations = validator.validate(request);
+        if (violations.isEmpty()) {
+            return null;
+        }
+        return violations.stream().map(ConstraintViolation::getMessage).sorted().collect(Collectors.joining("; "));
+    }
+
+    private String validate(TransferRequestDto request, Map<Long, Account> accounts) {
+        Account sourceAccount = accounts.get(request.getSourceAccountId());
+        if (sourceAccount == null) {
+            return "Source account not found";
+        }
+        Account destinationAccount = accounts.get(request.getDestinationAccountId());
+        if (destinationAccount == null) {
+            return "Destination account not found";
+        }
+        if (sourceAccount.getAccountStatus() != Account.AccountStatus.ACTIVE) {
+            return "Source account is not active";
+        }
+        if (destinationAccount.getAccountStatus() != Account.AccountStatus.ACTIVE) {
+            return "Destination account is not active";
+        }
+        if (!sourceAccount.getCurrency().equals(destinationAccount.getCurrency())) {
+            return "Currency mismatch between accounts";
+        }
+        return null;
+    }
+
+    private TransferVersion buildInitialVersion(Transfer transfer, Long changedBy, LocalDateTime now, String createdBy) {
+        TransferVersion version = new TransferVersion();
+        version.setTransfer(transfer);
+        version.setSlot(TransferVersion.slotFor(1L));
+        version.setVersionNumber(1L);
+        version.setChangedBy(changedBy);
+        version.setChangeSummary("Transfer requested");
+        version.setCreatedAt(now);
+        version.setCreatedBy(createdBy);
+        return version;
+    }
+
+    private AuditLog buildAuditLog(Transfer transfer, Long actorId, String correlationId, LocalDateTime now, String createdBy) {
+        AuditLog auditLog = new AuditLog();
+        auditLog.setActorId(actorId);
+        auditLog.setAction(AuditLog.AuditAction.TRANSFER_REQUEST);
+        auditLog.setEntityType("TRANSFER");
+        auditLog.setEntityId(transfer.getTransferId());
+        auditLog.setCorrelationId(correlationId);
+        auditLog.setStatus(AuditLog.AuditStatus.SUCCESS);
+        auditLog.setCreatedAt(now);
+        auditLog.setCreatedBy(createdBy);
+        return auditLog;
+    }
+
+    private BatchTransferItemResultDto failure(int index, String errorCode, String message) {
+        return new BatchTransferItemResultDto(index, false, null, errorCode, message);
+    }
+
+    private TransferResponseDto convertToDto(Transfer transfer, String correlationId) {
+        return new TransferResponseDto(
+            transfer.getTransferId(),
+            transfer.getSourceAccount().getAccountId(),
+            transfer.getDestinationAccount().getAccountId(),
+            transfer.getAmount(),
+            transfer.getCurrency(),
+            transfer.getTransferStatus().toString(),
+            transfer.getDescription(),
+            transfer.getCreatedAt(),
+            transfer.getAuthorizedAt(),
+            transfer.getPostedAt(),
+            transfer.getIdempotencyKey(),
+            correlationId
+        );
+    }
+
+    private Long getCurrentUserId() {
+        try {
+            return SecurityContextUtil.getCurrentUserContext().getUserId();
+        } catch (Exception e) {
+            log.warn("Failed to get userId from SecurityContext: {}", e.getMessage());
+            return null;
+        }
+    }
+
+    private String getCurrentUsername() {
+        String username = SecurityUtil.getCurrentUsername();
+        return username != null ? username : "SYSTEM";
+    }
+}
@@ -1,27 +1,45 @@
 package com.example.accounts.service.impl;
 
+import com.example.accounts.cache.AccountBalanceCache;
+import com.example.accounts.dto.CursorPageDto;
 import com.example.accounts.dto.TransferRequestDto;
 import com.example.accounts.dto.TransferResponseDto;
+import com.example.accounts.dto.TransferVersionDto;
 import com.example.accounts.entity.*;
+import com.example.accounts.events.TransferEventBus;
 import com.example.accounts.exception.*;
+import com.example.accounts.posting.PostingEngine;
+import com.example.accounts.posting.StraightThroughPolicy;
 import com.example.accounts.reository.*;
+import com.example.accounts.service.AuthorizationService;
 import com.example.accounts.service.LedgerService;
 import com.example.accounts.service.TransferService;
 import com.example.accounts.service.IdempotencyService;
 import com.example.accounts.service.AuditService;
+import com.example.accounts.service.DailyLimitService;
+import com.example.accounts.service.HoldExpiryService;
+import com.example.accounts.util.CursorUtil;
 import com.example.accounts.util.GeneratorUtil;
 import com.example.accounts.util.SecurityContextUtil;
+import com.example.accounts.util.SecurityUtil;
+import com.example.accounts.util.VersionDeltaUtil;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
 import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import java.math.BigDecimal;
+import java.time.LocalDate;
 import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 @Service
 @RequiredArgsConstructor
@@ -35,16 +53,37 @@ public class TransferServiceImpl implements TransferService {
     private final LedgerService ledgerService;
     private final IdempotencyService idempotencyService;
     private final AuditService auditService;
+    private final PostingEngine postingEngine;
+    private final DailyLimitService dailyLimitService;
+    private final StraightThroughPolicy straightThroughPolicy;
+    private final TransactionTemplate transactionTemplate;
+    private final HoldExpiryService holdExpiryService;
+    private final TransferEventBus transferEventBus;
+    private final AccountBalanceCache balanceCache;
+    private final AuthorizationService authorizationService;
 
-    @Value("${app.limits.customer.per-transaction:100000.00}")
-    private BigDecimal customerPerTxLimit;
-
-    @Value("${app.limits.customer.daily-aggregate:500000.00}")
-    private BigDecimal customerDailyLimit;
-
+    /**
+     * Initiate a transfer.
+     * Low-risk transfers (see StraightThroughPolicy) are created and posted in one transaction on
+     * the posting engine; everything else is created in REQUESTED state as before.
+     */
     @Override
-    @Transactional
     public TransferResponseDto initiateTransfer(TransferRequestDto request, String correlationId) {
+        if (straightThroughPolicy.isEnabled() && isStraightThroughEligible(request)) {
+            return postingEngine.execute(
+                request.getSourceAccountId(),
+                request.getDestinationAccountId(),
+                () -> doInitiateTransfer(request, correlationId, true)
+            );
+        }
+        return transactionTemplate.execute(status -> doInitiateTransfer(request, correlationId, false));
+    }
+
+    /**
+     * Transfer creation. Runs inside a transaction; with straightThrough the transfer is also
+     * authorized and posted before the transaction commits.
+     */
+    private TransferResponseDto doInitiateTransfer(TransferRequestDto request, String correlationId, boolean straightThrough) {
         String idempotencyKey = request.getIdempotencyKey();
 
         // Check idempotency
@@ -70,18 +109,7 @@ public class TransferServiceImpl implements TransferService {
         Account destinationAccount = accountRepository.findById(request.getDestinationAccountId())
             .orElseThrow(() -> new InvalidTransferException("Destination account not found"));
 
-        // Validate account status
-        if (sourceAccount.getAccountStatus() != Account.AccountStatus.ACTIVE) {
-            throw new InvalidTransferException("Source account is not active");
-        }
-        if (destinationAccount.getAccountStatus() != Account.AccountStatus.ACTIVE) {
-            throw new InvalidTransferException("Destination account is not active");
-        }
-
-        // Validate currency match (same currency for now)
-        if (!sourceAccount.getCurrency().equals(destinationAccount.getCurrency())) {
-            throw new InvalidTransferException("Currency mismatch between accounts");
-        }
+        validateAccounts(sourceAccount, destinationAccount);
 
         // Validate limits
         validateTransferLimits(sourceAccount, request.getAmount());
@@ -96,14 +124,29 @@ public class TransferServiceImpl implements TransferService {
         transfer.setTransferStatus(Transfer.TransferStatus.REQUESTED);
         transfer.setInitiatedBy(getCurrentUserId()); // Get from security context
         transfer.setIdempotencyKey(idempotencyKey);
-        // currentVersion will be set automatically after saving and creating version
-        transfer.setCurrentVersion(1L); // Will be reset below correctly in createTransferVersion()
+        // currentVersion is advanced to 1 by createTransferVersion()
+        transfer.setCurrentVersion(0L);
 
+        if (straightThrough) {
+            applyStraightThroughPosting(transfer);
+        }
 
         Transfer saved = transferRepository.save(transfer);
 
+        if (straightThrough) {
+            ledgerService.createLedgerEntries(
+                saved.getLedgerTxnId(),
+                sourceAccount.getAccountId(),
+                destinationAccount.getAccountId(),
+                saved.getAmount(),
+                saved.getDescription(),
+                "TRANSFER",
+                saved.getTransferId()
+            );
+        }
+
         // Create version record - this also updates/sets the currentVersion in transfer obj (via transfer Repo)
-        createTransferVersion(saved, "Transfer requested");
+        createTransferVersion(saved, straightThrough ? "Transfer posted straight-through" : "Transfer requested");
 
         // Store idempotency key and response if key was provided
         if (idempotencyKey != null) {
@@ -123,16 +166,23 @@ public class TransferServiceImpl implements TransferService {
             }
         }
 
-        log.info("Transfer initiated. ID: {}, Amount: {}, CorrelationId: {}", saved.getTransferId(), request.getAmount(), correlationId);
-        auditService.logAction(getCurrentUserId(), "TRANSFER_REQUEST", "TRANSFER", saved.getTransferId(), correlationId, "SUCCESS");
+        if (straightThrough) {
+            log.info("Transfer posted straight-through. ID: {}, Amount: {}, LedgerTxnId: {}, CorrelationId: {}",
+                saved.getTransferId(), request.getAmount(), saved.getLedgerTxnId(), correlationId);
+            auditService.logAction(getCurrentUserId(), "TRANSFER_POST", "TRANSFER", saved.getTransferId(), correlationId, "SUCCESS");
+        } else {
+            log.info("Transfer initiated. ID: {}, Amount: {}, CorrelationId: {}", saved.getTransferId(), request.getAmount(), correlationId);
+            auditService.logAction(getCurrentUserId(), "TRANSFER_REQUEST", "TRANSFER", saved.getTransferId(), correlationId, "SUCCESS");
+        }
 
+        transferEventBus.publishAfterCommit(saved);
         return convertToDto(saved, correlationId);
     }
 
     @Override
     @Transactional
     public TransferResponseDto authorizeTransfer(Long transferId, String correlationId) {
-        Transfer transfer = transferRepository.findById(transferId)
+        Transfer transfer = transferRepository.lockById(transferId)
             .orElseThrow(() -> new ResourceNotFoundException("Transfer not found"));
 
         if (transfer.getTransferStatus() != Transfer.TransferStatus.REQUESTED) {
@@ -149,7 +199,11 @@ public class TransferServiceImpl implements TransferService {
         hold.setAccount(transfer.getSourceAccount());
         hold.setHoldAmount(transfer.getAmount());
         hold.setReleased(false);
+        hold.setExpiresAt(holdExpiryService.nextExpiry());
         holdRepository.save(hold);
+        accountRepository.incrementHeldAmount(transfer.getSourceAccount().getAccountId(), hold.getHoldAmount());
+        balanceCache.refreshAfterCommit(List.of(transfer.getSourceAccount().getAccountId()));
+        holdExpiryService.scheduleAfterCommit(transferId, hold.getExpiresAt());
 
         Transfer saved = transferRepository.save(transfer);
         createTransferVersion(saved, "Transfer authorized");
@@ -157,12 +211,32 @@ public class TransferServiceImpl implements TransferService {
         log.info("Transfer authorized. ID: {}, CorrelationId: {}", transferId, correlationId);
         auditService.logAction(getCurrentUserId(), "TRANSFER_AUTHORIZE", "TRANSFER", transferId, correlationId, "SUCCESS");
 
+        transferEventBus.publishAfterCommit(saved);
         return convertToDto(saved, correlationId);
     }
 
+    /**
+     * Post a transfer through the posting engine.
+     * The posting runs (and commits) on the shard thread(s) owning the source and destination
+     * accounts, so concurrent postings to the same account are applied one at a time.
+     */
     @Override
-    @Transactional
     public TransferResponseDto postTransfer(Long transferId, String correlationId) {
+        // Primary: the transfer may have been authorized by another request moments ago
+        Transfer transfer = transferRepository.findByIdOnPrimary(transferId)
+            .orElseThrow(() -> new ResourceNotFoundException("Transfer not found"));
+
+        return postingEngine.execute(
+            transfer.getSourceAccount().getAccountId(),
+            transfer.getDestinationAccount().getAccountId(),
+            () -> doPostTransfer(transferId, correlationId)
+        );
+    }
+
+    /**
+     * Posting logic. Runs inside the posting engine's transaction.
+     */
+    private TransferResponseDto doPostTransfer(Long transferId, String correlationId) {
         Transfer transfer = transferRepository.findById(transferId)
             .orElseThrow(() -> new ResourceNotFoundException("Transfer not found"));
 
@@ -192,9 +266,7 @@ public class TransferServiceImpl implements TransferService {
         // Release holds
         List<TransferHold> holds = holdRepository.findByTransferTransferId(transferId);
         for (TransferHold hold : holds) {
-            hold.setReleased(true);
-            hold.setReleasedOn(System.currentTimeMillis());
-            holdRepository.save(hold);
+            releaseHold(hold);
         }
 
         transfer.setTransferStatus(Transfer.TransferStatus.POSTED);
@@ -205,6 +277,7 @@ public class TransferServiceImpl implements TransferService {
         log.info("Transfer posted. ID: {}, LedgerTxnId: {}, CorrelationId: {}", transferId, ledgerTxnId, correlationId);
         auditService.logAction(getCurrentUserId(), "TRANSFER_POST", "TRANSFER", transferId, correlationId, "SUCCESS");
 
+        transferEventBus.publishAfterCommit(saved);
         return convertToDto(saved, correlationId);
     }
 
@@ -212,7 +285,7 @@ public class TransferServiceImpl implements TransferService {
     @Transactional
     public TransferResponseDto cancelTransfer(Long transferId, String reason, String correlationId) {
         // Get transfer
-        Transfer transfer = transferRepository.findById(transferId)
+        Transfer transfer = transferRepository.lockById(transferId)
             .orElseThrow(() -> new ResourceNotFoundException("Transfer not found"));
 
         // Get current user from security context
@@ -236,6 +309,13 @@ public class TransferServiceImpl implements TransferService {
             );
         }
 
+        // Cannot cancel EXPIRED transfers - the hold and daily limit were already released
+        if (transfer.getTransferStatus() == Transfer.TransferStatus.EXPIRED) {
+            throw new InvalidTransferException(
+                "Transfer has expired."
+            );
+        }
+
 
         // POLICY 2: REQUESTED status - only requester can cancel
         if (transfer.getTransferStatus() == Transfer.TransferStatus.REQUESTED) {
@@ -288,11 +368,17 @@ public class TransferServiceImpl implements TransferService {
         // Set status to CANCELLED
         transfer.setTransferStatus(Transfer.TransferStatus.CANCELLED);
 
+        // Give the amount back to the source account's daily limit counter
+        dailyLimitService.release(
+            transfer.getSourceAccount().getAccountId(),
+            transfer.getAmount(),
+            transfer.getCreatedAt().toLocalDate()
+        );
+
         // Release any holds placed on accounts
         List<TransferHold> holds = holdRepository.findByTransferTransferId(transferId);
         for (TransferHold hold : holds) {
-            hold.setReleased(true);
-            holdRepository.save(hold);
+            releaseHold(hold);
             log.debug("Released hold on transfer {}. Hold ID: {}", transferId, hold.getHoldId());
         }
 
@@ -310,111 +396,206 @@ public class TransferServiceImpl implements TransferService {
             transferId, reason, currentUserId, correlationId);
         auditService.logAction(currentUserId, "TRANSFER_CANCEL", "TRANSFER", transferId, correlationId, "SUCCESS");
 
+        transferEventBus.publishAfterCommit(saved);
         return convertToDto(saved, correlationId);
     }
 
     @Override
     @Transactional(readOnly = true)
     public TransferResponseDto getTransferStatus(Long transferId) {
-        Transfer transfer = transferRepository.findById(transferId)
+        return transferRepository.findViewById(transferId)
             .orElseThrow(() -> new ResourceNotFoundException("Transfer not found"));
-        return convertToDto(transfer, "");
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<TransferResponseDto> getTransfersByAccount(Long accountId, Pageable pageable) {
-        return transferRepository.findTransfersByAccount(accountId, pageable)
-            .map(t -> convertToDto(t, ""));
+        return transferRepository.findViewsByAccount(accountId, pageable);
     }
 
     @Override
     @Transactional(readOnly = true)
     public Page<TransferResponseDto> getTransfersWithStatus(Transfer.TransferStatus status, Pageable pageable) {
-        return transferRepository.findByTransferStatus(status, pageable)
-            .map(t -> convertToDto(t, ""));
+        return transferRepository.findViewsByStatus(status, pageable);
+    }
+
+    /**
+     * The OR across source and destination is split into two seek queries, each a range scan
+     * on its own composite index, merged in memory. Both fetch size + 1 rows so the merge can
+     * tell whether another page exists.
+     */
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<TransferResponseDto> getTransfersByAccount(Long accountId, String cursor, int size) {
+        CursorUtil.Cursor after = CursorUtil.decode(cursor);
+        Pageable limit = PageRequest.of(0, size + 1);
+
+        // A transfer from an account to itself comes back from both queries
+        Map<Long, TransferResponseDto> merged = new LinkedHashMap<>();
+        transferRepository.findOutgoingViewsAfter(accountId, after.createdAt(), after.id(), limit)
+            .forEach(t -> merged.put(t.getTransferId(), t));
+        transferRepository.findIncomingViewsAfter(accountId, after.createdAt(), after.id(), limit)
+            .forEach(t -> merged.put(t.getTransferId(), t));
+
+        List<TransferResponseDto> transfers = merged.values().stream()
+            .sorted(Comparator.comparing(TransferResponseDto::getCreatedAt)
+                .thenComparing(TransferResponseDto::getTransferId).reversed())
+            .limit(size + 1L)
+            .toList();
+        return toCursorPage(transfers, size);
+    }
+
+    @Override
+    @Transactional(readOnly = true)
+    public CursorPageDto<TransferResponseDto> getTransfersWithStatus(Transfer.TransferStatus status, String cursor, int size) {
+        CursorUtil.Cursor after = CursorUtil.decode(cursor);
+        List<TransferResponseDto> transfers = transferRepository.findViewsByStatusAfter(
+            status, after.createdAt(), after.id(), PageRequest.of(0, size + 1));
+        return toCursorPage(transfers, size);
     }
 
     // Helper methods
-    private void validateTransferLimits(Account account, BigDecimal amount) {
-        if (amount.compareTo(customerPerTxLimit) > 0) {
-            throw new TransferLimitExceededException(
-                "Per transaction limit exceeded: " + customerPerTxLimit,
-                "LIMIT_PER_TX_EXCEEDED"
-            );
+    private CursorPageDto<TransferResponseDto> toCursorPage(List<TransferResponseDto> transfers, int size) {
+        boolean hasMore = transfers.size() > size;
+        List<TransferResponseDto> page = hasMore ? transfers.subList(0, size) : transfers;
+
+        String nextCursor = null;
+        if (hasMore) {
+            TransferResponseDto last = page.get(page.size() - 1);
+            nextCursor = CursorUtil.encode(last.getCreatedAt(), last.getTransferId());
+        }
+        return new CursorPageDto<>(page, page.size(), hasMore, nextCursor);
+    }
+
+    private boolean isStraightThroughEligible(TransferRequestDto request) {
+        Account sourceAccount = accountRepository.findById(request.getSourceAccountId()).orElse(null);
+        Account destinationAccount = accountRepository.findById(request.getDestinationAccountId()).orElse(null);
+        if (sourceAccount == null || destinationAccount == null) {
+            // Let the regular path report the missing account
+            return false;
         }
+        return straightThroughPolicy.isEligible(sourceAccount, destinationAccount, request.getAmount());
+    }
 
-        // Check daily limit
-        LocalDateTime startOfDay = LocalDateTime.now().withHour(0).withMinute(0).withSecond(0);
-        List<Transfer> todaysTransfers = transferRepository.findTransfersForDailyLimit(account.getAccountId(), startOfDay);
-        BigDecimal todaysTotal = todaysTransfers.stream()
-            .map(Transfer::getAmount)
-            .reduce(BigDecimal.ZERO, BigDecimal::add);
-
-        if (todaysTotal.add(amount).compareTo(customerDailyLimit) > 0) {
-            throw new TransferLimitExceededException(
-                "Daily limit exceeded: " + customerDailyLimit,
-                "LIMIT_DAILY_EXCEEDED"
-            );
+    /**
+     * Authorize and post a new transfer in place. The hold only exists in memory: funds are
+     * checked against balance minus outstanding holds on the posting shard, which owns the
+     * source account, and nothing is written to transfer_holds since it would be released
+     * again in the same transaction.
+     */
+    private void applyStraightThroughPosting(Transfer transfer) {
+        BigDecimal availableBalance = calculateAvailableBalance(transfer.getSourceAccount().getAccountId());
+        if (availableBalance.compareTo(transfer.getAmount()) < 0) {
+            throw new InsufficientFundsException("Insufficient funds for transfer");
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        transfer.setTransferStatus(Transfer.TransferStatus.POSTED);
+        transfer.setAuthorizedBy(getCurrentUserId());
+        transfer.setAuthorizedAt(now);
+        transfer.setPostedAt(now);
+        transfer.setLedgerTxnId(GeneratorUtil.generateLedgerTransactionId());
+    }
+
+    private void validateAccounts(Account sourceAccount, Account destinationAccount) {
+        // Validate account status
+        if (sourceAccount.getAccountStatus() != Account.AccountStatus.ACTIVE) {
+            throw new InvalidTransferException("Source account is not active");
+        }
+        if (destinationAccount.getAccountStatus() != Account.AccountStatus.ACTIVE) {
+            throw new InvalidTransferException("Destination account is not active");
+        }
+
+        // Validate currency match (same currency for now)
+        if (!sourceAccount.getCurrency().equals(destinationAccount.getCurrency())) {
+            throw new InvalidTransferException("Currency mismatch between accounts");
         }
     }
 
+    private void validateTransferLimits(Account account, BigDecimal amount) {
+        // Per-transaction and daily limits (customer or banker) are enforced against the
+        // account's rolling daily counter - a single-row update instead of summing today's transfers
+        dailyLimitService.checkAndReserve(account.getAccountId(), amount);
+    }
+
     private BigDecimal calculateAvailableBalance(Long accountId) {
-        Account account = accountRepository.findById(accountId)
+        // Single primary-key read of balance - held_amount instead of summing transfer_holds
+        return accountRepository.findAvailableBalance(accountId)
             .orElseThrow(() -> new ResourceNotFoundException("Account not found"));
+    }
 
-        BigDecimal balance = account.getBalance();
-        BigDecimal holds = holdRepository.calculateTotalHolds(accountId);
-        return balance.subtract(holds);
+    private void releaseHold(TransferHold hold) {
+        // Conditional update, so a hold released concurrently by the expiry sweeper is not subtracted twice
+        if (Boolean.TRUE.equals(hold.getReleased())
+            || holdRepository.markReleased(hold.getHoldId(), System.currentTimeMillis()) == 0) {
+            return;
+        }
+        accountRepository.decrementHeldAmount(hold.getAccount().getAccountId(), hold.getHoldAmount());
+        balanceCache.refreshAfterCommit(List.of(hold.getAccount().getAccountId()));
     }
 
     /**
      * Create a new version of the transfer.
-     * Keeps up to 10 historical versions.
-     * Automatically increments version number and removes oldest versions if exceeding limit.
+     * Versions live in a fixed 10-slot ring keyed by versionNumber mod 10, so this is a single
+     * upsert that overwrites the oldest version once the ring is full. The next version number
+     * comes from transfer.currentVersion, which is flushed with the transfer's own UPDATE.
      *
      * @param transfer The transfer entity
+     * @param previous Versioned fields before the change, or null if none of them changed
      * @param changeSummary Description of what changed
      */
-    private void createTransferVersion(Transfer transfer, String changeSummary) {
-        // Get the current max version number for this transfer
-        Long maxVersionNumber = versionRepository.getMaxVersionNumber(transfer.getTransferId());
-        Long nextVersionNumber = (maxVersionNumber == null) ? 1L : maxVersionNumber + 1L;
-
-        // Create new version record
-        TransferVersion version = new TransferVersion();
-        version.setTransfer(transfer);
-        version.setVersionNumber(nextVersionNumber);
-        version.setSourceAccountId(transfer.getSourceAccount().getAccountId());
-        version.setDestinationAccountId(transfer.getDestinationAccount().getAccountId());
-        version.setAmount(transfer.getAmount());
-        version.setDescription(transfer.getDescription());
-        version.setChangedBy(getCurrentUserId());
-        version.setChangeSummary(changeSummary);
-
-        // Save the version
-        versionRepository.save(version);
-
-        // Update transfer's currentVersion
+    private void createTransferVersion(Transfer transfer, VersionDeltaUtil.Snapshot previous, String changeSummary) {
+        long currentVersion = transfer.getCurrentVersion() != null ? transfer.getCurrentVersion() : 0L;
+        long nextVersionNumber = currentVersion + 1L;
         transfer.setCurrentVersion(nextVersionNumber);
-        transferRepository.save(transfer);
 
-        // Cleanup: Keep only last 10 versions
-        List<TransferVersion> allVersions = versionRepository.findByTransfer_TransferId(transfer.getTransferId());
-        if (allVersions.size() > 10) {
-            // Sort by version number descending to keep the latest 10
-            allVersions.sort((v1, v2) -> v2.getVersionNumber().compareTo(v1.getVersionNumber()));
+        String delta = VersionDeltaUtil.encode(previous, VersionDeltaUtil.Snapshot.of(transfer));
+        String createdBy = SecurityUtil.getCurrentUsername();
 
-            // Delete versions beyond the 10th
-            List<TransferVersion> toDelete = allVersions.subList(10, allVersions.size());
-            versionRepository.deleteAll(toDelete);
-
-            log.debug("Cleaned up {} old versions for transfer {}", toDelete.size(), transfer.getTransferId());
-        }
+        versionRepository.upsertSlot(
+            transfer.getTransferId(),
+            TransferVersion.slotFor(nextVersionNumber),
+            nextVersionNumber,
+            delta,
+            getCurrentUserId(),
+            changeSummary,
+            createdBy != null ? createdBy : "SYSTEM"
+        );
 
         log.debug("Created version #{} for transfer {}. Summary: {}", nextVersionNumber, transfer.getTransferId(), changeSummary);
     }
 
+    private void createTransferVersion(Transfer transfer, String changeSummary) {
+        createTransferVersion(transfer, null, changeSummary);
+    }
+
+    /**
+     * Rebuild full snapshots from the ring, walking back from the transfer's current state.
+     * The newest slot always matches the current state, since every change to a versioned
+     * field creates a version.
+     */
+    private List<TransferVersionDto> rebuildVersionHistory(Transfer transfer) {
+        List<TransferVersion> slots = versionRepository.findByTransferId(transfer.getTransferId());
+        List<TransferVersionDto> history = new ArrayList<>(slots.size());
+
+        VersionDeltaUtil.Snapshot snapshot = VersionDeltaUtil.Snapshot.of(transfer);
+        for (TransferVersion slot : slots) {
+            history.add(new TransferVersionDto(
+                transfer.getTransferId(),
+                slot.getVersionNumber(),
+                snapshot.sourceAccountId(),
+                snapshot.destinationAccountId(),
+                snapshot.amount(),
+                snapshot.description(),
+                slot.getChangedBy(),
+                slot.getChangeSummary(),
+                slot.getCreatedAt()
+            ));
+            snapshot = VersionDeltaUtil.applyReverse(snapshot, slot.getDelta());
+        }
+        return history;
+    }
+
     private String generateRequestHash(TransferRequestDto request) {
         try {
             String data = request.getSourceAccountId() + "|" + request.getDestinationAccountId() + "|" + request.getAmount();
@@ -464,14 +645,12 @@ public class TransferServiceImpl implements TransferService {
 
     @Override
     @Transactional(readOnly = true)
-    public List<TransferVersion> getTransferVersionHistory(Long transferId) {
-        // Verify transfer exists
-        transferRepository.findById(transferId)
+    public List<TransferVersionDto> getTransferVersionHistory(Long transferId) {
+        Transfer transfer = transferRepository.findById(transferId)
             .orElseThrow(() -> new ResourceNotFoundException("Transfer not found"));
 
-        // Get all versions for this transfer, sorted by version number descending (most recent first)
-        List<TransferVersion> versions = versionRepository.findByTransfer_TransferId(transferId);
-        versions.sort((v1, v2) -> v2.getVersionNumber().compareTo(v1.getVersionNumber()));
+        // Most recent first
+        List<TransferVersionDto> versions = rebuildVersionHistory(transfer);
 
         log.debug("Retrieved {} versions for transfer {}", versions.size(), transferId);
         return versions;
@@ -479,9 +658,9 @@ public class TransferServiceImpl implements TransferService {
 
     @Override
     @Transactional
-    public TransferResponseDto revertTransferVersion(Long transferId, Long versionId, String correlationId) {
-        // Get transfer
-        Transfer transfer = transferRepository.findById(transferId)
+    public TransferResponseDto revertTransferVersion(Long transferId, Long versionNumber, String correlationId) {
+        // Get transfer, locked against a concurrent authorize or cancel
+        Transfer transfer = transferRepository.lockById(transferId)
             .orElseThrow(() -> new ResourceNotFoundException("Transfer not found"));
 
         // Check if transfer can be reverted (not POSTED)
@@ -489,24 +668,20 @@ public class TransferServiceImpl implements TransferService {
             throw new InvalidTransferException("Cannot revert a POSTED transfer");
         }
 
-        // Get the version to revert to
-        TransferVersion versionToRevert = versionRepository.findById(versionId)
+        // Rebuild the version to revert to (only the last 10 versions are kept)
+        TransferVersionDto versionToRevert = rebuildVersionHistory(transfer).stream()
+            .filter(v -> v.getVersionNumber().equals(versionNumber))
+            .findFirst()
             .orElseThrow(() -> new ResourceNotFoundException("Transfer version not found"));
 
-        // Verify it belongs to this transfer
-        if (!versionToRevert.getTransfer().getTransferId().equals(transferId)) {
-            throw new InvalidTransferException("Version does not belong to this transfer");
-        }
-
-        // Update transfer with version details
-        Account sourceAccount = accountRepository.findById(versionToRevert.getSourceAccountId())
-            .orElseThrow(() -> new ResourceNotFoundException("Source account not found"));
-        Account destinationAccount = accountRepository.findById(versionToRevert.getDestinationAccountId())
-            .orElseThrow(() -> new ResourceNotFoundException("Destination account not found"));
+        VersionDeltaUtil.Snapshot previous = VersionDeltaUtil.Snapshot.of(transfer);
 
-        transfer.setSourceAccount(sourceAccount);
-        transfer.setDestinationAccount(destinationAccount);
-        transfer.setAmount(versionToRevert.getAmount());
+        boolean moneyChanged = !versionToRevert.getSourceAccountId().equals(previous.sourceAccountId())
+            || !versionToRevert.getDestinationAccountId().equals(previous.destinationAccountId())
+            || versionToRevert.getAmount().compareTo(previous.amount()) != 0;
+        if (moneyChanged) {
+            revertMoneyFields(transfer, versionToRevert, correlationId);
+        }
         transfer.setDescription(versionToRevert.getDescription());
 
         // Update initiatedBy to current user who is performing the revert
@@ -516,12 +691,49 @@ public class TransferServiceImpl implements TransferService {
         Transfer saved = transferRepository.save(transfer);
 
         // Create a new version record documenting the revert
-        createTransferVersion(saved, "Reverted to version #" + versionToRevert.getVersionNumber());
+        createTransferVersion(saved, previous, "Reverted to version #" + versionNumber);
 
-        log.info("Transfer {} reverted to version {}. CorrelationId: {}", transferId, versionId, correlationId);
+        log.info("Transfer {} reverted to version {}. CorrelationId: {}", transferId, versionNumber, correlationId);
         auditService.logAction(getCurrentUserId(), "UPDATE", "TRANSFER", transferId, correlationId, "SUCCESS");
 
+        transferEventBus.publishAfterCommit(saved);
         return convertToDto(saved, correlationId);
     }
-}
 
+    /**
+     * Move a REQUESTED transfer back to an earlier amount, source or destination.
+     * Once authorized, the hold, held_amount and daily counter are tied to those fields, so only
+     * the description can be reverted. A REQUESTED transfer holds only its daily-limit
+     * reservation, which is moved to the reverted source and amount after the initiate-time
+     * checks (source access, account status, currency, limits) pass for them. The reservation
+     * is only movable on the day it was made: later releases use the creation date.
+     */
+    private void revertMoneyFields(Transfer transfer, TransferVersionDto version, String correlationId) {
+        if (transfer.getTransferStatus() != Transfer.TransferStatus.REQUESTED) {
+            throw new InvalidTransferException(
+                "Only the description can be reverted on a " + transfer.getTransferStatus() + " transfer");
+        }
+        LocalDate businessDate = transfer.getCreatedAt().toLocalDate();
+        if (!businessDate.equals(LocalDate.now())) {
+            throw new InvalidTransferException(
+                "Amount and accounts can only be reverted on the day the transfer was requested");
+        }
+
+        authorizationService.validateTransferSourceAccess(
+            version.getSourceAccountId(), SecurityContextUtil.getCurrentUserContext(), correlationId);
+        Account sourceAccount = accountRepository.findById(version.getSourceAccountId())
+            .orElseThrow(() -> new ResourceNotFoundException("Source account not found"));
+        Account destinationAccount = accountRepository.findById(version.getDestinationAccountId())
+            .orElseThrow(() -> new ResourceNotFoundException("Destination account not found"));
+        validateAccounts(sourceAccount, destinationAccount);
+
+        // Same transaction: a rejected reservation rolls the release back
+        dailyLimitService.release(transfer.getSourceAccount().getAccountId(), transfer.getAmount(), businessDate);
+        validateTransferLimits(sourceAccount, version.getAmount());
+
+        transfer.setSourceAccount(sourceAccount);
+        transfer.setDestinationAccount(destinationAccount);
+        transfer.setAmount(version.getAmount());
+        transfer.setCurrency(sourceAccount.getCurrency());
+    }
+}
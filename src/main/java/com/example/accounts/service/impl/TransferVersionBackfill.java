@@ -0,0 +1,142 @@
+package com.example.accounts.service.impl;
+
+import com.example.accounts.entity.TransferVersion;
+import com.example.accounts.util.VersionDeltaUtil;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.sql.ResultSet;
+import java.sql.Timestamp;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Moves versions from the legacy transfer_versions table into the 10-slot ring.
+ *
+ * Legacy rows are full snapshots, at most the last 10 per transfer. Each is written to its slot
+ * with the delta against the legacy version before it; the oldest one has no predecessor and
+ * gets no delta. Slots are inserted with INSERT IGNORE, so a slot already holding a newer
+ * version (a transfer changed since the ring was introduced) is kept, and the ring ends up with
+ * the newest 10 versions across both tables. Migrated rows are deleted in the same transaction,
+ * so the job resumes where it stopped and finds nothing to do once the table is empty.
+ */
+@Service
+@RequiredArgsConstructor
+@Slf4j
+public class TransferVersionBackfill {
+
+    private static final String LEGACY_TABLE = "transfer_versions";
+
+    private static final String SELECT_TRANSFER_IDS =
+        "SELECT DISTINCT transfer_id FROM transfer_versions ORDER BY transfer_id LIMIT ?";
+
+    private static final String SELECT_VERSIONS =
+        "SELECT transfer_id, version_number, source_account_id, destination_account_id, amount, description, " +
+        "changed_by, change_summary, created_at, created_by FROM transfer_versions " +
+        "WHERE transfer_id BETWEEN ? AND ? ORDER BY transfer_id, version_number";
+
+    private static final String INSERT_SLOT =
+        "INSERT IGNORE INTO transfer_version_slots " +
+        "(transfer_id, slot, version_number, delta, changed_by, change_summary, created_at, created_by) " +
+        "VALUES (?, ?, ?, ?, ?, ?, ?, ?)";
+
+    private static final String DELETE_VERSIONS =
+        "DELETE FROM transfer_versions WHERE transfer_id BETWEEN ? AND ?";
+
+    private final JdbcTemplate jdbcTemplate;
+    private final TransactionTemplate transactionTemplate;
+
+    @Value("${app.transfers.versions.backfill-batch-size:500}")
+    private int batchSize;
+
+    private record LegacyVersion(long transferId, long versionNumber, VersionDeltaUtil.Snapshot snapshot,
+                                 long changedBy, String changeSummary, Timestamp createdAt, String createdBy) {
+    }
+
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillOnStartup() {
+        try {
+            if (!legacyTableExists()) {
+                return;
+            }
+            long migrated = 0;
+            int moved;
+            while ((moved = transactionTemplate.execute(status -> migrateBatch())) > 0) {
+                migrated += moved;
+            }
+            if (migrated > 0) {
+                log.info("Moved {} legacy transfer versions into the version ring", migrated);
+            }
+        } catch (RuntimeException e) {
+            log.error("Legacy transfer version backfill failed; it resumes on the next startup", e);
+        }
+    }
+
+    // Helper methods
+    private boolean legacyTableExists() {
+        return Boolean.TRUE.equals(jdbcTemplate.execute((ConnectionCallback<Boolean>) connection -> {
+            try (ResultSet tables = connection.getMetaData().getTables(connection.getCatalog(), null, LEGACY_TABLE, null)) {
+                return tables.next();
+            }
+        }));
+    }
+
+    /**
+     * Move the versions of the next batch of transfers.
+     *
+     * @return number of legacy rows moved, 0 when the table is empty
+     */
+    private int migrateBatch() {
+        List<Long> transferIds = jdbcTemplate.queryForList(SELECT_TRANSFER_IDS, Long.class, batchSize);
+        if (transferIds.isEmpty()) {
+            return 0;
+        }
+        long first = transferIds.get(0);
+        long last = transferIds.get(transferIds.size() - 1);
+
+        List<LegacyVersion> versions = jdbcTemplate.query(SELECT_VERSIONS, (rs, rowNum) -> new LegacyVersion(
+            rs.getLong("transfer_id"),
+            rs.getLong("version_number"),
+            new VersionDeltaUtil.Snapshot(
+                rs.getLong("source_account_id"),
+                rs.getLong("destination_account_id"),
+                rs.getBigDecimal("amount"),
+                rs.getString("description")),
+            rs.getLong("changed_by"),
+            rs.getString("change_summary"),
+            rs.getTimestamp("created_at"),
+            rs.getString("created_by")
+        ), first, last);
+
+        List<Object[]> slots = new ArrayList<>(versions.size());
+        for (int i = 0; i < versions.size(); i++) {
+            LegacyVersion version = versions.get(i);
+            LegacyVersion previous = i > 0 && versions.get(i - 1).transferId() == version.transferId()
+                ? versions.get(i - 1) : null;
+            slots.add(new Object[] {
+                version.transferId(),
+                TransferVersion.slotFor(version.versionNumber()),
+                version.versionNumber(),
+                VersionDeltaUtil.encode(previous != null ? previous.snapshot() : null, version.snapshot()),
+                version.changedBy(),
+                version.changeSummary(),
+                version.createdAt(),
+                version.createdBy()
+            });
+        }
+
+        // Newest first: INSERT IGNORE keeps the first version written to a slot
+        Collections.reverse(slots);
+        jdbcTemplate.batchUpdate(INSERT_SLOT, slots);
+        jdbcTemplate.update(DELETE_VERSIONS, first, last);
+        return versions.size();
+    }
+}
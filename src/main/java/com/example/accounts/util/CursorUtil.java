@@ -0,0 +1,47 @@
+package com.example.accounts.util;
+
+import com.example.accounts.exception.InvalidTransferException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.Base64;
+
+/**
+ * Opaque continuation tokens for keyset pagination.
+ * A token encodes the (createdAt, id) sort key of the last row of a page; clients pass it back
+ * unchanged to get the rows that sort after it.
+ */
+public class CursorUtil {
+
+    /** Sort key that sorts before every row in (createdAt DESC, id DESC) order, for the first page */
+    public static final LocalDateTime FIRST_PAGE_CREATED_AT = LocalDateTime.of(9999, 12, 31, 23, 59, 59);
+    public static final long FIRST_PAGE_ID = Long.MAX_VALUE;
+
+    private CursorUtil() {
+        // restrict instantiation
+    }
+
+    public record Cursor(LocalDateTime createdAt, Long id) {
+    }
+
+    public static String encode(LocalDateTime createdAt, Long id) {
+        String raw = createdAt + "|" + id;
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Decode a continuation token; a null or blank token means the first page.
+     */
+    public static Cursor decode(String token) {
+        if (token == null || token.isBlank()) {
+            return new Cursor(FIRST_PAGE_CREATED_AT, FIRST_PAGE_ID);
+        }
+        try {
+            String raw = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8);
+            int separator = raw.lastIndexOf('|');
+            return new Cursor(LocalDateTime.parse(raw.substring(0, separator)), Long.parseLong(raw.substring(separator + 1)));
+        } catch (RuntimeException e) {
+            throw new InvalidTransferException("Invalid page cursor");
+        }
+    }
+}
@@ -0,0 +1,140 @@
+package com.example.accounts.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Hierarchical timing wheel for deadline tracking.
+ *
+ * The lowest level has wheelSize buckets of tickMillis each. A deadline beyond its span goes
+ * to an overflow level whose tick is the whole span of the level below, created on demand, so
+ * a few levels cover days or months with O(1) insertion. As time advances, the overflow bucket
+ * for the current span is cascaded down into finer buckets.
+ *
+ * Deadlines are rounded up to the next tick, so an element is never reported before its
+ * deadline and at most one tick after it. Removal is not supported; callers are expected to
+ * verify reported elements against their source of truth.
+ *
+ * Thread-safe; all operations synchronize on the wheel.
+ */
+public class HierarchicalTimingWheel<T> {
+
+    private record Entry<T>(T element, long deadline) {
+    }
+
+    private final Level<T> root;
+    private final long tickMillis;
+    private int size;
+
+    public HierarchicalTimingWheel(long tickMillis, int wheelSize, long startMillis) {
+        if (tickMillis <= 0 || wheelSize < 2) {
+            throw new IllegalArgumentException("tickMillis must be positive and wheelSize at least 2");
+        }
+        this.tickMillis = tickMillis;
+        this.root = new Level<>(tickMillis, wheelSize, Math.floorDiv(startMillis, tickMillis) * tickMillis);
+    }
+
+    /**
+     * Schedule an element.
+     *
+     * @return false if the deadline has already passed; the element is not scheduled
+     */
+    public synchronized boolean add(T element, long deadlineMillis) {
+        long deadline = Math.floorDiv(deadlineMillis + tickMillis - 1, tickMillis) * tickMillis;
+        if (!root.add(new Entry<>(element, deadline))) {
+            return false;
+        }
+        size++;
+        return true;
+    }
+
+    /**
+     * Advance the wheel to the given time.
+     *
+     * @return elements whose deadline is at or before nowMillis
+     */
+    public synchronized List<T> advance(long nowMillis) {
+        List<T> due = new ArrayList<>();
+        root.advance(nowMillis, due);
+        size -= due.size();
+        return due;
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    private static final class Level<T> {
+        private final long tick;
+        private final int wheelSize;
+        private final long interval;
+        private final List<List<Entry<T>>> buckets;
+        private long currentTime;
+        private Level<T> overflow;
+
+        private Level(long tick, int wheelSize, long currentTime) {
+            this.tick = tick;
+            this.wheelSize = wheelSize;
+            this.interval = tick * wheelSize;
+            this.currentTime = currentTime;
+            this.buckets = new ArrayList<>(wheelSize);
+            for (int i = 0; i < wheelSize; i++) {
+                buckets.add(new ArrayList<>());
+            }
+        }
+
+        private boolean add(Entry<T> entry) {
+            if (entry.deadline() < currentTime + tick) {
+                return false;
+            }
+            if (entry.deadline() < currentTime + interval) {
+                buckets.get(bucketIndex(entry.deadline())).add(entry);
+                return true;
+            }
+            if (overflow == null) {
+                overflow = new Level<>(interval, wheelSize, Math.floorDiv(currentTime, interval) * interval);
+            }
+            return overflow.add(entry);
+        }
+
+        /**
+         * Lowest level only: step tick by tick up to now, collecting due entries.
+         */
+        private void advance(long now, List<T> due) {
+            while (currentTime + tick <= now) {
+                List<Entry<T>> expired = tickTo(currentTime + tick);
+                for (Entry<T> entry : expired) {
+                    due.add(entry.element());
+                }
+            }
+        }
+
+        /**
+         * Move this level to the given (tick-aligned) time and return the entries now due on it.
+         * Entries cascaded from the overflow level are redistributed into this level first.
+         */
+        private List<Entry<T>> tickTo(long time) {
+            currentTime = time;
+            List<Entry<T>> due = new ArrayList<>();
+
+            if (overflow != null && Math.floorMod(time, interval) == 0) {
+                for (Entry<T> entry : overflow.tickTo(time)) {
+                    if (!add(entry)) {
+                        due.add(entry);
+                    }
+                }
+            }
+
+            List<Entry<T>> bucket = buckets.get(bucketIndex(time));
+            if (!bucket.isEmpty()) {
+                due.addAll(bucket);
+                buckets.set(bucketIndex(time), new ArrayList<>());
+            }
+            return due;
+        }
+
+        private int bucketIndex(long time) {
+            return (int) Math.floorMod(Math.floorDiv(time, tick), (long) wheelSize);
+        }
+    }
+}
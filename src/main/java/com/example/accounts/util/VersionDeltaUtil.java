@@ -0,0 +1,96 @@
+package com.example.accounts.util;
+
+import com.example.accounts.entity.Transfer;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+
+import java.math.BigDecimal;
+import java.util.Objects;
+
+/**
+ * Field-level delta encoding for transfer versions.
+ *
+ * A delta holds the previous values of the fields a version changed, keyed by short names
+ * (s = source account, d = destination account, a = amount, m = description memo).
+ * Most state transitions change none of these fields and store no delta at all.
+ */
+public class VersionDeltaUtil {
+
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    private VersionDeltaUtil() {
+        // restrict instantiation
+    }
+
+    /**
+     * Versioned fields of a transfer at a point in time
+     */
+    public record Snapshot(Long sourceAccountId, Long destinationAccountId, BigDecimal amount, String description) {
+
+        public static Snapshot of(Transfer transfer) {
+            return new Snapshot(
+                transfer.getSourceAccount().getAccountId(),
+                transfer.getDestinationAccount().getAccountId(),
+                transfer.getAmount(),
+                transfer.getDescription()
+            );
+        }
+    }
+
+    /**
+     * Encode the fields that differ between two snapshots.
+     *
+     * @param previous state before the change (null for the first version)
+     * @param current state after the change
+     * @return compact JSON with previous values of changed fields, or null if nothing changed
+     */
+    public static String encode(Snapshot previous, Snapshot current) {
+        if (previous == null) {
+            return null;
+        }
+
+        ObjectNode delta = MAPPER.createObjectNode();
+        if (!Objects.equals(previous.sourceAccountId(), current.sourceAccountId())) {
+            delta.put("s", previous.sourceAccountId());
+        }
+        if (!Objects.equals(previous.destinationAccountId(), current.destinationAccountId())) {
+            delta.put("d", previous.destinationAccountId());
+        }
+        if (!sameAmount(previous.amount(), current.amount())) {
+            delta.put("a", previous.amount() != null ? previous.amount().toPlainString() : null);
+        }
+        if (!Objects.equals(previous.description(), current.description())) {
+            delta.put("m", previous.description());
+        }
+        return delta.isEmpty() ? null : delta.toString();
+    }
+
+    /**
+     * Step one version back: apply a version's delta to its snapshot to get the previous snapshot.
+     */
+    public static Snapshot applyReverse(Snapshot snapshot, String delta) {
+        if (delta == null || delta.isEmpty()) {
+            return snapshot;
+        }
+
+        try {
+            JsonNode node = MAPPER.readTree(delta);
+            return new Snapshot(
+                node.has("s") ? node.get("s").asLong() : snapshot.sourceAccountId(),
+                node.has("d") ? node.get("d").asLong() : snapshot.destinationAccountId(),
+                node.has("a") ? (node.get("a").isNull() ? null : new BigDecimal(node.get("a").asText())) : snapshot.amount(),
+                node.has("m") ? (node.get("m").isNull() ? null : node.get("m").asText()) : snapshot.description()
+            );
+        } catch (Exception e) {
+            throw new IllegalStateException("Corrupt transfer version delta: " + delta, e);
+        }
+    }
+
+    private static boolean sameAmount(BigDecimal a, BigDecimal b) {
+        if (a == null || b == null) {
+            return a == b;
+        }
+        return a.compareTo(b) == 0;
+    }
+}
@@ -0,0 +1,187 @@
+package com.example.accounts.bench;
+
+import com.example.accounts.entity.LedgerEntry;
+import com.example.accounts.money.Money;
+import org.junit.jupiter.api.Test;
+import org.openjdk.jmh.annotations.*;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.results.RunResult;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.math.BigDecimal;
+import java.math.RoundingMode;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+
+/**
+ * JMH comparison of the long minor-unit aggregation paths against the BigDecimal code they replaced.
+ *
+ * - statementTotals: StatementServiceImpl.generateStatement's credit, debit, interest and fee
+ *   totals plus createLineItems' running balances, over a month of ledger entries.
+ * - dailyInterest: ScheduledTaskService.interestLegs' daily interest on a savings balance.
+ *
+ * Run with: mvn -Pbenchmark test -Dtest=MoneyBenchmark
+ * Prints time per operation and, from the GC profiler, bytes allocated per operation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MoneyBenchmark {
+
+    private static final BigDecimal ANNUAL_RATE = new BigDecimal("3.5");
+    private static final int RATE_SCALE = 4;
+    private static final long DAILY_RATE_DIVISOR = 365L * 100L * 10_000L;
+
+    @Param({"1000"})
+    public int entries;
+
+    private List<LedgerEntry> ledgerEntries;
+    private BigDecimal openingBalance;
+    private BigDecimal[] balances;
+    private long annualRate;
+
+    @Setup
+    public void setUp() {
+        Random random = new Random(42);
+        ledgerEntries = new ArrayList<>(entries);
+        for (int i = 0; i < entries; i++) {
+            LedgerEntry entry = new LedgerEntry();
+            entry.setEntryType(random.nextBoolean() ? LedgerEntry.EntryType.CREDIT : LedgerEntry.EntryType.DEBIT);
+            entry.setAmount(BigDecimal.valueOf(1 + random.nextInt(5_000_000), 2));
+            entry.setReferenceType(i % 10 == 0 ? "INTEREST" : i % 10 == 1 ? "FEE" : "TRANSFER");
+            ledgerEntries.add(entry);
+        }
+        openingBalance = new BigDecimal("250000.00");
+
+        balances = new BigDecimal[entries];
+        for (int i = 0; i < entries; i++) {
+            balances[i] = BigDecimal.valueOf(random.nextInt(Integer.MAX_VALUE), 2);
+        }
+        annualRate = ANNUAL_RATE.setScale(RATE_SCALE, RoundingMode.HALF_UP).unscaledValue().longValueExact();
+    }
+
+    @Benchmark
+    public void statementTotalsBigDecimal(Blackhole blackhole) {
+        BigDecimal totalCredits = BigDecimal.ZERO;
+        BigDecimal totalDebits = BigDecimal.ZERO;
+        BigDecimal totalInterest = BigDecimal.ZERO;
+        BigDecimal totalFees = BigDecimal.ZERO;
+        for (LedgerEntry entry : ledgerEntries) {
+            if (entry.getEntryType() == LedgerEntry.EntryType.CREDIT) {
+                totalCredits = totalCredits.add(entry.getAmount());
+            } else {
+                totalDebits = totalDebits.add(entry.getAmount());
+            }
+            if ("INTEREST".equalsIgnoreCase(entry.getReferenceType())) {
+                totalInterest = totalInterest.add(entry.getAmount());
+            } else if ("FEE".equalsIgnoreCase(entry.getReferenceType())) {
+                totalFees = totalFees.add(entry.getAmount());
+            }
+        }
+        blackhole.consume(openingBalance.add(totalCredits).subtract(totalDebits));
+        blackhole.consume(totalInterest);
+        blackhole.consume(totalFees);
+
+        BigDecimal runningBalance = openingBalance;
+        for (LedgerEntry entry : ledgerEntries) {
+            runningBalance = entry.getEntryType() == LedgerEntry.EntryType.CREDIT
+                ? runningBalance.add(entry.getAmount())
+                : runningBalance.subtract(entry.getAmount());
+            blackhole.consume(runningBalance);
+        }
+    }
+
+    @Benchmark
+    public void statementTotalsMinorUnits(Blackhole blackhole) {
+        long totalCredits = 0L;
+        long totalDebits = 0L;
+        long totalInterest = 0L;
+        long totalFees = 0L;
+        for (LedgerEntry entry : ledgerEntries) {
+            long amount = Money.toMinorUnits(entry.getAmount());
+            if (entry.getEntryType() == LedgerEntry.EntryType.CREDIT) {
+                totalCredits = Math.addExact(totalCredits, amount);
+            } else {
+                totalDebits = Math.addExact(totalDebits, amount);
+            }
+            if ("INTEREST".equalsIgnoreCase(entry.getReferenceType())) {
+                totalInterest = Math.addExact(totalInterest, amount);
+            } else if ("FEE".equalsIgnoreCase(entry.getReferenceType())) {
+                totalFees = Math.addExact(totalFees, amount);
+            }
+        }
+        long opening = Money.toMinorUnits(openingBalance);
+        blackhole.consume(Money.toBigDecimal(Math.subtractExact(Math.addExact(opening, totalCredits), totalDebits)));
+        blackhole.consume(Money.toBigDecimal(totalInterest));
+        blackhole.consume(Money.toBigDecimal(totalFees));
+
+        // The line item keeps a BigDecimal running balance, so one conversion per entry stays
+        long runningBalance = opening;
+        for (LedgerEntry entry : ledgerEntries) {
+            long amount = Money.toMinorUnits(entry.getAmount());
+            runningBalance = entry.getEntryType() == LedgerEntry.EntryType.CREDIT
+                ? Math.addExact(runningBalance, amount)
+                : Math.subtractExact(runningBalance, amount);
+            blackhole.consume(Money.toBigDecimal(runningBalance));
+        }
+    }
+
+    @Benchmark
+    public void dailyInterestBigDecimal(Blackhole blackhole) {
+        for (BigDecimal balance : balances) {
+            BigDecimal dailyRate = ANNUAL_RATE.divide(new BigDecimal("365"), 10, RoundingMode.HALF_UP);
+            blackhole.consume(balance.multiply(dailyRate).divide(new BigDecimal("100"), 2, RoundingMode.HALF_UP));
+        }
+    }
+
+    @Benchmark
+    public void dailyInterestMinorUnits(Blackhole blackhole) {
+        for (BigDecimal balance : balances) {
+            long interest = Money.multiplyDivideHalfUp(Money.toMinorUnits(balance), annualRate, DAILY_RATE_DIVISOR);
+            blackhole.consume(Money.toBigDecimal(interest));
+        }
+    }
+
+    @Test
+    void run() throws Exception {
+        Options options = new OptionsBuilder()
+            .include(MoneyBenchmark.class.getName() + "\\.")
+            .addProfiler(GCProfiler.class)
+            .build();
+        Collection<RunResult> results = new Runner(options).run();
+        assertFalse(results.isEmpty(), "No benchmark ran");
+    }
+
+    @Test
+    void pathsAgree() {
+        entries = 1000;
+        setUp();
+        BigDecimal credits = BigDecimal.ZERO;
+        long creditsMinor = 0L;
+        for (LedgerEntry entry : ledgerEntries) {
+            if (entry.getEntryType() == LedgerEntry.EntryType.CREDIT) {
+                credits = credits.add(entry.getAmount());
+                creditsMinor = Math.addExact(creditsMinor, Money.toMinorUnits(entry.getAmount()));
+            }
+        }
+        assertEquals(0, credits.compareTo(Money.toBigDecimal(creditsMinor)));
+
+        for (BigDecimal balance : balances) {
+            BigDecimal exact = balance.multiply(ANNUAL_RATE).divide(new BigDecimal("36500"), 2, RoundingMode.HALF_UP);
+            long interest = Money.multiplyDivideHalfUp(Money.toMinorUnits(balance), annualRate, DAILY_RATE_DIVISOR);
+            assertEquals(exact, Money.toBigDecimal(interest));
+        }
+    }
+}
@@ -0,0 +1,219 @@
+package com.example.accounts.bench;
+
+import com.example.accounts.dto.TransferResponseDto;
+import com.example.accounts.entity.Account;
+import com.example.accounts.entity.Customer;
+import com.example.accounts.entity.Transfer;
+import com.example.accounts.reository.AccountRepository;
+import com.example.accounts.reository.CustomerRepository;
+import com.example.accounts.reository.TransferRepository;
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.EntityManagerFactory;
+import org.HdrHistogram.Histogram;
+import org.h2.tools.Server;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.support.JpaRepositoryFactory;
+import org.springframework.data.repository.Repository;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import java.lang.management.ManagementFactory;
+import java.math.BigDecimal;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.function.IntFunction;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Statements, allocated bytes and latency per page of 100 transfers, entity read path vs the
+ * TransferResponseDto projection.
+ *
+ * The entity path is the listing as it was before the projections: a derived Spring Data query
+ * returning a page of Transfer entities, each mapped with the getters TransferServiceImpl.convertToDto
+ * uses. Both paths run in a read-only transaction, as the service methods do, and include the
+ * page's COUNT query.
+ *
+ * Run with: mvn -Pbenchmark test -Dtest=TransferListingBenchmark
+ * Allocation is the calling thread's allocated bytes (com.sun.management.ThreadMXBean). H2 is
+ * reached over its TCP server so that, as with MySQL, the database's own work runs on other
+ * threads and only the driver, Hibernate and Spring Data are counted.
+ */
+@SpringBootTest(properties = "spring.jpa.properties.hibernate.generate_statistics=true")
+@ActiveProfiles("h2")
+class TransferListingBenchmark {
+
+    private static final int PAGE_SIZE = 100;
+    private static final int TRANSFERS = 5_000;
+    private static final int WARMUP_PAGES = 500;
+    private static final int MEASURED_PAGES = 2_000;
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.SECONDS.toMicros(10);
+
+    private static final Server DATABASE = startDatabase();
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private TransferRepository transferRepository;
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @Autowired
+    private EntityManagerFactory entityManagerFactory;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    /**
+     * The entity listing query removed from TransferRepository
+     */
+    interface EntityListing extends Repository<Transfer, Long> {
+
+        Page<Transfer> findByTransferStatus(Transfer.TransferStatus status, Pageable pageable);
+    }
+
+    private record Result(String name, double statementsPerPage, double bytesPerPage, Histogram latencyMicros) {
+    }
+
+    @DynamicPropertySource
+    static void datasource(DynamicPropertyRegistry registry) {
+        registry.add("spring.datasource.url", () -> "jdbc:h2:tcp://localhost:" + DATABASE.getPort() +
+            "/mem:listing-benchmark;MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=VALUE,YEAR,MONTH;DB_CLOSE_DELAY=-1");
+    }
+
+    @Test
+    void compareReadPaths() {
+        seedTransfers();
+        TransactionTemplate readOnly = new TransactionTemplate(transactionManager);
+        readOnly.setReadOnly(true);
+        EntityListing entityListing = new JpaRepositoryFactory(entityManager).getRepository(EntityListing.class);
+        int pages = TRANSFERS / PAGE_SIZE;
+
+        IntFunction<List<TransferResponseDto>> entityPath = page -> readOnly.execute(status ->
+            entityListing.findByTransferStatus(Transfer.TransferStatus.POSTED, pageRequest(page)).getContent().stream()
+                .map(this::convertToDto)
+                .toList());
+        IntFunction<List<TransferResponseDto>> projectionPath = page -> readOnly.execute(status ->
+            transferRepository.findViewsByStatus(Transfer.TransferStatus.POSTED, pageRequest(page)).getContent());
+
+        measure("entity", entityPath, WARMUP_PAGES, pages);
+        measure("projection", projectionPath, WARMUP_PAGES, pages);
+        Result entity = measure("entity", entityPath, MEASURED_PAGES, pages);
+        Result projection = measure("projection", projectionPath, MEASURED_PAGES, pages);
+
+        System.out.printf("Transfer listing, page of %d, %d pages each%n", PAGE_SIZE, MEASURED_PAGES);
+        System.out.printf("%-12s %12s %14s %10s %10s%n", "path", "stmts/page", "bytes/page", "p50 us", "p99 us");
+        for (Result result : List.of(entity, projection)) {
+            System.out.printf("%-12s %12.2f %14.0f %10d %10d%n", result.name(), result.statementsPerPage(),
+                result.bytesPerPage(), result.latencyMicros().getValueAtPercentile(50),
+                result.latencyMicros().getValueAtPercentile(99));
+        }
+
+        assertTrue(projection.statementsPerPage() <= entity.statementsPerPage(), "projection issues more statements");
+        assertTrue(projection.bytesPerPage() < entity.bytesPerPage(), "projection allocates more per page");
+    }
+
+    // Helper methods
+    private static Server startDatabase() {
+        try {
+            return Server.createTcpServer("-tcpPort", "0", "-tcpDaemon", "-ifNotExists").start();
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not start the H2 TCP server", e);
+        }
+    }
+
+    private static Pageable pageRequest(int page) {
+        return PageRequest.of(page, PAGE_SIZE, Sort.by(Sort.Direction.DESC, "createdAt", "transferId"));
+    }
+
+    private Result measure(String name, IntFunction<List<TransferResponseDto>> path, int pageCount, int pages) {
+        Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        Histogram latency = new Histogram(HIGHEST_TRACKABLE_MICROS, 3);
+
+        statistics.clear();
+        long allocatedBefore = threads.getCurrentThreadAllocatedBytes();
+        long rows = 0;
+        for (int i = 0; i < pageCount; i++) {
+            long start = System.nanoTime();
+            rows += path.apply(i % pages).size();
+            latency.recordValue(Math.min(Math.max(TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - start), 1),
+                HIGHEST_TRACKABLE_MICROS));
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - allocatedBefore;
+        assertTrue(rows == (long) pageCount * PAGE_SIZE, name + " returned short pages");
+
+        return new Result(name, (double) statistics.getPrepareStatementCount() / pageCount,
+            (double) allocated / pageCount, latency);
+    }
+
+    private TransferResponseDto convertToDto(Transfer transfer) {
+        return new TransferResponseDto(
+            transfer.getTransferId(),
+            transfer.getSourceAccount().getAccountId(),
+            transfer.getDestinationAccount().getAccountId(),
+            transfer.getAmount(),
+            transfer.getCurrency(),
+            transfer.getTransferStatus().toString(),
+            transfer.getDescription(),
+            transfer.getCreatedAt(),
+            transfer.getAuthorizedAt(),
+            transfer.getPostedAt(),
+            transfer.getIdempotencyKey(),
+            ""
+        );
+    }
+
+    private void seedTransfers() {
+        List<Account> accounts = new ArrayList<>();
+        for (int i = 0; i < 10; i++) {
+            Customer customer = new Customer();
+            customer.setUserId(3_000_000L + i);
+            customer.setName("Bench Customer " + i);
+            customer.setEmail("bench-" + i + "@example.com");
+            customer = customerRepository.save(customer);
+
+            Account account = new Account();
+            account.setAccountNumber(String.format("BN%010d", i));
+            account.setCustomer(customer);
+            account.setAccountType(Account.AccountType.CURRENT);
+            account.setBalance(new BigDecimal("1000000.00"));
+            accounts.add(accountRepository.save(account));
+        }
+
+        LocalDateTime now = LocalDateTime.now();
+        List<Transfer> transfers = new ArrayList<>(TRANSFERS);
+        for (int i = 0; i < TRANSFERS; i++) {
+            Transfer transfer = new Transfer();
+            transfer.setSourceAccount(accounts.get(i % accounts.size()));
+            transfer.setDestinationAccount(accounts.get((i + 1) % accounts.size()));
+            transfer.setAmount(BigDecimal.valueOf(1_000 + i, 2));
+            transfer.setDescription("Benchmark transfer " + i);
+            transfer.setTransferStatus(Transfer.TransferStatus.POSTED);
+            transfer.setInitiatedBy(3_000_000L);
+            transfer.setAuthorizedAt(now);
+            transfer.setPostedAt(now);
+            transfers.add(transfer);
+        }
+        transferRepository.saveAll(transfers);
+    }
+}
@@ -0,0 +1,209 @@
+package com.example.accounts.datasource;
+
+import com.example.accounts.reository.ReconciliationRunRepository;
+import com.example.accounts.reository.TransferRepository;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.ConnectionCallback;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.TransactionStatus;
+import org.springframework.transaction.interceptor.RuleBasedTransactionAttribute;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.UUID;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+/**
+ * Read/write routing against two in-memory H2 databases, each holding a one-row node table that
+ * names it. The replica has no application tables, so a read routed there by mistake fails.
+ *
+ * Reads expected on the replica run on a new thread: the test thread may carry stickiness from
+ * writes made during startup or by an earlier test.
+ */
+@SpringBootTest
+@ActiveProfiles("h2")
+class RoutingJpaTransactionManagerTest {
+
+    private static final String OPTIONS = ";MODE=MySQL;DATABASE_TO_LOWER=TRUE;NON_KEYWORDS=VALUE,YEAR,MONTH;DB_CLOSE_DELAY=-1";
+    private static final String PRIMARY_URL = "jdbc:h2:mem:routing-primary-" + UUID.randomUUID() + OPTIONS;
+    private static final String REPLICA_URL = "jdbc:h2:mem:routing-replica-" + UUID.randomUUID() + OPTIONS;
+    private static final long STICKY_AFTER_WRITE_MS = 1_000;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    @Autowired
+    private DataSource dataSource;
+
+    @Autowired
+    private ReplicaLagMonitor replicaLagMonitor;
+
+    @Autowired
+    private TransferRepository transferRepository;
+
+    @Autowired
+    private ReconciliationRunRepository reconciliationRunRepository;
+
+    @DynamicPropertySource
+    static void datasources(DynamicPropertyRegistry registry) {
+        createNode(PRIMARY_URL, "primary");
+        createNode(REPLICA_URL, "replica");
+        registry.add("spring.datasource.url", () -> PRIMARY_URL);
+        registry.add("app.datasource.replica.url", () -> REPLICA_URL);
+        registry.add("app.datasource.replica.max-lag-ms", () -> "0");
+        registry.add("app.datasource.replica.heartbeat-interval-ms", () -> "100");
+        registry.add("app.datasource.replica.sticky-after-write-ms", () -> String.valueOf(STICKY_AFTER_WRITE_MS));
+    }
+
+    @AfterEach
+    void resetRequest() {
+        RequestContextHolder.resetRequestAttributes();
+    }
+
+    @Test
+    void readOnlyGoesToReplicaAndReadWriteToPrimary() throws Exception {
+        awaitReplica();
+        assertEquals("replica", onNewThread(() -> node(readOnly())));
+        assertEquals("primary", onNewThread(() -> node(new TransactionTemplate(transactionManager))));
+    }
+
+    @Test
+    void primaryLabelKeepsReadOnlyOnPrimary() throws Exception {
+        awaitReplica();
+        RuleBasedTransactionAttribute labelled = new RuleBasedTransactionAttribute();
+        labelled.setReadOnly(true);
+        labelled.setLabels(List.of(ReadWriteRoutingDataSource.PRIMARY));
+        // the attribute as @Transactional(label = ...) produces it; a TransactionTemplate would copy it and drop the labels
+        assertEquals("primary", onNewThread(() -> {
+            TransactionStatus status = transactionManager.getTransaction(labelled);
+            try {
+                return new JdbcTemplate(dataSource).queryForObject("SELECT name FROM node", String.class);
+            } finally {
+                transactionManager.commit(status);
+            }
+        }));
+    }
+
+    @Test
+    void customIsolationLevelsAreApplied() throws Exception {
+        awaitReplica();
+        TransactionTemplate serializable = new TransactionTemplate(transactionManager);
+        serializable.setIsolationLevel(TransactionDefinition.ISOLATION_SERIALIZABLE);
+        assertEquals(Connection.TRANSACTION_SERIALIZABLE, onNewThread(() -> isolation(serializable)));
+
+        TransactionTemplate snapshot = readOnly();
+        snapshot.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+        assertEquals(Connection.TRANSACTION_REPEATABLE_READ, onNewThread(() -> isolation(snapshot)));
+        assertEquals("replica", onNewThread(() -> node(snapshot)));
+    }
+
+    @Test
+    void labelledRepositoryReadsUsePrimary() throws Exception {
+        awaitReplica();
+        assertThrows(DataAccessException.class, () -> onNewThread(() -> transferRepository.findById(1L)));
+        assertTrue(onNewThread(() -> transferRepository.findByIdOnPrimary(1L)).isEmpty());
+        assertTrue(onNewThread(() -> reconciliationRunRepository.findByIdOnPrimary(1L)).isEmpty());
+        assertTrue(onNewThread(() -> reconciliationRunRepository.findLatestIncomplete()).isEmpty());
+    }
+
+    @Test
+    void threadReadsStayOnPrimaryAfterItsWrite() throws Exception {
+        awaitReplica();
+        assertEquals("replica", onNewThread(() -> {
+            write();
+            String sticky = node(readOnly());
+            assertEquals("replica", onNewThread(() -> node(readOnly())), "another thread is not sticky");
+            Thread.sleep(STICKY_AFTER_WRITE_MS + 100);
+            assertEquals("primary", sticky, "read right after the thread's write");
+            return node(readOnly());
+        }));
+    }
+
+    @Test
+    void requestReadsStayOnPrimaryAfterItsWrite() throws Exception {
+        awaitReplica();
+        assertEquals("primary", onNewThread(() -> {
+            RequestContextHolder.setRequestAttributes(new ServletRequestAttributes(new MockHttpServletRequest()));
+            try {
+                assertEquals("replica", node(readOnly()), "read before the request's write");
+                write();
+                return node(readOnly());
+            } finally {
+                RequestContextHolder.resetRequestAttributes();
+            }
+        }));
+    }
+
+    // Helper methods
+    private static void createNode(String url, String name) {
+        try (Connection connection = DriverManager.getConnection(url, "sa", "");
+             Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE node (name VARCHAR(16) NOT NULL)");
+            statement.execute("INSERT INTO node (name) VALUES ('" + name + "')");
+        } catch (SQLException e) {
+            throw new IllegalStateException("Could not create " + url, e);
+        }
+    }
+
+    private void awaitReplica() throws InterruptedException {
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(10);
+        while (!replicaLagMonitor.isReplicaUsable()) {
+            assertTrue(System.nanoTime() < deadline, "replica never became usable");
+            Thread.sleep(50);
+        }
+    }
+
+    private TransactionTemplate readOnly() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setReadOnly(true);
+        return template;
+    }
+
+    private String node(TransactionTemplate template) {
+        return template.execute(status -> new JdbcTemplate(dataSource).queryForObject("SELECT name FROM node", String.class));
+    }
+
+    private Integer isolation(TransactionTemplate template) {
+        return template.execute(status ->
+            new JdbcTemplate(dataSource).execute((ConnectionCallback<Integer>) Connection::getTransactionIsolation));
+    }
+
+    private void write() {
+        TransactionTemplate template = new TransactionTemplate(transactionManager);
+        template.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+        template.executeWithoutResult(status -> new JdbcTemplate(dataSource).update("UPDATE node SET name = name"));
+    }
+
+    private static <T> T onNewThread(Callable<T> task) throws Exception {
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+        try {
+            return executor.submit(task).get(30, TimeUnit.SECONDS);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof Exception cause) {
+                throw cause;
+            }
+            throw (Error) e.getCause();
+        } finally {
+            executor.shutdown();
+        }
+    }
+}
@@ -0,0 +1,20 @@
+package com.example.accounts.load;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import com.fasterxml.jackson.databind.JsonNode;
+
+/**
+ * One weighted request template from the scenario file.
+ *
+ * @param name Endpoint name used in the report
+ * @param weight Relative share of the request mix
+ * @param method HTTP method
+ * @param path Request path, may contain ${...} placeholders
+ * @param body Optional JSON body, may contain ${...} placeholders in string values
+ * @param consumes Optional pool a ${transferId} is taken from (skipped while empty)
+ * @param produces Optional pool the response's data.transferId is added to
+ */
+@JsonIgnoreProperties(ignoreUnknown = true)
+record LoadScenario(String name, int weight, String method, String path, JsonNode body,
+                    String consumes, String produces) {
+}
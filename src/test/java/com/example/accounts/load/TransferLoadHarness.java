@@ -0,0 +1,314 @@
+package com.example.accounts.load;
+
+import com.example.accounts.constants.SecurityConstants;
+import com.example.accounts.entity.Account;
+import com.example.accounts.entity.Customer;
+import com.example.accounts.reository.AccountRepository;
+import com.example.accounts.reository.CustomerRepository;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.jsonwebtoken.Jwts;
+import io.jsonwebtoken.security.Keys;
+import org.HdrHistogram.ConcurrentHistogram;
+import org.HdrHistogram.Histogram;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.web.server.LocalServerPort;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.PrintStream;
+import java.math.BigDecimal;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Duration;
+import java.time.YearMonth;
+import java.util.*;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Open-loop load replay of the transfer lifecycle.
+ *
+ * Boots the service on a random port against in-memory H2 (MySQL mode), seeds accounts, then
+ * issues requests at a fixed rate picked from the weighted scenarios in load/requests.jsonl.
+ * Latency is measured from each request's scheduled start, not from when a client thread got
+ * to it, so a stalled server shows up in the percentiles instead of silently lowering the rate.
+ *
+ * Run with: mvn -Pload test -Dload.rate=500 -Dload.duration-seconds=120
+ * Prints p50/p99/p999/max and throughput per endpoint and writes each endpoint's HdrHistogram
+ * percentile distribution (milliseconds) to target/load/{name}.hgrm, for comparing runs.
+ */
+@SpringBootTest(webEnvironment = SpringBootTest.WebEnvironment.RANDOM_PORT)
+@ActiveProfiles({"h2", "load"})
+class TransferLoadHarness {
+
+    private static final Pattern PLACEHOLDER = Pattern.compile("\\$\\{(\\w+)}");
+    private static final long HIGHEST_TRACKABLE_MICROS = TimeUnit.MINUTES.toMicros(10);
+
+    @LocalServerPort
+    private int port;
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private ObjectMapper objectMapper;
+
+    @Value("${load.rate}")
+    private int rate;
+
+    @Value("${load.warmup-seconds}")
+    private int warmupSeconds;
+
+    @Value("${load.duration-seconds}")
+    private int durationSeconds;
+
+    @Value("${load.concurrency}")
+    private int concurrency;
+
+    @Value("${load.accounts}")
+    private int accountCount;
+
+    @Value("${load.scenarios}")
+    private String scenarioFile;
+
+    @Value("${load.output-dir}")
+    private String outputDir;
+
+    private final Map<String, Queue<Long>> transferPools = new ConcurrentHashMap<>();
+    private final HttpClient httpClient = HttpClient.newBuilder().connectTimeout(Duration.ofSeconds(5)).build();
+    private List<Long> accountIds;
+    private String token;
+
+    private static final class EndpointStats {
+        private final Histogram latencyMicros = new ConcurrentHistogram(HIGHEST_TRACKABLE_MICROS, 3);
+        private final LongAdder errors = new LongAdder();
+        private final LongAdder skipped = new LongAdder();
+    }
+
+    @Test
+    void replayScenarios() throws Exception {
+        List<LoadScenario> scenarios = loadScenarios();
+        accountIds = seedAccounts();
+        token = mintToken();
+
+        System.out.printf("Load harness: %d req/s for %ds after %ds warmup, %d client threads, %d accounts%n",
+            rate, durationSeconds, warmupSeconds, concurrency, accountIds.size());
+
+        run(scenarios, warmupSeconds);
+        Map<String, EndpointStats> stats = run(scenarios, durationSeconds);
+        report(stats);
+
+        long completed = stats.values().stream().mapToLong(s -> s.latencyMicros.getTotalCount()).sum();
+        assertTrue(completed > 0, "No requests completed");
+    }
+
+    // Helper methods
+    private Map<String, EndpointStats> run(List<LoadScenario> scenarios, int seconds) throws InterruptedException {
+        Map<String, EndpointStats> stats = new LinkedHashMap<>();
+        scenarios.forEach(scenario -> stats.put(scenario.name(), new EndpointStats()));
+        int totalWeight = scenarios.stream().mapToInt(LoadScenario::weight).sum();
+
+        ExecutorService clients = Executors.newFixedThreadPool(concurrency);
+        long intervalNanos = TimeUnit.SECONDS.toNanos(1) / rate;
+        long end = System.nanoTime() + TimeUnit.SECONDS.toNanos(seconds);
+        long scheduledAt = System.nanoTime();
+        while (scheduledAt < end) {
+            long now = System.nanoTime();
+            if (now < scheduledAt) {
+                LockSupport.parkNanos(scheduledAt - now);
+                continue;
+            }
+            LoadScenario scenario = pick(scenarios, totalWeight);
+            long start = scheduledAt;
+            clients.execute(() -> execute(scenario, start, stats.get(scenario.name())));
+            scheduledAt += intervalNanos;
+        }
+
+        clients.shutdown();
+        clients.awaitTermination(2, TimeUnit.MINUTES);
+        return stats;
+    }
+
+    private void execute(LoadScenario scenario, long scheduledAt, EndpointStats stats) {
+        Long transferId = null;
+        if (scenario.consumes() != null) {
+            transferId = pool(scenario.consumes()).poll();
+            if (transferId == null) {
+                stats.skipped.increment();
+                return;
+            }
+        }
+
+        Map<String, String> values = placeholderValues(transferId);
+        HttpRequest.Builder request = HttpRequest.newBuilder(URI.create("http://localhost:" + port + substitute(scenario.path(), values)))
+            .header(SecurityConstants.JWT_HEADER, token)
+            .timeout(Duration.ofSeconds(30));
+        if (scenario.body() != null) {
+            request.header("Content-Type", "application/json")
+                .method(scenario.method(), HttpRequest.BodyPublishers.ofString(substitute(scenario.body().toString(), values)));
+        } else {
+            request.method(scenario.method(), HttpRequest.BodyPublishers.noBody());
+        }
+
+        try {
+            HttpResponse<String> response = httpClient.send(request.build(), HttpResponse.BodyHandlers.ofString());
+            record(stats, scheduledAt);
+            if (response.statusCode() / 100 != 2) {
+                stats.errors.increment();
+            } else if (scenario.produces() != null) {
+                JsonNode id = objectMapper.readTree(response.body()).path("data").path("transferId");
+                if (id.isNumber()) {
+                    pool(scenario.produces()).add(id.asLong());
+                }
+            }
+        } catch (IOException e) {
+            record(stats, scheduledAt);
+            stats.errors.increment();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private void record(EndpointStats stats, long scheduledAt) {
+        long micros = TimeUnit.NANOSECONDS.toMicros(System.nanoTime() - scheduledAt);
+        stats.latencyMicros.recordValue(Math.min(Math.max(micros, 1), HIGHEST_TRACKABLE_MICROS));
+    }
+
+    private void report(Map<String, EndpointStats> stats) throws IOException {
+        Path directory = Path.of(outputDir);
+        Files.createDirectories(directory);
+
+        System.out.printf("%n%-12s %10s %8s %8s %10s %10s %10s %10s %10s%n",
+            "endpoint", "requests", "errors", "skipped", "req/s", "p50 ms", "p99 ms", "p999 ms", "max ms");
+        for (Map.Entry<String, EndpointStats> entry : stats.entrySet()) {
+            Histogram histogram = entry.getValue().latencyMicros;
+            System.out.printf("%-12s %10d %8d %8d %10.1f %10.2f %10.2f %10.2f %10.2f%n",
+                entry.getKey(),
+                histogram.getTotalCount(),
+                entry.getValue().errors.sum(),
+                entry.getValue().skipped.sum(),
+                histogram.getTotalCount() / (double) durationSeconds,
+                histogram.getValueAtPercentile(50.0) / 1000.0,
+                histogram.getValueAtPercentile(99.0) / 1000.0,
+                histogram.getValueAtPercentile(99.9) / 1000.0,
+                histogram.getMaxValue() / 1000.0);
+
+            try (PrintStream out = new PrintStream(directory.resolve(entry.getKey() + ".hgrm").toFile(), StandardCharsets.UTF_8)) {
+                histogram.outputPercentileDistribution(out, 1000.0);
+            }
+        }
+        System.out.printf("%nHistograms written to %s%n", directory.toAbsolutePath());
+    }
+
+    private List<LoadScenario> loadScenarios() throws IOException {
+        List<LoadScenario> scenarios = new ArrayList<>();
+        try (BufferedReader reader = new BufferedReader(new InputStreamReader(
+                new ClassPathResource(scenarioFile).getInputStream(), StandardCharsets.UTF_8))) {
+            String line;
+            while ((line = reader.readLine()) != null) {
+                if (!line.isBlank()) {
+                    scenarios.add(objectMapper.readValue(line, LoadScenario.class));
+                }
+            }
+        }
+        return scenarios;
+    }
+
+    private List<Long> seedAccounts() {
+        List<Account> accounts = new ArrayList<>(accountCount);
+        Customer customer = null;
+        for (int i = 0; i < accountCount; i++) {
+            if (i % 10 == 0) {
+                customer = new Customer();
+                customer.setUserId(1_000_000L + i);
+                customer.setName("Load Customer " + i);
+                customer.setEmail("load-" + i + "@example.com");
+                customer = customerRepository.save(customer);
+            }
+            Account account = new Account();
+            account.setAccountNumber(String.format("LD%010d", i));
+            account.setCustomer(customer);
+            account.setAccountType(Account.AccountType.CURRENT);
+            account.setBalance(new BigDecimal("1000000.00"));
+            accounts.add(account);
+        }
+        return accountRepository.saveAll(accounts).stream().map(Account::getAccountId).toList();
+    }
+
+    private String mintToken() {
+        return Jwts.builder()
+            .claim("username", "load-harness")
+            .claim("userId", 1L)
+            .claim("authorities", "ROLE_ADMIN")
+            .issuedAt(new Date())
+            .expiration(new Date(System.currentTimeMillis() + TimeUnit.HOURS.toMillis(12)))
+            .signWith(Keys.hmacShaKeyFor(SecurityConstants.JWT_KEY.getBytes(StandardCharsets.UTF_8)))
+            .compact();
+    }
+
+    private Map<String, String> placeholderValues(Long transferId) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        int source = random.nextInt(accountIds.size());
+        int destination = (source + 1 + random.nextInt(accountIds.size() - 1)) % accountIds.size();
+
+        Map<String, String> values = new HashMap<>();
+        values.put("sourceAccountId", accountIds.get(source).toString());
+        values.put("destinationAccountId", accountIds.get(destination).toString());
+        values.put("accountId", accountIds.get(random.nextInt(accountIds.size())).toString());
+        values.put("amount", BigDecimal.valueOf(random.nextLong(100, 1001), 2).toPlainString());
+        values.put("yearMonth", YearMonth.now().toString());
+        if (transferId != null) {
+            values.put("transferId", transferId.toString());
+        }
+        return values;
+    }
+
+    private static String substitute(String template, Map<String, String> values) {
+        Matcher matcher = PLACEHOLDER.matcher(template);
+        StringBuilder result = new StringBuilder();
+        while (matcher.find()) {
+            String value = values.get(matcher.group(1));
+            if (value == null) {
+                throw new IllegalArgumentException("Unknown placeholder ${" + matcher.group(1) + "} in " + template);
+            }
+            matcher.appendReplacement(result, Matcher.quoteReplacement(value));
+        }
+        matcher.appendTail(result);
+        return result.toString();
+    }
+
+    private static LoadScenario pick(List<LoadScenario> scenarios, int totalWeight) {
+        int roll = ThreadLocalRandom.current().nextInt(totalWeight);
+        for (LoadScenario scenario : scenarios) {
+            roll -= scenario.weight();
+            if (roll < 0) {
+                return scenario;
+            }
+        }
+        return scenarios.get(scenarios.size() - 1);
+    }
+
+    private Queue<Long> pool(String name) {
+        return transferPools.computeIfAbsent(name, key -> new ConcurrentLinkedQueue<>());
+    }
+}
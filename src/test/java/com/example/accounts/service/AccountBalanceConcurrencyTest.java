@@ -0,0 +1,173 @@
+package com.example.accounts.service;
+
+import com.example.accounts.dto.AccountsDto;
+import com.example.accounts.dto.TransferRequestDto;
+import com.example.accounts.dto.TransferResponseDto;
+import com.example.accounts.entity.Account;
+import com.example.accounts.entity.Customer;
+import com.example.accounts.exception.InvalidTransferException;
+import com.example.accounts.reository.AccountRepository;
+import com.example.accounts.reository.CustomerRepository;
+import com.example.accounts.util.GeneratorUtil;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.authority.AuthorityUtils;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.*;
+import java.util.stream.LongStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * No-lost-update check for accounts.balance.
+ *
+ * 64 threads run transfers between a few accounts through the regular lifecycle (initiate,
+ * authorize, post through the posting engine) while freezing, unfreezing and re-addressing the
+ * same accounts through full-entity saves. Every posting moves the balance with a relative
+ * UPDATE; if a save wrote back a balance it had read earlier, the account would drift away from
+ * its ledger. Each account's entries must also be numbered 1..n without gaps or repeats, and
+ * every hold must be released.
+ */
+@SpringBootTest
+@ActiveProfiles("h2")
+class AccountBalanceConcurrencyTest {
+
+    private static final int THREADS = 64;
+    private static final int OPERATIONS_PER_THREAD = 40;
+    private static final int ACCOUNTS = 8;
+    private static final BigDecimal OPENING_BALANCE = new BigDecimal("100000.00");
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private AccountService accountService;
+
+    @Autowired
+    private TransferService transferService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void concurrentSavesDoNotOverwritePostings() throws Exception {
+        List<Long> accountIds = seedAccounts();
+
+        ExecutorService executor = Executors.newFixedThreadPool(THREADS);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> futures = new ArrayList<>(THREADS);
+        for (int t = 0; t < THREADS; t++) {
+            int thread = t;
+            futures.add(executor.submit(() -> {
+                start.await();
+                SecurityContextHolder.getContext().setAuthentication(operator());
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < OPERATIONS_PER_THREAD; i++) {
+                    Long accountId = accountIds.get(random.nextInt(ACCOUNTS));
+                    if (thread % 2 == 0) {
+                        Long other = accountIds.get((accountIds.indexOf(accountId) + 1 + random.nextInt(ACCOUNTS - 1)) % ACCOUNTS);
+                        transfer(accountId, other, BigDecimal.valueOf(random.nextInt(1, 10_000), 2));
+                    } else {
+                        switch (i % 8) {
+                            case 0 -> accountService.freezeAccount(accountId, "stress");
+                            case 1 -> accountService.unfreezeAccount(accountId);
+                            default -> {
+                                AccountsDto dto = new AccountsDto();
+                                dto.setBranchAddress("Branch " + thread + "-" + i);
+                                accountService.updateAccount(accountId, dto);
+                            }
+                        }
+                    }
+                }
+                SecurityContextHolder.clearContext();
+                return null;
+            }));
+        }
+        start.countDown();
+        executor.shutdown();
+        for (Future<?> future : futures) {
+            future.get(5, TimeUnit.MINUTES);
+        }
+
+        BigDecimal total = BigDecimal.ZERO;
+        for (Long accountId : accountIds) {
+            Map<String, Object> ledger = jdbcTemplate.queryForMap(
+                "SELECT COALESCE(SUM(CASE WHEN entry_side = 'CREDIT' THEN amount ELSE -amount END), 0) AS net, " +
+                "COUNT(*) AS entries FROM ledger_entries WHERE account_id = ?", accountId);
+            Account account = accountRepository.findById(accountId).orElseThrow();
+
+            assertEquals(0, OPENING_BALANCE.add((BigDecimal) ledger.get("net")).compareTo(account.getBalance()),
+                "balance of account " + accountId + " drifted from its ledger");
+            long entries = ((Number) ledger.get("entries")).longValue();
+            assertEquals(entries, account.getLedgerSequence(), "ledger_sequence of account " + accountId);
+            List<Long> sequences = jdbcTemplate.queryForList(
+                "SELECT account_sequence FROM ledger_entries WHERE account_id = ? ORDER BY account_sequence", Long.class, accountId);
+            assertEquals(LongStream.rangeClosed(1, entries).boxed().toList(), sequences,
+                "account_sequence of account " + accountId + " is not 1.." + entries);
+            assertEquals(0, BigDecimal.ZERO.compareTo(account.getHeldAmount()), "held_amount of account " + accountId);
+            total = total.add(account.getBalance());
+        }
+        assertEquals(0, OPENING_BALANCE.multiply(BigDecimal.valueOf(ACCOUNTS)).compareTo(total));
+
+        Long posted = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM transfers WHERE transfer_status = 'POSTED'", Long.class);
+        Long legs = jdbcTemplate.queryForObject("SELECT COUNT(*) FROM ledger_entries", Long.class);
+        assertTrue(posted > 0, "no transfer was posted");
+        assertEquals(2 * posted, legs, "ledger legs per posted transfer");
+    }
+
+    // Helper methods
+    /**
+     * Initiate, authorize and post. A transfer from or to an account frozen by another thread
+     * is rejected at initiation and skipped.
+     */
+    private void transfer(Long source, Long destination, BigDecimal amount) {
+        TransferResponseDto transfer;
+        try {
+            transfer = transferService.initiateTransfer(
+                new TransferRequestDto(source, destination, amount, "stress", null), GeneratorUtil.generateCorrelationId());
+        } catch (InvalidTransferException e) {
+            return;
+        }
+        transferService.authorizeTransfer(transfer.getTransferId(), GeneratorUtil.generateCorrelationId());
+        transferService.postTransfer(transfer.getTransferId(), GeneratorUtil.generateCorrelationId());
+    }
+
+    private static UsernamePasswordAuthenticationToken operator() {
+        UsernamePasswordAuthenticationToken operator = new UsernamePasswordAuthenticationToken(
+            "stress-operator", null, AuthorityUtils.createAuthorityList("ROLE_ADMIN"));
+        operator.setDetails("1");
+        return operator;
+    }
+
+    private List<Long> seedAccounts() {
+        List<Long> accountIds = new ArrayList<>(ACCOUNTS);
+        for (int i = 0; i < ACCOUNTS; i++) {
+            Customer customer = new Customer();
+            customer.setUserId(2_000_000L + i);
+            customer.setName("Stress Customer " + i);
+            customer.setEmail("stress-" + i + "@example.com");
+            customer = customerRepository.save(customer);
+
+            Account account = new Account();
+            account.setAccountNumber(String.format("ST%010d", i));
+            account.setCustomer(customer);
+            account.setAccountType(Account.AccountType.CURRENT);
+            account.setBalance(OPENING_BALANCE);
+            accountIds.add(accountRepository.save(account).getAccountId());
+        }
+        return accountIds;
+    }
+}
@@ -0,0 +1,89 @@
+package com.example.accounts.service;
+
+import com.example.accounts.dto.StatementDto;
+import com.example.accounts.entity.Account;
+import com.example.accounts.entity.Customer;
+import com.example.accounts.reository.AccountRepository;
+import com.example.accounts.reository.CustomerRepository;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.test.context.ActiveProfiles;
+
+import java.math.BigDecimal;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.time.YearMonth;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+/**
+ * Statement periods are [month start, next month start): an entry stamped in the month's last
+ * second, fraction included, is on that month's statement and in the next month's opening balance.
+ */
+@SpringBootTest
+@ActiveProfiles("h2")
+class StatementPeriodTest {
+
+    private static final BigDecimal OPENING_BALANCE = new BigDecimal("1000.00");
+    private static final YearMonth MONTH = YearMonth.of(2024, 1);
+
+    @Autowired
+    private CustomerRepository customerRepository;
+
+    @Autowired
+    private AccountRepository accountRepository;
+
+    @Autowired
+    private LedgerService ledgerService;
+
+    @Autowired
+    private StatementService statementService;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Test
+    void lastSubSecondBelongsToItsMonth() {
+        Long source = seedAccount(0);
+        Long destination = seedAccount(1);
+
+        post("period-last", source, destination, new BigDecimal("10.00"),
+            MONTH.atEndOfMonth().atTime(23, 59, 59, 500_000_000));
+        post("period-first", source, destination, new BigDecimal("20.00"),
+            MONTH.plusMonths(1).atDay(1).atStartOfDay());
+
+        StatementDto january = statementService.generateStatement(source, MONTH);
+        StatementDto february = statementService.generateStatement(source, MONTH.plusMonths(1));
+
+        assertEquals(1L, january.getTransactionCount());
+        assertEquals(0, new BigDecimal("10.00").compareTo(january.getTotalDebits()));
+        assertEquals(1L, february.getTransactionCount());
+        assertEquals(0, new BigDecimal("20.00").compareTo(february.getTotalDebits()));
+        assertEquals(0, OPENING_BALANCE.subtract(new BigDecimal("10.00")).compareTo(february.getOpeningBalance()),
+            "February opens with the balance after January's last entry");
+    }
+
+    // Helper methods
+    private Long seedAccount(int i) {
+        Customer customer = new Customer();
+        customer.setUserId(4_000_000L + i);
+        customer.setName("Statement Customer " + i);
+        customer.setEmail("statement-" + i + "@example.com");
+        customer = customerRepository.save(customer);
+
+        Account account = new Account();
+        account.setAccountNumber(String.format("SP%010d", i));
+        account.setCustomer(customer);
+        account.setAccountType(Account.AccountType.CURRENT);
+        account.setBalance(OPENING_BALANCE);
+        return accountRepository.save(account).getAccountId();
+    }
+
+    private void post(String ledgerTxnId, Long source, Long destination, BigDecimal amount, LocalDateTime createdAt) {
+        ledgerService.createLedgerEntries(ledgerTxnId, source, destination, amount, "statement period", "TRANSFER", 1L);
+        jdbcTemplate.update("UPDATE ledger_entries SET created_at = ? WHERE ledger_txn_id = ?",
+            Timestamp.valueOf(createdAt), ledgerTxnId);
+    }
+}